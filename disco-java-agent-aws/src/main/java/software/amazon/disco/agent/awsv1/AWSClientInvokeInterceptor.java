@@ -31,6 +31,9 @@ import software.amazon.disco.agent.interception.Installable;
 import software.amazon.disco.agent.logging.LogManager;
 import software.amazon.disco.agent.logging.Logger;
 
+import java.util.Collections;
+import java.util.List;
+
 import static net.bytebuddy.matcher.ElementMatchers.hasSuperType;
 import static net.bytebuddy.matcher.ElementMatchers.isAbstract;
 import static net.bytebuddy.matcher.ElementMatchers.isInterface;
@@ -117,6 +120,14 @@ public class AWSClientInvokeInterceptor implements Installable {
                     .advice(buildMethodMatcher(), this.getClass().getName()));
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<String> getCandidateSuperTypeNames() {
+        return Collections.singletonList("com.amazonaws.AmazonWebServiceClient");
+    }
+
     /**
      * Builds a class matcher to discover all implemented AWS clients.
      * @return an ElementMatcher suitable for passing to the type() method of a AgentBuilder
@@ -27,6 +27,9 @@ import software.amazon.disco.agent.logging.LogManager;
 import software.amazon.disco.agent.logging.Logger;
 import software.amazon.disco.agent.plugin.ResourcesClassInjector;
 
+import java.util.Collections;
+import java.util.List;
+
 import static net.bytebuddy.matcher.ElementMatchers.hasSuperType;
 import static net.bytebuddy.matcher.ElementMatchers.isAbstract;
 import static net.bytebuddy.matcher.ElementMatchers.isFinal;
@@ -65,6 +68,14 @@ public class AWSClientBuilderInterceptor implements Installable {
             );
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<String> getCandidateSuperTypeNames() {
+        return Collections.singletonList("software.amazon.awssdk.core.client.builder.SdkClientBuilder");
+    }
+
     /**
      * Nested delegation class that handles any methods intercepted by the installable. Separate class is necessary
      * so as to not load any AWS SDK V2 classes referenced within eagerly, which would cause ClassNotFoundException
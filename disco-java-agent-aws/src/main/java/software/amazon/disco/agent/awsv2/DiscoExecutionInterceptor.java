@@ -29,6 +29,7 @@ import software.amazon.disco.agent.event.AwsServiceDownstreamResponseEvent;
 import software.amazon.disco.agent.event.AwsServiceDownstreamResponseEventImpl;
 import software.amazon.disco.agent.logging.LogManager;
 import software.amazon.disco.agent.logging.Logger;
+import software.amazon.disco.agent.reflect.concurrent.MetadataKey;
 import software.amazon.disco.agent.reflect.concurrent.TransactionContext;
 import software.amazon.disco.agent.reflect.event.EventBus;
 
@@ -79,6 +80,8 @@ public class DiscoExecutionInterceptor implements ExecutionInterceptor {
      */
     static final String TX_REQUEST_EVENT_KEY = "AWSv2RequestEvent";
     static final String TX_RETRY_COUNT_KEY = "AWSv2RetryCount";
+    private static final MetadataKey<AwsServiceDownstreamRequestEventImpl> TX_REQUEST_EVENT = TransactionContext.key(TX_REQUEST_EVENT_KEY, AwsServiceDownstreamRequestEventImpl.class);
+    private static final MetadataKey<Integer> TX_RETRY_COUNT = TransactionContext.key(TX_RETRY_COUNT_KEY, Integer.class);
 
     static {
         try {
@@ -110,11 +113,11 @@ public class DiscoExecutionInterceptor implements ExecutionInterceptor {
             region = executionAttributes.getAttribute(regionExecutionAttribute).toString();
         }
 
-        AwsServiceDownstreamRequestEvent awsEvent = new AwsServiceDownstreamRequestEventImpl(AWS_SDK_V2_CLIENT_ORIGIN, serviceName, operationName)
-                .withRegion(region);
+        AwsServiceDownstreamRequestEventImpl awsEvent = new AwsServiceDownstreamRequestEventImpl(AWS_SDK_V2_CLIENT_ORIGIN, serviceName, operationName);
+        awsEvent.withRegion(region);
 
         awsEvent.withRequest(context.request());
-        TransactionContext.putMetadata(TX_REQUEST_EVENT_KEY, awsEvent);
+        TransactionContext.putMetadata(TX_REQUEST_EVENT, awsEvent);
     }
 
     /**
@@ -127,7 +130,7 @@ public class DiscoExecutionInterceptor implements ExecutionInterceptor {
      */
     @Override
     public SdkHttpRequest modifyHttpRequest(Context.ModifyHttpRequest context, ExecutionAttributes executionAttributes) {
-        AwsServiceDownstreamRequestEventImpl requestEvent = (AwsServiceDownstreamRequestEventImpl) TransactionContext.getMetadata(TX_REQUEST_EVENT_KEY);
+        AwsServiceDownstreamRequestEventImpl requestEvent = TransactionContext.getMetadata(TX_REQUEST_EVENT);
         SdkHttpRequest sdkHttpRequest = context.httpRequest();
 
         requestEvent.withSdkHttpRequest(sdkHttpRequest)
@@ -148,15 +151,9 @@ public class DiscoExecutionInterceptor implements ExecutionInterceptor {
      */
     @Override
     public void beforeTransmission(Context.BeforeTransmission context, ExecutionAttributes executionAttributes) {
-        Object retryCountObj = TransactionContext.getMetadata(TX_RETRY_COUNT_KEY);
-        int retryCount;
-        if (retryCountObj == null) {
-            retryCount = 0;
-        } else {
-            retryCount = (int) retryCountObj + 1;
-        }
-
-        TransactionContext.putMetadata(TX_RETRY_COUNT_KEY, retryCount);
+        // -1 when absent, so that the first attempt records a retry count of 0
+        int retryCount = TransactionContext.getIntMetadata(TX_RETRY_COUNT, -1) + 1;
+        TransactionContext.putIntMetadata(TX_RETRY_COUNT, retryCount);
     }
 
     /**
@@ -167,11 +164,10 @@ public class DiscoExecutionInterceptor implements ExecutionInterceptor {
      */
     @Override
     public void afterExecution(Context.AfterExecution context, ExecutionAttributes executionAttributes) {
-        AwsServiceDownstreamRequestEvent requestEvent = (AwsServiceDownstreamRequestEvent) TransactionContext.getMetadata(TX_REQUEST_EVENT_KEY);
+        AwsServiceDownstreamRequestEvent requestEvent = TransactionContext.getMetadata(TX_REQUEST_EVENT);
 
-        Object txRetryCount = TransactionContext.getMetadata(TX_RETRY_COUNT_KEY);
-        TransactionContext.removeMetadata(TX_RETRY_COUNT_KEY);  // Prevent retry count from leaking across requests
-        int retryCount = txRetryCount == null ? 0 : (int) txRetryCount;
+        int retryCount = TransactionContext.getIntMetadata(TX_RETRY_COUNT, 0);
+        TransactionContext.removeMetadata(TX_RETRY_COUNT);  // Prevent retry count from leaking across requests
 
         SdkHttpResponse httpResponse = context.httpResponse();
         AwsServiceDownstreamResponseEvent awsEvent = new AwsServiceDownstreamResponseEventImpl(requestEvent)
@@ -194,11 +190,10 @@ public class DiscoExecutionInterceptor implements ExecutionInterceptor {
      */
     @Override
     public void onExecutionFailure(Context.FailedExecution context, ExecutionAttributes executionAttributes) {
-        AwsServiceDownstreamRequestEvent requestEvent = (AwsServiceDownstreamRequestEvent) TransactionContext.getMetadata(TX_REQUEST_EVENT_KEY);
+        AwsServiceDownstreamRequestEvent requestEvent = TransactionContext.getMetadata(TX_REQUEST_EVENT);
 
-        Object txRetryCount = TransactionContext.getMetadata(TX_RETRY_COUNT_KEY);
-        TransactionContext.removeMetadata(TX_RETRY_COUNT_KEY);  // Prevent retry count from leaking across requests
-        int retryCount = txRetryCount == null ? 0 : (int) txRetryCount;
+        int retryCount = TransactionContext.getIntMetadata(TX_RETRY_COUNT, 0);
+        TransactionContext.removeMetadata(TX_RETRY_COUNT);  // Prevent retry count from leaking across requests
 
         AwsServiceDownstreamResponseEvent awsEvent = new AwsServiceDownstreamResponseEventImpl(requestEvent)
                 .withSdkHttpResponse(context.httpResponse().orElse(null))
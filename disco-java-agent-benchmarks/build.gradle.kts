@@ -0,0 +1,204 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License").
+ *   You may not use this file except in compliance with the License.
+ *   A copy of the License is located at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file. This file is distributed
+ *   on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *   express or implied. See the License for the specific language governing
+ *   permissions and limitations under the License.
+ */
+
+plugins {
+    `java-library`
+}
+
+val jmhVersion = "1.37"
+
+dependencies {
+    implementation(project(":disco-java-agent:disco-java-agent-core"))
+    implementation("org.openjdk.jmh", "jmh-core", jmhVersion)
+    annotationProcessor("org.openjdk.jmh", "jmh-generator-annprocess", jmhVersion)
+}
+
+//the JMH harness alone, for runs in which Core, the API and ByteBuddy must come from the agent jar
+val jmhHarness: Configuration by configurations.creating
+
+dependencies {
+    jmhHarness("org.openjdk.jmh", "jmh-core", jmhVersion)
+}
+
+val ver = project.version
+val agentProject = ":disco-java-agent:disco-java-agent"
+val agentJarPath = project(agentProject).buildDir.absolutePath + "/libs/disco-java-agent-$ver.jar"
+val resultsDir = "$buildDir/results/jmh"
+
+//extra JMH arguments e.g. a benchmark regex, or "-f 1 -wi 2 -i 3" for a quick run, may be passed with -PjmhArgs="..."
+val jmhArgs = (findProperty("jmhArgs") as String?)?.split(" ")?.filter { it.isNotBlank() } ?: emptyList()
+
+/**
+ * Run the benchmarks without the agent, with Core on the classpath. This is the baseline against which to compare
+ * the results of jmhWithAgent.
+ */
+val jmh = tasks.register<JavaExec>("jmh") {
+    group = "benchmark"
+    description = "Runs the JMH benchmarks without the agent"
+    mainClass.set("org.openjdk.jmh.Main")
+    classpath = sourceSets["main"].runtimeClasspath
+    args = listOf("-prof", "gc", "-rf", "json", "-rff", "$resultsDir/baseline.json") + jmhArgs
+
+    doFirst {
+        mkdir(resultsDir)
+    }
+}
+
+/**
+ * Run the benchmarks in JVMs with the canonical agent loaded, as in production. Core is not on the classpath, so that
+ * every Disco class is that of the agent jar, loaded on the bootstrap classpath. TrieNameMatcher is excluded since its
+ * signature refers to ByteBuddy types, which are relocated within the agent jar; it is only used while classes are
+ * being loaded, so its baseline figures apply equally.
+ */
+val jmhWithAgent = tasks.register<JavaExec>("jmhWithAgent") {
+    group = "benchmark"
+    description = "Runs the JMH benchmarks with the Disco agent loaded"
+    mainClass.set("org.openjdk.jmh.Main")
+    classpath = sourceSets["main"].output.plus(jmhHarness)
+    args = listOf(
+        "-prof", "gc", "-rf", "json", "-rff", "$resultsDir/agent.json",
+        "-e", "TrieNameMatcherBenchmark",
+        "-jvmArgsAppend", "-javaagent:$agentJarPath"
+    ) + jmhArgs
+
+    doFirst {
+        mkdir(resultsDir)
+    }
+
+    //we need the agent to be built first
+    dependsOn("$agentProject:build")
+    mustRunAfter(jmh)
+}
+
+/**
+ * The end-to-end overhead benchmark, in its own source set since it is run against the agent and plugin jars rather
+ * than against Core. Its only Disco dependency is the API, as would be the case for a real service.
+ */
+sourceSets {
+    create("overhead")
+}
+
+val overheadImplementation by configurations.getting
+
+dependencies {
+    overheadImplementation(project(":disco-java-agent:disco-java-agent-api"))
+    overheadImplementation("org.eclipse.jetty", "jetty-servlet", "9.4.53.v20231009")
+    overheadImplementation("com.h2database", "h2", "2.1.214")
+    overheadImplementation("org.apache.httpcomponents", "httpclient", "4.5.10")
+}
+
+//extra overhead benchmark arguments e.g. "--duration 30 --concurrency 16" may be passed with -PoverheadArgs="..."
+val overheadArgs = (findProperty("overheadArgs") as String?)?.split(" ")?.filter { it.isNotBlank() } ?: emptyList()
+val overheadResultsDir = "$buildDir/results/overhead"
+val overheadPluginsDir = "$buildDir/overhead-plugins"
+val overheadPluginProjects = listOf(
+    ":disco-java-agent-web:disco-java-agent-web-plugin",
+    ":disco-java-agent-sql:disco-java-agent-sql-plugin",
+    ":disco-java-agent-aws:disco-java-agent-aws-plugin"
+)
+
+//gather the plugin jars into a single pluginPath for the agent
+val overheadPlugins = tasks.register<Sync>("overheadPlugins") {
+    overheadPluginProjects.forEach {
+        from(project(it).buildDir.absolutePath + "/libs") {
+            include("*-plugin-$ver.jar")
+        }
+        dependsOn("$it:assemble")
+    }
+    into(overheadPluginsDir)
+}
+
+val overheadBaseline = tasks.register<JavaExec>("overheadBaseline") {
+    group = "benchmark"
+    description = "Runs the end-to-end overhead benchmark without the agent"
+    mainClass.set("software.amazon.disco.agent.benchmarks.overhead.OverheadBenchmark")
+    classpath = sourceSets["overhead"].runtimeClasspath
+    args = listOf("--label", "baseline", "--out", "$overheadResultsDir/baseline.properties") + overheadArgs
+}
+
+val overheadWithAgent = tasks.register<JavaExec>("overheadWithAgent") {
+    group = "benchmark"
+    description = "Runs the end-to-end overhead benchmark with the agent and the web, sql and aws plugins loaded"
+    mainClass.set("software.amazon.disco.agent.benchmarks.overhead.OverheadBenchmark")
+    classpath = sourceSets["overhead"].runtimeClasspath
+    jvmArgs("-javaagent:$agentJarPath=pluginPath=$overheadPluginsDir")
+    args = listOf(
+        "--label", "agent",
+        "--out", "$overheadResultsDir/agent.properties",
+        "--baseline", "$overheadResultsDir/baseline.properties"
+    ) + overheadArgs
+
+    dependsOn("$agentProject:build")
+    dependsOn(overheadPlugins)
+    mustRunAfter(overheadBaseline)
+}
+
+tasks.register("overhead") {
+    group = "benchmark"
+    description = "Runs the end-to-end overhead benchmark without, then with, the agent and compares the two"
+    dependsOn(overheadBaseline, overheadWithAgent)
+}
+
+//extra startup benchmark arguments may be passed with -PstartupArgs="..."
+val startupArgs = (findProperty("startupArgs") as String?)?.split(" ")?.filter { it.isNotBlank() } ?: emptyList()
+val startupResultsDir = "$buildDir/results/startup"
+
+val startupBaseline = tasks.register<JavaExec>("startupBaseline") {
+    group = "benchmark"
+    description = "Runs the startup benchmark without the agent"
+    mainClass.set("software.amazon.disco.agent.benchmarks.overhead.StartupBenchmark")
+    classpath = sourceSets["overhead"].runtimeClasspath
+    args = listOf("--label", "baseline", "--out", "$startupResultsDir/baseline.properties") + startupArgs
+}
+
+val startupWithAgent = tasks.register<JavaExec>("startupWithAgent") {
+    group = "benchmark"
+    description = "Runs the startup benchmark with the agent and plugins, each Installable registering its own transformer"
+    mainClass.set("software.amazon.disco.agent.benchmarks.overhead.StartupBenchmark")
+    classpath = sourceSets["overhead"].runtimeClasspath
+    jvmArgs("-javaagent:$agentJarPath=pluginPath=$overheadPluginsDir")
+    args = listOf(
+        "--label", "agent",
+        "--out", "$startupResultsDir/agent.properties",
+        "--baseline", "$startupResultsDir/baseline.properties"
+    ) + startupArgs
+
+    dependsOn("$agentProject:build")
+    dependsOn(overheadPlugins)
+    mustRunAfter(startupBaseline)
+}
+
+val startupConsolidated = tasks.register<JavaExec>("startupConsolidated") {
+    group = "benchmark"
+    description = "Runs the startup benchmark with the agent and plugins, installed as a single consolidated transformer"
+    mainClass.set("software.amazon.disco.agent.benchmarks.overhead.StartupBenchmark")
+    classpath = sourceSets["overhead"].runtimeClasspath
+    jvmArgs("-javaagent:$agentJarPath=pluginPath=$overheadPluginsDir:consolidatedinstall")
+    args = listOf(
+        "--label", "consolidated",
+        "--out", "$startupResultsDir/consolidated.properties",
+        "--baseline", "$startupResultsDir/agent.properties"
+    ) + startupArgs
+
+    dependsOn("$agentProject:build")
+    dependsOn(overheadPlugins)
+    mustRunAfter(startupWithAgent)
+}
+
+tasks.register("startup") {
+    group = "benchmark"
+    description = "Runs the startup benchmark without the agent, then with each of its install modes, and compares them"
+    dependsOn(startupBaseline, startupWithAgent, startupConsolidated)
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License").
+ *   You may not use this file except in compliance with the License.
+ *   A copy of the License is located at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file. This file is distributed
+ *   on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *   express or implied. See the License for the specific language governing
+ *   permissions and limitations under the License.
+ */
+
+package software.amazon.disco.agent.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.disco.agent.concurrent.decorate.DecoratedRunnable;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The cost of handing a Runnable to another thread: decorating it on the submitting side, and the before() and after()
+ * treatments around its execution. Both run on the benchmark thread here, which isolates them from the cost of the
+ * hand-off itself.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class DecoratedRunnableBenchmark {
+    private final CountingRunnable task = new CountingRunnable();
+
+    @Benchmark
+    public void maybeCreateAndRun(TransactionStates.InTransaction state) {
+        DecoratedRunnable.maybeCreate(task).run();
+    }
+
+    @Benchmark
+    public void maybeDecorateAndRun(TransactionStates.InTransaction state) {
+        DecoratedRunnable.maybeDecorate(task).run();
+    }
+
+    @Benchmark
+    public void maybeDecorateAndRunOutsideTransaction(TransactionStates.NoTransaction state) {
+        DecoratedRunnable.maybeDecorate(task).run();
+    }
+
+    /**
+     * A Runnable doing the least possible work, so that the cost measured is that of the decoration.
+     */
+    static class CountingRunnable implements Runnable {
+        long count;
+
+        @Override
+        public void run() {
+            count++;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License").
+ *   You may not use this file except in compliance with the License.
+ *   A copy of the License is located at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file. This file is distributed
+ *   on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *   express or implied. See the License for the specific language governing
+ *   permissions and limitations under the License.
+ */
+
+package software.amazon.disco.agent.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.disco.agent.event.Event;
+import software.amazon.disco.agent.event.EventBus;
+import software.amazon.disco.agent.event.Listener;
+import software.amazon.disco.agent.event.ServiceDownstreamRequestEvent;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The cost of publishing an Event to zero, one or several synchronous Listeners. The 'publish' benchmark dispatches a
+ * prebuilt Event, whereas 'createAndPublish' does as an interceptor would, creating the Event only if some Listener is
+ * interested in it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class EventBusBenchmark {
+    @Param({"0", "1", "8"})
+    public int listenerCount;
+
+    private final Event event = new ServiceDownstreamRequestEvent("Benchmark", "service", "operation");
+
+    @Setup
+    public void setup() {
+        EventBus.removeAllListeners();
+        for (int i = 0; i < listenerCount; i++) {
+            EventBus.addListener(new CountingListener());
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        EventBus.removeAllListeners();
+    }
+
+    @Benchmark
+    public void publish() {
+        EventBus.publish(event);
+    }
+
+    @Benchmark
+    public void createAndPublish() {
+        if (EventBus.isAnyListenerInterested(ServiceDownstreamRequestEvent.class)) {
+            EventBus.publish(new ServiceDownstreamRequestEvent("Benchmark", "service", "operation"));
+        }
+    }
+
+    /**
+     * A Listener doing the least possible work with each Event, so that the cost measured is that of dispatch.
+     */
+    static class CountingListener implements Listener {
+        long count;
+
+        @Override
+        public int getPriority() {
+            return 0;
+        }
+
+        @Override
+        public void listen(Event e) {
+            count++;
+        }
+    }
+}
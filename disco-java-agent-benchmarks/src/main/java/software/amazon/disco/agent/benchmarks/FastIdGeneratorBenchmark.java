@@ -0,0 +1,59 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License").
+ *   You may not use this file except in compliance with the License.
+ *   A copy of the License is located at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file. This file is distributed
+ *   on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *   express or implied. See the License for the specific language governing
+ *   permissions and limitations under the License.
+ */
+
+package software.amazon.disco.agent.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.disco.agent.util.FastIdGenerator;
+import software.amazon.disco.agent.util.TransactionId;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The cost of generating the id of each new TransactionContext and service Event, and of rendering a binary
+ * TransactionId as a String.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class FastIdGeneratorBenchmark {
+    @Benchmark
+    public String generate() {
+        return FastIdGenerator.generate();
+    }
+
+    @Benchmark
+    public String generate128() {
+        return FastIdGenerator.generate128();
+    }
+
+    @Benchmark
+    public TransactionId generateTransactionId() {
+        return TransactionId.generate();
+    }
+
+    @Benchmark
+    public String generateTransactionIdAndRender() {
+        return TransactionId.generate().toString();
+    }
+}
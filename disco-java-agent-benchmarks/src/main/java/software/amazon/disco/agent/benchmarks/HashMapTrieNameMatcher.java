@@ -0,0 +1,75 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License").
+ *   You may not use this file except in compliance with the License.
+ *   A copy of the License is located at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file. This file is distributed
+ *   on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *   express or implied. See the License for the specific language governing
+ *   permissions and limitations under the License.
+ */
+
+package software.amazon.disco.agent.benchmarks;
+
+import net.bytebuddy.description.NamedElement;
+import net.bytebuddy.matcher.ElementMatcher;
+
+import java.util.HashMap;
+
+/**
+ * The implementation of TrieNameMatcher prior to its array-based form, in which each node holds a HashMap of its
+ * children, retained here as the reference against which TrieNameMatcherBenchmark measures the current one.
+ */
+public class HashMapTrieNameMatcher<T extends NamedElement> extends ElementMatcher.Junction.AbstractBase<T> {
+    private final TrieNode root = new TrieNode();
+
+    /**
+     * Initialize the matcher by inserting the set of prefixes to be matched against.
+     * @param prefixes set of prefixes to be inserted
+     */
+    public HashMapTrieNameMatcher(String[] prefixes) {
+        for (String item : prefixes) {
+            insert(item);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean matches(T target) {
+        String word = target.getActualName();
+        if (word == null || word.isEmpty()) return false;
+        TrieNode node = root;
+        char[] chars = word.toCharArray();
+        for (char aChar : chars) {
+            if (node.children.isEmpty()) {
+                return true;
+            } else if (node.children.containsKey(aChar)) {
+                node = node.children.get(aChar);
+            } else {
+                return false;
+            }
+        }
+        return node.children.isEmpty();
+    }
+
+    private void insert(String word) {
+        if (word == null || word.isEmpty()) return;
+        TrieNode node = root;
+        for (char aChar : word.toCharArray()) {
+            if (!node.children.containsKey(aChar)) {
+                node.children.put(aChar, new TrieNode());
+            }
+            node = node.children.get(aChar);
+        }
+    }
+
+    private static class TrieNode {
+        private final HashMap<Character, TrieNode> children = new HashMap<>();
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License").
+ *   You may not use this file except in compliance with the License.
+ *   A copy of the License is located at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file. This file is distributed
+ *   on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *   express or implied. See the License for the specific language governing
+ *   permissions and limitations under the License.
+ */
+
+package software.amazon.disco.agent.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.disco.agent.reflect.MethodHandleWrapper;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The cost of a call made by an interceptor, via a MethodHandleWrapper, into a class of the instrumented application
+ * which it cannot reference directly. A JDK class stands in for the application class here.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+@SuppressWarnings("deprecation")
+public class MethodHandleWrapperBenchmark {
+    private final MethodHandleWrapper noArgs = new MethodHandleWrapper("java.lang.String",
+            ClassLoader.getSystemClassLoader(), "length", int.class);
+
+    private final MethodHandleWrapper oneArg = new MethodHandleWrapper("java.lang.String",
+            ClassLoader.getSystemClassLoader(), "indexOf", int.class, String.class);
+
+    private final String receiver = "benchmark";
+
+    @Benchmark
+    public Object invokeNoArgs() {
+        return noArgs.invoke(receiver);
+    }
+
+    @Benchmark
+    public Object invokeOneArg() {
+        return oneArg.invoke(receiver, "mark");
+    }
+}
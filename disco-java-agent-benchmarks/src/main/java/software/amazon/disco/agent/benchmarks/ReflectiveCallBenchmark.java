@@ -0,0 +1,59 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License").
+ *   You may not use this file except in compliance with the License.
+ *   A copy of the License is located at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file. This file is distributed
+ *   on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *   express or implied. See the License for the specific language governing
+ *   permissions and limitations under the License.
+ */
+
+package software.amazon.disco.agent.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.disco.agent.reflect.ReflectiveCall;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The cost of a call from client code through the reflect API into the agent, both to a method which is found, and to
+ * one which is not - as every call would be if the agent were absent.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class ReflectiveCallBenchmark {
+    private final ReflectiveCall<String> found = ReflectiveCall.returning(String.class)
+            .ofClass(".concurrent.TransactionContext")
+            .ofMethod("get");
+
+    private final ReflectiveCall<String> notFound = ReflectiveCall.returning(String.class)
+            .ofClass(".concurrent.NoSuchClass")
+            .ofMethod("get");
+
+    @Benchmark
+    public String callFound(TransactionStates.InTransaction state) {
+        return found.call();
+    }
+
+    @Benchmark
+    public String callNotFound() {
+        return notFound.call();
+    }
+}
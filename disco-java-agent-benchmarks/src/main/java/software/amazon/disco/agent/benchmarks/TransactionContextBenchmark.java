@@ -0,0 +1,60 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License").
+ *   You may not use this file except in compliance with the License.
+ *   A copy of the License is located at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file. This file is distributed
+ *   on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *   express or implied. See the License for the specific language governing
+ *   permissions and limitations under the License.
+ */
+
+package software.amazon.disco.agent.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.disco.agent.concurrent.TransactionContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The cost of the TransactionContext operations performed for every request served: its creation and destruction, and
+ * reading and writing within it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class TransactionContextBenchmark {
+    @Benchmark
+    public int createDestroy(TransactionStates.NoTransaction state) {
+        int depth = TransactionContext.create();
+        TransactionContext.destroy();
+        return depth;
+    }
+
+    @Benchmark
+    public String get(TransactionStates.InTransaction state) {
+        return TransactionContext.get();
+    }
+
+    @Benchmark
+    public void putMetadata(TransactionStates.InTransaction state) {
+        TransactionContext.putMetadata(TransactionStates.METADATA_KEY, TransactionStates.METADATA_VALUE);
+    }
+
+    @Benchmark
+    public Object getMetadata(TransactionStates.InTransaction state) {
+        return TransactionContext.getMetadata(TransactionStates.METADATA_KEY);
+    }
+}
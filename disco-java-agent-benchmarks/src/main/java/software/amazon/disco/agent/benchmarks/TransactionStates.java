@@ -0,0 +1,60 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License").
+ *   You may not use this file except in compliance with the License.
+ *   A copy of the License is located at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file. This file is distributed
+ *   on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *   express or implied. See the License for the specific language governing
+ *   permissions and limitations under the License.
+ */
+
+package software.amazon.disco.agent.benchmarks;
+
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import software.amazon.disco.agent.concurrent.TransactionContext;
+
+/**
+ * JMH States which place the benchmark thread within a TransactionContext, as the worker thread of a request being
+ * served would be, or outside of one, as a background thread would be.
+ */
+public class TransactionStates {
+    static final String METADATA_KEY = "benchmarkKey";
+    static final String METADATA_VALUE = "benchmarkValue";
+
+    /**
+     * The benchmark thread is within a created TransactionContext, holding a single metadata item.
+     */
+    @State(Scope.Thread)
+    public static class InTransaction {
+        @Setup
+        public void setup() {
+            TransactionContext.clear();
+            TransactionContext.create();
+            TransactionContext.putMetadata(METADATA_KEY, METADATA_VALUE);
+        }
+
+        @TearDown
+        public void tearDown() {
+            TransactionContext.clear();
+        }
+    }
+
+    /**
+     * The benchmark thread has no TransactionContext.
+     */
+    @State(Scope.Thread)
+    public static class NoTransaction {
+        @Setup
+        public void setup() {
+            TransactionContext.clear();
+        }
+    }
+}
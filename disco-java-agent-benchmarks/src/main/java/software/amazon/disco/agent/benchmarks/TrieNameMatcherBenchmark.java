@@ -0,0 +1,73 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License").
+ *   You may not use this file except in compliance with the License.
+ *   A copy of the License is located at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file. This file is distributed
+ *   on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *   express or implied. See the License for the specific language governing
+ *   permissions and limitations under the License.
+ */
+
+package software.amazon.disco.agent.benchmarks;
+
+import net.bytebuddy.description.type.TypeDescription;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.disco.agent.matchers.TrieNameMatcher;
+
+import java.lang.reflect.Modifier;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The cost of testing a type name against the namespaces ignored by the InterceptionInstaller, which happens for every
+ * class loaded once the agent is installed. The names cover a short and a long match, and misses diverging from an
+ * ignored prefix early and late. The HashMap-based implementation which preceded the current one is measured alongside
+ * it for comparison.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class TrieNameMatcherBenchmark {
+    //as per InterceptionInstaller
+    private static final String[] IGNORE_PREFIXES = new String[] {"sun.", "com.sun.", "java.lang.ClassLoader$", "jdk.", "org.jacoco.", "org.junit.",
+            "org.aspectj.", "software.amazon.disco.agent."};
+
+    @Param({"sun.misc.Unsafe", "software.amazon.disco.agent.event.EventBus", "java.util.concurrent.ThreadPoolExecutor", "com.example.orders.OrderService"})
+    public String typeName;
+
+    private final TrieNameMatcher<TypeDescription> matcher = new TrieNameMatcher<>(IGNORE_PREFIXES);
+    private final HashMapTrieNameMatcher<TypeDescription> hashMapMatcher = new HashMapTrieNameMatcher<>(IGNORE_PREFIXES);
+    private TypeDescription type;
+
+    @Setup
+    public void setup() {
+        type = new TypeDescription.Latent(typeName, Modifier.PUBLIC, TypeDescription.Generic.OBJECT);
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return matcher.matches(type);
+    }
+
+    @Benchmark
+    public boolean matchesHashMapTrie() {
+        return hashMapMatcher.matches(type);
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License").
+ *   You may not use this file except in compliance with the License.
+ *   A copy of the License is located at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file. This file is distributed
+ *   on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *   express or implied. See the License for the specific language governing
+ *   permissions and limitations under the License.
+ */
+
+package software.amazon.disco.agent.benchmarks.overhead;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Counts the bytes allocated by every thread of the process between two points in time, using the HotSpot extension of
+ * the ThreadMXBean. Threads which end before the second point are not counted, so the thread pools of the workload are
+ * configured to keep their threads alive throughout.
+ */
+class AllocationCounter {
+    private final com.sun.management.ThreadMXBean threadMXBean;
+    private final Map<Long, Long> start = new HashMap<>();
+
+    /**
+     * Create a new AllocationCounter, and take the starting count
+     */
+    AllocationCounter() {
+        threadMXBean = (com.sun.management.ThreadMXBean)ManagementFactory.getThreadMXBean();
+        threadMXBean.setThreadAllocatedMemoryEnabled(true);
+        long[] ids = threadMXBean.getAllThreadIds();
+        long[] allocated = threadMXBean.getThreadAllocatedBytes(ids);
+        for (int i = 0; i < ids.length; i++) {
+            start.put(ids[i], allocated[i]);
+        }
+    }
+
+    /**
+     * Get the number of bytes allocated since this counter was created
+     * @return the number of bytes allocated by the threads alive now
+     */
+    long allocatedSinceStart() {
+        long[] ids = threadMXBean.getAllThreadIds();
+        long[] allocated = threadMXBean.getThreadAllocatedBytes(ids);
+        long total = 0;
+        for (int i = 0; i < ids.length; i++) {
+            //-1 is reported for a thread which ended between the two calls above
+            if (allocated[i] > 0) {
+                Long before = start.get(ids[i]);
+                total += allocated[i] - (before == null ? 0 : before);
+            }
+        }
+        return total;
+    }
+}
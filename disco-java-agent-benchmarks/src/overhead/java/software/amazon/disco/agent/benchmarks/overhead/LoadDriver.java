@@ -0,0 +1,141 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License").
+ *   You may not use this file except in compliance with the License.
+ *   A copy of the License is located at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file. This file is distributed
+ *   on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *   express or implied. See the License for the specific language governing
+ *   permissions and limitations under the License.
+ */
+
+package software.amazon.disco.agent.benchmarks.overhead;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Drives the workload from a fixed set of threads, each issuing one request after another for a given period, in a
+ * closed loop. Requests are made with the JDK's HttpURLConnection, which Disco does not intercept, so that the client
+ * side of the benchmark costs the same with or without the agent.
+ */
+class LoadDriver implements AutoCloseable {
+    private final URL target;
+    private final int concurrency;
+    private final ExecutorService threads;
+
+    /**
+     * Create a new LoadDriver. Its threads persist from one call of run() to the next.
+     * @param target the URL to request
+     * @param concurrency the number of threads issuing requests
+     */
+    LoadDriver(URL target, int concurrency) {
+        this.target = target;
+        this.concurrency = concurrency;
+        this.threads = Executors.newFixedThreadPool(concurrency);
+    }
+
+    /**
+     * Issue requests from every thread for the given period
+     * @param durationMillis the period in milliseconds
+     * @return the latency in nanoseconds of every request completed within the period, in ascending order
+     * @throws Exception if any request failed
+     */
+    long[] run(long durationMillis) throws Exception {
+        long deadline = System.nanoTime() + durationMillis * 1_000_000L;
+        List<Future<Recording>> futures = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            futures.add(threads.submit(new RequestLoop(deadline)));
+        }
+
+        Recording all = new Recording();
+        for (Future<Recording> future : futures) {
+            all.addAll(future.get());
+        }
+        return all.sorted();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() {
+        threads.shutdownNow();
+    }
+
+    private void request(byte[] buffer) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection)target.openConnection();
+        int status = connection.getResponseCode();
+        if (status != 200) {
+            throw new IOException("Workload returned HTTP status " + status);
+        }
+        //read the body to its end, so that the connection is returned to the JDK's keep-alive cache
+        try (InputStream body = connection.getInputStream()) {
+            while (body.read(buffer) != -1) {
+            }
+        }
+    }
+
+    /**
+     * The task run by each driver thread
+     */
+    private class RequestLoop implements Callable<Recording> {
+        private final long deadline;
+
+        RequestLoop(long deadline) {
+            this.deadline = deadline;
+        }
+
+        @Override
+        public Recording call() throws IOException {
+            Recording recording = new Recording();
+            byte[] buffer = new byte[1024];
+            long start;
+            while ((start = System.nanoTime()) < deadline) {
+                request(buffer);
+                recording.add(System.nanoTime() - start);
+            }
+            return recording;
+        }
+    }
+
+    /**
+     * A growable array of latencies
+     */
+    private static class Recording {
+        private long[] latencies = new long[1 << 14];
+        private int size;
+
+        void add(long latency) {
+            if (size == latencies.length) {
+                latencies = Arrays.copyOf(latencies, size * 2);
+            }
+            latencies[size++] = latency;
+        }
+
+        void addAll(Recording other) {
+            for (int i = 0; i < other.size; i++) {
+                add(other.latencies[i]);
+            }
+        }
+
+        long[] sorted() {
+            long[] result = Arrays.copyOf(latencies, size);
+            Arrays.sort(result);
+            return result;
+        }
+    }
+}
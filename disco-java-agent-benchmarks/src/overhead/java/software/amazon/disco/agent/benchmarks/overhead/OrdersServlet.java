@@ -0,0 +1,85 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License").
+ *   You may not use this file except in compliance with the License.
+ *   A copy of the License is located at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file. This file is distributed
+ *   on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *   express or implied. See the License for the specific language governing
+ *   permissions and limitations under the License.
+ */
+
+package software.amazon.disco.agent.benchmarks.overhead;
+
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.util.EntityUtils;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The upstream-facing servlet of the workload. Looks up a random order in the database, asks the inventory servlet
+ * about its item, and returns both as a small JSON document.
+ */
+class OrdersServlet extends HttpServlet {
+    private static final String QUERY = "SELECT item, quantity FROM orders WHERE id = ?";
+
+    private final DataSource database;
+    private final CloseableHttpClient httpClient;
+
+    /**
+     * Create a new OrdersServlet
+     * @param database the database of orders
+     * @param httpClient the client with which to call the inventory servlet, hosted by the same server as this one
+     */
+    OrdersServlet(DataSource database, CloseableHttpClient httpClient) {
+        this.database = database;
+        this.httpClient = httpClient;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
+        String item;
+        int quantity;
+        try (Connection connection = database.getConnection();
+             PreparedStatement statement = connection.prepareStatement(QUERY)) {
+            statement.setInt(1, ThreadLocalRandom.current().nextInt(WorkloadServer.ORDER_COUNT));
+            try (ResultSet result = statement.executeQuery()) {
+                result.next();
+                item = result.getString(1);
+                quantity = result.getInt(2);
+            }
+        } catch (SQLException e) {
+            throw new ServletException(e);
+        }
+
+        String stock;
+        try (CloseableHttpResponse response = httpClient.execute(new HttpGet("http://127.0.0.1:" + req.getLocalPort()
+                + WorkloadServer.INVENTORY_PATH + "?item=" + item))) {
+            stock = EntityUtils.toString(response.getEntity(), StandardCharsets.UTF_8);
+        }
+
+        resp.setContentType("application/json");
+        resp.getOutputStream().write(("{\"item\":\"" + item + "\",\"quantity\":" + quantity + ",\"stock\":" + stock + "}")
+                .getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License").
+ *   You may not use this file except in compliance with the License.
+ *   A copy of the License is located at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file. This file is distributed
+ *   on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *   express or implied. See the License for the specific language governing
+ *   permissions and limitations under the License.
+ */
+
+package software.amazon.disco.agent.benchmarks.overhead;
+
+import software.amazon.disco.agent.event.Event;
+import software.amazon.disco.agent.event.Listener;
+import software.amazon.disco.agent.reflect.event.EventBus;
+
+import java.net.URL;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * An end-to-end benchmark of the overhead of Disco on a small service: an embedded servlet container serving requests
+ * which each query an in-memory database and call a downstream HTTP service, all within this process. It is run once
+ * without the agent and once with it, and reports the median and 99th percentile latency, the throughput and the bytes
+ * allocated per request of each, so that the two may be compared.
+ *
+ * Arguments, each optional, are given as '--name value' pairs:
+ *
+ * --label       the name of this run, default 'baseline'
+ * --concurrency the number of client threads, default 8
+ * --warmup      the warmup period in seconds, default 20
+ * --duration    the measurement period in seconds, default 60
+ * --out         a properties file to which the results are saved
+ * --baseline    a properties file saved by an earlier run, against which the results are compared
+ * --listener    'true' to register a Listener on the EventBus, as a tracing or metrics library would, default 'true'
+ */
+public class OverheadBenchmark {
+    /**
+     * Entry point of the benchmark
+     * @param args arguments as described above
+     * @throws Exception if the workload could not be started, or a request failed
+     */
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseArgs(args);
+        String label = options.getOrDefault("label", "baseline");
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "8"));
+        long warmupMillis = Long.parseLong(options.getOrDefault("warmup", "20")) * 1000;
+        long durationMillis = Long.parseLong(options.getOrDefault("duration", "60")) * 1000;
+
+        //a no-op without the agent
+        if (Boolean.parseBoolean(options.getOrDefault("listener", "true"))) {
+            EventBus.addListener(new CountingListener());
+        }
+
+        OverheadResult result;
+        try (WorkloadServer server = new WorkloadServer(concurrency);
+             LoadDriver driver = new LoadDriver(new URL(server.getBaseUri() + WorkloadServer.ORDERS_PATH), concurrency)) {
+            System.out.println("Warming up '" + label + "' for " + warmupMillis / 1000 + "s with " + concurrency + " threads");
+            driver.run(warmupMillis);
+            System.gc();
+
+            System.out.println("Measuring '" + label + "' for " + durationMillis / 1000 + "s");
+            AllocationCounter allocations = new AllocationCounter();
+            long[] latencies = driver.run(durationMillis);
+            result = OverheadResult.compute(label, latencies, durationMillis, allocations.allocatedSinceStart());
+        }
+
+        OverheadResult baseline = null;
+        if (options.containsKey("baseline")) {
+            Path baselinePath = Paths.get(options.get("baseline"));
+            if (baselinePath.toFile().isFile()) {
+                baseline = OverheadResult.load(baselinePath);
+            } else {
+                System.out.println("No baseline found at " + baselinePath);
+            }
+        }
+        System.out.print(result.format(baseline));
+
+        if (options.containsKey("out")) {
+            result.save(Paths.get(options.get("out")));
+        }
+    }
+
+    static Map<String, String> parseArgs(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Expected an argument of the form --name, but found " + args[i]);
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        return options;
+    }
+
+    /**
+     * A Listener which does the least possible work with each Event, so that the cost measured is that of Disco itself.
+     */
+    static class CountingListener implements Listener {
+        long count;
+
+        @Override
+        public int getPriority() {
+            return 0;
+        }
+
+        @Override
+        public void listen(Event e) {
+            count++;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License").
+ *   You may not use this file except in compliance with the License.
+ *   A copy of the License is located at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file. This file is distributed
+ *   on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *   express or implied. See the License for the specific language governing
+ *   permissions and limitations under the License.
+ */
+
+package software.amazon.disco.agent.benchmarks.overhead;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+/**
+ * The figures from one run of the OverheadBenchmark, which may be saved to and loaded from a properties file so that a
+ * run with the agent may be compared with an earlier one without.
+ */
+class OverheadResult {
+    private final String label;
+    private final long requests;
+    private final double p50Micros;
+    private final double p99Micros;
+    private final double requestsPerSecond;
+    private final double bytesPerRequest;
+
+    /**
+     * Create a new OverheadResult
+     * @param label the name of the run e.g. 'baseline'
+     * @param requests the number of requests completed in the measurement period
+     * @param p50Micros the median latency in microseconds
+     * @param p99Micros the 99th percentile latency in microseconds
+     * @param requestsPerSecond the throughput
+     * @param bytesPerRequest the bytes allocated by the whole process, per request
+     */
+    OverheadResult(String label, long requests, double p50Micros, double p99Micros, double requestsPerSecond, double bytesPerRequest) {
+        this.label = label;
+        this.requests = requests;
+        this.p50Micros = p50Micros;
+        this.p99Micros = p99Micros;
+        this.requestsPerSecond = requestsPerSecond;
+        this.bytesPerRequest = bytesPerRequest;
+    }
+
+    /**
+     * Compute a result from the sorted latencies of a measurement period
+     * @param label the name of the run
+     * @param sortedLatencies the latency of each request in nanoseconds, in ascending order
+     * @param durationMillis the length of the measurement period
+     * @param allocatedBytes the bytes allocated by the process during the measurement period
+     * @return the computed result
+     */
+    static OverheadResult compute(String label, long[] sortedLatencies, long durationMillis, long allocatedBytes) {
+        long requests = sortedLatencies.length;
+        return new OverheadResult(label, requests,
+                percentile(sortedLatencies, 0.50) / 1000.0,
+                percentile(sortedLatencies, 0.99) / 1000.0,
+                requests * 1000.0 / durationMillis,
+                requests == 0 ? 0 : (double)allocatedBytes / requests);
+    }
+
+    /**
+     * Load a result previously saved with save()
+     * @param path the properties file
+     * @return the loaded result
+     * @throws IOException if the file could not be read
+     */
+    static OverheadResult load(Path path) throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(path)) {
+            properties.load(in);
+        }
+        return new OverheadResult(properties.getProperty("label"),
+                Long.parseLong(properties.getProperty("requests")),
+                Double.parseDouble(properties.getProperty("p50.micros")),
+                Double.parseDouble(properties.getProperty("p99.micros")),
+                Double.parseDouble(properties.getProperty("throughput.rps")),
+                Double.parseDouble(properties.getProperty("alloc.bytes.per.request")));
+    }
+
+    /**
+     * Save this result as a properties file
+     * @param path the properties file, whose parent directories are created if necessary
+     * @throws IOException if the file could not be written
+     */
+    void save(Path path) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("label", label);
+        properties.setProperty("requests", Long.toString(requests));
+        properties.setProperty("p50.micros", Double.toString(p50Micros));
+        properties.setProperty("p99.micros", Double.toString(p99Micros));
+        properties.setProperty("throughput.rps", Double.toString(requestsPerSecond));
+        properties.setProperty("alloc.bytes.per.request", Double.toString(bytesPerRequest));
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        try (OutputStream out = Files.newOutputStream(path)) {
+            properties.store(out, "Disco end-to-end overhead benchmark");
+        }
+    }
+
+    /**
+     * Format this result as a table, with the relative difference from a baseline if one is given
+     * @param baseline the result to compare against, or null
+     * @return the formatted table
+     */
+    String format(OverheadResult baseline) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-22s %14s", "", label));
+        if (baseline != null) {
+            sb.append(String.format(" %14s %9s", baseline.label, "delta"));
+        }
+        sb.append('\n');
+        row(sb, "requests", requests, baseline == null ? null : (double)baseline.requests);
+        row(sb, "p50 latency (us)", p50Micros, baseline == null ? null : baseline.p50Micros);
+        row(sb, "p99 latency (us)", p99Micros, baseline == null ? null : baseline.p99Micros);
+        row(sb, "throughput (req/s)", requestsPerSecond, baseline == null ? null : baseline.requestsPerSecond);
+        row(sb, "allocated (B/req)", bytesPerRequest, baseline == null ? null : baseline.bytesPerRequest);
+        return sb.toString();
+    }
+
+    private static void row(StringBuilder sb, String name, double value, Double baselineValue) {
+        sb.append(String.format("%-22s %14.1f", name, value));
+        if (baselineValue != null) {
+            sb.append(String.format(" %14.1f %+8.1f%%", baselineValue,
+                    baselineValue == 0 ? 0 : (value - baselineValue) * 100 / baselineValue));
+        }
+        sb.append('\n');
+    }
+
+    private static double percentile(long[] sorted, double fraction) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int)Math.ceil(fraction * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+}
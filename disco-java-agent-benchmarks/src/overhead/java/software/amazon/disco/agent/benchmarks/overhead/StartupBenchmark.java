@@ -0,0 +1,109 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License").
+ *   You may not use this file except in compliance with the License.
+ *   A copy of the License is located at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file. This file is distributed
+ *   on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *   express or implied. See the License for the specific language governing
+ *   permissions and limitations under the License.
+ */
+
+package software.amazon.disco.agent.benchmarks.overhead;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+/**
+ * A benchmark of the agent's cost at startup, when it is dominated by the class file transformers which each
+ * Installable registers, and which are called for every class loaded. It reports the time from the JVM's start to
+ * this class's main method, which includes the agent's premain, and then the time taken to load every class in the
+ * jars on the classpath, none of which have been loaded before. The classes are loaded but not initialized, so that
+ * only loading, and with it transformation, is measured.
+ *
+ * Arguments, each optional, are given as '--name value' pairs:
+ *
+ * --label    the name of this run, default 'baseline'
+ * --out      a properties file to which the results are saved
+ * --baseline a properties file saved by an earlier run, against which the results are compared
+ */
+public class StartupBenchmark {
+    /**
+     * Entry point of the benchmark
+     * @param args arguments as described above
+     * @throws Exception if the classpath could not be read
+     */
+    public static void main(String[] args) throws Exception {
+        long mainMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+        Map<String, String> options = OverheadBenchmark.parseArgs(args);
+        String label = options.getOrDefault("label", "baseline");
+
+        List<String> classNames = listClasses(System.getProperty("java.class.path"));
+        ClassLoader classLoader = StartupBenchmark.class.getClassLoader();
+        int loaded = 0;
+        long start = System.nanoTime();
+        for (String className: classNames) {
+            try {
+                Class.forName(className, false, classLoader);
+                loaded++;
+            } catch (Throwable t) {
+                //classes whose optional dependencies are absent fail to load, which is of no concern here
+            }
+        }
+        long loadMicros = (System.nanoTime() - start) / 1000;
+        StartupResult result = new StartupResult(label, mainMillis, loaded, loadMicros);
+
+        StartupResult baseline = null;
+        if (options.containsKey("baseline")) {
+            Path baselinePath = Paths.get(options.get("baseline"));
+            if (baselinePath.toFile().isFile()) {
+                baseline = StartupResult.load(baselinePath);
+            } else {
+                System.out.println("No baseline found at " + baselinePath);
+            }
+        }
+        System.out.print(result.format(baseline));
+
+        if (options.containsKey("out")) {
+            result.save(Paths.get(options.get("out")));
+        }
+    }
+
+    /**
+     * List the names of the classes in each jar on the given classpath, in the order in which they appear
+     * @param classPath the classpath
+     * @return the binary names of the classes found
+     * @throws IOException if a jar could not be read
+     */
+    private static List<String> listClasses(String classPath) throws IOException {
+        List<String> classNames = new ArrayList<>();
+        for (String element: classPath.split(File.pathSeparator)) {
+            if (!element.endsWith(".jar")) {
+                continue;
+            }
+            try (JarFile jar = new JarFile(element)) {
+                Enumeration<JarEntry> entries = jar.entries();
+                while (entries.hasMoreElements()) {
+                    String name = entries.nextElement().getName();
+                    if (name.endsWith(".class") && !name.startsWith("META-INF/") && !name.endsWith("module-info.class")) {
+                        classNames.add(name.substring(0, name.length() - ".class".length()).replace('/', '.'));
+                    }
+                }
+            }
+        }
+        return classNames;
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License").
+ *   You may not use this file except in compliance with the License.
+ *   A copy of the License is located at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file. This file is distributed
+ *   on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *   express or implied. See the License for the specific language governing
+ *   permissions and limitations under the License.
+ */
+
+package software.amazon.disco.agent.benchmarks.overhead;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+/**
+ * The figures from one run of the StartupBenchmark, which may be saved to and loaded from a properties file so that
+ * runs with and without the agent, and with its different install modes, may be compared.
+ */
+class StartupResult {
+    private final String label;
+    private final long mainMillis;
+    private final long classes;
+    private final long loadMicros;
+
+    /**
+     * Create a new StartupResult
+     * @param label the name of the run e.g. 'baseline'
+     * @param mainMillis the time from the JVM's start to the benchmark's main method, in milliseconds
+     * @param classes the number of classes loaded
+     * @param loadMicros the time taken to load them, in microseconds
+     */
+    StartupResult(String label, long mainMillis, long classes, long loadMicros) {
+        this.label = label;
+        this.mainMillis = mainMillis;
+        this.classes = classes;
+        this.loadMicros = loadMicros;
+    }
+
+    /**
+     * Load a result previously saved with save()
+     * @param path the properties file
+     * @return the loaded result
+     * @throws IOException if the file could not be read
+     */
+    static StartupResult load(Path path) throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(path)) {
+            properties.load(in);
+        }
+        return new StartupResult(properties.getProperty("label"),
+                Long.parseLong(properties.getProperty("main.millis")),
+                Long.parseLong(properties.getProperty("classes")),
+                Long.parseLong(properties.getProperty("load.micros")));
+    }
+
+    /**
+     * Save this result as a properties file
+     * @param path the properties file, whose parent directories are created if necessary
+     * @throws IOException if the file could not be written
+     */
+    void save(Path path) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("label", label);
+        properties.setProperty("main.millis", Long.toString(mainMillis));
+        properties.setProperty("classes", Long.toString(classes));
+        properties.setProperty("load.micros", Long.toString(loadMicros));
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        try (OutputStream out = Files.newOutputStream(path)) {
+            properties.store(out, "Disco startup benchmark");
+        }
+    }
+
+    /**
+     * Format this result as a table, with the relative difference from a baseline if one is given
+     * @param baseline the result to compare against, or null
+     * @return the formatted table
+     */
+    String format(StartupResult baseline) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-22s %14s", "", label));
+        if (baseline != null) {
+            sb.append(String.format(" %14s %9s", baseline.label, "delta"));
+        }
+        sb.append('\n');
+        row(sb, "time to main (ms)", mainMillis, baseline == null ? null : (double)baseline.mainMillis);
+        row(sb, "classes loaded", classes, baseline == null ? null : (double)baseline.classes);
+        row(sb, "load time (ms)", loadMicros / 1000.0, baseline == null ? null : baseline.loadMicros / 1000.0);
+        row(sb, "per class (us)", perClassMicros(), baseline == null ? null : baseline.perClassMicros());
+        return sb.toString();
+    }
+
+    private double perClassMicros() {
+        return classes == 0 ? 0 : (double)loadMicros / classes;
+    }
+
+    private static void row(StringBuilder sb, String name, double value, Double baselineValue) {
+        sb.append(String.format("%-22s %14.1f", name, value));
+        if (baselineValue != null) {
+            sb.append(String.format(" %14.1f %+8.1f%%", baselineValue,
+                    baselineValue == 0 ? 0 : (value - baselineValue) * 100 / baselineValue));
+        }
+        sb.append('\n');
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License").
+ *   You may not use this file except in compliance with the License.
+ *   A copy of the License is located at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file. This file is distributed
+ *   on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *   express or implied. See the License for the specific language governing
+ *   permissions and limitations under the License.
+ */
+
+package software.amazon.disco.agent.benchmarks.overhead;
+
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.servlet.ServletContextHandler;
+import org.eclipse.jetty.servlet.ServletHolder;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+import org.h2.jdbcx.JdbcConnectionPool;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+
+/**
+ * The service under test, entirely within this process and bound to the loopback interface: an embedded Jetty
+ * container hosting an 'orders' servlet, which reads from an in-memory H2 database and then calls an 'inventory' servlet
+ * in the same container with the Apache HttpClient. Each request served by the orders servlet therefore passes through
+ * the servlet, JDBC and Apache HttpClient interceptions of the Disco web and sql plugins.
+ */
+class WorkloadServer implements AutoCloseable {
+    static final String ORDERS_PATH = "/orders";
+    static final String INVENTORY_PATH = "/inventory";
+    static final int ORDER_COUNT = 1000;
+
+    private final Server server;
+    private final JdbcConnectionPool database;
+    private final CloseableHttpClient httpClient;
+
+    /**
+     * Create and start the server, on an ephemeral port.
+     * @param threads the maximum number of threads serving requests
+     * @throws Exception if the database could not be populated, or the server could not be started
+     */
+    WorkloadServer(int threads) throws Exception {
+        database = JdbcConnectionPool.create("jdbc:h2:mem:orders;DB_CLOSE_DELAY=-1", "sa", "");
+        database.setMaxConnections(threads * 2);
+        populate(database);
+
+        httpClient = HttpClients.custom()
+                .setMaxConnTotal(threads * 2)
+                .setMaxConnPerRoute(threads * 2)
+                .build();
+
+        //a long idle timeout keeps the same threads alive throughout the run, so that their allocations can be counted
+        QueuedThreadPool threadPool = new QueuedThreadPool(threads * 2 + 8, threads * 2 + 8, 600_000);
+        server = new Server(threadPool);
+        ServerConnector connector = new ServerConnector(server);
+        connector.setHost("127.0.0.1");
+        connector.setPort(0);
+        server.addConnector(connector);
+
+        ServletContextHandler context = new ServletContextHandler();
+        context.addServlet(new ServletHolder(new OrdersServlet(database, httpClient)), ORDERS_PATH);
+        context.addServlet(new ServletHolder(new InventoryServlet()), INVENTORY_PATH);
+        server.setHandler(context);
+        server.start();
+    }
+
+    /**
+     * Get the base URI of the running server
+     * @return the base URI, without a trailing slash
+     */
+    String getBaseUri() {
+        return "http://127.0.0.1:" + ((ServerConnector)server.getConnectors()[0]).getLocalPort();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() throws Exception {
+        server.stop();
+        httpClient.close();
+        database.dispose();
+    }
+
+    private static void populate(JdbcConnectionPool database) throws Exception {
+        try (Connection connection = database.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE orders (id INT PRIMARY KEY, item VARCHAR(64), quantity INT)");
+            try (PreparedStatement insert = connection.prepareStatement("INSERT INTO orders VALUES (?, ?, ?)")) {
+                for (int i = 0; i < ORDER_COUNT; i++) {
+                    insert.setInt(1, i);
+                    insert.setString(2, "item-" + (i % 50));
+                    insert.setInt(3, i % 7 + 1);
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+        }
+    }
+}
@@ -31,6 +31,8 @@ import software.amazon.disco.agent.logging.Logger;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.util.Collections;
+import java.util.List;
 
 import static net.bytebuddy.matcher.ElementMatchers.hasSuperType;
 import static net.bytebuddy.matcher.ElementMatchers.isInterface;
@@ -56,7 +58,8 @@ public class ConnectionInterceptor implements Installable {
      * @param origin Identifier of the intercepted method, for debugging/logging
      * @param conn Connection object being used to prepare the statement/call
      * @return The generated disco {@link ServiceDownstreamRequestEvent}, with fields filled out
-     *         on a best-effort basis, including the Connection as the request object.
+     *         on a best-effort basis, including the Connection as the request object. Null if no listener
+     *         is interested in either the request or the response event.
      */
     @Advice.OnMethodEnter
     public static ServiceRequestEvent enter(@Advice.Argument(value = 0) final String queryString,
@@ -66,6 +69,11 @@ public class ConnectionInterceptor implements Installable {
             log.debug("DiSCo(Sql) interception of " + origin);
         }
 
+        final boolean publishRequest = EventBus.isAnyListenerInterested(ServiceDownstreamRequestEvent.class);
+        if (!publishRequest && !EventBus.isAnyListenerInterested(ServiceDownstreamResponseEvent.class)) {
+            return null;
+        }
+
         String db = null;
 
         try {
@@ -76,7 +84,9 @@ public class ConnectionInterceptor implements Installable {
 
         ServiceRequestEvent requestEvent = new ServiceDownstreamRequestEvent(SQL_PREPARE_ORIGIN, db, queryString)
                 .withRequest(conn);
-        EventBus.publish(requestEvent);
+        if (publishRequest) {
+            EventBus.publish(requestEvent);
+        }
         return requestEvent;
     }
 
@@ -84,7 +94,7 @@ public class ConnectionInterceptor implements Installable {
      * This method is inlined with a preparation method at the moment it would return or throw a {@link Throwable}.
      * It extracts the created statement and throwable if any and publishes a {@link ServiceDownstreamResponseEvent}.
      *
-     * @param requestEvent the disco event generated when this prepare request was made
+     * @param requestEvent the disco event generated when this prepare request was made, or null if none was
      * @param response the {@code PreparedStatement} returned by the {@code Connection}
      * @param thrown the Throwable thrown by the connection, or null if preparation was successful.
      *               Typically a {@code SQLException}.
@@ -93,6 +103,9 @@ public class ConnectionInterceptor implements Installable {
     public static void exit(@Advice.Enter final ServiceRequestEvent requestEvent,
                             @Advice.Return final PreparedStatement response,
                             @Advice.Thrown final Throwable thrown) {
+        if (requestEvent == null || !EventBus.isAnyListenerInterested(ServiceDownstreamResponseEvent.class)) {
+            return;
+        }
 
         ServiceResponseEvent responseEvent = new ServiceDownstreamResponseEvent(
                 SQL_PREPARE_ORIGIN,
@@ -121,6 +134,14 @@ public class ConnectionInterceptor implements Installable {
                         .advice(buildMethodMatcher(), ConnectionInterceptor.class.getName()));
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<String> getCandidateSuperTypeNames() {
+        return Collections.singletonList("java.sql.Connection");
+    }
+
     /**
      * Builds an element matcher that will match any implementation of the JDBC Connection interface
      *
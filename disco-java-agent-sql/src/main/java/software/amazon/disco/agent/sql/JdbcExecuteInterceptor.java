@@ -32,6 +32,8 @@ import software.amazon.disco.agent.logging.Logger;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.Collections;
+import java.util.List;
 
 import static net.bytebuddy.matcher.ElementMatchers.hasSuperType;
 import static net.bytebuddy.matcher.ElementMatchers.isAbstract;
@@ -75,7 +77,8 @@ public class JdbcExecuteInterceptor implements Installable {
      * @param queryString the first parameter of the method, in the case where it is the queryString
      * @param origin Identifier of the intercepted method, for debugging/logging
      * @param stmt concrete statement class being used to make the query
-     * @return a ServiceDownstreamRequestEvent with fields populated on a best effort basis
+     * @return a ServiceDownstreamRequestEvent with fields populated on a best effort basis, or null if no listener
+     *         is interested in either the request or the response event
      */
     @Advice.OnMethodEnter
     public static ServiceRequestEvent enter(@Advice.Argument(value = 0, optional = true) String queryString,
@@ -85,6 +88,12 @@ public class JdbcExecuteInterceptor implements Installable {
             log.debug("DiSCo(Sql) interception of " + origin);
         }
 
+        // the request event is also needed to build the response event, so only skip it if neither would be received
+        final boolean publishRequest = EventBus.isAnyListenerInterested(ServiceDownstreamRequestEvent.class);
+        if (!publishRequest && !EventBus.isAnyListenerInterested(ServiceDownstreamResponseEvent.class)) {
+            return null;
+        }
+
         String query = null;
         String db = null;
         try {
@@ -105,7 +114,9 @@ public class JdbcExecuteInterceptor implements Installable {
         // TODO: Consider replacing Statement Request object with a serializable object containing only relevant metadata
         ServiceRequestEvent requestEvent = new ServiceDownstreamRequestEvent(SQL_ORIGIN, db, query)
                 .withRequest(stmt);
-        EventBus.publish(requestEvent);
+        if (publishRequest) {
+            EventBus.publish(requestEvent);
+        }
         return requestEvent;
     }
 
@@ -116,7 +127,8 @@ public class JdbcExecuteInterceptor implements Installable {
      *
      * Must be public for use in Advice methods https://github.com/raphw/byte-buddy/issues/761
      *
-     * @param requestEvent the returned value of {@link #enter} method, passed in using the Enter annotation
+     * @param requestEvent the returned value of {@link #enter} method, passed in using the Enter annotation. Null if
+     *                     no listener was interested at the time of the request
      * @param response the response of the JDBC execute method or null if an exception was thrown, passed in using the
      *                 Return annotation
      * @param thrown the Throwable thrown by the query, or null if query was successful. Passed in using the Thrown
@@ -126,6 +138,9 @@ public class JdbcExecuteInterceptor implements Installable {
     public static void exit(@Advice.Enter final ServiceRequestEvent requestEvent,
                             @Advice.Return final Object response,
                             @Advice.Thrown final Throwable thrown) {
+        if (requestEvent == null || !EventBus.isAnyListenerInterested(ServiceDownstreamResponseEvent.class)) {
+            return;
+        }
 
         ServiceResponseEvent responseEvent = new ServiceDownstreamResponseEvent(
                 SQL_ORIGIN,
@@ -154,6 +169,14 @@ public class JdbcExecuteInterceptor implements Installable {
                     .advice(buildMethodMatcher(), JdbcExecuteInterceptor.class.getName()));
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<String> getCandidateSuperTypeNames() {
+        return Collections.singletonList("java.sql.Statement");
+    }
+
     /**
      * This helper method attempts to get the query string in two ways before giving up and returning null. The first is
      * just retrieving it from the arguments passed to the execute method being intercepted. If it is not present there,
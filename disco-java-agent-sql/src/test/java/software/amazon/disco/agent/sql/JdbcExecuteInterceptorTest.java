@@ -208,6 +208,14 @@ public class JdbcExecuteInterceptorTest {
         assertEquals(event, mockListener.getReceivedEvents().get(0));
     }
 
+    @Test
+    public void testNoEventCreatedWithoutListeners() {
+        EventBus.removeAllListeners();
+        ServiceRequestEvent event = JdbcExecuteInterceptor.enter(QUERY, null, mockStatement);
+
+        assertNull(event);
+    }
+
     @Test
     public void testResponseEventPublish() {
         JdbcExecuteInterceptor.exit(requestEvent, 1, null);
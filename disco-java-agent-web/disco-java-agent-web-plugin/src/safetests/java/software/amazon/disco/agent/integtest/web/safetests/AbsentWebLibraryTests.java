@@ -20,4 +20,19 @@ public class AbsentWebLibraryTests {
     public void testSafety() throws ClassNotFoundException {
         Class.forName("javax.servlet.http.HttpServlet");
     }
+
+    @Test(expected=ClassNotFoundException.class)
+    public void testJakartaSafety() throws ClassNotFoundException {
+        Class.forName("jakarta.servlet.http.HttpServlet");
+    }
+
+    @Test(expected=ClassNotFoundException.class)
+    public void testApacheAsyncClientSafety() throws ClassNotFoundException {
+        Class.forName("org.apache.http.impl.nio.client.CloseableHttpAsyncClient");
+    }
+
+    @Test(expected=ClassNotFoundException.class)
+    public void testApacheHttpClient5Safety() throws ClassNotFoundException {
+        Class.forName("org.apache.hc.client5.http.impl.classic.CloseableHttpClient");
+    }
 }
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License").
+ *   You may not use this file except in compliance with the License.
+ *   A copy of the License is located at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file. This file is distributed
+ *   on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *   express or implied. See the License for the specific language governing
+ *   permissions and limitations under the License.
+ */
+
+package software.amazon.disco.agent.integtest.web.javahttpclient;
+
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Reflective access to the java.net.http API, for tests compiled for Java 8.
+ */
+class JavaHttp {
+    static Object newClient(Executor executor) throws Exception {
+        Class<?> builderClass = Class.forName("java.net.http.HttpClient$Builder");
+        Object builder = Class.forName("java.net.http.HttpClient").getMethod("newBuilder").invoke(null);
+        builderClass.getMethod("executor", Executor.class).invoke(builder, executor);
+        return builderClass.getMethod("build").invoke(builder);
+    }
+
+    static Object newRequest(URI uri, String... headers) throws Exception {
+        Class<?> builderClass = Class.forName("java.net.http.HttpRequest$Builder");
+        Object builder = Class.forName("java.net.http.HttpRequest").getMethod("newBuilder", URI.class).invoke(null, uri);
+        for (int i = 0; i < headers.length; i += 2) {
+            builderClass.getMethod("header", String.class, String.class).invoke(builder, headers[i], headers[i + 1]);
+        }
+        return builderClass.getMethod("build").invoke(builder);
+    }
+
+    static Object send(Object client, Object request) throws Exception {
+        return Class.forName("java.net.http.HttpClient")
+                .getMethod("send", Class.forName("java.net.http.HttpRequest"), Class.forName("java.net.http.HttpResponse$BodyHandler"))
+                .invoke(client, request, ofString());
+    }
+
+    static CompletableFuture<?> sendAsync(Object client, Object request) throws Exception {
+        return (CompletableFuture<?>) Class.forName("java.net.http.HttpClient")
+                .getMethod("sendAsync", Class.forName("java.net.http.HttpRequest"), Class.forName("java.net.http.HttpResponse$BodyHandler"))
+                .invoke(client, request, ofString());
+    }
+
+    static String body(Object response) throws Exception {
+        return (String) Class.forName("java.net.http.HttpResponse").getMethod("body").invoke(response);
+    }
+
+    private static Object ofString() throws Exception {
+        return Class.forName("java.net.http.HttpResponse$BodyHandlers").getMethod("ofString").invoke(null);
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License").
+ *   You may not use this file except in compliance with the License.
+ *   A copy of the License is located at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file. This file is distributed
+ *   on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *   express or implied. See the License for the specific language governing
+ *   permissions and limitations under the License.
+ */
+
+package software.amazon.disco.agent.integtest.web.javahttpclient;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import software.amazon.disco.agent.event.DownstreamResponseHeaderRetrievable;
+import software.amazon.disco.agent.event.Event;
+import software.amazon.disco.agent.event.HeaderReplaceable;
+import software.amazon.disco.agent.event.HttpServiceDownstreamRequestEvent;
+import software.amazon.disco.agent.event.HttpServiceDownstreamResponseEvent;
+import software.amazon.disco.agent.event.Listener;
+import software.amazon.disco.agent.reflect.concurrent.TransactionContext;
+import software.amazon.disco.agent.reflect.event.EventBus;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends requests with a real java.net.http.HttpClient to a server on the loopback interface. The java.net.http API is
+ * reached reflectively, since the tests are compiled for Java 8 as the agent is.
+ */
+public class JavaHttpClientInterceptorTests {
+    private TestListener testListener;
+    private HttpServer server;
+    private ExecutorService executor;
+    private URI uri;
+
+    @Before
+    public void before() throws Exception {
+        TransactionContext.create();
+        EventBus.addListener(testListener = new TestListener());
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", exchange -> {
+            byte[] body = String.valueOf(exchange.getRequestHeaders().get("x-disco")).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("x-served", "true");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+        executor = Executors.newFixedThreadPool(2);
+        uri = new URI("http://localhost:" + server.getAddress().getPort() + "/explore");
+    }
+
+    @After
+    public void after() {
+        TransactionContext.clear();
+        EventBus.removeListener(testListener);
+        server.stop(0);
+        executor.shutdown();
+    }
+
+    @Test
+    public void testSendPublishesEventsAndReplacesHeader() throws Exception {
+        Object response = JavaHttp.send(JavaHttp.newClient(executor), JavaHttp.newRequest(uri, "x-disco", "original"));
+
+        Assert.assertEquals("[replaced]", JavaHttp.body(response));
+        Assert.assertEquals(1, testListener.requestEvents.size());
+        HttpServiceDownstreamRequestEvent requestEvent = testListener.requestEvents.get(0);
+        Assert.assertEquals("JavaHttpClient", requestEvent.getOrigin());
+        Assert.assertEquals(uri.toString(), requestEvent.getUri());
+        Assert.assertEquals("GET", requestEvent.getMethod());
+        verifyResponseEvent(requestEvent);
+    }
+
+    @Test
+    public void testSendAsyncPropagatesTransactionContextToDependentStage() throws Exception {
+        String transactionId = TransactionContext.get();
+        CompletableFuture<?> future = JavaHttp.sendAsync(JavaHttp.newClient(executor), JavaHttp.newRequest(uri, "x-disco", "original"));
+
+        Assert.assertEquals(transactionId, future.thenApply(response -> TransactionContext.get()).get(10, TimeUnit.SECONDS));
+        Assert.assertEquals("[replaced]", JavaHttp.body(future.get()));
+        Assert.assertEquals(1, testListener.requestEvents.size());
+        verifyResponseEvent(testListener.requestEvents.get(0));
+        Assert.assertEquals(transactionId, testListener.responseTransactionIds.get(0));
+    }
+
+    @Test
+    public void testSendAsyncFailurePublishesResponseWithThrowable() throws Exception {
+        server.stop(0);
+        CompletableFuture<?> future = JavaHttp.sendAsync(JavaHttp.newClient(executor), JavaHttp.newRequest(uri));
+
+        try {
+            future.get(10, TimeUnit.SECONDS);
+            Assert.fail();
+        } catch (ExecutionException e) {
+            Assert.assertEquals(1, testListener.responseEvents.size());
+            Assert.assertSame(e.getCause(), testListener.responseEvents.get(0).getThrown());
+        }
+    }
+
+    private void verifyResponseEvent(HttpServiceDownstreamRequestEvent requestEvent) {
+        Assert.assertEquals(1, testListener.responseEvents.size());
+        HttpServiceDownstreamResponseEvent responseEvent = testListener.responseEvents.get(0);
+        Assert.assertSame(requestEvent, responseEvent.getRequest());
+        Assert.assertEquals(200, responseEvent.getStatusCode());
+        Assert.assertEquals("true", ((DownstreamResponseHeaderRetrievable) responseEvent).getFirstHeader("x-served"));
+    }
+
+    private static class TestListener implements Listener {
+        List<HttpServiceDownstreamRequestEvent> requestEvents = new CopyOnWriteArrayList<>();
+        List<HttpServiceDownstreamResponseEvent> responseEvents = new CopyOnWriteArrayList<>();
+        List<String> responseTransactionIds = new CopyOnWriteArrayList<>();
+
+        @Override
+        public int getPriority() {
+            return 0;
+        }
+
+        @Override
+        public void listen(Event e) {
+            if (e instanceof HttpServiceDownstreamRequestEvent) {
+                ((HeaderReplaceable) e).replaceHeader("x-disco", "replaced");
+                requestEvents.add((HttpServiceDownstreamRequestEvent) e);
+            } else if (e instanceof HttpServiceDownstreamResponseEvent) {
+                responseTransactionIds.add(TransactionContext.get());
+                responseEvents.add((HttpServiceDownstreamResponseEvent) e);
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License").
+ *   You may not use this file except in compliance with the License.
+ *   A copy of the License is located at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file. This file is distributed
+ *   on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *   express or implied. See the License for the specific language governing
+ *   permissions and limitations under the License.
+ */
+
+package software.amazon.disco.agent.web;
+
+import software.amazon.disco.agent.concurrent.TransactionContext;
+import software.amazon.disco.agent.concurrent.TransactionContextData;
+import software.amazon.disco.agent.event.EventBus;
+import software.amazon.disco.agent.event.ServiceDownstreamCancellationEvent;
+import software.amazon.disco.agent.event.ServiceDownstreamRequestEvent;
+import software.amazon.disco.agent.event.ServiceDownstreamResponseEvent;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Base class for the completion of a non-blocking downstream call, whose response arrives on a thread other than the
+ * one which made the request, e.g. an I/O reactor thread. The request event and the transaction context of the calling
+ * thread are held by the completion, rather than by the thread, and the response event is published within that
+ * context exactly once, whichever of the client's completion paths reports it.
+ *
+ * @param <T> the type of the response, as given to the client's callback
+ */
+public abstract class DownstreamCompletion<T> {
+    private final ServiceDownstreamRequestEvent requestEvent;
+    private final TransactionContextData context;
+    private final AtomicBoolean completed = new AtomicBoolean(false);
+
+    /**
+     * Construct a new DownstreamCompletion, within the transaction context of the calling thread
+     * @param requestEvent the published request event
+     */
+    protected DownstreamCompletion(ServiceDownstreamRequestEvent requestEvent) {
+        this.requestEvent = requestEvent;
+        this.context = TransactionContext.getPrivateContext();
+    }
+
+    /**
+     * Get the request event of the downstream call
+     * @return the request event
+     */
+    public ServiceDownstreamRequestEvent getRequestEvent() {
+        return requestEvent;
+    }
+
+    /**
+     * Check whether the response, failure or cancellation of the call has been published
+     * @return true if the call has completed
+     */
+    public boolean isCompleted() {
+        return completed.get();
+    }
+
+    /**
+     * Make the transaction context of the calling thread current, for the duration of a completion callback.
+     * @return the context which was current before, to pass to {@link #restoreContext(TransactionContextData)}
+     */
+    protected TransactionContextData bindContext() {
+        TransactionContextData previous = TransactionContext.getPrivateContext();
+        TransactionContext.setPrivateContext(context);
+        return previous;
+    }
+
+    /**
+     * Restore the transaction context which was current before {@link #bindContext()}
+     * @param previous the context returned by bindContext()
+     */
+    protected void restoreContext(TransactionContextData previous) {
+        TransactionContext.setPrivateContext(previous);
+    }
+
+    /**
+     * Publish the response event, on the first completion of the call only.
+     * @param response the response, or null if there is none
+     * @param thrown the cause of the failure of the call, or null if it succeeded
+     */
+    public void publishResponse(T response, Throwable thrown) {
+        if (completed.compareAndSet(false, true)) {
+            EventBus.publish(createResponseEvent(response, thrown));
+        }
+    }
+
+    /**
+     * Publish a cancellation event, on the first completion of the call only.
+     */
+    public void publishCancellation() {
+        if (completed.compareAndSet(false, true)) {
+            EventBus.publish(new ServiceDownstreamCancellationEvent(requestEvent.getOrigin(), requestEvent.getService(),
+                    requestEvent.getOperation(), requestEvent));
+        }
+    }
+
+    /**
+     * Create the response event of the call.
+     * @param response the response, or null if there is none
+     * @param thrown the cause of the failure of the call, or null if it succeeded
+     * @return the response event to publish
+     */
+    protected abstract ServiceDownstreamResponseEvent createResponseEvent(T response, Throwable thrown);
+}
@@ -17,8 +17,13 @@ package software.amazon.disco.agent.web;
 
 import software.amazon.disco.agent.interception.Installable;
 import software.amazon.disco.agent.interception.Package;
+import software.amazon.disco.agent.web.apache.httpasyncclient.ApacheHttpAsyncClientInterceptor;
 import software.amazon.disco.agent.web.apache.httpclient.ApacheHttpClientInterceptor;
+import software.amazon.disco.agent.web.apache.httpclient5.ApacheHttpAsyncClient5Interceptor;
+import software.amazon.disco.agent.web.apache.httpclient5.ApacheHttpClient5Interceptor;
+import software.amazon.disco.agent.web.javahttpclient.JavaHttpClientInterceptor;
 import software.amazon.disco.agent.web.servlet.HttpServletServiceInterceptor;
+import software.amazon.disco.agent.web.servlet.JakartaHttpServletServiceInterceptor;
 
 import java.util.Arrays;
 import java.util.Collection;
@@ -34,7 +39,12 @@ public class WebSupport implements Package {
     public Collection<Installable> get() {
         return Arrays.asList(
             new HttpServletServiceInterceptor(),
-            new ApacheHttpClientInterceptor()
+            new JakartaHttpServletServiceInterceptor(),
+            new ApacheHttpClientInterceptor(),
+            new ApacheHttpAsyncClientInterceptor(),
+            new ApacheHttpClient5Interceptor(),
+            new ApacheHttpAsyncClient5Interceptor(),
+            new JavaHttpClientInterceptor()
         );
     }
 }
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License").
+ *   You may not use this file except in compliance with the License.
+ *   A copy of the License is located at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file. This file is distributed
+ *   on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *   express or implied. See the License for the specific language governing
+ *   permissions and limitations under the License.
+ */
+
+package software.amazon.disco.agent.web.apache.httpasyncclient;
+
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.concurrent.FutureCallback;
+import software.amazon.disco.agent.concurrent.TransactionContextData;
+import software.amazon.disco.agent.event.EventBus;
+import software.amazon.disco.agent.event.HttpServiceDownstreamRequestEvent;
+import software.amazon.disco.agent.event.ServiceDownstreamRequestEvent;
+import software.amazon.disco.agent.event.ServiceDownstreamResponseEvent;
+import software.amazon.disco.agent.logging.LogManager;
+import software.amazon.disco.agent.logging.Logger;
+import software.amazon.disco.agent.web.DownstreamCompletion;
+import software.amazon.disco.agent.web.apache.event.ApacheEventFactory;
+
+/**
+ * Replaces the FutureCallback passed to CloseableHttpAsyncClient#execute(), so that the response event of the request
+ * is published when the client completes it on its I/O reactor thread, within the transaction context of the thread
+ * which made the request. The callback supplied by the caller, if any, is then called within that same context.
+ */
+public class ApacheHttpAsyncClientCallback extends DownstreamCompletion<HttpResponse> implements FutureCallback<HttpResponse> {
+    private static final Logger log = LogManager.getLogger(ApacheHttpAsyncClientCallback.class);
+    static final String APACHE_HTTP_ASYNC_CLIENT_ORIGIN = "ApacheHttpAsyncClient";
+
+    private final FutureCallback<HttpResponse> delegate;
+
+    /**
+     * Construct a new ApacheHttpAsyncClientCallback
+     * @param requestEvent the published request event
+     * @param delegate the callback passed by the caller, or null if there was none
+     */
+    ApacheHttpAsyncClientCallback(ServiceDownstreamRequestEvent requestEvent, FutureCallback<HttpResponse> delegate) {
+        super(requestEvent);
+        this.delegate = delegate;
+    }
+
+    /**
+     * Publish the request event of a call to execute(), and wrap its callback. Called from the method entry advice of
+     * {@link ApacheHttpAsyncClientInterceptor}, so the arguments are untyped.
+     *
+     * @param request the HttpRequest passed to execute()
+     * @param callback the FutureCallback passed to execute(), possibly null
+     * @return the callback to pass to execute() in place of the original one
+     */
+    @SuppressWarnings("unchecked")
+    public static Object wrap(Object request, Object callback) {
+        if (callback instanceof ApacheHttpAsyncClientCallback || !(request instanceof HttpRequest)) {
+            //already wrapped by an overriding execute() method which has called this one
+            return callback;
+        }
+        try {
+            HttpServiceDownstreamRequestEvent requestEvent = ApacheEventFactory.createDownstreamRequestEvent(APACHE_HTTP_ASYNC_CLIENT_ORIGIN, (HttpRequest) request);
+            EventBus.publish(requestEvent);
+            return new ApacheHttpAsyncClientCallback(requestEvent, (FutureCallback<HttpResponse>) callback);
+        } catch (Throwable t) {
+            log.error("DiSCo(Web) failed to publish request event for ApacheHttpAsyncClient", t);
+            return callback;
+        }
+    }
+
+    /**
+     * Publish the response event of a call to execute() which threw before handing the request to the I/O reactor,
+     * e.g. because the client was not running. Called from the method exit advice of
+     * {@link ApacheHttpAsyncClientInterceptor}.
+     *
+     * @param callback the callback returned by {@link #wrap(Object, Object)}
+     * @param thrown the Throwable thrown by execute(), or null if it returned normally
+     */
+    public static void onExecuteExit(Object callback, Throwable thrown) {
+        if (thrown != null && callback instanceof ApacheHttpAsyncClientCallback) {
+            ((ApacheHttpAsyncClientCallback) callback).publishResponse(null, thrown);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void completed(HttpResponse result) {
+        TransactionContextData previous = bindContext();
+        try {
+            publishResponse(result, null);
+            if (delegate != null) {
+                delegate.completed(result);
+            }
+        } finally {
+            restoreContext(previous);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void failed(Exception ex) {
+        TransactionContextData previous = bindContext();
+        try {
+            publishResponse(null, ex);
+            if (delegate != null) {
+                delegate.failed(ex);
+            }
+        } finally {
+            restoreContext(previous);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void cancelled() {
+        TransactionContextData previous = bindContext();
+        try {
+            publishCancellation();
+            if (delegate != null) {
+                delegate.cancelled();
+            }
+        } finally {
+            restoreContext(previous);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected ServiceDownstreamResponseEvent createResponseEvent(HttpResponse response, Throwable thrown) {
+        return ApacheEventFactory.createServiceResponseEvent(response, getRequestEvent(), thrown);
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License").
+ *   You may not use this file except in compliance with the License.
+ *   A copy of the License is located at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file. This file is distributed
+ *   on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *   express or implied. See the License for the specific language governing
+ *   permissions and limitations under the License.
+ */
+
+package software.amazon.disco.agent.web.apache.httpasyncclient;
+
+import net.bytebuddy.agent.builder.AgentBuilder;
+import net.bytebuddy.asm.Advice;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.implementation.bytecode.assign.Assigner;
+import net.bytebuddy.matcher.ElementMatcher;
+import net.bytebuddy.matcher.ElementMatchers;
+import software.amazon.disco.agent.interception.Installable;
+import software.amazon.disco.agent.plugin.ResourcesClassInjector;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * When making a HTTP call using the non-blocking Apache HttpAsyncClient 4.x, the
+ * org.apache.http.impl.nio.client.CloseableHttpAsyncClient#execute(HttpHost, HttpRequest, HttpContext, FutureCallback)
+ * method, to which its other execute() methods taking a HttpRequest delegate, is intercepted. The request event is
+ * published on the calling thread, and the FutureCallback replaced by an {@link ApacheHttpAsyncClientCallback}, which
+ * publishes the response event when the I/O reactor completes the request. Correlating the two through the callback
+ * rather than the calling thread pairs the events correctly, however many requests a thread has in flight.
+ *
+ * The execute() methods taking a HttpAsyncRequestProducer directly are not intercepted, since the request is only
+ * produced once the I/O reactor has a connection for it.
+ *
+ * IMPORTANT NOTE:
+ *
+ * This interceptor has been tested on org.apache.httpcomponents:httpasyncclient 4.1.5 only.
+ */
+public class ApacheHttpAsyncClientInterceptor implements Installable {
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public AgentBuilder install(final AgentBuilder agentBuilder) {
+        return agentBuilder
+                .type(buildClassMatcher())
+                .transform((builder, typeDescription, classLoader, module) -> {
+                    ResourcesClassInjector.injectAllClasses(
+                            classLoader,
+                            ApacheHttpAsyncClientInterceptor.class.getClassLoader(),
+                            "software.amazon.disco.agent.web.apache.httpasyncclient.ApacheHttpAsyncClientCallback",
+                            "software.amazon.disco.agent.web.apache.event.ApacheEventFactory",
+                            "software.amazon.disco.agent.web.apache.event.ApacheHttpServiceDownstreamRequestEvent",
+                            "software.amazon.disco.agent.web.apache.event.ApacheHttpServiceDownstreamResponseEvent",
+                            "software.amazon.disco.agent.web.apache.event.ApacheHttpClientRetrievableHeaders"
+                    );
+                    return builder.visit(Advice.to(ExecuteAdvice.class).on(buildMethodMatcher()));
+                });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<String> getCandidateSuperTypeNames() {
+        return Collections.singletonList("org.apache.http.nio.client.HttpAsyncClient");
+    }
+
+    /**
+     * Advice class for the execute() method. Its parameters are untyped, since this class is not loaded by a
+     * classloader which can see the HttpAsyncClient API, and its bytecode is inlined into the client.
+     */
+    public static class ExecuteAdvice {
+        /**
+         * Publish the request event, and replace the callback with one which publishes the response event.
+         *
+         * @param request the HttpRequest argument
+         * @param callback the FutureCallback argument. Marked as "readonly=false" so that we can replace it.
+         */
+        @Advice.OnMethodEnter(suppress = Throwable.class)
+        public static void onMethodEnter(@Advice.Argument(1) Object request,
+                                         @Advice.Argument(value = 3, readOnly = false, typing = Assigner.Typing.DYNAMIC) Object callback) {
+            callback = ApacheHttpAsyncClientCallback.wrap(request, callback);
+        }
+
+        /**
+         * Publish the response event if execute() threw, in which case the callback will not be called.
+         *
+         * @param callback the replaced FutureCallback argument
+         * @param thrown the Throwable thrown by execute(), if any
+         */
+        @Advice.OnMethodExit(onThrowable = Throwable.class, suppress = Throwable.class)
+        public static void onMethodExit(@Advice.Argument(3) Object callback,
+                                        @Advice.Thrown Throwable thrown) {
+            ApacheHttpAsyncClientCallback.onExecuteExit(callback, thrown);
+        }
+    }
+
+    /**
+     * Build an ElementMatcher which defines the kind of class which will be intercepted. Package-private for tests.
+     *
+     * @return An ElementMatcher suitable to pass to the type() method of an AgentBuilder
+     */
+    static ElementMatcher<? super TypeDescription> buildClassMatcher() {
+        return ElementMatchers.hasSuperType(ElementMatchers.named("org.apache.http.nio.client.HttpAsyncClient"))
+                .and(ElementMatchers.not(ElementMatchers.isInterface()));
+    }
+
+    /**
+     * Build an ElementMatcher which will match against the execute(HttpHost, HttpRequest, HttpContext, FutureCallback)
+     * method. Package-private for tests.
+     *
+     * @return An ElementMatcher suitable for passing to the on() method of an Advice
+     */
+    static ElementMatcher<? super MethodDescription> buildMethodMatcher() {
+        return ElementMatchers.named("execute")
+                .and(ElementMatchers.takesArguments(4))
+                .and(ElementMatchers.takesArgument(0, ElementMatchers.named("org.apache.http.HttpHost")))
+                .and(ElementMatchers.takesArgument(1, ElementMatchers.named("org.apache.http.HttpRequest")))
+                .and(ElementMatchers.takesArgument(3, ElementMatchers.named("org.apache.http.concurrent.FutureCallback")))
+                .and(ElementMatchers.not(ElementMatchers.isAbstract()));
+    }
+}
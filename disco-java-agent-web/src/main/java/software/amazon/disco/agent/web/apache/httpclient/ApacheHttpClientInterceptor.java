@@ -25,6 +25,9 @@ import software.amazon.disco.agent.logging.LogManager;
 import software.amazon.disco.agent.logging.Logger;
 import software.amazon.disco.agent.plugin.ResourcesClassInjector;
 
+import java.util.Collections;
+import java.util.List;
+
 
 /**
  * When making a HTTP call using ApacheHttpClient the org.apache.http.client.HttpClient#execute method
@@ -66,6 +69,14 @@ public class ApacheHttpClientInterceptor implements Installable {
                 });
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<String> getCandidateSuperTypeNames() {
+        return Collections.singletonList("org.apache.http.client.HttpClient");
+    }
+
     /**
      * Build an ElementMatcher which defines the kind of class which will be intercepted. Package-private for tests.
      *
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License").
+ *   You may not use this file except in compliance with the License.
+ *   A copy of the License is located at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file. This file is distributed
+ *   on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *   express or implied. See the License for the specific language governing
+ *   permissions and limitations under the License.
+ */
+
+package software.amazon.disco.agent.web.apache.httpclient5;
+
+import org.apache.hc.core5.http.HttpRequest;
+import org.apache.hc.core5.http.HttpResponse;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import software.amazon.disco.agent.concurrent.TransactionContextData;
+import software.amazon.disco.agent.event.EventBus;
+import software.amazon.disco.agent.event.HttpServiceDownstreamRequestEvent;
+import software.amazon.disco.agent.event.ServiceDownstreamRequestEvent;
+import software.amazon.disco.agent.event.ServiceDownstreamResponseEvent;
+import software.amazon.disco.agent.logging.LogManager;
+import software.amazon.disco.agent.logging.Logger;
+import software.amazon.disco.agent.web.DownstreamCompletion;
+
+/**
+ * Replaces the FutureCallback passed to the HttpClient 5 CloseableHttpAsyncClient#execute(), so that the response event
+ * of the request is published when the client completes it on its I/O reactor thread, within the transaction context
+ * of the thread which made the request. The callback supplied by the caller, if any, is then called within that same context.
+ */
+public class ApacheHttpAsyncClient5Callback extends DownstreamCompletion<HttpResponse> implements FutureCallback<HttpResponse> {
+    private static final Logger log = LogManager.getLogger(ApacheHttpAsyncClient5Callback.class);
+    static final String APACHE_HTTP_ASYNC_CLIENT5_ORIGIN = "ApacheHttpAsyncClient5";
+
+    private final FutureCallback<HttpResponse> delegate;
+
+    /**
+     * Construct a new ApacheHttpAsyncClient5Callback
+     * @param requestEvent the published request event
+     * @param delegate the callback passed by the caller, or null if there was none
+     */
+    ApacheHttpAsyncClient5Callback(ServiceDownstreamRequestEvent requestEvent, FutureCallback<HttpResponse> delegate) {
+        super(requestEvent);
+        this.delegate = delegate;
+    }
+
+    /**
+     * Publish the request event of a call to execute(), and wrap its callback. Called from the method entry advice of
+     * {@link ApacheHttpAsyncClient5Interceptor}, so the arguments are untyped.
+     *
+     * @param request the HttpRequest passed to execute()
+     * @param callback the FutureCallback passed to execute(), possibly null
+     * @return the callback to pass to execute() in place of the original one
+     */
+    @SuppressWarnings("unchecked")
+    public static Object wrap(Object request, Object callback) {
+        if (callback instanceof ApacheHttpAsyncClient5Callback || !(request instanceof HttpRequest)) {
+            //already wrapped, by an intercepted client passing the request on to another
+            return callback;
+        }
+        try {
+            HttpServiceDownstreamRequestEvent requestEvent = ApacheHttpClient5EventFactory.createDownstreamRequestEvent(APACHE_HTTP_ASYNC_CLIENT5_ORIGIN, (HttpRequest) request);
+            EventBus.publish(requestEvent);
+            return new ApacheHttpAsyncClient5Callback(requestEvent, (FutureCallback<HttpResponse>) callback);
+        } catch (Throwable t) {
+            log.error("DiSCo(Web) failed to publish request event for ApacheHttpAsyncClient5", t);
+            return callback;
+        }
+    }
+
+    /**
+     * Publish the response event of a call to execute() which threw before handing the request to the I/O reactor,
+     * e.g. because the client was not running. Called from the method exit advice of
+     * {@link ApacheHttpAsyncClient5Interceptor}.
+     *
+     * @param callback the callback returned by {@link #wrap(Object, Object)}
+     * @param thrown the Throwable thrown by execute(), or null if it returned normally
+     */
+    public static void onExecuteExit(Object callback, Throwable thrown) {
+        if (thrown != null && callback instanceof ApacheHttpAsyncClient5Callback) {
+            ((ApacheHttpAsyncClient5Callback) callback).publishResponse(null, thrown);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void completed(HttpResponse result) {
+        TransactionContextData previous = bindContext();
+        try {
+            publishResponse(result, null);
+            if (delegate != null) {
+                delegate.completed(result);
+            }
+        } finally {
+            restoreContext(previous);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void failed(Exception ex) {
+        TransactionContextData previous = bindContext();
+        try {
+            publishResponse(null, ex);
+            if (delegate != null) {
+                delegate.failed(ex);
+            }
+        } finally {
+            restoreContext(previous);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void cancelled() {
+        TransactionContextData previous = bindContext();
+        try {
+            publishCancellation();
+            if (delegate != null) {
+                delegate.cancelled();
+            }
+        } finally {
+            restoreContext(previous);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected ServiceDownstreamResponseEvent createResponseEvent(HttpResponse response, Throwable thrown) {
+        return ApacheHttpClient5EventFactory.createServiceResponseEvent(response, getRequestEvent(), thrown);
+    }
+}
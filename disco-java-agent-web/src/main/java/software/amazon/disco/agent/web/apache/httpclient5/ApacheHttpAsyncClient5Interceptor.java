@@ -0,0 +1,130 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License").
+ *   You may not use this file except in compliance with the License.
+ *   A copy of the License is located at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file. This file is distributed
+ *   on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *   express or implied. See the License for the specific language governing
+ *   permissions and limitations under the License.
+ */
+
+package software.amazon.disco.agent.web.apache.httpclient5;
+
+import net.bytebuddy.agent.builder.AgentBuilder;
+import net.bytebuddy.asm.Advice;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.implementation.bytecode.assign.Assigner;
+import net.bytebuddy.matcher.ElementMatcher;
+import net.bytebuddy.matcher.ElementMatchers;
+import software.amazon.disco.agent.interception.Installable;
+import software.amazon.disco.agent.plugin.ResourcesClassInjector;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * When making a HTTP call using the non-blocking Apache HttpClient 5, the
+ * org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient#execute(SimpleHttpRequest, HttpContext, FutureCallback)
+ * method, to which its other execute() method taking a SimpleHttpRequest delegates, is intercepted. The request event is
+ * published on the calling thread, and the FutureCallback replaced by an {@link ApacheHttpAsyncClient5Callback}, which
+ * publishes the response event when the I/O reactor completes the request, as for the HttpAsyncClient 4.x.
+ *
+ * The execute() methods taking an AsyncRequestProducer directly are not intercepted, since the request is only
+ * produced once the I/O reactor has a connection for it.
+ *
+ * IMPORTANT NOTE:
+ *
+ * This interceptor has been tested on org.apache.httpcomponents.client5:httpclient5 5.1.3 only.
+ */
+public class ApacheHttpAsyncClient5Interceptor implements Installable {
+    static final String CLOSEABLE_HTTP_ASYNC_CLIENT = "org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient";
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public AgentBuilder install(final AgentBuilder agentBuilder) {
+        return agentBuilder
+                .type(buildClassMatcher())
+                .transform((builder, typeDescription, classLoader, module) -> {
+                    ResourcesClassInjector.injectAllClasses(
+                            classLoader,
+                            ApacheHttpAsyncClient5Interceptor.class.getClassLoader(),
+                            "software.amazon.disco.agent.web.apache.httpclient5.ApacheHttpAsyncClient5Callback",
+                            "software.amazon.disco.agent.web.apache.httpclient5.ApacheHttpClient5EventFactory",
+                            "software.amazon.disco.agent.web.apache.httpclient5.ApacheHttpClient5DownstreamRequestEvent",
+                            "software.amazon.disco.agent.web.apache.httpclient5.ApacheHttpClient5DownstreamResponseEvent",
+                            "software.amazon.disco.agent.web.apache.httpclient5.ApacheHttpClient5Headers"
+                    );
+                    return builder.visit(Advice.to(ExecuteAdvice.class).on(buildMethodMatcher()));
+                });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<String> getCandidateSuperTypeNames() {
+        return Collections.singletonList(CLOSEABLE_HTTP_ASYNC_CLIENT);
+    }
+
+    /**
+     * Advice class for the execute() method. Its parameters are untyped, since this class is not loaded by a
+     * classloader which can see the HttpClient 5 API, and its bytecode is inlined into the client.
+     */
+    public static class ExecuteAdvice {
+        /**
+         * Publish the request event, and replace the callback with one which publishes the response event.
+         *
+         * @param request the SimpleHttpRequest argument
+         * @param callback the FutureCallback argument. Marked as "readonly=false" so that we can replace it.
+         */
+        @Advice.OnMethodEnter(suppress = Throwable.class)
+        public static void onMethodEnter(@Advice.Argument(0) Object request,
+                                         @Advice.Argument(value = 2, readOnly = false, typing = Assigner.Typing.DYNAMIC) Object callback) {
+            callback = ApacheHttpAsyncClient5Callback.wrap(request, callback);
+        }
+
+        /**
+         * Publish the response event if execute() threw, in which case the callback will not be called.
+         *
+         * @param callback the replaced FutureCallback argument
+         * @param thrown the Throwable thrown by execute(), if any
+         */
+        @Advice.OnMethodExit(onThrowable = Throwable.class, suppress = Throwable.class)
+        public static void onMethodExit(@Advice.Argument(2) Object callback,
+                                        @Advice.Thrown Throwable thrown) {
+            ApacheHttpAsyncClient5Callback.onExecuteExit(callback, thrown);
+        }
+    }
+
+    /**
+     * Build an ElementMatcher which defines the kind of class which will be intercepted. The intercepted execute()
+     * method is final, so only CloseableHttpAsyncClient itself needs transforming. Package-private for tests.
+     *
+     * @return An ElementMatcher suitable to pass to the type() method of an AgentBuilder
+     */
+    static ElementMatcher<? super TypeDescription> buildClassMatcher() {
+        return ElementMatchers.named(CLOSEABLE_HTTP_ASYNC_CLIENT);
+    }
+
+    /**
+     * Build an ElementMatcher which will match against the execute(SimpleHttpRequest, HttpContext, FutureCallback)
+     * method. Package-private for tests.
+     *
+     * @return An ElementMatcher suitable for passing to the on() method of an Advice
+     */
+    static ElementMatcher<? super MethodDescription> buildMethodMatcher() {
+        return ElementMatchers.named("execute")
+                .and(ElementMatchers.takesArguments(3))
+                .and(ElementMatchers.takesArgument(0, ElementMatchers.named("org.apache.hc.client5.http.async.methods.SimpleHttpRequest")))
+                .and(ElementMatchers.takesArgument(2, ElementMatchers.named("org.apache.hc.core5.concurrent.FutureCallback")))
+                .and(ElementMatchers.not(ElementMatchers.isAbstract()));
+    }
+}
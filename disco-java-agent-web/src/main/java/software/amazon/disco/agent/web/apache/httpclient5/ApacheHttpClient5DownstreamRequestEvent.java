@@ -0,0 +1,82 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License").
+ *   You may not use this file except in compliance with the License.
+ *   A copy of the License is located at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file. This file is distributed
+ *   on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *   express or implied. See the License for the specific language governing
+ *   permissions and limitations under the License.
+ */
+
+package software.amazon.disco.agent.web.apache.httpclient5;
+
+import org.apache.hc.core5.http.HttpRequest;
+import software.amazon.disco.agent.event.DownstreamRequestHeaderRetrievable;
+import software.amazon.disco.agent.event.HeaderReplaceable;
+import software.amazon.disco.agent.event.HttpServiceDownstreamRequestEvent;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * HttpClient 5 HttpServiceDownstreamRequestEvent allowing header replacement/retrieval.
+ */
+class ApacheHttpClient5DownstreamRequestEvent extends HttpServiceDownstreamRequestEvent implements HeaderReplaceable, DownstreamRequestHeaderRetrievable {
+    private final HttpRequest request;
+
+    /**
+     * Construct a new ApacheHttpClient5DownstreamRequestEvent
+     *
+     * @param origin    the origin of the downstream call e.g. 'Web' or 'gRPC'
+     * @param service   the service name e.g. 'WeatherService'
+     * @param operation the operation name e.g. 'getWeather'
+     * @param request   a HttpRequest object capable of header manipulation
+     */
+    ApacheHttpClient5DownstreamRequestEvent(String origin, String service, String operation, HttpRequest request) {
+        super(origin, service, operation);
+        this.request = request;
+    }
+
+    /**
+     * Replace all headers of the given name, with a new single header of the given value
+     *
+     * @param name  the header name
+     * @param value the header value
+     * @return true if successful
+     */
+    @Override
+    public boolean replaceHeader(String name, String value) {
+        request.removeHeaders(name);
+        request.addHeader(name, value);
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getFirstHeader(String key) {
+        return ApacheHttpClient5Headers.getFirstHeader(request, key);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<String> getHeaders(String key) {
+        return ApacheHttpClient5Headers.getHeaders(request, key);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, List<String>> getAllHeaders() {
+        return ApacheHttpClient5Headers.getAllHeaders(request);
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License").
+ *   You may not use this file except in compliance with the License.
+ *   A copy of the License is located at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file. This file is distributed
+ *   on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *   express or implied. See the License for the specific language governing
+ *   permissions and limitations under the License.
+ */
+
+package software.amazon.disco.agent.web.apache.httpclient5;
+
+import org.apache.hc.core5.http.ClassicHttpResponse;
+import org.apache.hc.core5.http.HttpEntity;
+import org.apache.hc.core5.http.HttpRequest;
+import org.apache.hc.core5.http.HttpResponse;
+import software.amazon.disco.agent.event.HttpServiceDownstreamRequestEvent;
+import software.amazon.disco.agent.event.ServiceDownstreamRequestEvent;
+import software.amazon.disco.agent.event.ServiceDownstreamResponseEvent;
+
+import java.net.URISyntaxException;
+
+/**
+ * Create our private events for HttpClient 5, so that listeners do not have public access to them
+ */
+public class ApacheHttpClient5EventFactory {
+    static final String CONTENT_LENGTH = "Content-Length";
+
+    /**
+     * Create a request event for a HttpClient 5 downstream call
+     *
+     * @param origin  the origin of the downstream call e.g. 'Web'
+     * @param request a HttpRequest to get uri and HTTP method
+     * @return a {@link ApacheHttpClient5DownstreamRequestEvent}
+     */
+    public static HttpServiceDownstreamRequestEvent createDownstreamRequestEvent(String origin, HttpRequest request) {
+        String uri;
+        try {
+            uri = request.getUri().toString();
+        } catch (URISyntaxException e) {
+            uri = request.getRequestUri();
+        }
+        String method = request.getMethod();
+        ApacheHttpClient5DownstreamRequestEvent requestEvent = new ApacheHttpClient5DownstreamRequestEvent(origin, uri, method, request);
+        requestEvent.withMethod(method);
+        requestEvent.withUri(uri);
+        return requestEvent;
+    }
+
+    /**
+     * Create a response event for a HttpClient 5 downstream call
+     *
+     * @param response     a HttpResponse to get status code etc, or null if the request failed
+     * @param requestEvent Previously published ServiceDownstreamRequestEvent
+     * @param throwable    The throwable if the request fails
+     * @return a {@link ApacheHttpClient5DownstreamResponseEvent}.
+     */
+    public static ServiceDownstreamResponseEvent createServiceResponseEvent(final HttpResponse response, final ServiceDownstreamRequestEvent requestEvent, final Throwable throwable) {
+        ApacheHttpClient5DownstreamResponseEvent responseEvent = new ApacheHttpClient5DownstreamResponseEvent(requestEvent.getOrigin(), requestEvent.getService(), requestEvent.getOperation(), requestEvent, response);
+        if (throwable != null) {
+            responseEvent.withThrown(throwable);
+        }
+        if (response != null) {
+            responseEvent.withStatusCode(response.getCode());
+            long contentLength = getContentLength(response);
+            if (contentLength >= 0) {
+                responseEvent.withContentLength(contentLength);
+            }
+        }
+        return responseEvent;
+    }
+
+    /**
+     * Get the content length of a response, from its entity if it is a classic response, or else from its
+     * Content-Length header, since the body of a response to an async request has already been consumed.
+     *
+     * @param response the HttpResponse
+     * @return the content length, or -1 if unknown
+     */
+    private static long getContentLength(HttpResponse response) {
+        if (response instanceof ClassicHttpResponse) {
+            HttpEntity entity = ((ClassicHttpResponse) response).getEntity();
+            return entity == null ? -1L : entity.getContentLength();
+        }
+        String contentLength = ApacheHttpClient5Headers.getFirstHeader(response, CONTENT_LENGTH);
+        if (contentLength != null) {
+            try {
+                return Long.parseLong(contentLength.trim());
+            } catch (NumberFormatException e) {
+                //treat as unknown
+            }
+        }
+        return -1L;
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License").
+ *   You may not use this file except in compliance with the License.
+ *   A copy of the License is located at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file. This file is distributed
+ *   on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *   express or implied. See the License for the specific language governing
+ *   permissions and limitations under the License.
+ */
+
+package software.amazon.disco.agent.web.apache.httpclient5;
+
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpMessage;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads the headers of an HttpClient 5 HttpMessage on demand, for the events of the message.
+ */
+class ApacheHttpClient5Headers {
+    /**
+     * Retrieve the first header value
+     *
+     * @param httpMessage the request or response
+     * @param name header name
+     * @return first header value by name, or null if there is none
+     */
+    static String getFirstHeader(HttpMessage httpMessage, String name) {
+        Header header = httpMessage == null ? null : httpMessage.getFirstHeader(name);
+        return header == null ? null : header.getValue();
+    }
+
+    /**
+     * Retrieve the headers by header name
+     *
+     * @param httpMessage the request or response
+     * @param name header name
+     * @return header values by name, or null if there are none
+     */
+    static List<String> getHeaders(HttpMessage httpMessage, String name) {
+        Header[] headers = httpMessage == null ? null : httpMessage.getHeaders(name);
+        if (headers == null || headers.length == 0) {
+            return null;
+        }
+        List<String> values = new ArrayList<>(headers.length);
+        for (Header h : headers) {
+            values.add(h.getValue());
+        }
+        return values;
+    }
+
+    /**
+     * Serialize all headers to a generic Map
+     *
+     * @param httpMessage the request or response
+     * @return The Map representation of the headers
+     */
+    static Map<String, List<String>> getAllHeaders(HttpMessage httpMessage) {
+        Header[] headers = httpMessage == null ? null : httpMessage.getHeaders();
+        if (headers == null) {
+            return Collections.emptyMap();
+        }
+
+        Map<String, List<String>> headerMap = new HashMap<>();
+        for (Header h : headers) {
+            String name = h.getName();
+            if (!headerMap.containsKey(name)) {
+                headerMap.put(name, new ArrayList<>());
+            }
+            headerMap.get(name).add(h.getValue());
+        }
+        return headerMap;
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License").
+ *   You may not use this file except in compliance with the License.
+ *   A copy of the License is located at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file. This file is distributed
+ *   on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *   express or implied. See the License for the specific language governing
+ *   permissions and limitations under the License.
+ */
+
+package software.amazon.disco.agent.web.apache.httpclient5;
+
+import net.bytebuddy.agent.builder.AgentBuilder;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.implementation.MethodDelegation;
+import net.bytebuddy.matcher.ElementMatcher;
+import net.bytebuddy.matcher.ElementMatchers;
+import software.amazon.disco.agent.interception.Installable;
+import software.amazon.disco.agent.logging.LogManager;
+import software.amazon.disco.agent.logging.Logger;
+import software.amazon.disco.agent.plugin.ResourcesClassInjector;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * When making a HTTP call using the classic (blocking) Apache HttpClient 5, the
+ * org.apache.hc.client5.http.impl.classic.CloseableHttpClient#doExecute method, to which all of its execute() methods
+ * delegate, is intercepted, to allow recording of the call and header propagation.
+ *
+ * IMPORTANT NOTE:
+ *
+ * This interceptor has been tested on org.apache.httpcomponents.client5:httpclient5 5.1.3 only.
+ */
+public class ApacheHttpClient5Interceptor implements Installable {
+    private static final Logger log = LogManager.getLogger(ApacheHttpClient5Interceptor.class);
+    static final String CLOSEABLE_HTTP_CLIENT = "org.apache.hc.client5.http.impl.classic.CloseableHttpClient";
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public AgentBuilder install(final AgentBuilder agentBuilder) {
+        return agentBuilder
+                .type(buildClassMatcher())
+                .transform((builder, typeDescription, classLoader, module) -> {
+                    ResourcesClassInjector.injectAllClasses(
+                            classLoader,
+                            ApacheHttpClient5Interceptor.class.getClassLoader(),
+                            "software.amazon.disco.agent.web.apache.httpclient5.ApacheHttpClient5MethodDelegation",
+                            "software.amazon.disco.agent.web.apache.httpclient5.ApacheHttpClient5EventFactory",
+                            "software.amazon.disco.agent.web.apache.httpclient5.ApacheHttpClient5DownstreamRequestEvent",
+                            "software.amazon.disco.agent.web.apache.httpclient5.ApacheHttpClient5DownstreamResponseEvent",
+                            "software.amazon.disco.agent.web.apache.httpclient5.ApacheHttpClient5Headers"
+                    );
+
+                    try {
+                        Class<?> methodDelegation = Class.forName("software.amazon.disco.agent.web.apache.httpclient5.ApacheHttpClient5MethodDelegation", true, classLoader);
+                        return builder
+                                .method(buildMethodMatcher(typeDescription))
+                                .intercept(MethodDelegation.to(methodDelegation));
+                    } catch (Exception e) {
+                        log.error("Disco(Web) could not install ApacheHttpClient5MethodDelegation");
+                        return builder;
+                    }
+                });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<String> getCandidateSuperTypeNames() {
+        return Collections.singletonList(CLOSEABLE_HTTP_CLIENT);
+    }
+
+    /**
+     * Build an ElementMatcher which defines the kind of class which will be intercepted. Package-private for tests.
+     *
+     * @return An ElementMatcher suitable to pass to the type() method of an AgentBuilder
+     */
+    static ElementMatcher<? super TypeDescription> buildClassMatcher() {
+        return ElementMatchers.hasSuperType(ElementMatchers.named(CLOSEABLE_HTTP_CLIENT));
+    }
+
+    /**
+     * Build an ElementMatcher which will match against the doExecute(HttpHost, ClassicHttpRequest, HttpContext) method
+     * in the CloseableHttpClient subclass. Package-private for tests.
+     * @param typeDescription a description of the class which has been matched for interception, passed in to
+     *                        prevent bytebuddy from aggressively matching superclass methods
+     * @return An ElementMatcher suitable for passing to the method() method of a DynamicType.Builder
+     */
+    static ElementMatcher<? super MethodDescription> buildMethodMatcher(TypeDescription typeDescription) {
+        ElementMatcher.Junction<MethodDescription> methodMatches = ElementMatchers.named("doExecute")
+                .and(ElementMatchers.takesArguments(3))
+                .and(ElementMatchers.takesArgument(1, ElementMatchers.hasSuperType(ElementMatchers.named("org.apache.hc.core5.http.ClassicHttpRequest"))));
+        ElementMatcher.Junction<MethodDescription> declaredByClass = ElementMatchers.isDeclaredBy(typeDescription);
+        return methodMatches.and(declaredByClass).and(ElementMatchers.not(ElementMatchers.isAbstract()));
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License").
+ *   You may not use this file except in compliance with the License.
+ *   A copy of the License is located at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file. This file is distributed
+ *   on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *   express or implied. See the License for the specific language governing
+ *   permissions and limitations under the License.
+ */
+
+package software.amazon.disco.agent.web.apache.httpclient5;
+
+import net.bytebuddy.implementation.bind.annotation.AllArguments;
+import net.bytebuddy.implementation.bind.annotation.Origin;
+import net.bytebuddy.implementation.bind.annotation.RuntimeType;
+import net.bytebuddy.implementation.bind.annotation.SuperCall;
+import org.apache.hc.core5.http.HttpRequest;
+import org.apache.hc.core5.http.HttpResponse;
+import software.amazon.disco.agent.event.EventBus;
+import software.amazon.disco.agent.event.HttpServiceDownstreamRequestEvent;
+import software.amazon.disco.agent.event.ServiceDownstreamRequestEvent;
+import software.amazon.disco.agent.interception.MethodInterceptionCounter;
+import software.amazon.disco.agent.logging.LogManager;
+import software.amazon.disco.agent.logging.Logger;
+
+import java.util.concurrent.Callable;
+
+/**
+ * This class is to support Bytebuddy's method delegation for {@link ApacheHttpClient5Interceptor}
+ * When the doExecute() method of a classic HttpClient 5 CloseableHttpClient or subclass of it is called.
+ */
+public class ApacheHttpClient5MethodDelegation {
+    private static final Logger log = LogManager.getLogger(ApacheHttpClient5Interceptor.class);
+    private static final MethodInterceptionCounter METHOD_INTERCEPTION_COUNTER = new MethodInterceptionCounter();
+    static final String APACHE_HTTP_CLIENT5_ORIGIN = "ApacheHttpClient5";
+
+    /**
+     * This method is used to replace the CloseableHttpClient doExecute() method, to which all of its execute()
+     * methods delegate, including those taking a response handler.
+     * It will record the interaction with the service being called (request / response)
+     * and propagate http headers if there is any
+     *
+     * @param args   ByteBuddy will populate this array with the arguments of the intercepted method.
+     * @param origin Identifier of the intercepted method, for debugging/logging
+     * @param zuper  ByteBuddy supplies a Callable to the intercepted method, due to the @SuperCall annotation
+     * @return The object returned by the http client call
+     * @throws Throwable The internal call to 'zuper.call()' may throw any Exception
+     */
+    @SuppressWarnings("unused")
+    @RuntimeType
+    public static Object intercept(@AllArguments final Object[] args,
+                                   @Origin final String origin,
+                                   @SuperCall final Callable<Object> zuper) throws Throwable {
+        if (LogManager.isDebugEnabled()) {
+            log.debug("DiSCo(Web) interception of " + origin);
+        }
+
+        if (METHOD_INTERCEPTION_COUNTER.hasIntercepted() || !(args[1] instanceof HttpRequest)) {
+            return call(zuper);
+        }
+
+        HttpServiceDownstreamRequestEvent requestEvent = ApacheHttpClient5EventFactory.createDownstreamRequestEvent(APACHE_HTTP_CLIENT5_ORIGIN, (HttpRequest) args[1]);
+        EventBus.publish(requestEvent);
+        Throwable throwable = null;
+        Object response = null;
+        try {
+            response = call(zuper);
+        } catch (Throwable t) {
+            throwable = t;
+        }
+        publishResponseEvent(response instanceof HttpResponse ? (HttpResponse) response : null, requestEvent, throwable);
+        if (throwable != null) {
+            throw throwable;
+        }
+        return response;
+    }
+
+    /**
+     * Do the actual downstream call.
+     *
+     * @param zuper ByteBuddy supplies a Callable to the intercepted method, due to the @SuperCall annotation
+     * @return The object returned by the http client call
+     * @throws Throwable The internal call to 'zuper.call()' may throw any Exception
+     */
+    private static Object call(final Callable<Object> zuper) throws Throwable {
+        try {
+            METHOD_INTERCEPTION_COUNTER.increment();
+            // This is specifically for the re-entrancy situation e.g. a subclass overriding doExecute() and calling super
+            return zuper.call();
+        } finally {
+            METHOD_INTERCEPTION_COUNTER.decrement();
+        }
+    }
+
+    /**
+     * Publish a response event.
+     *
+     * @param response     a HttpResponse to get status code etc.
+     * @param requestEvent Previously published ServiceDownstreamRequestEvent
+     * @param throwable    The throwable if the request fails
+     */
+    private static void publishResponseEvent(final HttpResponse response, final ServiceDownstreamRequestEvent requestEvent, final Throwable throwable) {
+        EventBus.publish(ApacheHttpClient5EventFactory.createServiceResponseEvent(response, requestEvent, throwable));
+    }
+}
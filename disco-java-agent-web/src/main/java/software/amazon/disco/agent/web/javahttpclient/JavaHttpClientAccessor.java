@@ -0,0 +1,359 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License").
+ *   You may not use this file except in compliance with the License.
+ *   A copy of the License is located at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file. This file is distributed
+ *   on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *   express or implied. See the License for the specific language governing
+ *   permissions and limitations under the License.
+ */
+
+package software.amazon.disco.agent.web.javahttpclient;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.net.URI;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Access to the java.net.http API of JDK 11 and later, reached through MethodHandles since the agent is compiled for
+ * Java 8. The API is defined by the platform classloader, which the classes of this plugin, on the bootstrap
+ * classloader, cannot see, so each handle is adapted to take and return Objects.
+ */
+final class JavaHttpClientAccessor {
+    private static final MethodHandle REQUEST_URI;
+    private static final MethodHandle REQUEST_METHOD;
+    private static final MethodHandle REQUEST_HEADERS;
+    private static final MethodHandle REQUEST_BODY_PUBLISHER;
+    private static final MethodHandle REQUEST_TIMEOUT;
+    private static final MethodHandle REQUEST_VERSION;
+    private static final MethodHandle REQUEST_EXPECT_CONTINUE;
+    private static final MethodHandle NEW_BUILDER;
+    private static final MethodHandle BUILDER_URI;
+    private static final MethodHandle BUILDER_GET;
+    private static final MethodHandle BUILDER_METHOD;
+    private static final MethodHandle BUILDER_HEADER;
+    private static final MethodHandle BUILDER_SET_HEADER;
+    private static final MethodHandle BUILDER_TIMEOUT;
+    private static final MethodHandle BUILDER_VERSION;
+    private static final MethodHandle BUILDER_EXPECT_CONTINUE;
+    private static final MethodHandle BUILDER_BUILD;
+    private static final MethodHandle NO_BODY;
+    private static final MethodHandle RESPONSE_STATUS_CODE;
+    private static final MethodHandle RESPONSE_HEADERS;
+    private static final MethodHandle HEADERS_MAP;
+    private static final Class<?> REQUEST_CLASS;
+    private static final Class<?> RESPONSE_CLASS;
+
+    static {
+        MethodHandle[] handles = new MethodHandle[21];
+        Class<?> requestClass = null;
+        Class<?> responseClass = null;
+        try {
+            ClassLoader classLoader = ClassLoader.getSystemClassLoader();
+            requestClass = Class.forName("java.net.http.HttpRequest", false, classLoader);
+            responseClass = Class.forName("java.net.http.HttpResponse", false, classLoader);
+            Class<?> builderClass = Class.forName("java.net.http.HttpRequest$Builder", false, classLoader);
+            Class<?> bodyPublisherClass = Class.forName("java.net.http.HttpRequest$BodyPublisher", false, classLoader);
+            Class<?> bodyPublishersClass = Class.forName("java.net.http.HttpRequest$BodyPublishers", false, classLoader);
+            Class<?> headersClass = Class.forName("java.net.http.HttpHeaders", false, classLoader);
+            Class<?> versionClass = Class.forName("java.net.http.HttpClient$Version", false, classLoader);
+            Class<?> durationClass = Class.forName("java.time.Duration");
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+
+            handles[0] = lookup.findVirtual(requestClass, "uri", MethodType.methodType(URI.class));
+            handles[1] = lookup.findVirtual(requestClass, "method", MethodType.methodType(String.class));
+            handles[2] = lookup.findVirtual(requestClass, "headers", MethodType.methodType(headersClass));
+            handles[3] = lookup.findVirtual(requestClass, "bodyPublisher", MethodType.methodType(Optional.class));
+            handles[4] = lookup.findVirtual(requestClass, "timeout", MethodType.methodType(Optional.class));
+            handles[5] = lookup.findVirtual(requestClass, "version", MethodType.methodType(Optional.class));
+            handles[6] = lookup.findVirtual(requestClass, "expectContinue", MethodType.methodType(boolean.class));
+            handles[7] = lookup.findStatic(requestClass, "newBuilder", MethodType.methodType(builderClass));
+            handles[8] = lookup.findVirtual(builderClass, "uri", MethodType.methodType(builderClass, URI.class));
+            handles[9] = lookup.findVirtual(builderClass, "GET", MethodType.methodType(builderClass));
+            handles[10] = lookup.findVirtual(builderClass, "method", MethodType.methodType(builderClass, String.class, bodyPublisherClass));
+            handles[11] = lookup.findVirtual(builderClass, "header", MethodType.methodType(builderClass, String.class, String.class));
+            handles[12] = lookup.findVirtual(builderClass, "setHeader", MethodType.methodType(builderClass, String.class, String.class));
+            handles[13] = lookup.findVirtual(builderClass, "timeout", MethodType.methodType(builderClass, durationClass));
+            handles[14] = lookup.findVirtual(builderClass, "version", MethodType.methodType(builderClass, versionClass));
+            handles[15] = lookup.findVirtual(builderClass, "expectContinue", MethodType.methodType(builderClass, boolean.class));
+            handles[16] = lookup.findVirtual(builderClass, "build", MethodType.methodType(requestClass));
+            handles[17] = lookup.findStatic(bodyPublishersClass, "noBody", MethodType.methodType(bodyPublisherClass));
+            handles[18] = lookup.findVirtual(responseClass, "statusCode", MethodType.methodType(int.class));
+            handles[19] = lookup.findVirtual(responseClass, "headers", MethodType.methodType(headersClass));
+            handles[20] = lookup.findVirtual(headersClass, "map", MethodType.methodType(Map.class));
+
+            for (int i = 0; i < handles.length; i++) {
+                handles[i] = handles[i].asType(MethodType.genericMethodType(handles[i].type().parameterCount()));
+            }
+        } catch (Throwable t) {
+            //the JDK predates java.net.http, in which case nothing will be intercepted
+            handles = new MethodHandle[handles.length];
+            requestClass = null;
+            responseClass = null;
+        }
+
+        REQUEST_URI = handles[0];
+        REQUEST_METHOD = handles[1];
+        REQUEST_HEADERS = handles[2];
+        REQUEST_BODY_PUBLISHER = handles[3];
+        REQUEST_TIMEOUT = handles[4];
+        REQUEST_VERSION = handles[5];
+        REQUEST_EXPECT_CONTINUE = handles[6];
+        NEW_BUILDER = handles[7];
+        BUILDER_URI = handles[8];
+        BUILDER_GET = handles[9];
+        BUILDER_METHOD = handles[10];
+        BUILDER_HEADER = handles[11];
+        BUILDER_SET_HEADER = handles[12];
+        BUILDER_TIMEOUT = handles[13];
+        BUILDER_VERSION = handles[14];
+        BUILDER_EXPECT_CONTINUE = handles[15];
+        BUILDER_BUILD = handles[16];
+        NO_BODY = handles[17];
+        RESPONSE_STATUS_CODE = handles[18];
+        RESPONSE_HEADERS = handles[19];
+        HEADERS_MAP = handles[20];
+        REQUEST_CLASS = requestClass;
+        RESPONSE_CLASS = responseClass;
+    }
+
+    /**
+     * Private constructor for a static utility class
+     */
+    private JavaHttpClientAccessor() {
+    }
+
+    /**
+     * Test if an object is a java.net.http.HttpRequest
+     * @param object the object to test
+     * @return true if the object is a HttpRequest
+     */
+    static boolean isRequest(Object object) {
+        return REQUEST_CLASS != null && REQUEST_CLASS.isInstance(object);
+    }
+
+    /**
+     * Test if an object is a java.net.http.HttpResponse
+     * @param object the object to test
+     * @return true if the object is a HttpResponse
+     */
+    static boolean isResponse(Object object) {
+        return RESPONSE_CLASS != null && RESPONSE_CLASS.isInstance(object);
+    }
+
+    /**
+     * Get the URI of a request
+     * @param request the HttpRequest
+     * @return the URI of the request
+     */
+    static URI getUri(Object request) {
+        return (URI) invoke(REQUEST_URI, request);
+    }
+
+    /**
+     * Get the HTTP method of a request
+     * @param request the HttpRequest
+     * @return the method of the request, e.g. "GET"
+     */
+    static String getMethod(Object request) {
+        return (String) invoke(REQUEST_METHOD, request);
+    }
+
+    /**
+     * Get the headers of a request
+     * @param request the HttpRequest
+     * @return the headers, keyed case-insensitively by name
+     */
+    static Map<String, List<String>> getRequestHeaders(Object request) {
+        return getHeadersMap(invoke(REQUEST_HEADERS, request));
+    }
+
+    /**
+     * Get the status code of a response
+     * @param response the HttpResponse
+     * @return the status code of the response
+     */
+    static int getStatusCode(Object response) {
+        return (Integer) invoke(RESPONSE_STATUS_CODE, response);
+    }
+
+    /**
+     * Get the headers of a response
+     * @param response the HttpResponse
+     * @return the headers, keyed case-insensitively by name
+     */
+    static Map<String, List<String>> getResponseHeaders(Object response) {
+        return getHeadersMap(invoke(RESPONSE_HEADERS, response));
+    }
+
+    /**
+     * Get the first value of a header
+     * @param headers the headers, keyed case-insensitively by name
+     * @param name the header name
+     * @return the first value of the header, or null if there is none
+     */
+    static String getFirstHeader(Map<String, List<String>> headers, String name) {
+        List<String> values = getHeaders(headers, name);
+        return values == null ? null : values.get(0);
+    }
+
+    /**
+     * Get the values of a header
+     * @param headers the headers, keyed case-insensitively by name
+     * @param name the header name
+     * @return the values of the header, or null if there are none
+     */
+    static List<String> getHeaders(Map<String, List<String>> headers, String name) {
+        List<String> values = headers.get(name);
+        return values == null || values.isEmpty() ? null : values;
+    }
+
+    /**
+     * Copy a request, whose headers are immutable, with some of its headers replaced.
+     *
+     * @param request the HttpRequest to copy
+     * @param replacements the headers to replace, keyed by name. All of the request's headers of each name are replaced
+     *                     by a single header of the given value.
+     * @return the new HttpRequest
+     */
+    static Object replaceHeaders(Object request, Map<String, String> replacements) {
+        Object builder = invoke(BUILDER_URI, invoke(NEW_BUILDER), getUri(request));
+
+        String method = getMethod(request);
+        Optional<?> bodyPublisher = (Optional<?>) invoke(REQUEST_BODY_PUBLISHER, request);
+        if (!bodyPublisher.isPresent() && "GET".equals(method)) {
+            builder = invoke(BUILDER_GET, builder);
+        } else {
+            builder = invoke(BUILDER_METHOD, builder, method, bodyPublisher.isPresent() ? bodyPublisher.get() : invoke(NO_BODY));
+        }
+
+        for (Map.Entry<String, List<String>> header : getRequestHeaders(request).entrySet()) {
+            if (!containsIgnoreCase(replacements, header.getKey())) {
+                for (String value : header.getValue()) {
+                    builder = invoke(BUILDER_HEADER, builder, header.getKey(), value);
+                }
+            }
+        }
+        for (Map.Entry<String, String> replacement : replacements.entrySet()) {
+            builder = invoke(BUILDER_SET_HEADER, builder, replacement.getKey(), replacement.getValue());
+        }
+
+        Optional<?> timeout = (Optional<?>) invoke(REQUEST_TIMEOUT, request);
+        if (timeout.isPresent()) {
+            builder = invoke(BUILDER_TIMEOUT, builder, timeout.get());
+        }
+        Optional<?> version = (Optional<?>) invoke(REQUEST_VERSION, request);
+        if (version.isPresent()) {
+            builder = invoke(BUILDER_VERSION, builder, version.get());
+        }
+        builder = invoke(BUILDER_EXPECT_CONTINUE, builder, invoke(REQUEST_EXPECT_CONTINUE, request));
+
+        return invoke(BUILDER_BUILD, builder);
+    }
+
+    /**
+     * Get the map of a java.net.http.HttpHeaders
+     * @param headers the HttpHeaders, or null
+     * @return the map of the headers, which is empty if there are none
+     */
+    @SuppressWarnings("unchecked")
+    private static Map<String, List<String>> getHeadersMap(Object headers) {
+        return headers == null ? Collections.emptyMap() : (Map<String, List<String>>) invoke(HEADERS_MAP, headers);
+    }
+
+    /**
+     * Test if a map contains a key, ignoring case, as header names are compared
+     * @param map the map
+     * @param key the key
+     * @return true if the map contains the key
+     */
+    private static boolean containsIgnoreCase(Map<String, ?> map, String key) {
+        for (String candidate : map.keySet()) {
+            if (candidate.equalsIgnoreCase(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Invoke one of the static handles without arguments
+     * @param handle the MethodHandle, adapted to return an Object
+     * @return the result
+     */
+    private static Object invoke(MethodHandle handle) {
+        try {
+            return handle.invokeExact();
+        } catch (Throwable t) {
+            return JavaHttpClientAccessor.<RuntimeException>rethrow(t);
+        }
+    }
+
+    /**
+     * Invoke one of the handles with one argument
+     * @param handle the MethodHandle, adapted to take and return Objects
+     * @param arg the argument, which is the receiver for an instance method
+     * @return the result
+     */
+    private static Object invoke(MethodHandle handle, Object arg) {
+        try {
+            return handle.invokeExact(arg);
+        } catch (Throwable t) {
+            return JavaHttpClientAccessor.<RuntimeException>rethrow(t);
+        }
+    }
+
+    /**
+     * Invoke one of the handles with two arguments
+     * @param handle the MethodHandle, adapted to take and return Objects
+     * @param arg0 the first argument, which is the receiver for an instance method
+     * @param arg1 the second argument
+     * @return the result
+     */
+    private static Object invoke(MethodHandle handle, Object arg0, Object arg1) {
+        try {
+            return handle.invokeExact(arg0, arg1);
+        } catch (Throwable t) {
+            return JavaHttpClientAccessor.<RuntimeException>rethrow(t);
+        }
+    }
+
+    /**
+     * Invoke one of the handles with three arguments
+     * @param handle the MethodHandle, adapted to take and return Objects
+     * @param arg0 the first argument, which is the receiver for an instance method
+     * @param arg1 the second argument
+     * @param arg2 the third argument
+     * @return the result
+     */
+    private static Object invoke(MethodHandle handle, Object arg0, Object arg1, Object arg2) {
+        try {
+            return handle.invokeExact(arg0, arg1, arg2);
+        } catch (Throwable t) {
+            return JavaHttpClientAccessor.<RuntimeException>rethrow(t);
+        }
+    }
+
+    /**
+     * Rethrow a Throwable, which can only be unchecked since the methods of the java.net.http API called here declare
+     * no checked exceptions, without wrapping it
+     * @param t the Throwable to rethrow
+     * @param <T> the inferred exception type
+     * @return never returns
+     * @throws T always
+     */
+    @SuppressWarnings("unchecked")
+    private static <T extends Throwable> Object rethrow(Throwable t) throws T {
+        throw (T) t;
+    }
+}
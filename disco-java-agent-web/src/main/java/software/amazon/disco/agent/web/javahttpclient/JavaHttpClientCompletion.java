@@ -0,0 +1,221 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License").
+ *   You may not use this file except in compliance with the License.
+ *   A copy of the License is located at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file. This file is distributed
+ *   on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *   express or implied. See the License for the specific language governing
+ *   permissions and limitations under the License.
+ */
+
+package software.amazon.disco.agent.web.javahttpclient;
+
+import software.amazon.disco.agent.concurrent.TransactionContextData;
+import software.amazon.disco.agent.event.EventBus;
+import software.amazon.disco.agent.event.ServiceDownstreamRequestEvent;
+import software.amazon.disco.agent.event.ServiceDownstreamResponseEvent;
+import software.amazon.disco.agent.logging.LogManager;
+import software.amazon.disco.agent.logging.Logger;
+import software.amazon.disco.agent.web.DownstreamCompletion;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.BiConsumer;
+
+/**
+ * Follows a request sent by a java.net.http.HttpClient, whether by send() or sendAsync(), from the point at which the
+ * client begins to send it until the CompletableFuture of its response completes, usually on a thread of the client's
+ * executor. The response event is then published within the transaction context of the thread which sent the request.
+ *
+ * The future returned to the caller is not the client's own but a dependent one, completed by this class within that
+ * same context, so that the non-async stages which the caller chains onto it run within the context too, without
+ * blocking any thread. Async stages run on their executor within the context as well, since they are submitted to it
+ * while the context is current.
+ */
+public class JavaHttpClientCompletion extends DownstreamCompletion<Object> implements BiConsumer<Object, Throwable> {
+    private static final Logger log = LogManager.getLogger(JavaHttpClientCompletion.class);
+    static final String JAVA_HTTP_CLIENT_ORIGIN = "JavaHttpClient";
+    static final String CONTENT_LENGTH = "Content-Length";
+
+    private final Object request;
+    private ResponseFuture responseFuture;
+
+    /**
+     * Construct a new JavaHttpClientCompletion
+     * @param requestEvent the published request event
+     * @param request the java.net.http.HttpRequest to send, which is a copy of the original if the listeners to the
+     *                request event replaced any of its headers
+     */
+    JavaHttpClientCompletion(ServiceDownstreamRequestEvent requestEvent, Object request) {
+        super(requestEvent);
+        this.request = request;
+    }
+
+    /**
+     * Publish the request event of a request which the client is about to send. Called from the method entry advice of
+     * {@link JavaHttpClientInterceptor}, so the argument is untyped.
+     *
+     * @param request the java.net.http.HttpRequest passed to the client
+     * @return the completion of the request, or null if the request event could not be published
+     */
+    public static JavaHttpClientCompletion begin(Object request) {
+        if (!JavaHttpClientAccessor.isRequest(request)) {
+            return null;
+        }
+
+        JavaHttpClientRequestEvent requestEvent;
+        try {
+            String uri = JavaHttpClientAccessor.getUri(request).toString();
+            String method = JavaHttpClientAccessor.getMethod(request);
+            requestEvent = new JavaHttpClientRequestEvent(JAVA_HTTP_CLIENT_ORIGIN, uri, method, request);
+            requestEvent.withMethod(method);
+            requestEvent.withUri(uri);
+            EventBus.publish(requestEvent);
+        } catch (Throwable t) {
+            log.error("DiSCo(Web) failed to publish request event for JavaHttpClient", t);
+            return null;
+        }
+
+        Object requestToSend;
+        try {
+            requestToSend = requestEvent.getRequestToSend();
+        } catch (Throwable t) {
+            log.error("DiSCo(Web) failed to replace headers of JavaHttpClient request, sending it unchanged", t);
+            requestToSend = request;
+        }
+        return new JavaHttpClientCompletion(requestEvent, requestToSend);
+    }
+
+    /**
+     * Follow the response of a request which the client has begun to send. Called from the method exit advice of
+     * {@link JavaHttpClientInterceptor}.
+     *
+     * @param completion the completion returned by {@link #begin(Object)}, possibly null
+     * @param returned the CompletableFuture of the response returned by the client, or null if it threw
+     * @param thrown the Throwable thrown by the client, or null if it returned normally
+     * @return the CompletableFuture to return to the caller in place of the client's own
+     */
+    public static Object end(Object completion, Object returned, Throwable thrown) {
+        if (!(completion instanceof JavaHttpClientCompletion)) {
+            return returned;
+        }
+
+        JavaHttpClientCompletion javaHttpClientCompletion = (JavaHttpClientCompletion) completion;
+        if (thrown != null || !(returned instanceof CompletableFuture)) {
+            javaHttpClientCompletion.publishResponse(null, thrown);
+            return returned;
+        }
+        return javaHttpClientCompletion.follow((CompletableFuture<?>) returned);
+    }
+
+    /**
+     * Get the request to send in place of the one passed to the client
+     * @return the java.net.http.HttpRequest to send
+     */
+    public Object getRequest() {
+        return request;
+    }
+
+    /**
+     * Create the dependent future of the client's future, to be completed when the client's future completes.
+     * @param future the client's CompletableFuture
+     * @return the dependent CompletableFuture
+     */
+    CompletableFuture<Object> follow(CompletableFuture<?> future) {
+        //created before whenComplete(), which calls accept() at once if the future is already complete
+        responseFuture = new ResponseFuture(future);
+        future.whenComplete(this);
+        return responseFuture;
+    }
+
+    /**
+     * Called when the client's future completes, to publish the response event and complete the dependent future,
+     * within the transaction context of the thread which sent the request.
+     *
+     * @param response the java.net.http.HttpResponse, or null if the request failed
+     * @param thrown the cause of the failure of the request, or null if it succeeded
+     */
+    @Override
+    public void accept(Object response, Throwable thrown) {
+        TransactionContextData previous = bindContext();
+        try {
+            try {
+                Throwable cause = thrown instanceof CompletionException && thrown.getCause() != null ? thrown.getCause() : thrown;
+                if (cause instanceof CancellationException) {
+                    publishCancellation();
+                } else {
+                    publishResponse(response, cause);
+                }
+            } catch (Throwable t) {
+                log.error("DiSCo(Web) failed to publish response event for JavaHttpClient", t);
+            }
+
+            //the Throwable is passed on unchanged, so that the dependent future reports it as the client's would
+            if (thrown != null) {
+                responseFuture.completeExceptionally(thrown);
+            } else {
+                responseFuture.complete(response);
+            }
+        } finally {
+            restoreContext(previous);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected ServiceDownstreamResponseEvent createResponseEvent(Object response, Throwable thrown) {
+        ServiceDownstreamRequestEvent requestEvent = getRequestEvent();
+        Object httpResponse = JavaHttpClientAccessor.isResponse(response) ? response : null;
+        JavaHttpClientResponseEvent responseEvent = new JavaHttpClientResponseEvent(requestEvent.getOrigin(), requestEvent.getService(),
+                requestEvent.getOperation(), requestEvent, httpResponse);
+        if (thrown != null) {
+            responseEvent.withThrown(thrown);
+        }
+        if (httpResponse != null) {
+            responseEvent.withStatusCode(JavaHttpClientAccessor.getStatusCode(httpResponse));
+            String contentLength = responseEvent.getFirstHeader(CONTENT_LENGTH);
+            if (contentLength != null) {
+                try {
+                    responseEvent.withContentLength(Long.parseLong(contentLength.trim()));
+                } catch (NumberFormatException e) {
+                    //treat as unknown
+                }
+            }
+        }
+        return responseEvent;
+    }
+
+    /**
+     * The CompletableFuture returned to the caller in place of the client's own. Cancelling it cancels the client's
+     * future too, as send() does when it is interrupted.
+     */
+    static class ResponseFuture extends CompletableFuture<Object> {
+        private final CompletableFuture<?> future;
+
+        /**
+         * Construct a new ResponseFuture
+         * @param future the client's CompletableFuture
+         */
+        ResponseFuture(CompletableFuture<?> future) {
+            this.future = future;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            future.cancel(mayInterruptIfRunning);
+            return cancelled;
+        }
+    }
+}
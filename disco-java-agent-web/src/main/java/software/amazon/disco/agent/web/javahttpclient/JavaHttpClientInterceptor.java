@@ -0,0 +1,125 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License").
+ *   You may not use this file except in compliance with the License.
+ *   A copy of the License is located at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file. This file is distributed
+ *   on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *   express or implied. See the License for the specific language governing
+ *   permissions and limitations under the License.
+ */
+
+package software.amazon.disco.agent.web.javahttpclient;
+
+import net.bytebuddy.agent.builder.AgentBuilder;
+import net.bytebuddy.asm.Advice;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.implementation.bytecode.assign.Assigner;
+import net.bytebuddy.matcher.ElementMatcher;
+import net.bytebuddy.matcher.ElementMatchers;
+import software.amazon.disco.agent.interception.Installable;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * When making a HTTP call using the java.net.http.HttpClient of JDK 11 and later, the private
+ * jdk.internal.net.http.HttpClientImpl#sendAsync(HttpRequest, BodyHandler, PushPromiseHandler, Executor) method, to
+ * which send() and both public sendAsync() methods delegate, is intercepted. The request event is published on the
+ * calling thread, and the request replaced by a copy if any of its headers were replaced by the listeners to the event.
+ * The returned CompletableFuture is replaced by one which a {@link JavaHttpClientCompletion} completes, within the
+ * transaction context of the calling thread, once it has published the response event.
+ *
+ * Unlike the other interceptors of this plugin, the helper classes called from the advice remain on the bootstrap
+ * classloader rather than being injected, since they are called from a class of the java.net.http module, which reads
+ * the bootstrap classloader's unnamed module once it has been transformed, but not the application classloader's.
+ *
+ * IMPORTANT NOTE:
+ *
+ * The intercepted method is not part of the JDK's API, so may change between JDK releases, in which case nothing is
+ * intercepted. JavaHttpClientInterceptorTests checks the method matcher against the JDK the tests are run on.
+ */
+public class JavaHttpClientInterceptor implements Installable {
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public AgentBuilder install(final AgentBuilder agentBuilder) {
+        return agentBuilder
+                .type(buildClassMatcher())
+                .transform((builder, typeDescription, classLoader, module) ->
+                        builder.visit(Advice.to(SendAsyncAdvice.class).on(buildMethodMatcher())));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<String> getCandidateSuperTypeNames() {
+        return Collections.singletonList("java.net.http.HttpClient");
+    }
+
+    /**
+     * Advice class for the sendAsync() method. Its parameters are untyped, since this class is not loaded by a
+     * classloader which can see the java.net.http API, and its bytecode is inlined into the client.
+     */
+    public static class SendAsyncAdvice {
+        /**
+         * Publish the request event, and replace the request with the one to send.
+         *
+         * @param request the HttpRequest argument. Marked as "readonly=false" so that we can replace it.
+         * @return the JavaHttpClientCompletion of the request, or null
+         */
+        @Advice.OnMethodEnter(suppress = Throwable.class)
+        public static Object onMethodEnter(@Advice.Argument(value = 0, readOnly = false, typing = Assigner.Typing.DYNAMIC) Object request) {
+            JavaHttpClientCompletion completion = JavaHttpClientCompletion.begin(request);
+            if (completion != null) {
+                request = completion.getRequest();
+            }
+            return completion;
+        }
+
+        /**
+         * Replace the returned CompletableFuture with one completed once the response event has been published, or
+         * publish the response event at once if sendAsync() threw.
+         *
+         * @param completion the JavaHttpClientCompletion returned by the method entry advice
+         * @param returned the CompletableFuture returned by sendAsync(). Marked as "readonly=false" so that we can replace it.
+         * @param thrown the Throwable thrown by sendAsync(), if any
+         */
+        @Advice.OnMethodExit(onThrowable = Throwable.class, suppress = Throwable.class)
+        public static void onMethodExit(@Advice.Enter Object completion,
+                                        @Advice.Return(readOnly = false, typing = Assigner.Typing.DYNAMIC) Object returned,
+                                        @Advice.Thrown Throwable thrown) {
+            returned = JavaHttpClientCompletion.end(completion, returned, thrown);
+        }
+    }
+
+    /**
+     * Build an ElementMatcher which defines the kind of class which will be intercepted. Package-private for tests.
+     *
+     * @return An ElementMatcher suitable to pass to the type() method of an AgentBuilder
+     */
+    static ElementMatcher<? super TypeDescription> buildClassMatcher() {
+        return ElementMatchers.named("jdk.internal.net.http.HttpClientImpl");
+    }
+
+    /**
+     * Build an ElementMatcher which will match against the sendAsync(HttpRequest, BodyHandler, PushPromiseHandler,
+     * Executor) method. Package-private for tests.
+     *
+     * @return An ElementMatcher suitable for passing to the on() method of an Advice
+     */
+    static ElementMatcher<? super MethodDescription> buildMethodMatcher() {
+        return ElementMatchers.named("sendAsync")
+                .and(ElementMatchers.takesArguments(4))
+                .and(ElementMatchers.takesArgument(0, ElementMatchers.named("java.net.http.HttpRequest")))
+                .and(ElementMatchers.takesArgument(3, ElementMatchers.named("java.util.concurrent.Executor")))
+                .and(ElementMatchers.not(ElementMatchers.isAbstract()));
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License").
+ *   You may not use this file except in compliance with the License.
+ *   A copy of the License is located at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file. This file is distributed
+ *   on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *   express or implied. See the License for the specific language governing
+ *   permissions and limitations under the License.
+ */
+
+package software.amazon.disco.agent.web.javahttpclient;
+
+import software.amazon.disco.agent.event.DownstreamRequestHeaderRetrievable;
+import software.amazon.disco.agent.event.HeaderReplaceable;
+import software.amazon.disco.agent.event.HttpServiceDownstreamRequestEvent;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * java.net.http.HttpClient HttpServiceDownstreamRequestEvent allowing header replacement/retrieval. Since a HttpRequest
+ * is immutable, replaced headers are recorded by the event, and a copy of the request bearing them is sent in place of
+ * the original once the event has been published.
+ */
+class JavaHttpClientRequestEvent extends HttpServiceDownstreamRequestEvent implements HeaderReplaceable, DownstreamRequestHeaderRetrievable {
+    private final Object request;
+    private Map<String, String> replacements;
+
+    /**
+     * Construct a new JavaHttpClientRequestEvent
+     *
+     * @param origin    the origin of the downstream call e.g. 'Web' or 'gRPC'
+     * @param service   the service name e.g. 'WeatherService'
+     * @param operation the operation name e.g. 'getWeather'
+     * @param request   the java.net.http.HttpRequest
+     */
+    JavaHttpClientRequestEvent(String origin, String service, String operation, Object request) {
+        super(origin, service, operation);
+        this.request = request;
+    }
+
+    /**
+     * Replace all headers of the given name, with a new single header of the given value
+     *
+     * @param name  the header name
+     * @param value the header value
+     * @return true if successful
+     */
+    @Override
+    public boolean replaceHeader(String name, String value) {
+        if (replacements == null) {
+            replacements = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        }
+        replacements.put(name, value);
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getFirstHeader(String key) {
+        return JavaHttpClientAccessor.getFirstHeader(getAllHeaders(), key);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<String> getHeaders(String key) {
+        return JavaHttpClientAccessor.getHeaders(getAllHeaders(), key);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, List<String>> getAllHeaders() {
+        Map<String, List<String>> headers = JavaHttpClientAccessor.getRequestHeaders(request);
+        if (replacements == null) {
+            return headers;
+        }
+        Map<String, List<String>> merged = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        merged.putAll(headers);
+        for (Map.Entry<String, String> replacement : replacements.entrySet()) {
+            merged.put(replacement.getKey(), Collections.singletonList(replacement.getValue()));
+        }
+        return Collections.unmodifiableMap(merged);
+    }
+
+    /**
+     * Get the request to send, which is a copy of the original if any of its headers have been replaced
+     *
+     * @return the java.net.http.HttpRequest to send
+     */
+    Object getRequestToSend() {
+        return replacements == null ? request : JavaHttpClientAccessor.replaceHeaders(request, replacements);
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License").
+ *   You may not use this file except in compliance with the License.
+ *   A copy of the License is located at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file. This file is distributed
+ *   on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *   express or implied. See the License for the specific language governing
+ *   permissions and limitations under the License.
+ */
+
+package software.amazon.disco.agent.web.javahttpclient;
+
+import software.amazon.disco.agent.event.DownstreamResponseHeaderRetrievable;
+import software.amazon.disco.agent.event.HttpServiceDownstreamResponseEvent;
+import software.amazon.disco.agent.event.ServiceDownstreamRequestEvent;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * java.net.http.HttpClient HttpServiceDownstreamResponseEvent allowing header retrieval.
+ */
+class JavaHttpClientResponseEvent extends HttpServiceDownstreamResponseEvent implements DownstreamResponseHeaderRetrievable {
+    private final Map<String, List<String>> headers;
+
+    /**
+     * Construct a new JavaHttpClientResponseEvent
+     *
+     * @param origin       the origin of the downstream call e.g. 'Web' or 'gRPC'
+     * @param service      the service name e.g. 'WeatherService'
+     * @param operation    the operation name e.g. 'getWeather'
+     * @param requestEvent the associated request event
+     * @param response     the java.net.http.HttpResponse, or null if the request failed
+     */
+    JavaHttpClientResponseEvent(String origin, String service, String operation, final ServiceDownstreamRequestEvent requestEvent, Object response) {
+        super(origin, service, operation, requestEvent);
+        this.headers = response == null ? Collections.<String, List<String>>emptyMap() : JavaHttpClientAccessor.getResponseHeaders(response);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getFirstHeader(String key) {
+        return JavaHttpClientAccessor.getFirstHeader(headers, key);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<String> getHeaders(String key) {
+        return JavaHttpClientAccessor.getHeaders(headers, key);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, List<String>> getAllHeaders() {
+        return headers;
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License").
+ *   You may not use this file except in compliance with the License.
+ *   A copy of the License is located at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file. This file is distributed
+ *   on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *   express or implied. See the License for the specific language governing
+ *   permissions and limitations under the License.
+ */
+
+package software.amazon.disco.agent.web.servlet;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+
+/**
+ * The javax.servlet AsyncListener through which the container reports the completion of an asynchronous request to its
+ * {@link ServletAsyncCompletion}.
+ */
+class HttpServletAsyncListener implements AsyncListener {
+    private final ServletAsyncCompletion completion;
+
+    /**
+     * Construct a new HttpServletAsyncListener
+     * @param completion the completion of the request's transaction
+     */
+    HttpServletAsyncListener(ServletAsyncCompletion completion) {
+        this.completion = completion;
+    }
+
+    /**
+     * Get the completion of the request's transaction. Package-private for tests.
+     * @return the completion
+     */
+    ServletAsyncCompletion getCompletion() {
+        return completion;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onComplete(AsyncEvent event) {
+        completion.complete();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onTimeout(AsyncEvent event) {
+        completion.complete();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onError(AsyncEvent event) {
+        //the container completes the request afterwards
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onStartAsync(AsyncEvent event) {
+        //listeners are removed when the request is put into asynchronous mode again, so must be added afresh
+        AsyncContext asyncContext = event.getAsyncContext();
+        if (asyncContext != null) {
+            asyncContext.addListener(this);
+        }
+    }
+}
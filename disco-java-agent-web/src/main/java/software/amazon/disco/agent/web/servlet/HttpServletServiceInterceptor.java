@@ -25,12 +25,59 @@ import software.amazon.disco.agent.logging.LogManager;
 import software.amazon.disco.agent.logging.Logger;
 import software.amazon.disco.agent.plugin.ResourcesClassInjector;
 
+import java.util.Collections;
+import java.util.List;
+
 /**
  * When the service() method of HttpServlet or subclass of it is called,
  * the method is intercepted to generate HttpNetworkProtocol(Request/Response)Events.
+ *
+ * This intercepts the javax.servlet API. The jakarta.servlet API is intercepted by the {@link JakartaHttpServletServiceInterceptor}
+ * subclass, and each has its own method delegation, sharing their logic via a {@link ServletServiceHandler}.
  */
 public class HttpServletServiceInterceptor implements Installable {
     private static final Logger log = LogManager.getLogger(HttpServletServiceInterceptor.class);
+    // namespace-agnostic classes, which must share a runtime package with the method delegation of either API
+    static final String[] SHARED_CLASSES = {
+            "software.amazon.disco.agent.web.servlet.ServletAccessor",
+            "software.amazon.disco.agent.web.servlet.ServletServiceHandler",
+            "software.amazon.disco.agent.web.servlet.ServletAsyncCompletion",
+            "software.amazon.disco.agent.web.servlet.ServletRequestHeaderMap",
+            "software.amazon.disco.agent.web.servlet.ServletResponseHeaderMap"
+    };
+
+    private final String servletPackage;
+    private final String methodDelegation;
+    private final String[] classesToInject;
+
+    /**
+     * Construct an interceptor for the javax.servlet API
+     */
+    public HttpServletServiceInterceptor() {
+        this("javax.servlet",
+                "software.amazon.disco.agent.web.servlet.HttpServletServiceMethodDelegation",
+                "software.amazon.disco.agent.web.servlet.HttpServletAccessor",
+                "software.amazon.disco.agent.web.servlet.HttpServletAsyncListener");
+    }
+
+    /**
+     * Construct an interceptor for the given servlet API. Class names are given as Strings, since the classes must not be
+     * loaded until injected into the classloader of the servlet API.
+     *
+     * @param servletPackage   the package of the servlet API, e.g. "javax.servlet"
+     * @param methodDelegation the name of the method delegation class for the API
+     * @param apiClasses       the names of further classes referring to the API, used by the method delegation
+     */
+    protected HttpServletServiceInterceptor(String servletPackage, String methodDelegation, String... apiClasses) {
+        this.servletPackage = servletPackage;
+        this.methodDelegation = methodDelegation;
+        // injected in order, so that the supertypes of each class are present before it
+        this.classesToInject = new String[SHARED_CLASSES.length + apiClasses.length + 1];
+        System.arraycopy(SHARED_CLASSES, 0, classesToInject, 0, SHARED_CLASSES.length);
+        System.arraycopy(apiClasses, 0, classesToInject, SHARED_CLASSES.length, apiClasses.length);
+        this.classesToInject[classesToInject.length - 1] = methodDelegation;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -39,31 +86,39 @@ public class HttpServletServiceInterceptor implements Installable {
         return agentBuilder
                 .type(buildClassMatcher())
                 .transform((builder, typeDescription, classLoader, module) -> {
-                    ResourcesClassInjector.injectClass(
+                    ResourcesClassInjector.injectAllClasses(
                             classLoader,
                             HttpServletServiceInterceptor.class.getClassLoader(),
-                            "software.amazon.disco.agent.web.servlet.HttpServletServiceMethodDelegation"
+                            classesToInject
                     );
 
                     try {
-                        Class<?> methodDelegation = Class.forName("software.amazon.disco.agent.web.servlet.HttpServletServiceMethodDelegation", true, classLoader);
+                        Class<?> methodDelegation = Class.forName(this.methodDelegation, true, classLoader);
                         return builder
                                 .method(buildMethodMatcher())
                                 .intercept(MethodDelegation.to(methodDelegation));
                     } catch (Exception e) {
-                        log.error("Disco(Web) could not install HttpServletServiceMethodDelegation", e);
+                        log.error("Disco(Web) could not install " + this.methodDelegation, e);
                         return builder;
                     }
                 });
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<String> getCandidateSuperTypeNames() {
+        return Collections.singletonList(servletPackage + ".http.HttpServlet");
+    }
+
     /**
      * Build a ElementMatcher which defines the kind of class which will be intercepted. Package-private for tests.
      *
      * @return A ElementMatcher suitable to pass to the type() method of an AgentBuilder
      */
     ElementMatcher<? super TypeDescription> buildClassMatcher() {
-        return ElementMatchers.hasSuperType(ElementMatchers.named("javax.servlet.http.HttpServlet"));
+        return ElementMatchers.hasSuperType(ElementMatchers.named(servletPackage + ".http.HttpServlet"));
     }
 
     /**
@@ -73,8 +128,8 @@ public class HttpServletServiceInterceptor implements Installable {
      * @return An ElementMatcher suitable for passing to the method() method of a DynamicType.Builder
      */
     ElementMatcher<? super MethodDescription> buildMethodMatcher() {
-        ElementMatcher<? super TypeDescription> requestTypeName = ElementMatchers.named("javax.servlet.http.HttpServletRequest");
-        ElementMatcher<? super TypeDescription> responseTypeName = ElementMatchers.named("javax.servlet.http.HttpServletResponse");
+        ElementMatcher<? super TypeDescription> requestTypeName = ElementMatchers.named(servletPackage + ".http.HttpServletRequest");
+        ElementMatcher<? super TypeDescription> responseTypeName = ElementMatchers.named(servletPackage + ".http.HttpServletResponse");
         ElementMatcher.Junction<? super MethodDescription> hasTwoArgs = ElementMatchers.takesArguments(2);
         ElementMatcher.Junction<? super MethodDescription> firstArgMatches = ElementMatchers.takesArgument(0, requestTypeName);
         ElementMatcher.Junction<? super MethodDescription> secondArgMatches = ElementMatchers.takesArgument(1, responseTypeName);
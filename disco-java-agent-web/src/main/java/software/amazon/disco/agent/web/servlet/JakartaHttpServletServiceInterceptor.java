@@ -0,0 +1,33 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License").
+ *   You may not use this file except in compliance with the License.
+ *   A copy of the License is located at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file. This file is distributed
+ *   on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *   express or implied. See the License for the specific language governing
+ *   permissions and limitations under the License.
+ */
+
+package software.amazon.disco.agent.web.servlet;
+
+/**
+ * When the service() method of a jakarta.servlet.http.HttpServlet, as found in Jakarta EE 9 and later containers such
+ * as Tomcat 10 and Jetty 11, or subclass of it is called, the method is intercepted to generate the same
+ * HttpNetworkProtocol(Request/Response)Events as for the javax.servlet API.
+ */
+public class JakartaHttpServletServiceInterceptor extends HttpServletServiceInterceptor {
+    /**
+     * Construct an interceptor for the jakarta.servlet API
+     */
+    public JakartaHttpServletServiceInterceptor() {
+        super("jakarta.servlet",
+                "software.amazon.disco.agent.web.servlet.JakartaHttpServletServiceMethodDelegation",
+                "software.amazon.disco.agent.web.servlet.JakartaHttpServletAccessor",
+                "software.amazon.disco.agent.web.servlet.JakartaHttpServletAsyncListener");
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License").
+ *   You may not use this file except in compliance with the License.
+ *   A copy of the License is located at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file. This file is distributed
+ *   on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *   express or implied. See the License for the specific language governing
+ *   permissions and limitations under the License.
+ */
+
+package software.amazon.disco.agent.web.servlet;
+
+import net.bytebuddy.implementation.bind.annotation.AllArguments;
+import net.bytebuddy.implementation.bind.annotation.Origin;
+import net.bytebuddy.implementation.bind.annotation.SuperCall;
+import net.bytebuddy.implementation.bind.annotation.This;
+
+import java.util.concurrent.Callable;
+
+/**
+ * This class is to support Bytebuddy's method delegation for {@link JakartaHttpServletServiceInterceptor}, as
+ * {@link HttpServletServiceMethodDelegation} does for the javax.servlet API.
+ */
+public class JakartaHttpServletServiceMethodDelegation {
+    /**
+     * The jakarta.servlet.http.HttpServlet#service method is intercepted, and redirected here, to publish the same
+     * events as for the javax.servlet API.
+     *
+     * @param args    the original arguments passed to the invoke call
+     * @param invoker the original 'this' of the invoker, in case useful or for debugging
+     * @param origin  identifier of the intercepted method, for debugging/logging
+     * @param zuper   a callable to call the original method
+     * @throws Exception - catch-all for whatever exceptions might be throwable in the original call
+     */
+    @SuppressWarnings("unused")
+    public static void service(@AllArguments Object[] args,
+                               @This Object invoker,
+                               @Origin String origin,
+                               @SuperCall Callable<Object> zuper) throws Throwable {
+        ServletServiceHandler.service(JakartaHttpServletAccessor.INSTANCE, args[0], args[1], zuper);
+    }
+}
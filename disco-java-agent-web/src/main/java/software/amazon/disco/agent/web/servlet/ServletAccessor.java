@@ -0,0 +1,122 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License").
+ *   You may not use this file except in compliance with the License.
+ *   A copy of the License is located at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file. This file is distributed
+ *   on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *   express or implied. See the License for the specific language governing
+ *   permissions and limitations under the License.
+ */
+
+package software.amazon.disco.agent.web.servlet;
+
+import java.util.Collection;
+
+/**
+ * Access to the requests and responses of one servlet API namespace, javax.servlet or jakarta.servlet, so that the
+ * interception logic in {@link ServletServiceHandler} may be shared between them. Implementations are compiled against
+ * their API and call it directly, and requests and responses are passed as Objects only to keep this interface free of
+ * either namespace.
+ */
+interface ServletAccessor {
+    /**
+     * @param request the HttpServletRequest
+     * @return the port of the client
+     */
+    int getRemotePort(Object request);
+
+    /**
+     * @param request the HttpServletRequest
+     * @return the port on which the request was received
+     */
+    int getLocalPort(Object request);
+
+    /**
+     * @param request the HttpServletRequest
+     * @return the IP address of the client
+     */
+    String getRemoteAddr(Object request);
+
+    /**
+     * @param request the HttpServletRequest
+     * @return the IP address on which the request was received
+     */
+    String getLocalAddr(Object request);
+
+    /**
+     * @param request the HttpServletRequest
+     * @return the HTTP method of the request
+     */
+    String getMethod(Object request);
+
+    /**
+     * @param request the HttpServletRequest
+     * @return the URL of the request
+     */
+    String getRequestURL(Object request);
+
+    /**
+     * @param request the HttpServletRequest
+     * @param name the name of a header
+     * @return the value of the header, or null if absent
+     */
+    String getRequestHeader(Object request, String name);
+
+    /**
+     * @param request the HttpServletRequest
+     * @return the names of the request headers, or null if unavailable
+     */
+    Collection<String> getRequestHeaderNames(Object request);
+
+    /**
+     * @param response the HttpServletResponse
+     * @return the status code of the response
+     */
+    int getStatus(Object response);
+
+    /**
+     * @param response the HttpServletResponse
+     * @param name the name of a header
+     * @return the value of the header, or null if absent
+     */
+    String getResponseHeader(Object response, String name);
+
+    /**
+     * @param response the HttpServletResponse
+     * @return the names of the response headers, or null if unavailable
+     */
+    Collection<String> getResponseHeaderNames(Object response);
+
+    /**
+     * @param request the HttpServletRequest
+     * @return true if the servlet put the request into asynchronous mode, false if not or if unsupported by the container
+     */
+    boolean isAsyncStarted(Object request);
+
+    /**
+     * @param request the HttpServletRequest
+     * @param name the name of an attribute
+     * @return the value of the attribute, or null if absent
+     */
+    Object getAttribute(Object request, String name);
+
+    /**
+     * @param request the HttpServletRequest
+     * @param name the name of an attribute
+     * @param value the value of the attribute
+     */
+    void setAttribute(Object request, String name, Object value);
+
+    /**
+     * Add an AsyncListener to the AsyncContext of a request in asynchronous mode, which completes the given completion.
+     *
+     * @param request the HttpServletRequest
+     * @param completion the completion of the request's transaction
+     */
+    void addAsyncListener(Object request, ServletAsyncCompletion completion);
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License").
+ *   You may not use this file except in compliance with the License.
+ *   A copy of the License is located at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file. This file is distributed
+ *   on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *   express or implied. See the License for the specific language governing
+ *   permissions and limitations under the License.
+ */
+
+package software.amazon.disco.agent.web.servlet;
+
+import software.amazon.disco.agent.concurrent.TransactionContext;
+import software.amazon.disco.agent.concurrent.TransactionContextData;
+import software.amazon.disco.agent.event.HttpServletNetworkRequestEvent;
+import software.amazon.disco.agent.event.LazyHeaderMap;
+import software.amazon.disco.agent.logging.LogManager;
+import software.amazon.disco.agent.logging.Logger;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Completes the transaction of a request which a servlet put into asynchronous mode via startAsync(). The transaction
+ * outlives the call to service() which began it, and is carried to the thread on which the container reports the
+ * request's completion or timeout to the AsyncListener of the request's servlet API. The response event is published
+ * there, with the final status code, and the transaction ended.
+ *
+ * The completion is also stored as an attribute of the request, so that a later AsyncContext.dispatch() of the request
+ * to a servlet runs within the same transaction, instead of beginning a new one.
+ */
+final class ServletAsyncCompletion {
+    private static final Logger log = LogManager.getLogger(ServletAsyncCompletion.class);
+    static final String ATTRIBUTE_NAME = ServletAsyncCompletion.class.getName();
+
+    private final ServletAccessor accessor;
+    private final TransactionContextData context;
+    private final HttpServletNetworkRequestEvent requestEvent;
+    private final LazyHeaderMap requestHeaders;
+    private final Object response;
+    private final boolean publishResponse;
+    private final AtomicBoolean completed = new AtomicBoolean(false);
+
+    /**
+     * Construct a new ServletAsyncCompletion
+     * @param accessor        the accessor for the servlet API of the request and response
+     * @param context         the context of the transaction to complete
+     * @param requestEvent    the request event, if one was built
+     * @param requestHeaders  the header map of the request event, if one was built
+     * @param response        the HttpServletResponse
+     * @param publishResponse true if a response event should be published on completion
+     */
+    ServletAsyncCompletion(ServletAccessor accessor, TransactionContextData context, HttpServletNetworkRequestEvent requestEvent,
+                           LazyHeaderMap requestHeaders, Object response, boolean publishResponse) {
+        this.accessor = accessor;
+        this.context = context;
+        this.requestEvent = requestEvent;
+        this.requestHeaders = requestHeaders;
+        this.response = response;
+        this.publishResponse = publishResponse;
+    }
+
+    /**
+     * Listen for the completion of a request which is in asynchronous mode, within the current transaction.
+     *
+     * @param accessor        the accessor for the servlet API of the request and response
+     * @param request         the HttpServletRequest, for which startAsync() has been called
+     * @param response        the HttpServletResponse
+     * @param requestEvent    the request event, if one was built
+     * @param requestHeaders  the header map of the request event, if one was built
+     * @param publishResponse true if a response event should be published on completion
+     * @return true if the listener was added, false if the request should be treated as synchronous
+     */
+    static boolean register(ServletAccessor accessor, Object request, Object response, HttpServletNetworkRequestEvent requestEvent,
+                            LazyHeaderMap requestHeaders, boolean publishResponse) {
+        try {
+            ServletAsyncCompletion completion = new ServletAsyncCompletion(accessor, TransactionContext.getPrivateContext(),
+                    requestEvent, requestHeaders, response, publishResponse);
+            accessor.addAsyncListener(request, completion);
+            accessor.setAttribute(request, ATTRIBUTE_NAME, completion);
+            return true;
+        } catch (Throwable t) {
+            log.warn("DiSCo(Web) Failed to listen for completion of asynchronous servlet request, completing it now.");
+            return false;
+        }
+    }
+
+    /**
+     * Find the completion awaited by a request.
+     *
+     * @param accessor the accessor for the servlet API of the request
+     * @param request  the HttpServletRequest
+     * @return the completion, or null if there is none, or the request has completed
+     */
+    static ServletAsyncCompletion of(ServletAccessor accessor, Object request) {
+        try {
+            Object attribute = accessor.getAttribute(request, ATTRIBUTE_NAME);
+            if (attribute instanceof ServletAsyncCompletion && !((ServletAsyncCompletion) attribute).completed.get()) {
+                return (ServletAsyncCompletion) attribute;
+            }
+        } catch (Throwable t) {
+            //treat as absent
+        }
+        return null;
+    }
+
+    /**
+     * Call the service() method of a servlet, to which the request has been dispatched, within the transaction.
+     *
+     * @param zuper a callable to call the original method
+     * @throws Exception whatever the original method throws
+     */
+    void dispatch(Callable<Object> zuper) throws Exception {
+        TransactionContextData previous = TransactionContext.getPrivateContext();
+        TransactionContext.setPrivateContext(context);
+        try {
+            zuper.call();
+        } finally {
+            TransactionContext.setPrivateContext(previous);
+        }
+    }
+
+    /**
+     * Publish the response event and end the transaction, on the first call only. Called by the AsyncListener on
+     * completion or timeout.
+     */
+    void complete() {
+        if (!completed.compareAndSet(false, true)) {
+            return;
+        }
+        TransactionContextData previous = TransactionContext.getPrivateContext();
+        TransactionContext.setPrivateContext(context);
+        try {
+            LazyHeaderMap responseHeaders = null;
+            if (publishResponse) {
+                responseHeaders = ServletServiceHandler.publishResponseEvent(accessor, requestEvent, response);
+            }
+            ServletServiceHandler.materializeIfRetained(requestHeaders, responseHeaders);
+            TransactionContext.destroy();
+        } finally {
+            TransactionContext.setPrivateContext(previous);
+        }
+    }
+}
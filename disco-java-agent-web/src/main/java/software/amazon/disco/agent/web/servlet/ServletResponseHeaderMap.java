@@ -0,0 +1,54 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License").
+ *   You may not use this file except in compliance with the License.
+ *   A copy of the License is located at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file. This file is distributed
+ *   on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *   express or implied. See the License for the specific language governing
+ *   permissions and limitations under the License.
+ */
+
+package software.amazon.disco.agent.web.servlet;
+
+import software.amazon.disco.agent.event.LazyHeaderMap;
+
+import java.util.Collection;
+
+/**
+ * A view of the headers of an HttpServletResponse, read from the response only when a Listener asks for them.
+ */
+class ServletResponseHeaderMap extends LazyHeaderMap {
+    private final ServletAccessor accessor;
+    private final Object response;
+
+    /**
+     * Construct a new ServletResponseHeaderMap
+     * @param accessor the accessor for the response's servlet API
+     * @param response the response whose headers are viewed
+     */
+    ServletResponseHeaderMap(ServletAccessor accessor, Object response) {
+        this.accessor = accessor;
+        this.response = response;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected String retrieveHeader(String name) {
+        return accessor.getResponseHeader(response, name);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Collection<String> retrieveHeaderNames() {
+        return accessor.getResponseHeaderNames(response);
+    }
+}
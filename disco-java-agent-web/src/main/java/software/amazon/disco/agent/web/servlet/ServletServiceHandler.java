@@ -0,0 +1,194 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License").
+ *   You may not use this file except in compliance with the License.
+ *   A copy of the License is located at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file. This file is distributed
+ *   on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *   express or implied. See the License for the specific language governing
+ *   permissions and limitations under the License.
+ */
+
+package software.amazon.disco.agent.web.servlet;
+
+import software.amazon.disco.agent.concurrent.MetadataKey;
+import software.amazon.disco.agent.concurrent.TransactionContext;
+import software.amazon.disco.agent.event.EventBus;
+import software.amazon.disco.agent.event.HttpServletNetworkRequestEvent;
+import software.amazon.disco.agent.event.HttpServletNetworkResponseEvent;
+import software.amazon.disco.agent.event.LazyHeaderMap;
+import software.amazon.disco.agent.logging.LogManager;
+import software.amazon.disco.agent.logging.Logger;
+
+import java.util.concurrent.Callable;
+
+/**
+ * The interception logic shared by the service() method delegations of both servlet API namespaces. A transaction is
+ * created around each request, and HttpNetworkProtocol(Request/Response)Events are built from the request and response
+ * and published to the event bus.
+ */
+final class ServletServiceHandler {
+    private final static Logger log = LogManager.getLogger(ServletServiceHandler.class);
+
+    private static final MetadataKey<Boolean> TX_NAMESPACE = TransactionContext.key("HTTP_SERVLET_SERVICE", Boolean.class);
+    private static final String EVENT_ORIGIN = "httpServlet";
+
+    private ServletServiceHandler() {
+    }
+
+    /**
+     * Handle an intercepted call to the service() method of a servlet.
+     *
+     * If the servlet puts the request into asynchronous mode, the response event is instead published, and the
+     * transaction ended, by a {@link ServletAsyncCompletion} once the container completes the request.
+     *
+     * @param accessor the accessor for the servlet API of the request and response
+     * @param request  the HttpServletRequest
+     * @param response the HttpServletResponse
+     * @param zuper    a callable to call the original method
+     * @throws Throwable whatever the original method throws
+     */
+    static void service(ServletAccessor accessor, Object request, Object response, Callable<Object> zuper) throws Throwable {
+        HttpServletNetworkRequestEvent requestEvent = null;
+        LazyHeaderMap requestHeaders = null;
+        LazyHeaderMap responseHeaders = null;
+        Throwable throwable = null;
+        if (TransactionContext.isWithinCreatedContext() && TransactionContext.getMetadata(TX_NAMESPACE) != null) {
+            //since service() calls in subclasses may call their parents, this interceptor can stack up
+            //only perform event publication it if we were the first call to take place
+            zuper.call();
+            return;
+        }
+        ServletAsyncCompletion pending = ServletAsyncCompletion.of(accessor, request);
+        if (pending != null) {
+            //an async dispatch of a request whose transaction is still open, which the completion will end
+            pending.dispatch(zuper);
+            return;
+        }
+        final boolean ownsTransaction = TransactionContext.create() == 0;
+        TransactionContext.putMetadata(TX_NAMESPACE, Boolean.TRUE);
+
+        // the request event is also referenced by the response event, so is built if either is wanted
+        final boolean publishRequest = EventBus.isAnyListenerInterested(HttpServletNetworkRequestEvent.class);
+        final boolean publishResponse = EventBus.isAnyListenerInterested(HttpServletNetworkResponseEvent.class);
+
+        if (publishRequest || publishResponse) {
+            try {
+                // Obtain the metadata information from the host.
+                // If they are null, they are't stored, so retrieval would be null as well.
+                int srcPort = accessor.getRemotePort(request);
+                int dstPort = accessor.getLocalPort(request);
+                String srcIP = accessor.getRemoteAddr(request);
+                String dstIP = accessor.getLocalAddr(request);
+                // headers, including the common ones such as the date and host, are only read if a listener asks for them
+                requestEvent = new HttpServletNetworkRequestEvent(EVENT_ORIGIN, srcPort, dstPort, srcIP, dstIP)
+                        .withLazyHeaderMap(requestHeaders = new ServletRequestHeaderMap(accessor, request))
+                        .withMethod(accessor.getMethod(request))
+                        .withRequest(request)
+                        .withURL(accessor.getRequestURL(request));
+                if (publishRequest) {
+                    EventBus.publish(requestEvent);
+                }
+            } catch (Throwable e) {
+                log.error("DiSCo(Web) Failed to retrieve request data from servlet service.");
+            }
+        }
+
+        // call the original, catching anything it throws
+        try {
+            zuper.call();
+        } catch (Throwable t) {
+            throwable = t;
+        }
+
+        if (throwable == null && isAsyncStarted(accessor, request)
+                && ServletAsyncCompletion.register(accessor, request, response, requestEvent, requestHeaders, publishResponse)) {
+            //the transaction continues on whichever thread completes the request. If it began here, detach it from this
+            //thread, which the container is about to reuse
+            if (ownsTransaction) {
+                TransactionContext.clear();
+            }
+            return;
+        }
+
+        if (publishResponse) {
+            responseHeaders = publishResponseEvent(accessor, requestEvent, response);
+        }
+        materializeIfRetained(requestHeaders, responseHeaders);
+
+        //match the create() call with a destroy() in all cases
+        TransactionContext.destroy();
+        //rethrow anything
+        if (throwable != null) {
+            throw throwable;
+        }
+    }
+
+    /**
+     * Build and publish the response event for a request.
+     *
+     * @param accessor     the accessor for the servlet API of the response
+     * @param requestEvent the request event, if one was built
+     * @param response     the HttpServletResponse
+     * @return the lazy header map of the response event, or null if it could not be built
+     */
+    static LazyHeaderMap publishResponseEvent(ServletAccessor accessor, HttpServletNetworkRequestEvent requestEvent, Object response) {
+        try {
+            int statusCode = accessor.getStatus(response);
+            LazyHeaderMap responseHeaders = new ServletResponseHeaderMap(accessor, response);
+            HttpServletNetworkResponseEvent responseEvent = new HttpServletNetworkResponseEvent(EVENT_ORIGIN, requestEvent)
+                    .withLazyHeaderMap(responseHeaders)
+                    .withStatusCode(statusCode)
+                    .withResponse(response);
+            EventBus.publish(responseEvent);
+            return responseHeaders;
+        } catch (Throwable t) {
+            log.error("DiSCo(Web) Failed to retrieve response data from service.");
+            return null;
+        }
+    }
+
+    /**
+     * The container may recycle the request and response once they are complete, so copy their headers unless the
+     * events are certain not to outlive their publication.
+     *
+     * @param requestHeaders  the header map of the request event, or null if no event was built
+     * @param responseHeaders the header map of the response event, or null if no event was built
+     */
+    static void materializeIfRetained(LazyHeaderMap requestHeaders, LazyHeaderMap responseHeaders) {
+        if (!EventBus.canRecycleEvent(HttpServletNetworkRequestEvent.class) || !EventBus.canRecycleEvent(HttpServletNetworkResponseEvent.class)) {
+            materialize(requestHeaders);
+            materialize(responseHeaders);
+        }
+    }
+
+    /**
+     * Test if the servlet put the request into asynchronous mode, treating any failure as synchronous.
+     *
+     * @param accessor the accessor for the servlet API of the request
+     * @param request  the HttpServletRequest
+     * @return true if the request will be completed asynchronously
+     */
+    private static boolean isAsyncStarted(ServletAccessor accessor, Object request) {
+        try {
+            return accessor.isAsyncStarted(request);
+        } catch (Throwable t) {
+            return false;
+        }
+    }
+
+    /**
+     * Copy the headers of the underlying request or response into the given lazy header map, if there is one.
+     *
+     * @param headers the header map, or null if no event was built
+     */
+    private static void materialize(LazyHeaderMap headers) {
+        if (headers != null) {
+            headers.materialize();
+        }
+    }
+}
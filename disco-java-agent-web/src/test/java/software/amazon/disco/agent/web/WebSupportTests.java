@@ -28,6 +28,6 @@ public class WebSupportTests {
         Collection<Installable> pkg = new WebSupport().get();
         Set<Installable> installables = new HashSet<>();
         installables.addAll(pkg);
-        Assert.assertEquals(2, installables.size());
+        Assert.assertEquals(7, installables.size());
     }
 }
@@ -0,0 +1,260 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License").
+ *   You may not use this file except in compliance with the License.
+ *   A copy of the License is located at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file. This file is distributed
+ *   on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *   express or implied. See the License for the specific language governing
+ *   permissions and limitations under the License.
+ */
+
+package software.amazon.disco.agent.web.apache.httpasyncclient;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.asm.Advice;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpVersion;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.http.nio.client.HttpAsyncClient;
+import org.apache.http.protocol.HttpContext;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import software.amazon.disco.agent.concurrent.TransactionContext;
+import software.amazon.disco.agent.event.Event;
+import software.amazon.disco.agent.event.EventBus;
+import software.amazon.disco.agent.event.HeaderReplaceable;
+import software.amazon.disco.agent.event.HttpServiceDownstreamRequestEvent;
+import software.amazon.disco.agent.event.HttpServiceDownstreamResponseEvent;
+import software.amazon.disco.agent.event.ServiceDownstreamCancellationEvent;
+import software.amazon.disco.agent.web.apache.source.MockEventBusListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.Future;
+
+public class ApacheHttpAsyncClientInterceptorTests {
+    private static final String URI = "http://amazon.com/explore/something";
+
+    private MockEventBusListener mockEventBusListener;
+    private TestCallback delegate;
+
+    @Before
+    public void before() {
+        mockEventBusListener = new MockEventBusListener();
+        delegate = new TestCallback();
+        TransactionContext.create();
+        EventBus.addListener(mockEventBusListener);
+    }
+
+    @After
+    public void after() {
+        TransactionContext.destroy();
+        EventBus.removeListener(mockEventBusListener);
+    }
+
+    @Test
+    public void testClassMatcherSucceedsOnCloseableHttpAsyncClient() {
+        Assert.assertTrue(ApacheHttpAsyncClientInterceptor.buildClassMatcher().matches(new TypeDescription.ForLoadedType(CloseableHttpAsyncClient.class)));
+    }
+
+    @Test
+    public void testClassMatcherFailsOnInterface() {
+        Assert.assertFalse(ApacheHttpAsyncClientInterceptor.buildClassMatcher().matches(new TypeDescription.ForLoadedType(HttpAsyncClient.class)));
+    }
+
+    @Test
+    public void testMethodMatcherSucceedsOnExecuteWithContext() throws Exception {
+        Method method = CloseableHttpAsyncClient.class.getDeclaredMethod("execute", HttpHost.class, HttpRequest.class, HttpContext.class, FutureCallback.class);
+        Assert.assertTrue(ApacheHttpAsyncClientInterceptor.buildMethodMatcher().matches(new MethodDescription.ForLoadedMethod(method)));
+    }
+
+    @Test
+    public void testMethodMatcherFailsOnDelegatingExecute() throws Exception {
+        Method method = CloseableHttpAsyncClient.class.getDeclaredMethod("execute", HttpHost.class, HttpRequest.class, FutureCallback.class);
+        Assert.assertFalse(ApacheHttpAsyncClientInterceptor.buildMethodMatcher().matches(new MethodDescription.ForLoadedMethod(method)));
+    }
+
+    @Test
+    public void testCandidateSuperTypeNames() {
+        Assert.assertEquals("org.apache.http.nio.client.HttpAsyncClient", new ApacheHttpAsyncClientInterceptor().getCandidateSuperTypeNames().get(0));
+    }
+
+    @Test
+    public void testWrapPublishesRequestEvent() {
+        HttpGet request = new HttpGet(URI);
+        Object callback = ApacheHttpAsyncClientCallback.wrap(request, delegate);
+
+        Assert.assertTrue(callback instanceof ApacheHttpAsyncClientCallback);
+        Assert.assertEquals(1, mockEventBusListener.getReceivedEvents().size());
+        HttpServiceDownstreamRequestEvent requestEvent = (HttpServiceDownstreamRequestEvent) mockEventBusListener.getReceivedEvents().get(0);
+        Assert.assertEquals(ApacheHttpAsyncClientCallback.APACHE_HTTP_ASYNC_CLIENT_ORIGIN, requestEvent.getOrigin());
+        Assert.assertEquals(URI, requestEvent.getUri());
+        Assert.assertEquals("GET", requestEvent.getMethod());
+
+        ((HeaderReplaceable) requestEvent).replaceHeader("someheader", "somevalue");
+        Assert.assertEquals("somevalue", request.getFirstHeader("someheader").getValue());
+    }
+
+    @Test
+    public void testWrapAlreadyWrappedCallback() {
+        Object callback = ApacheHttpAsyncClientCallback.wrap(new HttpGet(URI), delegate);
+        Assert.assertSame(callback, ApacheHttpAsyncClientCallback.wrap(new HttpGet(URI), callback));
+        Assert.assertEquals(1, mockEventBusListener.getReceivedEvents().size());
+    }
+
+    @Test
+    public void testCompletedOnOtherThreadPublishesResponseWithinTransaction() throws Exception {
+        String transactionId = TransactionContext.get();
+        FutureCallback<HttpResponse> callback = wrap(ApacheHttpAsyncClientCallback.wrap(new HttpGet(URI), delegate));
+        HttpResponse response = new BasicHttpResponse(HttpVersion.HTTP_1_1, 202, "Accepted");
+
+        Thread reactor = new Thread(() -> callback.completed(response));
+        reactor.start();
+        reactor.join();
+
+        Assert.assertEquals(2, mockEventBusListener.getReceivedEvents().size());
+        HttpServiceDownstreamResponseEvent responseEvent = (HttpServiceDownstreamResponseEvent) mockEventBusListener.getReceivedEvents().get(1);
+        Assert.assertEquals(202, responseEvent.getStatusCode());
+        Assert.assertSame(mockEventBusListener.getReceivedEvents().get(0), responseEvent.getRequest());
+        Assert.assertSame(response, delegate.result);
+        Assert.assertEquals(transactionId, delegate.transactionId);
+    }
+
+    @Test
+    public void testFailedPublishesResponseWithThrowable() {
+        FutureCallback<HttpResponse> callback = wrap(ApacheHttpAsyncClientCallback.wrap(new HttpGet(URI), delegate));
+        Exception failure = new Exception("connection refused");
+
+        callback.failed(failure);
+
+        HttpServiceDownstreamResponseEvent responseEvent = (HttpServiceDownstreamResponseEvent) mockEventBusListener.getReceivedEvents().get(1);
+        Assert.assertSame(failure, responseEvent.getThrown());
+        Assert.assertEquals(-1, responseEvent.getStatusCode());
+        Assert.assertSame(failure, delegate.failure);
+    }
+
+    @Test
+    public void testCancelledPublishesCancellationEvent() {
+        FutureCallback<HttpResponse> callback = wrap(ApacheHttpAsyncClientCallback.wrap(new HttpGet(URI), delegate));
+
+        callback.cancelled();
+
+        Assert.assertEquals(2, mockEventBusListener.getReceivedEvents().size());
+        Assert.assertTrue(mockEventBusListener.getReceivedEvents().get(1) instanceof ServiceDownstreamCancellationEvent);
+        Assert.assertTrue(delegate.cancelled);
+    }
+
+    @Test
+    public void testResponsePublishedOnlyOnce() {
+        FutureCallback<HttpResponse> callback = wrap(ApacheHttpAsyncClientCallback.wrap(new HttpGet(URI), null));
+
+        callback.completed(new BasicHttpResponse(HttpVersion.HTTP_1_1, 200, "OK"));
+        callback.failed(new Exception());
+        callback.cancelled();
+
+        Assert.assertEquals(2, mockEventBusListener.getReceivedEvents().size());
+    }
+
+    @Test
+    public void testAdvicePassesWrappedCallbackToExecute() throws Exception {
+        Object client = createAdvisedClient();
+        Method execute = client.getClass().getMethod("execute", HttpHost.class, HttpRequest.class, HttpContext.class, FutureCallback.class);
+
+        execute.invoke(client, null, new HttpGet(URI), null, delegate);
+        FutureCallback<HttpResponse> callback = wrap(client.getClass().getField("callback").get(client));
+        Assert.assertTrue(callback instanceof ApacheHttpAsyncClientCallback);
+        Assert.assertEquals(1, mockEventBusListener.getReceivedEvents().size());
+
+        callback.completed(new BasicHttpResponse(HttpVersion.HTTP_1_1, 200, "OK"));
+        Assert.assertEquals(2, mockEventBusListener.getReceivedEvents().size());
+        Assert.assertEquals(200, ((HttpServiceDownstreamResponseEvent) mockEventBusListener.getReceivedEvents().get(1)).getStatusCode());
+        Assert.assertNotNull(delegate.result);
+    }
+
+    @Test
+    public void testAdvicePublishesResponseWhenExecuteThrows() throws Exception {
+        Object client = createAdvisedClient();
+        Method execute = client.getClass().getMethod("execute", HttpHost.class, HttpRequest.class, HttpContext.class, FutureCallback.class);
+        IllegalStateException thrown = new IllegalStateException("Request cannot be executed; I/O reactor status: STOPPED");
+        client.getClass().getField("toThrow").set(client, thrown);
+
+        try {
+            execute.invoke(client, null, new HttpGet(URI), null, delegate);
+            Assert.fail();
+        } catch (InvocationTargetException e) {
+            Assert.assertSame(thrown, e.getCause());
+        }
+
+        Assert.assertEquals(2, mockEventBusListener.getReceivedEvents().size());
+        Assert.assertSame(thrown, ((HttpServiceDownstreamResponseEvent) mockEventBusListener.getReceivedEvents().get(1)).getThrown());
+        Assert.assertNull(delegate.failure);
+    }
+
+    private static Object createAdvisedClient() throws Exception {
+        return new ByteBuddy()
+                .redefine(FakeAsyncClient.class)
+                .name(FakeAsyncClient.class.getName() + "Advised")
+                .visit(Advice.to(ApacheHttpAsyncClientInterceptor.ExecuteAdvice.class).on(ApacheHttpAsyncClientInterceptor.buildMethodMatcher()))
+                .make()
+                .load(ApacheHttpAsyncClientInterceptorTests.class.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded()
+                .getDeclaredConstructor()
+                .newInstance();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static FutureCallback<HttpResponse> wrap(Object callback) {
+        return (FutureCallback<HttpResponse>) callback;
+    }
+
+    public static class FakeAsyncClient {
+        public FutureCallback<HttpResponse> callback;
+        public RuntimeException toThrow;
+
+        public Future<HttpResponse> execute(HttpHost target, HttpRequest request, HttpContext context, FutureCallback<HttpResponse> callback) {
+            if (toThrow != null) {
+                throw toThrow;
+            }
+            this.callback = callback;
+            return null;
+        }
+    }
+
+    static class TestCallback implements FutureCallback<HttpResponse> {
+        HttpResponse result;
+        Exception failure;
+        boolean cancelled;
+        String transactionId;
+
+        @Override
+        public void completed(HttpResponse result) {
+            this.result = result;
+            this.transactionId = TransactionContext.get();
+        }
+
+        @Override
+        public void failed(Exception ex) {
+            this.failure = ex;
+        }
+
+        @Override
+        public void cancelled() {
+            this.cancelled = true;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License").
+ *   You may not use this file except in compliance with the License.
+ *   A copy of the License is located at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file. This file is distributed
+ *   on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *   express or implied. See the License for the specific language governing
+ *   permissions and limitations under the License.
+ */
+
+package software.amazon.disco.agent.web.apache.httpclient5;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.asm.Advice;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpResponse;
+import org.apache.hc.core5.http.protocol.HttpContext;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import software.amazon.disco.agent.concurrent.TransactionContext;
+import software.amazon.disco.agent.event.EventBus;
+import software.amazon.disco.agent.event.HttpServiceDownstreamRequestEvent;
+import software.amazon.disco.agent.event.HttpServiceDownstreamResponseEvent;
+import software.amazon.disco.agent.event.ServiceDownstreamCancellationEvent;
+import software.amazon.disco.agent.web.apache.source.MockEventBusListener;
+
+import java.lang.reflect.Method;
+import java.net.URI;
+import java.util.Collections;
+import java.util.concurrent.Future;
+
+public class ApacheHttpAsyncClient5InterceptorTests {
+    private static final String URI_STRING = "http://amazon.com/explore/something";
+
+    private MockEventBusListener mockEventBusListener;
+    private SimpleHttpRequest request;
+    private SimpleHttpResponse response;
+    private TestCallback delegate;
+
+    @Before
+    public void before() throws Exception {
+        mockEventBusListener = new MockEventBusListener();
+        delegate = new TestCallback();
+        TransactionContext.create();
+        EventBus.addListener(mockEventBusListener);
+
+        request = Mockito.mock(SimpleHttpRequest.class);
+        Mockito.when(request.getUri()).thenReturn(new URI(URI_STRING));
+        Mockito.when(request.getMethod()).thenReturn("POST");
+
+        response = Mockito.mock(SimpleHttpResponse.class);
+        Mockito.when(response.getCode()).thenReturn(201);
+        Header contentLength = ApacheHttpClient5InterceptorTests.header(ApacheHttpClient5EventFactory.CONTENT_LENGTH, "17");
+        Mockito.when(response.getFirstHeader(ApacheHttpClient5EventFactory.CONTENT_LENGTH)).thenReturn(contentLength);
+    }
+
+    @After
+    public void after() {
+        TransactionContext.destroy();
+        EventBus.removeListener(mockEventBusListener);
+    }
+
+    @Test
+    public void testClassMatcherSucceedsOnCloseableHttpAsyncClient() {
+        Assert.assertTrue(ApacheHttpAsyncClient5Interceptor.buildClassMatcher().matches(new TypeDescription.ForLoadedType(CloseableHttpAsyncClient.class)));
+    }
+
+    @Test
+    public void testMethodMatcherSucceedsOnExecuteWithContext() throws Exception {
+        Method method = CloseableHttpAsyncClient.class.getDeclaredMethod("execute", SimpleHttpRequest.class, HttpContext.class, FutureCallback.class);
+        Assert.assertTrue(ApacheHttpAsyncClient5Interceptor.buildMethodMatcher().matches(new MethodDescription.ForLoadedMethod(method)));
+    }
+
+    @Test
+    public void testMethodMatcherFailsOnDelegatingExecute() throws Exception {
+        Method method = CloseableHttpAsyncClient.class.getDeclaredMethod("execute", SimpleHttpRequest.class, FutureCallback.class);
+        Assert.assertFalse(ApacheHttpAsyncClient5Interceptor.buildMethodMatcher().matches(new MethodDescription.ForLoadedMethod(method)));
+    }
+
+    @Test
+    public void testCandidateSuperTypeNames() {
+        Assert.assertEquals(Collections.singletonList("org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient"),
+                new ApacheHttpAsyncClient5Interceptor().getCandidateSuperTypeNames());
+    }
+
+    @Test
+    public void testCompletedOnOtherThreadPublishesResponseWithinTransaction() throws Exception {
+        String transactionId = TransactionContext.get();
+        FutureCallback<HttpResponse> callback = wrap(ApacheHttpAsyncClient5Callback.wrap(request, delegate));
+
+        HttpServiceDownstreamRequestEvent requestEvent = (HttpServiceDownstreamRequestEvent) mockEventBusListener.getReceivedEvents().get(0);
+        Assert.assertEquals(ApacheHttpAsyncClient5Callback.APACHE_HTTP_ASYNC_CLIENT5_ORIGIN, requestEvent.getOrigin());
+        Assert.assertEquals(URI_STRING, requestEvent.getUri());
+        Assert.assertEquals("POST", requestEvent.getMethod());
+
+        Thread reactor = new Thread(() -> callback.completed(response));
+        reactor.start();
+        reactor.join();
+
+        Assert.assertEquals(2, mockEventBusListener.getReceivedEvents().size());
+        HttpServiceDownstreamResponseEvent responseEvent = (HttpServiceDownstreamResponseEvent) mockEventBusListener.getReceivedEvents().get(1);
+        Assert.assertSame(requestEvent, responseEvent.getRequest());
+        Assert.assertEquals(201, responseEvent.getStatusCode());
+        Assert.assertEquals(17L, responseEvent.getContentLength());
+        Assert.assertSame(response, delegate.result);
+        Assert.assertEquals(transactionId, delegate.transactionId);
+    }
+
+    @Test
+    public void testFailedPublishesResponseWithThrowable() {
+        FutureCallback<HttpResponse> callback = wrap(ApacheHttpAsyncClient5Callback.wrap(request, delegate));
+        Exception failure = new Exception("connection refused");
+
+        callback.failed(failure);
+        callback.completed(response);
+
+        Assert.assertEquals(2, mockEventBusListener.getReceivedEvents().size());
+        Assert.assertSame(failure, ((HttpServiceDownstreamResponseEvent) mockEventBusListener.getReceivedEvents().get(1)).getThrown());
+        Assert.assertSame(failure, delegate.failure);
+    }
+
+    @Test
+    public void testCancelledPublishesCancellationEvent() {
+        FutureCallback<HttpResponse> callback = wrap(ApacheHttpAsyncClient5Callback.wrap(request, null));
+
+        callback.cancelled();
+
+        Assert.assertEquals(2, mockEventBusListener.getReceivedEvents().size());
+        Assert.assertTrue(mockEventBusListener.getReceivedEvents().get(1) instanceof ServiceDownstreamCancellationEvent);
+    }
+
+    @Test
+    public void testAdvicePassesWrappedCallbackToExecute() throws Exception {
+        Object client = new ByteBuddy()
+                .redefine(FakeAsyncClient.class)
+                .name(FakeAsyncClient.class.getName() + "Advised")
+                .visit(Advice.to(ApacheHttpAsyncClient5Interceptor.ExecuteAdvice.class).on(ApacheHttpAsyncClient5Interceptor.buildMethodMatcher()))
+                .make()
+                .load(ApacheHttpAsyncClient5InterceptorTests.class.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded()
+                .getDeclaredConstructor()
+                .newInstance();
+        client.getClass().getMethod("execute", SimpleHttpRequest.class, HttpContext.class, FutureCallback.class).invoke(client, request, null, delegate);
+
+        FutureCallback<HttpResponse> callback = wrap(client.getClass().getField("callback").get(client));
+        Assert.assertTrue(callback instanceof ApacheHttpAsyncClient5Callback);
+        callback.completed(response);
+        Assert.assertEquals(2, mockEventBusListener.getReceivedEvents().size());
+        Assert.assertSame(response, delegate.result);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static FutureCallback<HttpResponse> wrap(Object callback) {
+        return (FutureCallback<HttpResponse>) callback;
+    }
+
+    public static class FakeAsyncClient {
+        public FutureCallback<SimpleHttpResponse> callback;
+
+        public Future<SimpleHttpResponse> execute(SimpleHttpRequest request, HttpContext context, FutureCallback<SimpleHttpResponse> callback) {
+            this.callback = callback;
+            return null;
+        }
+    }
+
+    static class TestCallback implements FutureCallback<SimpleHttpResponse> {
+        SimpleHttpResponse result;
+        Exception failure;
+        String transactionId;
+
+        @Override
+        public void completed(SimpleHttpResponse result) {
+            this.result = result;
+            this.transactionId = TransactionContext.get();
+        }
+
+        @Override
+        public void failed(Exception ex) {
+            this.failure = ex;
+        }
+
+        @Override
+        public void cancelled() {
+        }
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License").
+ *   You may not use this file except in compliance with the License.
+ *   A copy of the License is located at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file. This file is distributed
+ *   on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *   express or implied. See the License for the specific language governing
+ *   permissions and limitations under the License.
+ */
+
+package software.amazon.disco.agent.web.apache.httpclient5;
+
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.type.TypeDescription;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpResponse;
+import org.apache.hc.core5.http.ClassicHttpRequest;
+import org.apache.hc.core5.http.ClassicHttpResponse;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpEntity;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.http.protocol.HttpContext;
+import org.apache.hc.core5.io.CloseMode;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import software.amazon.disco.agent.concurrent.TransactionContext;
+import software.amazon.disco.agent.event.DownstreamRequestHeaderRetrievable;
+import software.amazon.disco.agent.event.DownstreamResponseHeaderRetrievable;
+import software.amazon.disco.agent.event.EventBus;
+import software.amazon.disco.agent.event.HeaderReplaceable;
+import software.amazon.disco.agent.event.HttpServiceDownstreamRequestEvent;
+import software.amazon.disco.agent.event.HttpServiceDownstreamResponseEvent;
+import software.amazon.disco.agent.web.apache.source.MockEventBusListener;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.Collections;
+
+public class ApacheHttpClient5InterceptorTests {
+    private static final String URI_STRING = "http://amazon.com/explore/something";
+
+    private MockEventBusListener mockEventBusListener;
+    private ClassicHttpRequest request;
+    private ClassicHttpResponse response;
+
+    @Before
+    public void before() throws Exception {
+        mockEventBusListener = new MockEventBusListener();
+        TransactionContext.create();
+        EventBus.addListener(mockEventBusListener);
+
+        request = Mockito.mock(ClassicHttpRequest.class);
+        Mockito.when(request.getUri()).thenReturn(new URI(URI_STRING));
+        Mockito.when(request.getMethod()).thenReturn("GET");
+        Header requestHeader = header("someheader", "somedata");
+        Mockito.when(request.getFirstHeader("someheader")).thenReturn(requestHeader);
+        Mockito.when(request.getHeaders()).thenReturn(new Header[]{requestHeader});
+
+        response = Mockito.mock(ClassicHttpResponse.class);
+        HttpEntity entity = Mockito.mock(HttpEntity.class);
+        Mockito.when(entity.getContentLength()).thenReturn(42L);
+        Mockito.when(response.getEntity()).thenReturn(entity);
+        Mockito.when(response.getCode()).thenReturn(200);
+        Header responseHeader = header("someresponseheader", "someresponsedata");
+        Mockito.when(response.getFirstHeader("someresponseheader")).thenReturn(responseHeader);
+        Mockito.when(response.getHeaders("someresponseheader")).thenReturn(new Header[]{responseHeader});
+    }
+
+    @After
+    public void after() {
+        TransactionContext.destroy();
+        EventBus.removeListener(mockEventBusListener);
+    }
+
+    @Test
+    public void testClassMatcherSucceedsOnCloseableHttpClient() {
+        Assert.assertTrue(ApacheHttpClient5Interceptor.buildClassMatcher().matches(new TypeDescription.ForLoadedType(FakeCloseableHttpClient.class)));
+    }
+
+    @Test
+    public void testClassMatcherFailsOnOtherClass() {
+        Assert.assertFalse(ApacheHttpClient5Interceptor.buildClassMatcher().matches(new TypeDescription.ForLoadedType(String.class)));
+    }
+
+    @Test
+    public void testMethodMatcherSucceedsOnDoExecute() throws Exception {
+        TypeDescription type = new TypeDescription.ForLoadedType(FakeCloseableHttpClient.class);
+        MethodDescription method = new MethodDescription.ForLoadedMethod(FakeCloseableHttpClient.class.getDeclaredMethod("doExecute", HttpHost.class, ClassicHttpRequest.class, HttpContext.class));
+        Assert.assertTrue(ApacheHttpClient5Interceptor.buildMethodMatcher(type).matches(method));
+    }
+
+    @Test
+    public void testMethodMatcherFailsOnAbstractDoExecute() throws Exception {
+        TypeDescription type = new TypeDescription.ForLoadedType(CloseableHttpClient.class);
+        MethodDescription method = new MethodDescription.ForLoadedMethod(CloseableHttpClient.class.getDeclaredMethod("doExecute", HttpHost.class, ClassicHttpRequest.class, HttpContext.class));
+        Assert.assertFalse(ApacheHttpClient5Interceptor.buildMethodMatcher(type).matches(method));
+    }
+
+    @Test
+    public void testCandidateSuperTypeNames() {
+        Assert.assertEquals(Collections.singletonList("org.apache.hc.client5.http.impl.classic.CloseableHttpClient"),
+                new ApacheHttpClient5Interceptor().getCandidateSuperTypeNames());
+    }
+
+    @Test
+    public void testInterceptPublishesRequestAndResponseEvents() throws Throwable {
+        Object result = ApacheHttpClient5MethodDelegation.intercept(new Object[]{null, request, null}, "origin", () -> response);
+
+        Assert.assertSame(response, result);
+        Assert.assertEquals(2, mockEventBusListener.getReceivedEvents().size());
+        HttpServiceDownstreamRequestEvent requestEvent = (HttpServiceDownstreamRequestEvent) mockEventBusListener.getReceivedEvents().get(0);
+        Assert.assertEquals(ApacheHttpClient5MethodDelegation.APACHE_HTTP_CLIENT5_ORIGIN, requestEvent.getOrigin());
+        Assert.assertEquals(URI_STRING, requestEvent.getUri());
+        Assert.assertEquals("GET", requestEvent.getMethod());
+        Assert.assertEquals("somedata", ((DownstreamRequestHeaderRetrievable) requestEvent).getFirstHeader("someheader"));
+        Assert.assertEquals(Collections.singletonList("somedata"), ((DownstreamRequestHeaderRetrievable) requestEvent).getAllHeaders().get("someheader"));
+
+        HttpServiceDownstreamResponseEvent responseEvent = (HttpServiceDownstreamResponseEvent) mockEventBusListener.getReceivedEvents().get(1);
+        Assert.assertSame(requestEvent, responseEvent.getRequest());
+        Assert.assertEquals(200, responseEvent.getStatusCode());
+        Assert.assertEquals(42L, responseEvent.getContentLength());
+        Assert.assertNull(responseEvent.getThrown());
+        Assert.assertEquals(Collections.singletonList("someresponsedata"), ((DownstreamResponseHeaderRetrievable) responseEvent).getHeaders("someresponseheader"));
+        Assert.assertNull(((DownstreamResponseHeaderRetrievable) responseEvent).getFirstHeader("absent"));
+    }
+
+    @Test
+    public void testReplaceHeader() throws Throwable {
+        ApacheHttpClient5MethodDelegation.intercept(new Object[]{null, request, null}, "origin", () -> response);
+        HeaderReplaceable requestEvent = (HeaderReplaceable) mockEventBusListener.getReceivedEvents().get(0);
+
+        Assert.assertTrue(requestEvent.replaceHeader("someheader", "newdata"));
+        Mockito.verify(request).removeHeaders("someheader");
+        Mockito.verify(request).addHeader("someheader", "newdata");
+    }
+
+    @Test
+    public void testInterceptPublishesResponseEventWhenThrown() throws Throwable {
+        IOException thrown = new IOException("connection reset");
+        try {
+            ApacheHttpClient5MethodDelegation.intercept(new Object[]{null, request, null}, "origin", () -> {
+                throw thrown;
+            });
+            Assert.fail();
+        } catch (IOException e) {
+            Assert.assertSame(thrown, e);
+        }
+
+        Assert.assertEquals(2, mockEventBusListener.getReceivedEvents().size());
+        HttpServiceDownstreamResponseEvent responseEvent = (HttpServiceDownstreamResponseEvent) mockEventBusListener.getReceivedEvents().get(1);
+        Assert.assertSame(thrown, responseEvent.getThrown());
+        Assert.assertEquals(-1, responseEvent.getStatusCode());
+    }
+
+    @Test
+    public void testNestedInterceptPublishesOnce() throws Throwable {
+        ApacheHttpClient5MethodDelegation.intercept(new Object[]{null, request, null}, "origin", () -> {
+            try {
+                return ApacheHttpClient5MethodDelegation.intercept(new Object[]{null, request, null}, "origin", () -> response);
+            } catch (Throwable t) {
+                throw new RuntimeException(t);
+            }
+        });
+
+        Assert.assertEquals(2, mockEventBusListener.getReceivedEvents().size());
+    }
+
+    static Header header(String name, String value) {
+        Header header = Mockito.mock(Header.class);
+        Mockito.when(header.getName()).thenReturn(name);
+        Mockito.when(header.getValue()).thenReturn(value);
+        return header;
+    }
+
+    public static class FakeCloseableHttpClient extends CloseableHttpClient {
+        @Override
+        protected CloseableHttpResponse doExecute(HttpHost target, ClassicHttpRequest request, HttpContext context) throws IOException {
+            return null;
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public void close(CloseMode closeMode) {
+        }
+    }
+}
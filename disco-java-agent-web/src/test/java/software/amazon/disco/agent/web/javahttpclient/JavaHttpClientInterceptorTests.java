@@ -0,0 +1,339 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License").
+ *   You may not use this file except in compliance with the License.
+ *   A copy of the License is located at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file. This file is distributed
+ *   on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *   express or implied. See the License for the specific language governing
+ *   permissions and limitations under the License.
+ */
+
+package software.amazon.disco.agent.web.javahttpclient;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.asm.Advice;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.matcher.ElementMatchers;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import software.amazon.disco.agent.concurrent.TransactionContext;
+import software.amazon.disco.agent.event.Event;
+import software.amazon.disco.agent.event.EventBus;
+import software.amazon.disco.agent.event.HeaderReplaceable;
+import software.amazon.disco.agent.event.HttpServiceDownstreamRequestEvent;
+import software.amazon.disco.agent.event.HttpServiceDownstreamResponseEvent;
+import software.amazon.disco.agent.event.Listener;
+import software.amazon.disco.agent.event.ServiceDownstreamCancellationEvent;
+import software.amazon.disco.agent.web.apache.source.MockEventBusListener;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.function.BiPredicate;
+
+/**
+ * The java.net.http API is reached reflectively, since the tests are compiled for Java 8 as the agent is.
+ */
+public class JavaHttpClientInterceptorTests {
+    private static final String URI_STRING = "http://amazon.com/explore/something";
+
+    private MockEventBusListener mockEventBusListener;
+    private HeaderReplacingListener headerReplacingListener;
+
+    @Before
+    public void before() {
+        mockEventBusListener = new MockEventBusListener();
+        headerReplacingListener = new HeaderReplacingListener();
+        TransactionContext.create();
+        EventBus.addListener(mockEventBusListener);
+    }
+
+    @After
+    public void after() {
+        TransactionContext.destroy();
+        EventBus.removeListener(mockEventBusListener);
+        EventBus.removeListener(headerReplacingListener);
+    }
+
+    @Test
+    public void testClassMatcherSucceedsOnHttpClientImpl() throws Exception {
+        Assert.assertTrue(JavaHttpClientInterceptor.buildClassMatcher().matches(new TypeDescription.ForLoadedType(Class.forName("jdk.internal.net.http.HttpClientImpl"))));
+    }
+
+    @Test
+    public void testClassMatcherFailsOnHttpClient() throws Exception {
+        Assert.assertFalse(JavaHttpClientInterceptor.buildClassMatcher().matches(new TypeDescription.ForLoadedType(Class.forName("java.net.http.HttpClient"))));
+    }
+
+    @Test
+    public void testMethodMatcherSucceedsOnPrivateSendAsync() throws Exception {
+        Assert.assertTrue(JavaHttpClientInterceptor.buildMethodMatcher().matches(new MethodDescription.ForLoadedMethod(getSendAsync(4))));
+    }
+
+    @Test
+    public void testMethodMatcherFailsOnPublicSendAsync() throws Exception {
+        Assert.assertFalse(JavaHttpClientInterceptor.buildMethodMatcher().matches(new MethodDescription.ForLoadedMethod(getSendAsync(2))));
+        Assert.assertFalse(JavaHttpClientInterceptor.buildMethodMatcher().matches(new MethodDescription.ForLoadedMethod(getSendAsync(3))));
+    }
+
+    @Test
+    public void testCandidateSuperTypeNames() {
+        Assert.assertEquals("java.net.http.HttpClient", new JavaHttpClientInterceptor().getCandidateSuperTypeNames().get(0));
+    }
+
+    @Test
+    public void testBeginPublishesRequestEvent() throws Exception {
+        Object request = request("GET", "accept", "text/plain", "x-multi", "a", "x-multi", "b");
+        JavaHttpClientCompletion completion = JavaHttpClientCompletion.begin(request);
+
+        Assert.assertNotNull(completion);
+        Assert.assertSame(request, completion.getRequest());
+        Assert.assertEquals(1, mockEventBusListener.getReceivedEvents().size());
+        HttpServiceDownstreamRequestEvent requestEvent = (HttpServiceDownstreamRequestEvent) mockEventBusListener.getReceivedEvents().get(0);
+        Assert.assertSame(requestEvent, completion.getRequestEvent());
+        Assert.assertEquals(JavaHttpClientCompletion.JAVA_HTTP_CLIENT_ORIGIN, requestEvent.getOrigin());
+        Assert.assertEquals(URI_STRING, requestEvent.getUri());
+        Assert.assertEquals("GET", requestEvent.getMethod());
+        Assert.assertEquals("text/plain", ((JavaHttpClientRequestEvent) requestEvent).getFirstHeader("Accept"));
+        Assert.assertEquals(Arrays.asList("a", "b"), ((JavaHttpClientRequestEvent) requestEvent).getHeaders("x-multi"));
+        Assert.assertNull(((JavaHttpClientRequestEvent) requestEvent).getHeaders("x-absent"));
+    }
+
+    @Test
+    public void testBeginIgnoresNonRequest() {
+        Assert.assertNull(JavaHttpClientCompletion.begin("not a request"));
+        Assert.assertTrue(mockEventBusListener.getReceivedEvents().isEmpty());
+    }
+
+    @Test
+    public void testBeginWithReplacedHeaderSendsCopyOfRequest() throws Exception {
+        EventBus.addListener(headerReplacingListener);
+        Object request = request("POST", "x-disco", "original", "x-multi", "a", "x-multi", "b");
+
+        JavaHttpClientCompletion completion = JavaHttpClientCompletion.begin(request);
+        Object sent = completion.getRequest();
+
+        Assert.assertNotSame(request, sent);
+        Assert.assertEquals(Collections.singletonList("original"), JavaHttpClientAccessor.getRequestHeaders(request).get("x-disco"));
+        Assert.assertEquals(Collections.singletonList("replaced"), JavaHttpClientAccessor.getRequestHeaders(sent).get("x-disco"));
+        Assert.assertEquals(Arrays.asList("a", "b"), JavaHttpClientAccessor.getRequestHeaders(sent).get("x-multi"));
+        Assert.assertEquals("replaced", ((JavaHttpClientRequestEvent) completion.getRequestEvent()).getFirstHeader("X-Disco"));
+        Assert.assertEquals(JavaHttpClientAccessor.getUri(request), JavaHttpClientAccessor.getUri(sent));
+        Assert.assertEquals("POST", JavaHttpClientAccessor.getMethod(sent));
+        Assert.assertEquals(invoke(request, "bodyPublisher"), invoke(sent, "bodyPublisher"));
+        Assert.assertEquals(invoke(request, "timeout"), invoke(sent, "timeout"));
+    }
+
+    @Test
+    public void testEndPublishesResponseWhenSendAsyncThrows() throws Exception {
+        JavaHttpClientCompletion completion = JavaHttpClientCompletion.begin(request("GET"));
+        IllegalArgumentException thrown = new IllegalArgumentException("unsupported URI");
+
+        Assert.assertNull(JavaHttpClientCompletion.end(completion, null, thrown));
+
+        Assert.assertEquals(2, mockEventBusListener.getReceivedEvents().size());
+        Assert.assertSame(thrown, ((HttpServiceDownstreamResponseEvent) mockEventBusListener.getReceivedEvents().get(1)).getThrown());
+    }
+
+    @Test
+    public void testEndWithoutCompletionReturnsClientFuture() {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        Assert.assertSame(future, JavaHttpClientCompletion.end(null, future, null));
+    }
+
+    @Test
+    public void testCompletionOnOtherThreadPublishesResponseWithinTransaction() throws Exception {
+        String transactionId = TransactionContext.get();
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<?> returned = (CompletableFuture<?>) JavaHttpClientCompletion.end(JavaHttpClientCompletion.begin(request("GET")), future, null);
+        CompletableFuture<String> stage = returned.thenApply(response -> TransactionContext.get());
+        Object response = response(201, "content-length", "42", "x-multi", "a", "x-multi", "b");
+
+        Assert.assertNotSame(future, returned);
+        Thread selector = new Thread(() -> future.complete(response));
+        selector.start();
+        selector.join();
+
+        Assert.assertEquals(2, mockEventBusListener.getReceivedEvents().size());
+        HttpServiceDownstreamResponseEvent responseEvent = (HttpServiceDownstreamResponseEvent) mockEventBusListener.getReceivedEvents().get(1);
+        Assert.assertEquals(201, responseEvent.getStatusCode());
+        Assert.assertEquals(42L, responseEvent.getContentLength());
+        Assert.assertNull(responseEvent.getThrown());
+        Assert.assertSame(mockEventBusListener.getReceivedEvents().get(0), responseEvent.getRequest());
+        Assert.assertEquals(Arrays.asList("a", "b"), ((JavaHttpClientResponseEvent) responseEvent).getHeaders("X-Multi"));
+        Assert.assertSame(response, returned.get());
+        Assert.assertEquals(transactionId, stage.get());
+    }
+
+    @Test
+    public void testExceptionalCompletionPublishesCause() throws Exception {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<?> returned = (CompletableFuture<?>) JavaHttpClientCompletion.end(JavaHttpClientCompletion.begin(request("GET")), future, null);
+        IOException failure = new IOException("connection refused");
+
+        future.completeExceptionally(failure);
+
+        HttpServiceDownstreamResponseEvent responseEvent = (HttpServiceDownstreamResponseEvent) mockEventBusListener.getReceivedEvents().get(1);
+        Assert.assertSame(failure, responseEvent.getThrown());
+        Assert.assertEquals(-1, responseEvent.getStatusCode());
+        try {
+            returned.get();
+            Assert.fail();
+        } catch (ExecutionException e) {
+            Assert.assertSame(failure, e.getCause());
+        }
+    }
+
+    @Test
+    public void testCancellingReturnedFutureCancelsClientFuture() throws Exception {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<?> returned = (CompletableFuture<?>) JavaHttpClientCompletion.end(JavaHttpClientCompletion.begin(request("GET")), future, null);
+
+        Assert.assertTrue(returned.cancel(true));
+
+        Assert.assertTrue(future.isCancelled());
+        Assert.assertEquals(2, mockEventBusListener.getReceivedEvents().size());
+        Assert.assertTrue(mockEventBusListener.getReceivedEvents().get(1) instanceof ServiceDownstreamCancellationEvent);
+    }
+
+    @Test
+    public void testResponsePublishedOnlyOnce() throws Exception {
+        JavaHttpClientCompletion completion = JavaHttpClientCompletion.begin(request("GET"));
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        JavaHttpClientCompletion.end(completion, future, null);
+
+        future.complete(response(200));
+        completion.publishResponse(null, new IOException());
+        completion.publishCancellation();
+
+        Assert.assertEquals(2, mockEventBusListener.getReceivedEvents().size());
+    }
+
+    @Test
+    public void testAdviceReplacesRequestAndReturnedFuture() throws Exception {
+        EventBus.addListener(headerReplacingListener);
+        Object client = createAdvisedClient();
+        Method sendAsync = client.getClass().getMethod("sendAsync", Object.class, Object.class, Object.class, Executor.class);
+        Object request = request("GET", "x-disco", "original");
+
+        CompletableFuture<?> returned = (CompletableFuture<?>) sendAsync.invoke(client, request, null, null, null);
+        Object sent = client.getClass().getField("request").get(client);
+        Assert.assertNotSame(request, sent);
+        Assert.assertEquals(Collections.singletonList("replaced"), JavaHttpClientAccessor.getRequestHeaders(sent).get("x-disco"));
+        Assert.assertTrue(returned instanceof JavaHttpClientCompletion.ResponseFuture);
+        Assert.assertEquals(1, mockEventBusListener.getReceivedEvents().size());
+
+        Object response = response(204);
+        clientFuture(client).complete(response);
+        Assert.assertEquals(2, mockEventBusListener.getReceivedEvents().size());
+        Assert.assertEquals(204, ((HttpServiceDownstreamResponseEvent) mockEventBusListener.getReceivedEvents().get(1)).getStatusCode());
+        Assert.assertSame(response, returned.get());
+    }
+
+    private static Object createAdvisedClient() throws Exception {
+        return new ByteBuddy()
+                .redefine(FakeHttpClient.class)
+                .name(FakeHttpClient.class.getName() + "Advised")
+                .visit(Advice.to(JavaHttpClientInterceptor.SendAsyncAdvice.class).on(ElementMatchers.named("sendAsync")))
+                .make()
+                .load(JavaHttpClientInterceptorTests.class.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded()
+                .getDeclaredConstructor()
+                .newInstance();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static CompletableFuture<Object> clientFuture(Object client) throws Exception {
+        return (CompletableFuture<Object>) client.getClass().getField("future").get(client);
+    }
+
+    private static Method getSendAsync(int parameterCount) throws Exception {
+        for (Method method : Class.forName("jdk.internal.net.http.HttpClientImpl").getDeclaredMethods()) {
+            if (method.getName().equals("sendAsync") && method.getParameterCount() == parameterCount) {
+                return method;
+            }
+        }
+        throw new NoSuchMethodException("sendAsync");
+    }
+
+    private static Object request(String method, String... headers) throws Exception {
+        Class<?> builderClass = Class.forName("java.net.http.HttpRequest$Builder");
+        Object builder = Class.forName("java.net.http.HttpRequest").getMethod("newBuilder", URI.class).invoke(null, new URI(URI_STRING));
+        if (method.equals("POST")) {
+            Object bodyPublisher = Class.forName("java.net.http.HttpRequest$BodyPublishers").getMethod("ofString", String.class).invoke(null, "body");
+            builderClass.getMethod("method", String.class, Class.forName("java.net.http.HttpRequest$BodyPublisher")).invoke(builder, method, bodyPublisher);
+        }
+        for (int i = 0; i < headers.length; i += 2) {
+            builderClass.getMethod("header", String.class, String.class).invoke(builder, headers[i], headers[i + 1]);
+        }
+        return builderClass.getMethod("build").invoke(builder);
+    }
+
+    private static Object response(int statusCode, String... headers) throws Exception {
+        Map<String, List<String>> headerMap = new HashMap<>();
+        for (int i = 0; i < headers.length; i += 2) {
+            headerMap.computeIfAbsent(headers[i], k -> new ArrayList<>()).add(headers[i + 1]);
+        }
+        BiPredicate<String, String> filter = (name, value) -> true;
+        Object httpHeaders = Class.forName("java.net.http.HttpHeaders").getMethod("of", Map.class, BiPredicate.class).invoke(null, headerMap, filter);
+        return Proxy.newProxyInstance(JavaHttpClientInterceptorTests.class.getClassLoader(), new Class<?>[] {Class.forName("java.net.http.HttpResponse")},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "statusCode":
+                            return statusCode;
+                        case "headers":
+                            return httpHeaders;
+                        default:
+                            return null;
+                    }
+                });
+    }
+
+    private static Object invoke(Object request, String methodName) throws Exception {
+        return Class.forName("java.net.http.HttpRequest").getMethod(methodName).invoke(request);
+    }
+
+    public static class FakeHttpClient {
+        public Object request;
+        public CompletableFuture<Object> future;
+
+        public CompletableFuture<Object> sendAsync(Object request, Object responseHandler, Object pushPromiseHandler, Executor executor) {
+            this.request = request;
+            this.future = new CompletableFuture<>();
+            return future;
+        }
+    }
+
+    static class HeaderReplacingListener implements Listener {
+        @Override
+        public int getPriority() {
+            return 0;
+        }
+
+        @Override
+        public void listen(Event event) {
+            if (event instanceof HeaderReplaceable) {
+                ((HeaderReplaceable) event).replaceHeader("x-disco", "replaced");
+            }
+        }
+    }
+}
@@ -21,14 +21,21 @@ import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
+import software.amazon.disco.agent.concurrent.TransactionContext;
 import software.amazon.disco.agent.event.AbstractTransactionEvent;
 import software.amazon.disco.agent.event.Event;
 import software.amazon.disco.agent.event.EventBus;
 import software.amazon.disco.agent.event.HttpServletNetworkRequestEvent;
 import software.amazon.disco.agent.event.HttpServletNetworkResponseEvent;
 import software.amazon.disco.agent.event.Listener;
+import software.amazon.disco.agent.event.NonRetainingListener;
+import software.amazon.disco.agent.event.TransactionEndEvent;
 
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
 import javax.servlet.ServletException;
 import javax.servlet.ServletRequest;
 import javax.servlet.ServletResponse;
@@ -283,9 +290,141 @@ public class HttpServletInterceptorTests {
         }
     }
 
+    @Test
+    public void testHeadersNotReadUnlessRequested() throws Throwable {
+        EventBus.removeListener(testListener);
+        NonRetainingTestListener nonRetainingListener = new NonRetainingTestListener();
+        EventBus.addListener(nonRetainingListener);
+        try {
+            HttpServletServiceMethodDelegation.service(new Object[]{request, response}, testServlet, "FakeMethodName", () -> null);
+        } finally {
+            EventBus.removeListener(nonRetainingListener);
+        }
+
+        Assert.assertEquals(2, nonRetainingListener.count);
+        Mockito.verify(request, Mockito.never()).getHeaderNames();
+        Mockito.verify(request, Mockito.never()).getHeader(Mockito.anyString());
+        Mockito.verify(response, Mockito.never()).getHeaderNames();
+    }
+
+    @Test
+    public void testHeadersCopiedForRetainingListener() throws Throwable {
+        HttpServletServiceMethodDelegation.service(new Object[]{request, response}, testServlet, "FakeMethodName", () -> null);
+
+        // the container may reuse the request and response, which should no longer be consulted
+        Mockito.when(request.getHeader("someheader")).thenReturn("reused");
+        Mockito.when(response.getHeader("someresponseheader")).thenReturn("reused");
+        Assert.assertEquals("somedata", testListener.request.getFirstHeader("someheader"));
+        Assert.assertEquals("somedata", testListener.response.getFirstHeader("someresponseheader"));
+        Assert.assertEquals(Collections.singletonList("somedata"), testListener.request.getAllHeaders().get("someheader"));
+    }
+
+    @Test
+    public void testAsyncRequestCompletesOnAnotherThread() throws Throwable {
+        AsyncContext asyncContext = Mockito.mock(AsyncContext.class);
+        Mockito.when(request.isAsyncStarted()).thenReturn(true);
+        Mockito.when(request.getAsyncContext()).thenReturn(asyncContext);
+        String[] transactionId = new String[1];
+
+        HttpServletServiceMethodDelegation.service(new Object[]{request, response}, testServlet, "FakeMethodName", () -> {
+            transactionId[0] = TransactionContext.get();
+            return null;
+        });
+
+        ArgumentCaptor<AsyncListener> listenerCaptor = ArgumentCaptor.forClass(AsyncListener.class);
+        Mockito.verify(asyncContext).addListener(listenerCaptor.capture());
+        Mockito.verify(request).setAttribute(ServletAsyncCompletion.ATTRIBUTE_NAME, ((HttpServletAsyncListener) listenerCaptor.getValue()).getCompletion());
+        Assert.assertNotNull(testListener.request);
+        Assert.assertNull(testListener.response);
+        Assert.assertEquals(0, testListener.transactionEnds);
+        Assert.assertFalse(TransactionContext.isWithinCreatedContext());
+
+        Mockito.when(response.getStatus()).thenReturn(202);
+        String[] completionTransactionId = new String[1];
+        Thread completer = new Thread(() -> {
+            try {
+                listenerCaptor.getValue().onComplete(new AsyncEvent(asyncContext));
+                completionTransactionId[0] = testListener.responseTransactionId;
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+        completer.start();
+        completer.join();
+
+        Assert.assertNotNull(testListener.response);
+        Assert.assertEquals(202, testListener.response.getStatusCode());
+        Assert.assertEquals(testListener.request, testListener.response.getHttpRequestEvent());
+        Assert.assertEquals(transactionId[0], completionTransactionId[0]);
+        Assert.assertEquals(1, testListener.transactionEnds);
+    }
+
+    @Test
+    public void testAsyncRequestTimeoutCompletesOnce() throws Throwable {
+        HttpServletAsyncListener listener = startAsyncRequest();
+
+        listener.onTimeout(new AsyncEvent(null));
+        listener.onComplete(new AsyncEvent(null));
+
+        Assert.assertNotNull(testListener.response);
+        Assert.assertEquals(1, testListener.transactionEnds);
+        Assert.assertFalse(TransactionContext.isWithinCreatedContext());
+    }
+
+    @Test
+    public void testAsyncRequestStartedAgainKeepsListener() throws Throwable {
+        HttpServletAsyncListener listener = startAsyncRequest();
+        AsyncContext restartedContext = Mockito.mock(AsyncContext.class);
+
+        listener.onStartAsync(new AsyncEvent(restartedContext));
+
+        Mockito.verify(restartedContext).addListener(listener);
+    }
+
+    @Test
+    public void testAsyncDispatchRunsWithinTransaction() throws Throwable {
+        String[] transactionId = new String[2];
+        HttpServletAsyncListener listener = startAsyncRequest(transactionId);
+        Mockito.when(request.isAsyncStarted()).thenReturn(false);
+        Mockito.when(request.getAttribute(ServletAsyncCompletion.ATTRIBUTE_NAME)).thenReturn(listener.getCompletion());
+        testListener.request = null;
+
+        HttpServletServiceMethodDelegation.service(new Object[]{request, response}, testServlet, "FakeMethodName", () -> {
+            transactionId[1] = TransactionContext.get();
+            return null;
+        });
+
+        Assert.assertEquals(transactionId[0], transactionId[1]);
+        Assert.assertNull(testListener.request);
+        Assert.assertNull(testListener.response);
+        Assert.assertFalse(TransactionContext.isWithinCreatedContext());
+
+        listener.onComplete(new AsyncEvent(null));
+        Assert.assertNotNull(testListener.response);
+        Assert.assertEquals(1, testListener.transactionEnds);
+        Assert.assertNull(ServletAsyncCompletion.of(HttpServletAccessor.INSTANCE, request));
+    }
+
+    private HttpServletAsyncListener startAsyncRequest(String... transactionId) throws Throwable {
+        AsyncContext asyncContext = Mockito.mock(AsyncContext.class);
+        Mockito.when(request.isAsyncStarted()).thenReturn(true);
+        Mockito.when(request.getAsyncContext()).thenReturn(asyncContext);
+        HttpServletServiceMethodDelegation.service(new Object[]{request, response}, testServlet, "FakeMethodName", () -> {
+            if (transactionId.length > 0) {
+                transactionId[0] = TransactionContext.get();
+            }
+            return null;
+        });
+        ArgumentCaptor<AsyncListener> listenerCaptor = ArgumentCaptor.forClass(AsyncListener.class);
+        Mockito.verify(asyncContext).addListener(listenerCaptor.capture());
+        return (HttpServletAsyncListener) listenerCaptor.getValue();
+    }
+
     private static class TestListener implements Listener {
         HttpServletNetworkRequestEvent request;
         HttpServletNetworkResponseEvent response;
+        String responseTransactionId;
+        int transactionEnds;
 
         @Override
         public int getPriority() {
@@ -298,6 +437,9 @@ public class HttpServletInterceptorTests {
                 request = (HttpServletNetworkRequestEvent) e;
             } else if (e instanceof HttpServletNetworkResponseEvent) {
                 response = (HttpServletNetworkResponseEvent) e;
+                responseTransactionId = TransactionContext.get();
+            } else if (e instanceof TransactionEndEvent) {
+                transactionEnds++;
             } else if (e instanceof AbstractTransactionEvent) {
                 //ignore
             } else {
@@ -305,4 +447,20 @@ public class HttpServletInterceptorTests {
             }
         }
     }
-}
\ No newline at end of file
+
+    private static class NonRetainingTestListener implements NonRetainingListener {
+        int count;
+
+        @Override
+        public int getPriority() {
+            return 0;
+        }
+
+        @Override
+        public void listen(Event e) {
+            if (e instanceof HttpServletNetworkRequestEvent || e instanceof HttpServletNetworkResponseEvent) {
+                count++;
+            }
+        }
+    }
+}
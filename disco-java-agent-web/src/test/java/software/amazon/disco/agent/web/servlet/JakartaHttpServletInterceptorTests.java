@@ -0,0 +1,161 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License").
+ *   You may not use this file except in compliance with the License.
+ *   A copy of the License is located at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file. This file is distributed
+ *   on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *   express or implied. See the License for the specific language governing
+ *   permissions and limitations under the License.
+ */
+
+package software.amazon.disco.agent.web.servlet;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.type.TypeDescription;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import software.amazon.disco.agent.event.Event;
+import software.amazon.disco.agent.event.EventBus;
+import software.amazon.disco.agent.event.HttpServletNetworkRequestEvent;
+import software.amazon.disco.agent.event.HttpServletNetworkResponseEvent;
+import software.amazon.disco.agent.event.Listener;
+import software.amazon.disco.agent.event.TransactionEndEvent;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+
+public class JakartaHttpServletInterceptorTests {
+    private final JakartaHttpServletServiceInterceptor interceptor = new JakartaHttpServletServiceInterceptor();
+    private TestListener testListener;
+    private HttpServletRequest request;
+    private HttpServletResponse response;
+
+    public static class JakartaServlet extends HttpServlet {
+        @Override
+        protected void service(HttpServletRequest req, HttpServletResponse res) throws ServletException, IOException {
+            super.service(req, res);
+        }
+    }
+
+    @Before
+    public void before() {
+        EventBus.addListener(testListener = new TestListener());
+        request = Mockito.mock(HttpServletRequest.class);
+        response = Mockito.mock(HttpServletResponse.class);
+        Mockito.when(request.getRequestURL()).thenReturn(new StringBuffer("http://amazon.com/jakarta"));
+        Mockito.when(request.getMethod()).thenReturn("GET");
+        Mockito.when(request.getRemoteAddr()).thenReturn("1.1.1.1");
+        Mockito.when(request.getRemotePort()).thenReturn(100);
+        Mockito.when(request.getHeaderNames()).thenReturn(Collections.enumeration(Arrays.asList("someheader")));
+        Mockito.when(request.getHeader("someheader")).thenReturn("somedata");
+        Mockito.when(response.getHeaderNames()).thenReturn(Collections.singletonList("someresponseheader"));
+        Mockito.when(response.getHeader("someresponseheader")).thenReturn("someresponsedata");
+        Mockito.when(response.getStatus()).thenReturn(200);
+    }
+
+    @After
+    public void after() {
+        EventBus.removeListener(testListener);
+    }
+
+    @Test
+    public void testClassMatcherSucceedsOnJakartaServlet() {
+        Assert.assertTrue(interceptor.buildClassMatcher().matches(new TypeDescription.ForLoadedType(JakartaServlet.class)));
+    }
+
+    @Test
+    public void testClassMatcherFailsOnJavaxServlet() {
+        Assert.assertFalse(interceptor.buildClassMatcher().matches(new TypeDescription.ForLoadedType(javax.servlet.http.HttpServlet.class)));
+        Assert.assertFalse(new HttpServletServiceInterceptor().buildClassMatcher().matches(new TypeDescription.ForLoadedType(JakartaServlet.class)));
+    }
+
+    @Test
+    public void testMethodMatcherSucceeds() throws Exception {
+        Assert.assertTrue(interceptor.buildMethodMatcher().matches(new MethodDescription.ForLoadedMethod(
+                JakartaServlet.class.getDeclaredMethod("service", HttpServletRequest.class, HttpServletResponse.class))));
+    }
+
+    @Test
+    public void testCandidateSuperTypeNames() {
+        Assert.assertEquals(Collections.singletonList("jakarta.servlet.http.HttpServlet"), interceptor.getCandidateSuperTypeNames());
+    }
+
+    @Test
+    public void testJakartaServletServiceInterceptor() throws Throwable {
+        JakartaHttpServletServiceMethodDelegation.service(new Object[]{request, response}, new JakartaServlet(), "FakeMethodName", () -> null);
+
+        Assert.assertNotNull(testListener.request);
+        Assert.assertEquals(request, testListener.request.getRequest());
+        Assert.assertEquals("GET", testListener.request.getMethod());
+        Assert.assertEquals("http://amazon.com/jakarta", testListener.request.getURL());
+        Assert.assertEquals("1.1.1.1", testListener.request.getRemoteIPAddress());
+        Assert.assertEquals(100, testListener.request.getSourcePort());
+        Assert.assertEquals("somedata", testListener.request.getFirstHeader("someheader"));
+
+        Assert.assertNotNull(testListener.response);
+        Assert.assertEquals(response, testListener.response.getResponse());
+        Assert.assertEquals(200, testListener.response.getStatusCode());
+        Assert.assertEquals("someresponsedata", testListener.response.getFirstHeader("someresponseheader"));
+        Assert.assertEquals(testListener.request, testListener.response.getHttpRequestEvent());
+        Assert.assertEquals(1, testListener.transactionEnds);
+    }
+
+    @Test
+    public void testJakartaAsyncRequestCompletes() throws Throwable {
+        AsyncContext asyncContext = Mockito.mock(AsyncContext.class);
+        Mockito.when(request.isAsyncStarted()).thenReturn(true);
+        Mockito.when(request.getAsyncContext()).thenReturn(asyncContext);
+
+        JakartaHttpServletServiceMethodDelegation.service(new Object[]{request, response}, new JakartaServlet(), "FakeMethodName", () -> null);
+
+        ArgumentCaptor<AsyncListener> listenerCaptor = ArgumentCaptor.forClass(AsyncListener.class);
+        Mockito.verify(asyncContext).addListener(listenerCaptor.capture());
+        Assert.assertNull(testListener.response);
+        Assert.assertEquals(0, testListener.transactionEnds);
+
+        Mockito.when(response.getStatus()).thenReturn(204);
+        listenerCaptor.getValue().onComplete(new AsyncEvent(asyncContext));
+
+        Assert.assertEquals(204, testListener.response.getStatusCode());
+        Assert.assertEquals(1, testListener.transactionEnds);
+    }
+
+    private static class TestListener implements Listener {
+        HttpServletNetworkRequestEvent request;
+        HttpServletNetworkResponseEvent response;
+        int transactionEnds;
+
+        @Override
+        public int getPriority() {
+            return 0;
+        }
+
+        @Override
+        public void listen(Event e) {
+            if (e instanceof HttpServletNetworkRequestEvent) {
+                request = (HttpServletNetworkRequestEvent) e;
+            } else if (e instanceof HttpServletNetworkResponseEvent) {
+                response = (HttpServletNetworkResponseEvent) e;
+            } else if (e instanceof TransactionEndEvent) {
+                transactionEnds++;
+            }
+        }
+    }
+}
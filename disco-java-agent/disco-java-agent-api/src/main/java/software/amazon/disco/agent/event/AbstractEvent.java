@@ -19,11 +19,12 @@ import java.util.HashMap;
 import java.util.Map;
 
 /**
- * All Events inherit from this base class. It contains a Map of data which can be inspected by Listeners
+ * All Events inherit from this base class. It contains a Map of data which can be inspected by Listeners. The Map is only
+ * created when data is first added, so Events which model their contents in fields carry no Map at all.
  */
 public abstract class AbstractEvent implements Event {
     protected final String origin;
-    protected final Map<String, Object> data; //needed at all, or should model more concretely in subclasses?
+    protected Map<String, Object> data; //null until the first call to withData()
 
     /**
      * Construct a new AbstractEvent
@@ -32,7 +33,6 @@ public abstract class AbstractEvent implements Event {
      */
     public AbstractEvent(String origin) {
         this.origin = origin;
-        this.data = new HashMap<>();
     }
 
     /**
@@ -42,6 +42,9 @@ public abstract class AbstractEvent implements Event {
      * @return the 'this' of the Event, to allow method chaining
      */
     public AbstractEvent withData(String key, Object data) {
+        if (this.data == null) {
+            this.data = new HashMap<>();
+        }
         this.data.put(key, data);
         return this;
     }
@@ -59,6 +62,6 @@ public abstract class AbstractEvent implements Event {
      */
     @Override
     public Object getData(String key) {
-        return data.get(key);
+        return data == null ? null : data.get(key);
     }
 }
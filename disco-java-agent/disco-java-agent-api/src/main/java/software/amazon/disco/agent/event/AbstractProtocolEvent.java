@@ -67,6 +67,22 @@ public abstract class AbstractProtocolEvent extends AbstractEvent implements Pro
         return this;
     }
 
+    /**
+     * Replace the header map with a lazily populated one, typically a view of the headers of the underlying request or
+     * response object. Any headers already stored are added to it.
+     *
+     * @param headerMap the lazy header map
+     * @return the 'this' for method chaining
+     */
+    public AbstractProtocolEvent withLazyHeaderMap(LazyHeaderMap headerMap) {
+        Map<String, List<String>> existing = getHeaderMap();
+        if (existing != null && !existing.isEmpty()) {
+            headerMap.putAll(existing);
+        }
+        withData(DataKey.HEADER_MAP.name(), headerMap);
+        return this;
+    }
+
     /**
      * Stores the key-value pair into the header map.
      *
@@ -16,7 +16,8 @@
 package software.amazon.disco.agent.event;
 
 /**
- * Abstract Event to encapsulate information when execution crosses a thread boundary, within an DiSCo transaction
+ * Abstract Event to encapsulate information when execution crosses a thread boundary, within an DiSCo transaction.
+ * The thread ids are held in fields rather than in the data Map, though remain available via {@link #getData(String)}.
  */
 public abstract class AbstractThreadEvent extends AbstractEvent implements ThreadEvent {
     /**
@@ -34,6 +35,9 @@ public abstract class AbstractThreadEvent extends AbstractEvent implements Threa
         CHILD_ID
     }
 
+    private long parentId;
+    private long childId;
+
     /**
      * Create a new ThreadEvent
      * @param origin the origin of the Event, presumably 'Concurrency'
@@ -42,8 +46,22 @@ public abstract class AbstractThreadEvent extends AbstractEvent implements Threa
      */
     public AbstractThreadEvent(String origin, Long parentId, Long childId) {
         super(origin);
-        withData(DataKey.PARENT_ID.name(), parentId);
-        withData(DataKey.CHILD_ID.name(), childId);
+        this.parentId = parentId;
+        this.childId = childId;
+    }
+
+    /**
+     * Replace the thread ids carried by this Event, for subclasses which recycle a single instance. Any other data
+     * previously added to the Event is discarded.
+     * @param parentId threadId of parent thread
+     * @param childId threadId of worker thread
+     */
+    protected void setThreadIds(long parentId, long childId) {
+        this.parentId = parentId;
+        this.childId = childId;
+        if (data != null) {
+            data.clear();
+        }
     }
 
     /**
@@ -51,7 +69,7 @@ public abstract class AbstractThreadEvent extends AbstractEvent implements Threa
      */
     @Override
     public long getParentId() {
-        return Long.class.cast(getData(DataKey.PARENT_ID.name()));
+        return parentId;
     }
 
     /**
@@ -59,7 +77,21 @@ public abstract class AbstractThreadEvent extends AbstractEvent implements Threa
      */
     @Override
     public long getChildId() {
-        return Long.class.cast(getData(DataKey.CHILD_ID.name()));
+        return childId;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Object getData(String key) {
+        if (DataKey.PARENT_ID.name().equals(key)) {
+            return parentId;
+        }
+        if (DataKey.CHILD_ID.name().equals(key)) {
+            return childId;
+        }
+        return super.getData(key);
     }
 
     /**
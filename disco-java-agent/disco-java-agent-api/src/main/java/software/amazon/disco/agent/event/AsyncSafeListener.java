@@ -0,0 +1,28 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License").
+ *   You may not use this file except in compliance with the License.
+ *   A copy of the License is located at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file. This file is distributed
+ *   on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *   express or implied. See the License for the specific language governing
+ *   permissions and limitations under the License.
+ */
+
+package software.amazon.disco.agent.event;
+
+/**
+ * A marker for Listeners which tolerate receiving Events on a thread other than the one which published them, some time
+ * after publication. When the EventBus is running in asynchronous dispatch mode, Events bound for these Listeners are
+ * placed on a bounded queue and delivered by a dedicated background thread, rather than inline on the publishing thread.
+ *
+ * Such a Listener must not rely on thread-local state of the publisher, such as the TransactionContext, and must not assume
+ * that an Event's contents are unchanged since publication. It may also miss Events entirely if the queue overflows, depending
+ * on the configured overflow policy. When asynchronous dispatch is not enabled, this interface has no effect.
+ */
+public interface AsyncSafeListener extends Listener {
+}
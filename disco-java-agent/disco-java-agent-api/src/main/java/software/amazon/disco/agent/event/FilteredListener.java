@@ -0,0 +1,36 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License").
+ *   You may not use this file except in compliance with the License.
+ *   A copy of the License is located at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file. This file is distributed
+ *   on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *   express or implied. See the License for the specific language governing
+ *   permissions and limitations under the License.
+ */
+
+package software.amazon.disco.agent.event;
+
+import java.util.Collection;
+
+/**
+ * A Listener which declares up front the types of Event it is interested in. The EventBus will only dispatch Events to
+ * this Listener which are instances of one of the declared types, sparing the Listener the cost of receiving, and
+ * discarding, Events it does not care about.
+ */
+public interface FilteredListener extends Listener {
+    /**
+     * Get the types of Event this Listener wishes to receive. An Event is dispatched to this Listener if it is an instance of
+     * any of the returned types, which may be concrete classes or interfaces such as ServiceDownstreamRequestEvent.
+     *
+     * This is queried once, at the time the Listener is added to the EventBus, and the result is not expected to change
+     * afterwards. Returning null subscribes the Listener to all Events, as if it were a plain Listener.
+     *
+     * @return the types of Event this Listener is interested in
+     */
+    Collection<Class<? extends Event>> getSubscribedEventTypes();
+}
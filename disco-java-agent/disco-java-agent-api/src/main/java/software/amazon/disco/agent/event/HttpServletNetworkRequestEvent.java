@@ -105,6 +105,15 @@ public class HttpServletNetworkRequestEvent extends AbstractNetworkProtocolReque
         return this;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public HttpServletNetworkRequestEvent withLazyHeaderMap(LazyHeaderMap headerMap) {
+        super.withLazyHeaderMap(headerMap);
+        return this;
+    }
+
     /**
      * Store the HTTP method/verb into this event
      * @param method The HTTP method/verb. Can be "POST", "GET", "PUT", etc
@@ -39,6 +39,15 @@ public class HttpServletNetworkResponseEvent extends AbstractNetworkProtocolResp
         return this;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public HttpServletNetworkResponseEvent withLazyHeaderMap(LazyHeaderMap headerMap) {
+        super.withLazyHeaderMap(headerMap);
+        return this;
+    }
+
     /**
      * Store the status code that resulted from the HTTP response.
      * @param statusCode the status code
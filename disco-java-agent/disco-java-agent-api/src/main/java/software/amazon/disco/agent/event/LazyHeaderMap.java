@@ -0,0 +1,160 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License").
+ *   You may not use this file except in compliance with the License.
+ *   A copy of the License is located at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file. This file is distributed
+ *   on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *   express or implied. See the License for the specific language governing
+ *   permissions and limitations under the License.
+ */
+
+package software.amazon.disco.agent.event;
+
+import java.util.AbstractMap;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * A header map backed by the headers of an underlying request or response object, such as an HttpServletRequest, which
+ * avoids copying them for Events whose Listeners never read them. Individual headers are looked up from the underlying
+ * object as they are requested, and are only copied into a map once the entries are iterated, the map is modified, or
+ * {@link #materialize()} is called. Header names are compared case-insensitively, as in HTTP.
+ *
+ * Until materialized, the map reflects the live state of the underlying object, which some containers recycle once the
+ * request is complete. Producers should therefore materialize it before that point if a Listener may retain the Event.
+ */
+public abstract class LazyHeaderMap extends AbstractMap<String, List<String>> {
+    private volatile Map<String, List<String>> headers; //null until materialized
+
+    /**
+     * Retrieve a single header from the underlying object.
+     *
+     * @param name the name of the header
+     * @return the value of the header, or null if it is absent
+     */
+    protected abstract String retrieveHeader(String name);
+
+    /**
+     * Retrieve the names of all headers from the underlying object.
+     *
+     * @return the header names, or null if they are unavailable
+     */
+    protected abstract Collection<String> retrieveHeaderNames();
+
+    /**
+     * Copy the headers of the underlying object into this map, if not done already. Afterwards the underlying object is
+     * no longer consulted.
+     */
+    public void materialize() {
+        headers();
+    }
+
+    /**
+     * Test if the headers of the underlying object have been copied into this map.
+     *
+     * @return true if materialized
+     */
+    public boolean isMaterialized() {
+        return headers != null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<String> get(Object key) {
+        Map<String, List<String>> materialized = headers;
+        if (materialized != null) {
+            return materialized.get(key);
+        }
+        if (!(key instanceof String)) {
+            return null;
+        }
+        String value = safeRetrieveHeader((String) key);
+        return value == null ? null : Collections.singletonList(value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<String> put(String key, List<String> value) {
+        return headers().put(key, value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<String> remove(Object key) {
+        return headers().remove(key);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<Entry<String, List<String>>> entrySet() {
+        return headers().entrySet();
+    }
+
+    /**
+     * Get the copied headers, copying them from the underlying object on first use.
+     *
+     * @return the materialized header map
+     */
+    private Map<String, List<String>> headers() {
+        Map<String, List<String>> materialized = headers;
+        if (materialized != null) {
+            return materialized;
+        }
+        synchronized (this) {
+            if (headers == null) {
+                materialized = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+                try {
+                    Collection<String> names = retrieveHeaderNames();
+                    if (names != null) {
+                        for (String name : names) {
+                            materialized.put(name, Collections.singletonList(retrieveHeader(name)));
+                        }
+                    }
+                } catch (Throwable t) {
+                    //keep whatever was retrieved
+                }
+                headers = materialized;
+            }
+            return headers;
+        }
+    }
+
+    /**
+     * Retrieve a single header, treating any failure of the underlying object as an absent header.
+     *
+     * @param name the name of the header
+     * @return the value of the header, or null
+     */
+    private String safeRetrieveHeader(String name) {
+        try {
+            return retrieveHeader(name);
+        } catch (Throwable t) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License").
+ *   You may not use this file except in compliance with the License.
+ *   A copy of the License is located at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file. This file is distributed
+ *   on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *   express or implied. See the License for the specific language governing
+ *   permissions and limitations under the License.
+ */
+
+package software.amazon.disco.agent.event;
+
+/**
+ * A marker for Listeners which do not retain a reference to an Event, or to anything obtained from it, once listen()
+ * has returned. When every Listener interested in a given kind of Event is marked in this way, the agent may publish a
+ * recycled Event instance rather than allocating a new one each time. This currently applies to high-volume Events
+ * such as {@link ThreadEnterEvent} and {@link ThreadExitEvent}.
+ *
+ * A Listener which queues Events, stores them for later inspection, or hands them to another thread must not implement
+ * this interface, since the contents of a recycled Event change when it is next published.
+ */
+public interface NonRetainingListener extends Listener {
+}
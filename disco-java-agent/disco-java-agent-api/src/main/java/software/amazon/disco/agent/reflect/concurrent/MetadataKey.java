@@ -0,0 +1,91 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License").
+ *   You may not use this file except in compliance with the License.
+ *   A copy of the License is located at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file. This file is distributed
+ *   on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *   express or implied. See the License for the specific language governing
+ *   permissions and limitations under the License.
+ */
+
+package software.amazon.disco.agent.reflect.concurrent;
+
+import software.amazon.disco.agent.reflect.ReflectiveCall;
+
+/**
+ * A handle to an item of TransactionContext metadata, obtained once via {@link TransactionContext#key(String, Class)} and
+ * then used in place of its String name. When the agent is loaded, the handle resolves to the agent's own slot-indexed
+ * metadata key on first use, so that subsequent accesses need not hash the String name.
+ *
+ * @param <T> the type of the metadata value
+ */
+public final class MetadataKey<T> {
+    private final String name;
+    private final Class<T> type;
+    private volatile Object handle;
+    private volatile boolean resolved;
+
+    /**
+     * Construct a new MetadataKey. Use {@link TransactionContext#key(String, Class)} instead.
+     * @param name the metadata name
+     * @param type the type of the metadata value
+     */
+    MetadataKey(String name, Class<T> type) {
+        this.name = name;
+        this.type = type;
+    }
+
+    /**
+     * Get the metadata name
+     * @return the name under which this metadata is also visible via the String-keyed TransactionContext methods
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Get the type of the metadata value
+     * @return the value type
+     */
+    public Class<T> getType() {
+        return type;
+    }
+
+    /**
+     * Get the agent's metadata key corresponding to this handle, resolving it on first use
+     * @return the agent's metadata key, or null if the agent is not loaded
+     */
+    Object getHandle() {
+        if (!resolved) {
+            handle = ReflectiveCall.returning(Object.class)
+                    .ofClass(TransactionContext.TRANSACTIONCONTEXT_CLASS)
+                    .ofMethod("key")
+                    .withArgTypes(String.class, Class.class)
+                    .call(name, type);
+            resolved = handle != null || !ReflectiveCall.isAgentPresent();
+        }
+        return handle;
+    }
+
+    /**
+     * Convert a stored value to this handle's type
+     * @param value the stored value
+     * @return the value, or null if it is absent or of some other type
+     */
+    T cast(Object value) {
+        return type.isInstance(value) ? type.cast(value) : null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "MetadataKey(" + name + ", " + type.getSimpleName() + ")";
+    }
+}
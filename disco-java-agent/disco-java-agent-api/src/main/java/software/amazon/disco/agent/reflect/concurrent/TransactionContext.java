@@ -18,9 +18,11 @@ package software.amazon.disco.agent.reflect.concurrent;
 
 import software.amazon.disco.agent.reflect.ReflectiveCall;
 import software.amazon.disco.agent.reflect.logging.Logger;
+import software.amazon.disco.agent.util.TransactionId;
 
 import java.util.Collections;
 import java.util.Map;
+import java.util.function.BiConsumer;
 
 
 /**
@@ -81,6 +83,18 @@ public class TransactionContext {
                 .call();
     }
 
+    /**
+     * Get the DiSCo Transaction ID in its binary form, which may be compared and hashed without String work
+     * @return the Transaction ID, or null if the agent is not loaded, there is no created TransactionContext, the agent
+     * was not given the 'binarytransactionids' argument, or the ID was given as a String via set()
+     */
+    public static TransactionId getId() {
+        return ReflectiveCall.returning(TransactionId.class)
+                .ofClass(TRANSACTIONCONTEXT_CLASS)
+                .ofMethod("getId")
+                .call();
+    }
+
     /**
      * Set a value in the DiSCo metadata map, or do nothing if the agent is not loaded
      * @param key the key of the metadata
@@ -128,6 +142,90 @@ public class TransactionContext {
         return call.call(key);
     }
 
+    /**
+     * Obtain a handle for an item of metadata, to be resolved once (typically into a static final field) and then used
+     * with the handle-based accessors such as {@link #getMetadata(MetadataKey)}.
+     * @param name the key of the metadata
+     * @param type the type of the metadata value
+     * @param <T> the type of the metadata value
+     * @return the handle. A handle is returned even if the agent is not loaded, in which case accessors using it do nothing.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> MetadataKey<T> key(String name, Class<T> type) {
+        if (name.startsWith(DISCO_PREFIX)) {
+            throw new IllegalArgumentException(name + " may not be used as a metadata key as the prefix " + DISCO_PREFIX + " is reserved for internal use");
+        }
+        if (type == int.class) {
+            type = (Class<T>) Integer.class;
+        } else if (type == long.class) {
+            type = (Class<T>) Long.class;
+        }
+        return new MetadataKey<>(name, type);
+    }
+
+    /**
+     * Set a value in the DiSCo metadata map via a handle, or do nothing if the agent is not loaded
+     * @param key the handle identifying the metadata
+     * @param value the metadata value
+     * @param <T> the type of the metadata value
+     */
+    public static <T> void putMetadata(MetadataKey<T> key, T value) {
+        final Object handle = key.getHandle();
+        if (handle != null) {
+            HandleCalls.get(handle).putMetadata.call(handle, value);
+        }
+    }
+
+    /**
+     * Remove a value in the DiSCo metadata map via a handle, or do nothing if the agent is not loaded
+     * @param key the handle identifying the metadata
+     */
+    public static void removeMetadata(MetadataKey<?> key) {
+        final Object handle = key.getHandle();
+        if (handle != null) {
+            HandleCalls.get(handle).removeMetadata.call(handle);
+        }
+    }
+
+    /**
+     * Get a value from the DiSCo metadata map via a handle, or null if the agent is not loaded
+     * @param key the handle identifying the metadata
+     * @param <T> the type of the metadata value
+     * @return the metadata value, or null if absent or not of the handle's type
+     */
+    public static <T> T getMetadata(MetadataKey<T> key) {
+        final Object handle = key.getHandle();
+        return handle == null ? null : key.cast(HandleCalls.get(handle).getMetadata.call(handle));
+    }
+
+    /**
+     * Set an int value in the DiSCo metadata map via a handle, or do nothing if the agent is not loaded. The agent stores
+     * the value without boxing once the key has been populated.
+     * @param key the handle identifying the metadata
+     * @param value the metadata value
+     */
+    public static void putIntMetadata(MetadataKey<Integer> key, int value) {
+        final Object handle = key.getHandle();
+        if (handle != null) {
+            HandleCalls.get(handle).putIntMetadata.call(handle, value);
+        }
+    }
+
+    /**
+     * Get an int value from the DiSCo metadata map via a handle
+     * @param key the handle identifying the metadata
+     * @param defaultValue the value to return if the metadata is absent or not numeric, or the agent is not loaded
+     * @return the metadata value
+     */
+    public static int getIntMetadata(MetadataKey<Integer> key, int defaultValue) {
+        final Object handle = key.getHandle();
+        if (handle == null) {
+            return defaultValue;
+        }
+        final Object result = HandleCalls.get(handle).getIntMetadata.call(handle, defaultValue);
+        return result instanceof Integer ? (Integer) result : defaultValue;
+    }
+
     /**
      * Set a tag on data from the metadata map with a tag, or do nothing if the agent is not loaded
      * @param key a String to identify the data.
@@ -155,6 +253,20 @@ public class TransactionContext {
                 .call(tag);
     }
 
+    /**
+     * Visit the data from the metadata map which contains the specified tag, without building an intermediate map, or do
+     * nothing if the agent is not loaded
+     * @param tag a String to identify the metadata objects to be visited.
+     * @param consumer a consumer to receive the key and value of each metadata object that contains the tag
+     */
+    public static void forEachMetadataWithTag(String tag, BiConsumer<String, Object> consumer) {
+        ReflectiveCall.returningVoid()
+                .ofClass(TRANSACTIONCONTEXT_CLASS)
+                .ofMethod("forEachMetadataWithTag")
+                .withArgTypes(String.class, BiConsumer.class)
+                .call(tag, consumer);
+    }
+
     /**
      * Clear the DiSCo TransactionContext to revert to its default value, or a no-op if Agent not loaded
      */
@@ -214,4 +326,44 @@ public class TransactionContext {
             call.dispatchException(new IllegalArgumentException(message));
         }
     }
+
+    /**
+     * The reflective calls for the handle-based accessors, which can only be looked up once the class of the agent's
+     * metadata key is known, and are then shared by all handles.
+     */
+    private static class HandleCalls {
+        private static volatile HandleCalls instance;
+
+        final ReflectiveCall<Object> getMetadata;
+        final ReflectiveCall<?> putMetadata;
+        final ReflectiveCall<?> removeMetadata;
+        final ReflectiveCall<Object> getIntMetadata;
+        final ReflectiveCall<?> putIntMetadata;
+
+        /**
+         * Construct the reflective calls
+         * @param handleClass the class of the agent's metadata key
+         */
+        private HandleCalls(Class<?> handleClass) {
+            getMetadata = ReflectiveCall.returning(Object.class).ofClass(TRANSACTIONCONTEXT_CLASS).ofMethod("getMetadata").withArgTypes(handleClass);
+            putMetadata = ReflectiveCall.returningVoid().ofClass(TRANSACTIONCONTEXT_CLASS).ofMethod("putMetadata").withArgTypes(handleClass, Object.class);
+            removeMetadata = ReflectiveCall.returningVoid().ofClass(TRANSACTIONCONTEXT_CLASS).ofMethod("removeMetadata").withArgTypes(handleClass);
+            getIntMetadata = ReflectiveCall.returning(Object.class).ofClass(TRANSACTIONCONTEXT_CLASS).ofMethod("getIntMetadata").withArgTypes(handleClass, int.class);
+            putIntMetadata = ReflectiveCall.returningVoid().ofClass(TRANSACTIONCONTEXT_CLASS).ofMethod("putIntMetadata").withArgTypes(handleClass, int.class);
+        }
+
+        /**
+         * Get the reflective calls suitable for a given handle
+         * @param handle the agent's metadata key
+         * @return the reflective calls
+         */
+        static HandleCalls get(Object handle) {
+            HandleCalls current = instance;
+            if (current == null || current.getMetadata.getArgTypes()[0] != handle.getClass()) {
+                current = new HandleCalls(handle.getClass());
+                instance = current;
+            }
+            return current;
+        }
+    }
 }
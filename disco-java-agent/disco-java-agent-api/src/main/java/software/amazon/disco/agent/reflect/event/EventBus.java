@@ -34,6 +34,23 @@ public class EventBus {
             .call(e);
     }
 
+    /**
+     * Test if any registered listener would receive an Event of the given type, were one to be published now.
+     * Producers may use this to avoid building Events which nobody would receive.
+     * @param eventClass the concrete class of the Event which would be published
+     * @return true if at least one listener is interested, or false if none are or the agent is not loaded
+     */
+    static public boolean isAnyListenerInterested(Class<? extends Event> eventClass) {
+        Boolean returnValue = ReflectiveCall
+                .returning(Boolean.class)
+                .ofClass(EVENTBUS_CLASS)
+                .ofMethod("isAnyListenerInterested")
+                .withArgTypes(Class.class)
+                .call(eventClass);
+
+        return returnValue == null ? false : returnValue;
+    }
+
     /**
      * Add a listener to the EventBus
      * @param l the listener to add
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License").
+ *   You may not use this file except in compliance with the License.
+ *   A copy of the License is located at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file. This file is distributed
+ *   on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *   express or implied. See the License for the specific language governing
+ *   permissions and limitations under the License.
+ */
+
+package software.amazon.disco.agent.util;
+
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A 128-bit Transaction ID held as two longs, so that it may be compared and hashed without any String work. Its hex
+ * form, as returned by {@link #toString()}, is only rendered when first asked for.
+ * Not suitable for generating secret values in cryptographic applications.
+ */
+public final class TransactionId implements Comparable<TransactionId> {
+    private final long high;
+    private final long low;
+    private String hex;
+
+    /**
+     * Construct a TransactionId from its two halves
+     * @param high the most significant 64 bits
+     * @param low the least significant 64 bits
+     */
+    public TransactionId(long high, long low) {
+        this.high = high;
+        this.low = low;
+    }
+
+    /**
+     * Randomly generate a TransactionId.
+     * Uses thread local random to avoid performance bottlenecks with secure random.
+     * @return a new random TransactionId
+     */
+    public static TransactionId generate() {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        return new TransactionId(random.nextLong(), random.nextLong());
+    }
+
+    /**
+     * Parse the hex form of a TransactionId, as returned by {@link #toString()}
+     * @param hex a String of FastIdGenerator.LENGTH_128 hex characters, in either case
+     * @return the parsed TransactionId, whose toString() is the lower case form of the given String
+     * @throws IllegalArgumentException if the String is not of the expected form
+     */
+    public static TransactionId parse(String hex) {
+        if (hex == null || hex.length() != FastIdGenerator.LENGTH_128) {
+            throw new IllegalArgumentException("A TransactionId must be " + FastIdGenerator.LENGTH_128 + " hex characters: " + hex);
+        }
+        TransactionId id = new TransactionId(parseHalf(hex, 0), parseHalf(hex, FastIdGenerator.LENGTH_128 / 2));
+        id.hex = hex.toLowerCase(Locale.ROOT);
+        return id;
+    }
+
+    /**
+     * Get the most significant 64 bits of this id
+     * @return the high half
+     */
+    public long getHigh() {
+        return high;
+    }
+
+    /**
+     * Get the least significant 64 bits of this id
+     * @return the low half
+     */
+    public long getLow() {
+        return low;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof TransactionId)) {
+            return false;
+        }
+        TransactionId other = (TransactionId) o;
+        return high == other.high && low == other.low;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(high) + Long.hashCode(low);
+    }
+
+    /**
+     * Compare two ids as unsigned 128-bit values, which is the same order as their hex forms
+     * @param other the id to compare with
+     * @return a negative, zero or positive value as this id is less than, equal to or greater than the other
+     */
+    @Override
+    public int compareTo(TransactionId other) {
+        int result = Long.compareUnsigned(high, other.high);
+        return result != 0 ? result : Long.compareUnsigned(low, other.low);
+    }
+
+    /**
+     * Get the hex form of this id, rendering it on first use
+     * @return FastIdGenerator.LENGTH_128 lower case hex characters
+     */
+    @Override
+    public String toString() {
+        //racing threads may each render the String, but will all arrive at an equal value
+        String result = hex;
+        if (result == null) {
+            result = FastIdGenerator.toHex(high, low);
+            hex = result;
+        }
+        return result;
+    }
+
+    private static long parseHalf(String hex, int offset) {
+        long value = 0;
+        for (int i = offset; i < offset + FastIdGenerator.LENGTH_128 / 2; i++) {
+            int digit = Character.digit(hex.charAt(i), 16);
+            if (digit < 0) {
+                throw new IllegalArgumentException("A TransactionId must be " + FastIdGenerator.LENGTH_128 + " hex characters: " + hex);
+            }
+            value = (value << 4) | digit;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License").
+ *   You may not use this file except in compliance with the License.
+ *   A copy of the License is located at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file. This file is distributed
+ *   on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *   express or implied. See the License for the specific language governing
+ *   permissions and limitations under the License.
+ */
+
+package software.amazon.disco.agent.event;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+public class LazyHeaderMapTests {
+    private Map<String, String> source;
+    private CountingHeaderMap headerMap;
+
+    @Before
+    public void before() {
+        source = new HashMap<>();
+        source.put("Host", "amazon.com");
+        source.put("custom-header", "data");
+        headerMap = new CountingHeaderMap(source);
+    }
+
+    @Test
+    public void testGetReadsSingleHeaderWithoutMaterializing() {
+        Assert.assertEquals(Collections.singletonList("amazon.com"), headerMap.get("Host"));
+        Assert.assertTrue(headerMap.containsKey("Host"));
+        Assert.assertNull(headerMap.get("absent"));
+        Assert.assertFalse(headerMap.isMaterialized());
+        Assert.assertEquals(0, headerMap.nameRetrievals);
+    }
+
+    @Test
+    public void testGetIsCaseInsensitive() {
+        Assert.assertEquals(Collections.singletonList("amazon.com"), headerMap.get("host"));
+        headerMap.materialize();
+        Assert.assertEquals(Collections.singletonList("amazon.com"), headerMap.get("host"));
+    }
+
+    @Test
+    public void testIterationMaterializesOnce() {
+        Assert.assertEquals(2, headerMap.size());
+        Assert.assertEquals(2, headerMap.entrySet().size());
+        Assert.assertTrue(headerMap.isMaterialized());
+        Assert.assertEquals(1, headerMap.nameRetrievals);
+    }
+
+    @Test
+    public void testMaterializedMapIsDetachedFromSource() {
+        headerMap.materialize();
+        source.put("Host", "example.com");
+        source.put("late-header", "late");
+
+        Assert.assertEquals(Collections.singletonList("amazon.com"), headerMap.get("Host"));
+        Assert.assertNull(headerMap.get("late-header"));
+    }
+
+    @Test
+    public void testPutMaterializes() {
+        headerMap.put("added", Collections.singletonList("value"));
+
+        Assert.assertTrue(headerMap.isMaterialized());
+        Assert.assertEquals(3, headerMap.size());
+        Assert.assertEquals(Collections.singletonList("value"), headerMap.get("added"));
+        Assert.assertEquals(Collections.singletonList("data"), headerMap.get("custom-header"));
+    }
+
+    @Test
+    public void testFailingSourceTreatedAsEmpty() {
+        LazyHeaderMap failing = new LazyHeaderMap() {
+            @Override
+            protected String retrieveHeader(String name) {
+                throw new IllegalStateException();
+            }
+
+            @Override
+            protected Collection<String> retrieveHeaderNames() {
+                throw new IllegalStateException();
+            }
+        };
+
+        Assert.assertNull(failing.get("Host"));
+        Assert.assertTrue(failing.isEmpty());
+    }
+
+    @Test
+    public void testWithLazyHeaderMapKeepsExistingHeaders() {
+        HttpServletNetworkRequestEvent event = new HttpServletNetworkRequestEvent("Origin", 80, 1500, "127.0.0.1", "0.0.0.0")
+                .withDate("Tue, 24 Oct 1995 08:12:31 GMT")
+                .withLazyHeaderMap(headerMap);
+
+        Assert.assertSame(headerMap, event.getAllHeaders());
+        Assert.assertEquals("Tue, 24 Oct 1995 08:12:31 GMT", event.getDate());
+        Assert.assertEquals("amazon.com", event.getHost());
+        Assert.assertEquals(Arrays.asList("data"), event.getHeaders("custom-header"));
+    }
+
+    private static class CountingHeaderMap extends LazyHeaderMap {
+        private final Map<String, String> source;
+        int nameRetrievals;
+
+        CountingHeaderMap(Map<String, String> source) {
+            this.source = source;
+        }
+
+        @Override
+        protected String retrieveHeader(String name) {
+            for (Map.Entry<String, String> entry : source.entrySet()) {
+                if (entry.getKey().equalsIgnoreCase(name)) {
+                    return entry.getValue();
+                }
+            }
+            return null;
+        }
+
+        @Override
+        protected Collection<String> retrieveHeaderNames() {
+            nameRetrievals++;
+            return source.keySet();
+        }
+    }
+}
@@ -36,4 +36,23 @@ public class ThreadEventTests {
         Assert.assertEquals(2L, event.getChildId());
         Assert.assertEquals(ThreadEvent.Operation.EXITING, event.getOperation());
     }
+
+    @Test
+    public void testThreadIdsAvailableAsData() {
+        AbstractThreadEvent event = new ThreadEnterEvent("Origin", 1L, 2L);
+        Assert.assertEquals(1L, event.getData(AbstractThreadEvent.DataKey.PARENT_ID.name()));
+        Assert.assertEquals(2L, event.getData(AbstractThreadEvent.DataKey.CHILD_ID.name()));
+        Assert.assertNull(event.getData("other"));
+        Assert.assertNull(event.data);
+    }
+
+    @Test
+    public void testSetThreadIdsDiscardsData() {
+        AbstractThreadEvent event = new ThreadExitEvent("Origin", 1L, 2L);
+        event.withData("other", "value");
+        event.setThreadIds(3L, 4L);
+        Assert.assertEquals(3L, event.getParentId());
+        Assert.assertEquals(4L, event.getChildId());
+        Assert.assertNull(event.getData("other"));
+    }
 }
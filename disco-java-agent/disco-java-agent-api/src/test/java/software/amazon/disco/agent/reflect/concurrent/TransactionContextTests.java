@@ -39,6 +39,11 @@ public class TransactionContextTests {
         Assert.assertEquals(null, TransactionContext.get());
     }
 
+    @Test
+    public void testTransactionContextGetIdNoAgentLoaded() {
+        Assert.assertNull(TransactionContext.getId());
+    }
+
     @Test
     public void testTransactionContextSetMetadataNoAgentLoaded() {
         TransactionContext.putMetadata("metadata", "value");
@@ -141,4 +146,25 @@ public class TransactionContextTests {
     public void testIsWithinCreatedContextWhenAgentNotLoaded() {
         Assert.assertFalse(TransactionContext.isWithinCreatedContext());
     }
+
+    @Test
+    public void testMetadataKeyAccessorsNoAgentLoaded() {
+        MetadataKey<String> key = TransactionContext.key("metadata", String.class);
+        TransactionContext.putMetadata(key, "value");
+        Assert.assertNull(TransactionContext.getMetadata(key));
+        TransactionContext.removeMetadata(key);
+    }
+
+    @Test
+    public void testIntMetadataKeyAccessorsNoAgentLoaded() {
+        MetadataKey<Integer> key = TransactionContext.key("metadata", int.class);
+        Assert.assertEquals(Integer.class, key.getType());
+        TransactionContext.putIntMetadata(key, 1);
+        Assert.assertEquals(-1, TransactionContext.getIntMetadata(key, -1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMetadataKeyWithReservedIdentifier() {
+        TransactionContext.key("$amazon.discoIdentifier", String.class);
+    }
 }
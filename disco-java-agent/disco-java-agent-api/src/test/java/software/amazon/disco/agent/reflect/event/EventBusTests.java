@@ -48,4 +48,9 @@ public class EventBusTests {
         EventBus.addListener(listener);
         Assert.assertFalse(EventBus.isListenerPresent(listener));
     }
+
+    @Test
+    public void testIsAnyListenerInterestedWhenDiscoNotLoaded() {
+        Assert.assertFalse(EventBus.isAnyListenerInterested(Event.class));
+    }
 }
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License").
+ *   You may not use this file except in compliance with the License.
+ *   A copy of the License is located at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file. This file is distributed
+ *   on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *   express or implied. See the License for the specific language governing
+ *   permissions and limitations under the License.
+ */
+
+package software.amazon.disco.agent.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TransactionIdTests {
+    @Test
+    public void testToString() {
+        Assert.assertEquals("000000000000000100000000000000ff", new TransactionId(1L, 255L).toString());
+    }
+
+    @Test
+    public void testToStringIsCached() {
+        TransactionId id = TransactionId.generate();
+        Assert.assertSame(id.toString(), id.toString());
+    }
+
+    @Test
+    public void testParseRoundTrip() {
+        TransactionId id = TransactionId.generate();
+        TransactionId parsed = TransactionId.parse(id.toString());
+        Assert.assertEquals(id, parsed);
+        Assert.assertEquals(id.hashCode(), parsed.hashCode());
+        Assert.assertEquals(id.getHigh(), parsed.getHigh());
+        Assert.assertEquals(id.getLow(), parsed.getLow());
+    }
+
+    @Test
+    public void testParseUpperCase() {
+        Assert.assertEquals(new TransactionId(-1L, 10L), TransactionId.parse("FFFFFFFFFFFFFFFF000000000000000A"));
+    }
+
+    @Test
+    public void testParseUpperCaseRendersLowerCase() {
+        TransactionId parsed = TransactionId.parse("FFFFFFFFFFFFFFFF000000000000000A");
+        Assert.assertEquals("ffffffffffffffff000000000000000a", parsed.toString());
+        Assert.assertEquals(new TransactionId(-1L, 10L).toString(), parsed.toString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParseWrongLength() {
+        TransactionId.parse("abc");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParseNonHex() {
+        TransactionId.parse("000000000000000g0000000000000000");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParseNull() {
+        TransactionId.parse(null);
+    }
+
+    @Test
+    public void testEquality() {
+        Assert.assertEquals(new TransactionId(1L, 2L), new TransactionId(1L, 2L));
+        Assert.assertNotEquals(new TransactionId(1L, 2L), new TransactionId(2L, 1L));
+        Assert.assertNotEquals(new TransactionId(1L, 2L), "00000000000000010000000000000002");
+    }
+
+    @Test
+    public void testCompareToMatchesHexOrder() {
+        TransactionId small = new TransactionId(1L, -1L);
+        TransactionId large = new TransactionId(-1L, 0L);
+        Assert.assertTrue(small.compareTo(large) < 0);
+        Assert.assertTrue(large.compareTo(small) > 0);
+        Assert.assertTrue(small.toString().compareTo(large.toString()) < 0);
+        Assert.assertEquals(0, small.compareTo(new TransactionId(1L, -1L)));
+    }
+
+    @Test
+    public void testGenerateIsRandom() {
+        Assert.assertNotEquals(TransactionId.generate(), TransactionId.generate());
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License").
+ *   You may not use this file except in compliance with the License.
+ *   A copy of the License is located at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file. This file is distributed
+ *   on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *   express or implied. See the License for the specific language governing
+ *   permissions and limitations under the License.
+ */
+
+package software.amazon.disco.agent.integtest.concurrent;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import software.amazon.disco.agent.reflect.concurrent.TransactionContext;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Test the propagation of TransactionContext into the stages of a CompletableFuture, both those run asynchronously on an
+ * Executor and those run by whichever thread completes the future they depend on.
+ */
+public class CompletableFutureTests {
+    private static final int TIMEOUT_SECONDS = 10;
+    private ExecutorService executorService;
+
+    @Before
+    public void before() {
+        executorService = Executors.newSingleThreadExecutor();
+        TransactionContext.create();
+    }
+
+    @After
+    public void after() {
+        executorService.shutdown();
+        TransactionContext.clear();
+    }
+
+    @Test
+    public void testContextPropagatedToAsyncStagesOnCommonPool() throws Exception {
+        final String expectedId = TransactionContext.get();
+        String result = CompletableFuture.supplyAsync(TransactionContext::get)
+                .thenApplyAsync(id -> id + ":" + TransactionContext.get())
+                .thenCompose(ids -> CompletableFuture.supplyAsync(() -> ids + ":" + TransactionContext.get()))
+                .get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        Assert.assertEquals(expectedId + ":" + expectedId + ":" + expectedId, result);
+    }
+
+    @Test
+    public void testContextPropagatedToAsyncStagesOnExecutor() throws Exception {
+        final String expectedId = TransactionContext.get();
+        String result = CompletableFuture.supplyAsync(TransactionContext::get, executorService)
+                .thenApplyAsync(id -> id + ":" + TransactionContext.get(), executorService)
+                .get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        Assert.assertEquals(expectedId + ":" + expectedId, result);
+    }
+
+    @Test
+    public void testDependentStageCompletedFromOtherTransaction() throws Exception {
+        final String expectedId = TransactionContext.get();
+        final CompletableFuture<String> source = new CompletableFuture<>();
+        final CompletableFuture<String> dependent = source.thenApply(ignored -> TransactionContext.get());
+        final AtomicReference<String> completingIds = new AtomicReference<>();
+
+        //complete the source from a thread within a transaction of its own, as an I/O thread serving many requests might
+        Thread completer = new Thread(() -> {
+            TransactionContext.clear();
+            TransactionContext.create();
+            String ownId = TransactionContext.get();
+            source.complete("done");
+            completingIds.set(ownId + ":" + TransactionContext.get());
+        });
+        completer.start();
+        completer.join();
+
+        Assert.assertEquals(expectedId, dependent.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        String[] ids = completingIds.get().split(":");
+        Assert.assertNotEquals(expectedId, ids[0]);
+        Assert.assertEquals("completing thread's context must be restored after the dependent stage ran", ids[0], ids[1]);
+    }
+
+    @Test
+    public void testStageAddedToCompletedFutureRunsInCurrentContext() throws Exception {
+        final String expectedId = TransactionContext.get();
+        String result = CompletableFuture.completedFuture("done")
+                .thenApply(ignored -> TransactionContext.get())
+                .get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        Assert.assertEquals(expectedId, result);
+        Assert.assertEquals(expectedId, TransactionContext.get());
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License").
+ *   You may not use this file except in compliance with the License.
+ *   A copy of the License is located at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file. This file is distributed
+ *   on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *   express or implied. See the License for the specific language governing
+ *   permissions and limitations under the License.
+ */
+
+package software.amazon.disco.agent.integtest.concurrent;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import software.amazon.disco.agent.reflect.concurrent.TransactionContext;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test the propagation of TransactionContext into JDK 21 virtual threads. The tests are skipped on earlier JDKs, and use
+ * reflection so that they still compile against the Java 8 API.
+ */
+public class VirtualThreadTests {
+    private static final int THREAD_COUNT = 100_000;
+    private static final String METADATA_KEY = "virtualThreadTestKey";
+
+    //generous, but far below what retaining a copy of the context per virtual thread would cost
+    private static final long MAX_RETAINED_BYTES = 32L * 1024 * 1024;
+
+    private Method ofVirtual;
+    private Method builderStart;
+    private Method newVirtualThreadPerTaskExecutor;
+
+    @Before
+    public void before() throws Exception {
+        try {
+            ofVirtual = Thread.class.getMethod("ofVirtual");
+            builderStart = Class.forName("java.lang.Thread$Builder").getMethod("start", Runnable.class);
+            newVirtualThreadPerTaskExecutor = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException | ClassNotFoundException e) {
+            Assume.assumeNoException("Virtual threads are not supported by this JDK", e);
+        }
+
+        TransactionContext.create();
+        TransactionContext.putMetadata(METADATA_KEY, "value");
+    }
+
+    @After
+    public void after() {
+        TransactionContext.clear();
+    }
+
+    @Test
+    public void testContextPropagatedToVirtualThread() throws Exception {
+        final String expectedId = TransactionContext.get();
+        final AtomicInteger correct = new AtomicInteger();
+        Thread thread = (Thread) builderStart.invoke(ofVirtual.invoke(null), new ContextCheckingRunnable(expectedId, correct, null));
+        thread.join();
+        Assert.assertEquals(1, correct.get());
+    }
+
+    @Test
+    public void testNoContextPropagatedOutsideTransaction() throws Exception {
+        TransactionContext.clear();
+        final AtomicInteger propagated = new AtomicInteger();
+        Thread thread = (Thread) builderStart.invoke(ofVirtual.invoke(null), (Runnable) () -> {
+            if (TransactionContext.getMetadata(METADATA_KEY) != null) {
+                propagated.incrementAndGet();
+            }
+        });
+        thread.join();
+        Assert.assertEquals(0, propagated.get());
+    }
+
+    @Test
+    public void testManyVirtualThreadsReceiveContextWithBoundedMemory() throws Exception {
+        final String expectedId = TransactionContext.get();
+        final AtomicInteger correct = new AtomicInteger();
+        final CountDownLatch done = new CountDownLatch(THREAD_COUNT);
+
+        final long usedBefore = usedHeapAfterGc();
+        ExecutorService executor = (ExecutorService) newVirtualThreadPerTaskExecutor.invoke(null);
+        try {
+            for (int i = 0; i < THREAD_COUNT; i++) {
+                executor.execute(new ContextCheckingRunnable(expectedId, correct, done));
+            }
+            Assert.assertTrue(done.await(2, TimeUnit.MINUTES));
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+
+        Assert.assertEquals(THREAD_COUNT, correct.get());
+
+        //the terminated virtual threads, and the carrier threads they were mounted on, must not hold on to the context
+        final long retained = usedHeapAfterGc() - usedBefore;
+        Assert.assertTrue("Retained " + retained + " bytes after " + THREAD_COUNT + " virtual threads", retained < MAX_RETAINED_BYTES);
+    }
+
+    private static long usedHeapAfterGc() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * Checks the TransactionContext both before and after yielding, so that the virtual thread is likely to be remounted,
+     * perhaps on a different carrier thread, part way through.
+     */
+    static class ContextCheckingRunnable implements Runnable {
+        private final String expectedId;
+        private final AtomicInteger correct;
+        private final CountDownLatch done;
+
+        ContextCheckingRunnable(String expectedId, AtomicInteger correct, CountDownLatch done) {
+            this.expectedId = expectedId;
+            this.correct = correct;
+            this.done = done;
+        }
+
+        @Override
+        public void run() {
+            try {
+                boolean before = isContextPresent();
+                Thread.yield();
+                if (before && isContextPresent()) {
+                    correct.incrementAndGet();
+                }
+            } finally {
+                if (done != null) {
+                    done.countDown();
+                }
+            }
+        }
+
+        private boolean isContextPresent() {
+            return expectedId.equals(TransactionContext.get()) && "value".equals(TransactionContext.getMetadata(METADATA_KEY));
+        }
+    }
+}
@@ -18,10 +18,13 @@ package software.amazon.disco.agent;
 import net.bytebuddy.description.type.TypeDescription;
 import net.bytebuddy.matcher.ElementMatcher;
 import net.bytebuddy.matcher.ElementMatchers;
+import software.amazon.disco.agent.concurrent.TransactionContext;
+import software.amazon.disco.agent.concurrent.TransactionContextStorage;
 import software.amazon.disco.agent.concurrent.decorate.DecoratedRunnable;
 import software.amazon.disco.agent.concurrent.preprocess.DiscoRunnableDecorator;
 import software.amazon.disco.agent.config.AgentConfig;
 import software.amazon.disco.agent.config.AgentConfigParser;
+import software.amazon.disco.agent.event.EventBus;
 import software.amazon.disco.agent.interception.Installable;
 import software.amazon.disco.agent.interception.InterceptionInstaller;
 import software.amazon.disco.agent.interception.EffectVerificationStrategy;
@@ -86,6 +89,22 @@ public class DiscoAgentTemplate {
         } else if (config.isVerbose()) {
             LogManager.setMinimumLevel(Logger.Level.DEBUG);
         }
+
+        if (config.isAsyncEvents()) {
+            log.info("DiSCo(Core) enabling asynchronous event dispatch with capacity " + config.getAsyncEventsCapacity()
+                    + " and overflow policy " + config.getAsyncEventsOverflowPolicy());
+            EventBus.enableAsyncDispatch(config.getAsyncEventsCapacity(), config.getAsyncEventsOverflowPolicy());
+        }
+
+        if (config.getContextStorage() != TransactionContextStorage.Type.THREAD_LOCAL) {
+            log.info("DiSCo(Core) requesting " + config.getContextStorage() + " storage for TransactionContext");
+            TransactionContext.useStorage(config.getContextStorage());
+        }
+
+        if (config.isBinaryTransactionIds()) {
+            log.info("DiSCo(Core) enabling 128-bit binary transaction ids");
+            TransactionContext.useBinaryTransactionIds(true);
+        }
     }
 
     /**
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License").
+ *   You may not use this file except in compliance with the License.
+ *   A copy of the License is located at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file. This file is distributed
+ *   on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *   express or implied. See the License for the specific language governing
+ *   permissions and limitations under the License.
+ */
+
+package software.amazon.disco.agent.concurrent;
+
+import net.bytebuddy.agent.builder.AgentBuilder;
+import net.bytebuddy.asm.Advice;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.matcher.ElementMatcher;
+import software.amazon.disco.agent.concurrent.decorate.CallableBatch;
+import software.amazon.disco.agent.interception.Installable;
+import software.amazon.disco.agent.logging.LogManager;
+import software.amazon.disco.agent.logging.Logger;
+
+import java.util.Collection;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+
+import static net.bytebuddy.matcher.ElementMatchers.*;
+
+/**
+ * AbstractExecutorService, the base class of ThreadPoolExecutor among others, implements invokeAll() and invokeAny() by
+ * wrapping each Callable in a FutureTask and passing it to execute(), which the {@link ExecutorInterceptor} would otherwise
+ * decorate one task at a time. Instead we decorate the whole collection up front, sharing one captured context, and mark
+ * the submitting thread so that the individual executes are left alone.
+ *
+ * ForkJoinPool's own implementations are handled by the {@link ForkJoinPoolInterceptor}. A ScheduledThreadPoolExecutor
+ * inherits these methods, but decorates its tasks as they are scheduled, so is left to the {@link ScheduledFutureTaskInterceptor}.
+ */
+class AbstractExecutorServiceInterceptor implements Installable {
+    private static Logger log = LogManager.getLogger(AbstractExecutorServiceInterceptor.class);
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public AgentBuilder install(AgentBuilder agentBuilder) {
+        //AbstractExecutorService is loaded early by the JDK itself, so redefinition is required
+        return InterceptorUtils.configureRedefinition(agentBuilder)
+                .type(createTypeMatcher())
+                .transform((builder, typeDescription, classLoader, module) -> builder
+                    .visit(Advice.to(InvokeAdvice.class)
+                        .on(createMethodMatcher()))
+                );
+    }
+
+    /**
+     * Create a type matcher for AbstractExecutorService and its subclasses, other than ForkJoinPool
+     * @return a type matcher as per above
+     */
+    static ElementMatcher.Junction<? super TypeDescription> createTypeMatcher() {
+        return isSubTypeOf(AbstractExecutorService.class)
+                .and(not(isSubTypeOf(ForkJoinPool.class)));
+    }
+
+    /**
+     * Create a method matcher for any concrete implementation of invokeAll() or invokeAny(), timed or otherwise
+     * @return a method matcher as per above
+     */
+    static ElementMatcher.Junction<? super MethodDescription> createMethodMatcher() {
+        return named("invokeAll").or(named("invokeAny"))
+                .and(takesArgument(0, Collection.class))
+                .and(isOverriddenFrom(ExecutorService.class))
+                .and(not(isAbstract()));
+    }
+
+    /**
+     * A ByteBuddy Advice class to decorate the Collection of Callables passed to invokeAll() and invokeAny()
+     */
+    public static class InvokeAdvice {
+        /**
+         * Advice OnMethodEnter to decorate the supplied Collection of Callables as a batch
+         * @param thiz the ExecutorService
+         * @param tasks the Collection of Callables given
+         * @return whether the current thread was already submitting a batch, or null if the Collection was not decorated
+         */
+        @Advice.OnMethodEnter
+        public static Boolean onMethodEnter(@Advice.This Object thiz,
+                                            @Advice.Argument(value = 0, readOnly = false) Collection<? extends Callable<?>> tasks) {
+            try {
+                Collection<? extends Callable<?>> decorated = methodEnter(thiz, tasks);
+                if (decorated == tasks) {
+                    return null;
+                }
+                tasks = decorated;
+                return CallableBatch.beginSubmission();
+            } catch (Throwable t) {
+                captureThrowableForDebugging(t);
+                return null;
+            }
+        }
+
+        /**
+         * A trampoline method to make debugging possible from within an Advice
+         * @param executor the ExecutorService
+         * @param tasks the Collection of Callables as passed to the Advice OnMethodEnter method
+         * @return the Collection of decorated Callables, or the same Collection if no decoration was performed
+         */
+        public static Collection<? extends Callable<?>> methodEnter(Object executor, Collection<? extends Callable<?>> tasks) {
+            if (executor instanceof ScheduledThreadPoolExecutor) {
+                return tasks;
+            }
+            return CallableBatch.decorate(tasks);
+        }
+
+        /**
+         * Advice OnMethodExit to signal the end of the batch submission
+         * @param previous the value returned by the OnMethodEnter advice
+         */
+        @Advice.OnMethodExit(onThrowable = Throwable.class)
+        public static void onMethodExit(@Advice.Enter Boolean previous) {
+            if (previous != null) {
+                CallableBatch.endSubmission(previous);
+            }
+        }
+
+        /**
+         * Under normal circumstances should not be called, but for debugging, we call out to a 'real' method
+         * @param t the throwable which was thrown by the advice
+         */
+        public static void captureThrowableForDebugging(Throwable t) {
+            log.error("DiSCo(Concurrency) failed to decorate Callables for ExecutorService", t);
+        }
+    }
+}
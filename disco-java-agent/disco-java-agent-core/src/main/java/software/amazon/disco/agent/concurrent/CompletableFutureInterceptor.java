@@ -0,0 +1,261 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License").
+ *   You may not use this file except in compliance with the License.
+ *   A copy of the License is located at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file. This file is distributed
+ *   on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *   express or implied. See the License for the specific language governing
+ *   permissions and limitations under the License.
+ */
+
+package software.amazon.disco.agent.concurrent;
+
+import net.bytebuddy.agent.builder.AgentBuilder;
+import net.bytebuddy.asm.Advice;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.matcher.ElementMatcher;
+import software.amazon.disco.agent.concurrent.decorate.Decorated;
+import software.amazon.disco.agent.concurrent.decorate.DecoratedForkJoinTask;
+import software.amazon.disco.agent.interception.Installable;
+import software.amazon.disco.agent.logging.LogManager;
+import software.amazon.disco.agent.logging.Logger;
+
+import static net.bytebuddy.matcher.ElementMatchers.*;
+
+/**
+ * CompletableFuture runs the functions of its stages in one of two ways. The *Async stages, and supplyAsync()/runAsync(),
+ * hand an AsyncSupply, AsyncRun or Completion object to an Executor - the common ForkJoinPool by default. Every other
+ * dependent stage runs on whichever thread happens to complete its source, which may be the thread that created the stage,
+ * or e.g. a Netty I/O thread which completed a future on behalf of many transactions.
+ *
+ * All of these objects are ForkJoinTasks implementing CompletableFuture.AsynchronousCompletionTask, and so already carry the
+ * discoDecoration field added by the {@link ForkJoinTaskInterceptor}. We populate that field once per stage, as the stage
+ * object is constructed on the thread which called thenApply(), supplyAsync() and so on, and apply it around the methods
+ * which run the stage's function: tryFire() for any Completion, and run() for AsyncSupply and AsyncRun. Since the thread
+ * running a stage may belong to some other transaction, or none, its own context is restored once the stage has run.
+ *
+ * Stages built one after the other by the same thread, in the same context, share a single decoration, so a long chain of
+ * thenApply() calls costs one allocation rather than one per stage. A stage which runs on the thread and in the context in
+ * which it was built - the usual case for a stage added to an already-completed future - is left untouched.
+ *
+ * Executors receiving a stage which already carries its decoration do not decorate it again, see {@link #isDecoratedStage(Runnable)}.
+ */
+class CompletableFutureInterceptor implements Installable {
+    static final String COMPLETABLE_FUTURE_INNER_CLASS_PREFIX = "java.util.concurrent.CompletableFuture$";
+    static final String ASYNCHRONOUS_COMPLETION_TASK_CLASS = COMPLETABLE_FUTURE_INNER_CLASS_PREFIX + "AsynchronousCompletionTask";
+    static final String COMPLETION_CLASS = COMPLETABLE_FUTURE_INNER_CLASS_PREFIX + "Completion";
+    static final String ASYNC_SUPPLY_CLASS = COMPLETABLE_FUTURE_INNER_CLASS_PREFIX + "AsyncSupply";
+    static final String ASYNC_RUN_CLASS = COMPLETABLE_FUTURE_INNER_CLASS_PREFIX + "AsyncRun";
+    private static final StageDecorationCache stageDecorationCache = new StageDecorationCache();
+    private static Logger log = LogManager.getLogger(CompletableFutureInterceptor.class);
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public AgentBuilder install(AgentBuilder agentBuilder) {
+        //redefinition is configured since CompletableFuture is commonly loaded before the agent, e.g. by the JDK itself
+        return InterceptorUtils.configureRedefinition(agentBuilder)
+                .type(createTypeMatcher())
+                .transform((builder, typeDescription, classLoader, module) -> builder
+                    .visit(Advice.to(ConstructorAdvice.class)
+                        .on(createConstructorMatcher()))
+                    .visit(Advice.to(StageAdvice.class)
+                        .on(createStageMethodMatcher()))
+                );
+    }
+
+    /**
+     * Create a type matcher for the JDK's own stage classes nested within CompletableFuture
+     * @return a type matcher as per above
+     */
+    static ElementMatcher.Junction<? super TypeDescription> createTypeMatcher() {
+        return nameStartsWith(COMPLETABLE_FUTURE_INNER_CLASS_PREFIX)
+                .and(hasSuperType(named(ASYNCHRONOUS_COMPLETION_TASK_CLASS)));
+    }
+
+    /**
+     * Create a method matcher for the constructors of the abstract Completion class, from which every dependent stage
+     * derives, and of the AsyncSupply and AsyncRun tasks created by supplyAsync() and runAsync()
+     * @return a method matcher as per above
+     */
+    static ElementMatcher.Junction<? super MethodDescription> createConstructorMatcher() {
+        return isConstructor()
+                .and(isDeclaredBy(named(COMPLETION_CLASS).or(named(ASYNC_SUPPLY_CLASS)).or(named(ASYNC_RUN_CLASS))));
+    }
+
+    /**
+     * Create a method matcher for the methods which run the function of a stage - every concrete implementation of
+     * Completion#tryFire(int), and the run() methods of AsyncSupply and AsyncRun
+     * @return a method matcher as per above
+     */
+    static ElementMatcher.Junction<? super MethodDescription> createStageMethodMatcher() {
+        return named("tryFire").and(takesArguments(int.class)).and(not(isAbstract()))
+                .or(named("run").and(takesArguments(0)).and(isDeclaredBy(named(ASYNC_SUPPLY_CLASS).or(named(ASYNC_RUN_CLASS)))));
+    }
+
+    /**
+     * Test if a Runnable being submitted to an Executor is a CompletableFuture stage which already carries the context it
+     * should run in. Such Runnables need no further decoration, and a ForkJoinPool will then execute them directly as the
+     * ForkJoinTasks they are, rather than wrapping them.
+     *
+     * @param task the Runnable being submitted
+     * @return true if the Runnable is a CompletableFuture stage with a populated decoration
+     */
+    static boolean isDecoratedStage(Runnable task) {
+        return task instanceof DecoratedForkJoinTask.Accessor
+                && task.getClass().getName().startsWith(COMPLETABLE_FUTURE_INNER_CLASS_PREFIX)
+                && ((DecoratedForkJoinTask.Accessor)task).getDiscoDecoration() != null;
+    }
+
+    /**
+     * Create the decoration for a stage being built on the current thread, reusing the one most recently created by this
+     * thread if it was captured from the very same context.
+     * @return a decoration for the stage
+     */
+    static DecoratedForkJoinTask createStageDecoration() {
+        DecoratedForkJoinTask cached = stageDecorationCache.get();
+        if (!Decorated.isPropagationRequired()) {
+            //drop any decoration left over from an earlier transaction, so that its context is not retained by this thread
+            if (cached != null) {
+                stageDecorationCache.remove();
+            }
+            return DecoratedForkJoinTask.create();
+        }
+
+        if (cached != null && !cached.isContextSwitchRequired()) {
+            return cached;
+        }
+
+        DecoratedForkJoinTask decorated = DecoratedForkJoinTask.create();
+        stageDecorationCache.set(decorated);
+        return decorated;
+    }
+
+    /**
+     * The decoration most recently created by each thread for a CompletableFuture stage. An explicit subclass rather than
+     * a lambda initializer, since this class may be loaded while the JVM is still bootstrapping.
+     */
+    static class StageDecorationCache extends ThreadLocal<DecoratedForkJoinTask> {
+    }
+
+    /**
+     * A ByteBuddy Advice class to populate the decoration of a stage as it is constructed
+     */
+    public static class ConstructorAdvice {
+        /**
+         * Advice OnMethodExit for the constructor of the stage
+         * @param thiz the stage being constructed
+         */
+        @Advice.OnMethodExit
+        public static void onConstructorExit(@Advice.This Object thiz) {
+            try {
+                methodExit(thiz);
+            } catch (Throwable t) {
+                captureThrowableForDebugging(t);
+            }
+        }
+
+        /**
+         * A trampoline method to make debugging possible from within an Advice
+         * @param stage the stage being constructed
+         */
+        public static void methodExit(Object stage) {
+            if (stage instanceof DecoratedForkJoinTask.Accessor) {
+                ((DecoratedForkJoinTask.Accessor)stage).setDiscoDecoration(createStageDecoration());
+            }
+        }
+
+        /**
+         * Under normal circumstances should not be called, but for debugging, we call out to a 'real' method
+         * @param t the throwable which was thrown by the advice
+         */
+        public static void captureThrowableForDebugging(Throwable t) {
+            log.error("DiSCo(Concurrency) failed to capture context for CompletableFuture stage", t);
+        }
+    }
+
+    /**
+     * A ByteBuddy Advice class to run the function of a stage within the context captured when it was constructed
+     */
+    public static class StageAdvice {
+        /**
+         * Advice OnMethodEnter for the tryFire() or run() method of the stage
+         * @param thiz the stage about to run
+         * @return the context which the current thread held beforehand, or null if the stage needs no treatment
+         */
+        @Advice.OnMethodEnter
+        public static TransactionContextData onMethodEnter(@Advice.This Object thiz) {
+            try {
+                return methodEnter(thiz);
+            } catch (Throwable t) {
+                captureThrowableForDebugging(t);
+                return null;
+            }
+        }
+
+        /**
+         * A trampoline method to make debugging possible from within an Advice. Installs the stage's context, if it differs
+         * from that of the current thread.
+         * @param stage the stage about to run
+         * @return the context which the current thread held beforehand, or null if the stage needs no treatment
+         */
+        public static TransactionContextData methodEnter(Object stage) {
+            if (!(stage instanceof DecoratedForkJoinTask.Accessor)) {
+                return null;
+            }
+
+            DecoratedForkJoinTask decorated = ((DecoratedForkJoinTask.Accessor)stage).getDiscoDecoration();
+            if (decorated == null || !decorated.isContextSwitchRequired()) {
+                return null;
+            }
+
+            TransactionContextData previous = TransactionContext.getPrivateContext();
+            decorated.before();
+            return previous;
+        }
+
+        /**
+         * Advice OnMethodExit for the tryFire() or run() method of the stage
+         * @param thiz the stage which ran
+         * @param previous the context returned by the OnMethodEnter advice
+         */
+        @Advice.OnMethodExit(onThrowable = Throwable.class)
+        public static void onMethodExit(@Advice.This Object thiz, @Advice.Enter TransactionContextData previous) {
+            try {
+                methodExit(thiz, previous);
+            } catch (Throwable t) {
+                captureThrowableForDebugging(t);
+            }
+        }
+
+        /**
+         * A trampoline method to make debugging possible from within an Advice. Restores the context the current thread
+         * held before the stage ran.
+         * @param stage the stage which ran
+         * @param previous the context returned by methodEnter
+         */
+        public static void methodExit(Object stage, TransactionContextData previous) {
+            if (previous == null) {
+                return;
+            }
+
+            ((DecoratedForkJoinTask.Accessor)stage).getDiscoDecoration().after();
+            TransactionContext.setPrivateContext(previous);
+        }
+
+        /**
+         * Under normal circumstances should not be called, but for debugging, we call out to a 'real' method
+         * @param t the throwable which was thrown by the advice
+         */
+        public static void captureThrowableForDebugging(Throwable t) {
+            log.error("DiSCo(Concurrency) failed to propagate context into CompletableFuture stage", t);
+        }
+    }
+}
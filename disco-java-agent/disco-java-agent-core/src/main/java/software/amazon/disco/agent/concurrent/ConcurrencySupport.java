@@ -38,7 +38,10 @@ public class ConcurrencySupport implements Package {
                 new ThreadInterceptor(),
                 new ThreadSubclassInterceptor(),
                 new ScheduledFutureTaskInterceptor(),
-                new ThreadPoolInterceptor()
+                new ThreadPoolInterceptor(),
+                new VirtualThreadInterceptor(),
+                new CompletableFutureInterceptor(),
+                new AbstractExecutorServiceInterceptor()
         );
     }
 }
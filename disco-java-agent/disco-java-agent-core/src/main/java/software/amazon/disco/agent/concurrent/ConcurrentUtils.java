@@ -37,14 +37,27 @@ public class ConcurrentUtils {
      * @param discoTransactionContext the parent's TransactionContext map.
      */
     public static void enter(long parentThreadId, ConcurrentMap<String, MetadataItem> discoTransactionContext) {
+        enterContext(parentThreadId, discoTransactionContext == null ? null : TransactionContextData.of(discoTransactionContext));
+    }
+
+    /**
+     * Signals that a worker thread is about to perform some assigned work, as {@link #enter(long, ConcurrentMap)}, but taking
+     * the parent's context in its native form rather than as a map.
+     *
+     * @param parentThreadId          the threadId of the thread which created the object being passed across thread boundary
+     * @param discoTransactionContext the parent's TransactionContext data.
+     */
+    public static void enterContext(long parentThreadId, TransactionContextData discoTransactionContext) {
         if (discoTransactionContext == null) {
             log.error("DiSCo(Core) could not propagate null context from parent thread id " + parentThreadId + " to thread id " + Thread.currentThread().getId());
             return;
         }
 
         if (!isDiscoNullId(discoTransactionContext)) {
-            TransactionContext.setPrivateMetadata(discoTransactionContext);
-            EventBus.publish(new ThreadEnterEvent("Concurrency", parentThreadId, Thread.currentThread().getId()));
+            TransactionContext.setPrivateContext(discoTransactionContext);
+            if (EventBus.isAnyListenerInterested(ThreadEnterEvent.class)) {
+                ThreadEventPublisher.publishEnter(parentThreadId);
+            }
         }
     }
 
@@ -63,12 +76,24 @@ public class ConcurrentUtils {
      * @param removeTransactionContext true if the TransactionContext ThreadLocal data should be removed for garbage collection
      */
     public static void exit(long parentThreadId, ConcurrentMap<String, MetadataItem> discoTransactionContext, boolean removeTransactionContext) {
+        exitContext(parentThreadId, discoTransactionContext == null ? null : TransactionContextData.of(discoTransactionContext), removeTransactionContext);
+    }
+
+    /**
+     * Signals that a sub-thread is exiting, as {@link #exit(long, ConcurrentMap, boolean)}, but taking the parent's context in
+     * its native form rather than as a map.
+     *
+     * @param parentThreadId           the threadId of the thread which created the object being passed across thread boundary
+     * @param discoTransactionContext  the parent's TransactionContext data.
+     * @param removeTransactionContext true if the TransactionContext ThreadLocal data should be removed for garbage collection
+     */
+    public static void exitContext(long parentThreadId, TransactionContextData discoTransactionContext, boolean removeTransactionContext) {
         if (discoTransactionContext == null) {
             return;
         }
 
-        if (!isDiscoNullId(discoTransactionContext)) {
-            EventBus.publish(new ThreadExitEvent("Concurrency", parentThreadId, Thread.currentThread().getId()));
+        if (!isDiscoNullId(discoTransactionContext) && EventBus.isAnyListenerInterested(ThreadExitEvent.class)) {
+            ThreadEventPublisher.publishExit(parentThreadId);
         }
 
         if (removeTransactionContext) {
@@ -84,11 +109,7 @@ public class ConcurrentUtils {
      * @param discoTransactionContext the context to check
      * @return true if it is the sentinel value for a null ID, indicating a non-parented thread handoff.
      */
-    private static boolean isDiscoNullId(ConcurrentMap<String, MetadataItem> discoTransactionContext) {
-        MetadataItem item = discoTransactionContext.get(TransactionContext.TRANSACTION_ID_KEY);
-        if (item == null) {
-            return false;
-        }
-        return TransactionContext.getUninitializedTransactionContextValue().equals(item.get());
+    private static boolean isDiscoNullId(TransactionContextData discoTransactionContext) {
+        return TransactionContext.getUninitializedTransactionContextValue().equals(discoTransactionContext.getTransactionId());
     }
 }
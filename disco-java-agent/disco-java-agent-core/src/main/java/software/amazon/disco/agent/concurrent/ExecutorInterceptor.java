@@ -15,6 +15,7 @@
 
 package software.amazon.disco.agent.concurrent;
 
+import software.amazon.disco.agent.concurrent.decorate.CallableBatch;
 import software.amazon.disco.agent.concurrent.decorate.DecoratedRunnable;
 import software.amazon.disco.agent.interception.Installable;
 import software.amazon.disco.agent.logging.LogManager;
@@ -82,10 +83,15 @@ class ExecutorInterceptor implements Installable {
          * inlined bytecode produced.
          *
          * @param command the incoming command
-         * @return the decorated command
+         * @return the decorated command, or the same command if it is the Continuation of a virtual thread, an
+         * already decorated CompletableFuture stage, or a member of a decorated batch of Callables
          */
         public static Runnable methodEnter(Runnable command) {
-            return DecoratedRunnable.maybeCreate(command);
+            if (VirtualThreadInterceptor.isVirtualThreadContinuation(command) || CompletableFutureInterceptor.isDecoratedStage(command)
+                    || CallableBatch.isBatchMember(command)) {
+                return command;
+            }
+            return DecoratedRunnable.maybeDecorate(command);
         }
 
         /**
@@ -15,6 +15,7 @@
 
 package software.amazon.disco.agent.concurrent;
 
+import software.amazon.disco.agent.concurrent.decorate.CallableBatch;
 import software.amazon.disco.agent.concurrent.decorate.DecoratedCallable;
 import software.amazon.disco.agent.concurrent.decorate.DecoratedForkJoinTask;
 import software.amazon.disco.agent.concurrent.decorate.DecoratedRunnable;
@@ -28,7 +29,6 @@ import net.bytebuddy.description.type.TypeDescription;
 import net.bytebuddy.implementation.bytecode.assign.Assigner;
 import net.bytebuddy.matcher.ElementMatcher;
 
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ForkJoinPool;
@@ -109,12 +109,12 @@ class ForkJoinPoolInterceptor implements OneShotInstallable {
 
     /**
      * Create a method matcher, matching any of the methods which take a Collection of Callables as an argument, being the
-     * invokeAll() method
+     * invokeAll() and invokeAny() methods, timed or otherwise
      * @return a method matcher as per above
      */
     static ElementMatcher.Junction<? super MethodDescription> createCallableCollectionMethodsMatcher() {
         return isPublic()
-                .and(named("invokeAll"))
+                .and(named("invokeAll").or(named("invokeAny")))
                 .and(takesArgument(0, Collection.class)
             );
     }
@@ -147,10 +147,15 @@ class ForkJoinPoolInterceptor implements OneShotInstallable {
         /**
          * A trampoline method to make debugging possible from within an Advice
          * @param task the Runnable as passed to the Advice OnMethodEnter method
-         * @return the decorated Runnable, or the same Runnable if it was already decorated
+         * @return the decorated Runnable, or the same Runnable if it was already decorated, is the Continuation of a virtual
+         * thread, is an already decorated CompletableFuture stage, or is a member of a decorated batch of Callables
          */
         public static Runnable methodEnter(Runnable task) {
-            return DecoratedRunnable.maybeCreate(task);
+            if (VirtualThreadInterceptor.isVirtualThreadContinuation(task) || CompletableFutureInterceptor.isDecoratedStage(task)
+                    || CallableBatch.isBatchMember(task)) {
+                return task;
+            }
+            return DecoratedRunnable.maybeDecorate(task);
         }
     }
 
@@ -163,7 +168,7 @@ class ForkJoinPoolInterceptor implements OneShotInstallable {
          * @param task the Callable given
          */
         @Advice.OnMethodEnter
-        public static void onMethodEnter(@Advice.Argument(value = 0, readOnly = false) Callable task) {
+        public static void onMethodEnter(@Advice.Argument(value = 0, readOnly = false) Callable<?> task) {
             task = methodEnter(task);
         }
 
@@ -172,8 +177,8 @@ class ForkJoinPoolInterceptor implements OneShotInstallable {
          * @param task the Callable as passed to the Advice OnMethodEnter method
          * @return the decorated Callable, or the same Callable if it was already decorated
          */
-        public static Callable methodEnter(Callable task) {
-            return DecoratedCallable.maybeCreate(task);
+        public static Callable<?> methodEnter(Callable<?> task) {
+            return DecoratedCallable.maybeDecorate(task);
         }
     }
 
@@ -186,26 +191,17 @@ class ForkJoinPoolInterceptor implements OneShotInstallable {
          * @param tasks the Collection of Callables given
          */
         @Advice.OnMethodEnter
-        public static void onMethodEnter(@Advice.Argument(value = 0, readOnly = false) Collection<Callable> tasks) {
+        public static void onMethodEnter(@Advice.Argument(value = 0, readOnly = false) Collection<? extends Callable<?>> tasks) {
             tasks = methodEnter(tasks);
         }
 
         /**
          * A trampoline method to make debugging possible from within an Advice
          * @param tasks the Collection of Callables as passed to the Advice OnMethodEnter method
-         * @return the Collection of decorated Callables
+         * @return the Collection of decorated Callables, sharing one captured context
          */
-        public static Collection<Callable> methodEnter(Collection<Callable> tasks) {
-            int size = tasks.size();
-            if (size > 0) {
-                Collection decorated = new ArrayList(size);
-                for (Callable c: tasks) {
-                    decorated.add((DecoratedCallable.maybeCreate(c)));
-                }
-                return decorated;
-            }
-            //fallback to returning input, if no processing could be performed
-            return tasks;
+        public static Collection<? extends Callable<?>> methodEnter(Collection<? extends Callable<?>> tasks) {
+            return CallableBatch.decorate(tasks);
         }
     }
 
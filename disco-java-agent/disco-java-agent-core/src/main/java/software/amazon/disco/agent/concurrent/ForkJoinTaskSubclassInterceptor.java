@@ -28,6 +28,9 @@ import software.amazon.disco.agent.logging.Logger;
 
 import static net.bytebuddy.matcher.ElementMatchers.*;
 
+import java.util.Collections;
+import java.util.List;
+
 /**
  * All ForkJoinTasks must implement exec(), which is the method called to actually perform the work, and the method which
  * may therefore be in a different thread than that in which fork() was invoked. We hook the exec() method to populate the
@@ -50,11 +53,21 @@ class ForkJoinTaskSubclassInterceptor implements Installable {
     }
 
     /**
-     * Creates a type matcher which matches against any subclass of ForkJoinTask
+     * {@inheritDoc}
+     */
+    @Override
+    public List<String> getCandidateSuperTypeNames() {
+        return Collections.singletonList("java.util.concurrent.ForkJoinTask");
+    }
+
+    /**
+     * Creates a type matcher which matches against any subclass of ForkJoinTask, other than the CompletableFuture stages
+     * handled by the {@link CompletableFutureInterceptor}
      * @return the type matcher per the above
      */
     static ElementMatcher.Junction<? super TypeDescription> createForkJoinTaskSubclassTypeMatcher() {
-        return hasSuperType(named("java.util.concurrent.ForkJoinTask"));
+        return hasSuperType(named("java.util.concurrent.ForkJoinTask"))
+                .and(not(nameStartsWith(CompletableFutureInterceptor.COMPLETABLE_FUTURE_INNER_CLASS_PREFIX)));
     }
 
     /**
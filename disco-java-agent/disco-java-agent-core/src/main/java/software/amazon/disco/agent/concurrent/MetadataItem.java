@@ -15,7 +15,10 @@
 
 package software.amazon.disco.agent.concurrent;
 
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.Set;
+
 /**
  * Encapsulates metadata values and tags so that they can be stored in a single
  * thread local map in TransactionContext.
@@ -24,10 +27,18 @@ import java.util.HashSet;
  * functionality.  The initial use case for tags is to specify which metadata
  * should be propagated with downstream calls.
  *
+ * Since most metadata is never tagged, the tag set is shared and empty until the first tag is added. Tag sets are
+ * replaced rather than modified, so that they may be read without locking.
+ *
+ * An item stored in a TransactionContext records the context and key it is stored under, so that tags applied to it
+ * directly are added to the context's index of tagged metadata.
  */
 public class MetadataItem {
-    private Object value;
-    private HashSet<String> tags = new java.util.HashSet<>();
+    private volatile Object value;
+    private volatile Set<String> tags = Collections.emptySet();
+    //the context in which this item is stored, and its key there, or null if not stored
+    private TransactionContextData owner;
+    private String ownerKey;
 
 
     /**
@@ -65,15 +76,74 @@ public class MetadataItem {
      * @param tag The tag to be attributed to this MetadataItem.
      */
     public void setTag(String tag) {
-        tags.add(tag);
+        final TransactionContextData context;
+        final String key;
+        synchronized (this) {
+            if (!addTag(tag)) {
+                return;
+            }
+            context = owner;
+            key = ownerKey;
+        }
+        //outside of this item's lock, since the context locks itself before its items
+        if (context != null) {
+            context.indexTag(key, tag);
+        }
+    }
+
+    /**
+     * Add a tag to this MetadataItem, without reporting it to the context storing the item
+     * @param tag the tag
+     * @return true if the tag was added, false if the item already had it
+     */
+    synchronized boolean addTag(String tag) {
+        final Set<String> current = tags;
+        if (current.contains(tag)) {
+            return false;
+        }
+        if (current.isEmpty()) {
+            tags = Collections.singleton(tag);
+        } else {
+            final Set<String> updated = new HashSet<>(current);
+            updated.add(tag);
+            tags = Collections.unmodifiableSet(updated);
+        }
+        return true;
+    }
+
+    /**
+     * Record that this MetadataItem is stored in a context under a key
+     * @param context the context
+     * @param key the key
+     * @return true if the item is stored nowhere else, so that it will report tags applied to it directly to the context
+     */
+    synchronized boolean attach(TransactionContextData context, String key) {
+        if (owner == null) {
+            owner = context;
+            ownerKey = key;
+            return true;
+        }
+        return owner == context && ownerKey.equals(key);
+    }
+
+    /**
+     * Record that this MetadataItem is no longer stored in a context under a key
+     * @param context the context
+     * @param key the key
+     */
+    synchronized void detach(TransactionContextData context, String key) {
+        if (owner == context && ownerKey.equals(key)) {
+            owner = null;
+            ownerKey = null;
+        }
     }
 
     /**
      * Get the set of tags for this MetadataItem.
      *
-     * @return the unique set of tags for this MetadataItem.
+     * @return the unique set of tags for this MetadataItem, which cannot be modified.
      */
-    public java.util.Set<String> getTags() {
+    public Set<String> getTags() {
         return tags;
     }
 
@@ -82,11 +152,8 @@ public class MetadataItem {
      * @param tag a tag to inspect on this metadata
      * @return True if the tag exists.
      */
-    public Boolean hasTag(String tag) {
-        if (tags.contains(tag)) {
-            return true;
-        }
-        return false;
+    public boolean hasTag(String tag) {
+        return tags.contains(tag);
     }
 
 
@@ -95,8 +162,18 @@ public class MetadataItem {
      *
      * @param tag The tag to be cleared.
      */
-    public void clearTag(String tag) {
-        tags.remove(tag);
+    public synchronized void clearTag(String tag) {
+        final Set<String> current = tags;
+        if (!current.contains(tag)) {
+            return;
+        }
+        if (current.size() == 1) {
+            tags = Collections.emptySet();
+        } else {
+            final Set<String> updated = new HashSet<>(current);
+            updated.remove(tag);
+            tags = Collections.unmodifiableSet(updated);
+        }
     }
 
 }
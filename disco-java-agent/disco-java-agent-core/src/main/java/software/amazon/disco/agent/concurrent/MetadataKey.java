@@ -0,0 +1,151 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License").
+ *   You may not use this file except in compliance with the License.
+ *   A copy of the License is located at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file. This file is distributed
+ *   on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *   express or implied. See the License for the specific language governing
+ *   permissions and limitations under the License.
+ */
+
+package software.amazon.disco.agent.concurrent;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A pre-resolved handle to an item of TransactionContext metadata, obtained once via {@link TransactionContext#key(String, Class)}
+ * and then used in place of its String name. Each distinct name is assigned a small slot index the first time a handle is
+ * requested for it, so that access through the handle is an array lookup rather than a hash of the name.
+ *
+ * Metadata stored via a handle is also visible under its String name, and vice versa. Handles with Integer or Long type
+ * additionally store their values unboxed, via methods such as {@link TransactionContext#putIntMetadata(MetadataKey, int)}.
+ *
+ * @param <T> the type of the metadata value
+ */
+public final class MetadataKey<T> {
+    private static final ConcurrentMap<String, MetadataKey<?>> KEYS = new ConcurrentHashMap<>();
+    private static volatile MetadataKey<?>[] byIndex = new MetadataKey<?>[0];
+
+    private final String name;
+    private final Class<T> type;
+    final int index;
+    final boolean primitive;
+
+    /**
+     * Construct a new MetadataKey
+     * @param name the metadata name
+     * @param type the type of the metadata value
+     * @param index the slot index assigned to the name
+     */
+    private MetadataKey(String name, Class<T> type, int index) {
+        this.name = name;
+        this.type = type;
+        this.index = index;
+        this.primitive = type == Integer.class || type == Long.class;
+    }
+
+    /**
+     * Obtain a handle for a metadata name, assigning it a slot index if it is the first request for that name. Two handles
+     * for the same name share their storage, even if their types differ.
+     * @param name the metadata name
+     * @param type the type of the metadata value. Primitive classes such as int.class are treated as their wrapper type.
+     * @param <T> the type of the metadata value
+     * @return the handle
+     */
+    @SuppressWarnings("unchecked")
+    static <T> MetadataKey<T> intern(String name, Class<T> type) {
+        if (name == null || type == null) {
+            throw new IllegalArgumentException("metadata key name and type may not be null");
+        }
+        if (type == int.class) {
+            type = (Class<T>) Integer.class;
+        } else if (type == long.class) {
+            type = (Class<T>) Long.class;
+        }
+
+        MetadataKey<?> existing = KEYS.get(name);
+        if (existing == null) {
+            synchronized (KEYS) {
+                existing = KEYS.get(name);
+                if (existing == null) {
+                    final MetadataKey<?>[] current = byIndex;
+                    existing = new MetadataKey<>(name, type, current.length);
+                    final MetadataKey<?>[] grown = new MetadataKey<?>[current.length + 1];
+                    System.arraycopy(current, 0, grown, 0, current.length);
+                    grown[current.length] = existing;
+                    byIndex = grown;
+                    KEYS.put(name, existing);
+                }
+            }
+        }
+
+        return existing.type == type ? (MetadataKey<T>) existing : new MetadataKey<>(name, type, existing.index);
+    }
+
+    /**
+     * Find the handle for a metadata name, if one has been requested
+     * @param name the metadata name
+     * @return a handle for the name, or null if the name has no slot
+     */
+    static MetadataKey<?> lookup(String name) {
+        return name == null || byIndex.length == 0 ? null : KEYS.get(name);
+    }
+
+    /**
+     * Get the name of the metadata for a slot index
+     * @param index the slot index
+     * @return the metadata name
+     */
+    static String nameOf(int index) {
+        return byIndex[index].name;
+    }
+
+    /**
+     * Get the metadata name
+     * @return the name under which this metadata is also visible via the String-keyed TransactionContext methods
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Get the type of the metadata value
+     * @return the value type
+     */
+    public Class<T> getType() {
+        return type;
+    }
+
+    /**
+     * Convert a stored value to this handle's type
+     * @param value the stored value
+     * @return the value, or null if it is absent or of some other type
+     */
+    T cast(Object value) {
+        return type.isInstance(value) ? type.cast(value) : null;
+    }
+
+    /**
+     * Create a MetadataItem suitable for storing a value under this handle
+     * @param value the value to store
+     * @return a new MetadataItem, which stores the value unboxed if this is an Integer or Long handle and the value is of
+     * exactly that type. Any other value, such as a Double or a Long under an Integer handle, is stored as it is.
+     */
+    MetadataItem newItem(Object value) {
+        if (primitive && value != null && value.getClass() == type) {
+            return new PrimitiveMetadataItem(type == Long.class, ((Number) value).longValue());
+        }
+        return new MetadataItem(value);
+    }
+
+    @Override
+    public String toString() {
+        return "MetadataKey(" + name + ", " + type.getSimpleName() + ")";
+    }
+}
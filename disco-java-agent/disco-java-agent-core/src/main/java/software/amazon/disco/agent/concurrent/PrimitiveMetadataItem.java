@@ -0,0 +1,89 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License").
+ *   You may not use this file except in compliance with the License.
+ *   A copy of the License is located at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file. This file is distributed
+ *   on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *   express or implied. See the License for the specific language governing
+ *   permissions and limitations under the License.
+ */
+
+package software.amazon.disco.agent.concurrent;
+
+/**
+ * A MetadataItem holding an int or long value without boxing, created for metadata stored through an Integer or Long
+ * {@link MetadataKey}. The value may be updated in place, and is only boxed when read via {@link #get()}.
+ */
+class PrimitiveMetadataItem extends MetadataItem {
+    private final boolean isLong;
+    private volatile long bits;
+
+    /**
+     * Construct a new PrimitiveMetadataItem
+     * @param isLong true if the value is presented as a Long, false for an Integer
+     * @param bits the initial value
+     */
+    PrimitiveMetadataItem(boolean isLong, long bits) {
+        super(null);
+        this.isLong = isLong;
+        this.bits = bits;
+    }
+
+    /**
+     * Get the value without boxing
+     * @return the value
+     */
+    long getLong() {
+        return bits;
+    }
+
+    /**
+     * Set the value without boxing
+     * @param bits the new value
+     */
+    void setLong(long bits) {
+        this.bits = bits;
+    }
+
+    /**
+     * Test if the value is presented as a Long
+     * @return true for a Long, false for an Integer
+     */
+    boolean isLong() {
+        return isLong;
+    }
+
+    /**
+     * Test if a value may be held by this item without changing it, which is the case only for a value of the boxed type
+     * this item presents
+     * @param value the value
+     * @return true if the value is a Long and this item presents a Long, or likewise for Integer
+     */
+    boolean canHold(Object value) {
+        return value != null && value.getClass() == (isLong ? Long.class : Integer.class);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Object get() {
+        final long value = bits;
+        return isLong ? (Object) Long.valueOf(value) : (Object) Integer.valueOf((int) value);
+    }
+
+    /**
+     * {@inheritDoc}
+     * @throws ClassCastException if the value is not a Number. Callers should check {@link #canHold(Object)} first, since
+     * any other Number is truncated.
+     */
+    @Override
+    public void set(Object value) {
+        this.bits = ((Number) value).longValue();
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License").
+ *   You may not use this file except in compliance with the License.
+ *   A copy of the License is located at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file. This file is distributed
+ *   on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *   express or implied. See the License for the specific language governing
+ *   permissions and limitations under the License.
+ */
+
+package software.amazon.disco.agent.concurrent;
+
+import software.amazon.disco.agent.event.EventBus;
+import software.amazon.disco.agent.event.ThreadEnterEvent;
+import software.amazon.disco.agent.event.ThreadExitEvent;
+
+/**
+ * Publishes the ThreadEnterEvent and ThreadExitEvent which accompany every hand-off of work between threads. These are
+ * among the most frequently published Events, so where the EventBus reports that no listener retains them, each thread
+ * reuses a single instance of each rather than allocating a new one per hand-off.
+ */
+class ThreadEventPublisher {
+    static final String ORIGIN = "Concurrency";
+
+    private static final ThreadLocal<Recycled> recycled = new RecycledThreadLocal();
+
+    /**
+     * Publish a ThreadEnterEvent for the current thread
+     * @param parentThreadId the threadId of the thread which handed off the work
+     */
+    static void publishEnter(long parentThreadId) {
+        final long childThreadId = Thread.currentThread().getId();
+        if (!EventBus.canRecycleEvent(RecycledThreadEnterEvent.class)) {
+            EventBus.publish(new ThreadEnterEvent(ORIGIN, parentThreadId, childThreadId));
+            return;
+        }
+
+        final Recycled events = recycled.get();
+        final RecycledThreadEnterEvent event = events.enter;
+        if (event.inUse) {
+            //a listener has triggered a nested hand-off on this thread, so the instance cannot be shared
+            EventBus.publish(new ThreadEnterEvent(ORIGIN, parentThreadId, childThreadId));
+            return;
+        }
+
+        event.inUse = true;
+        try {
+            event.reset(parentThreadId, childThreadId);
+            EventBus.publish(event);
+        } finally {
+            event.inUse = false;
+        }
+    }
+
+    /**
+     * Publish a ThreadExitEvent for the current thread
+     * @param parentThreadId the threadId of the thread which handed off the work
+     */
+    static void publishExit(long parentThreadId) {
+        final long childThreadId = Thread.currentThread().getId();
+        if (!EventBus.canRecycleEvent(RecycledThreadExitEvent.class)) {
+            EventBus.publish(new ThreadExitEvent(ORIGIN, parentThreadId, childThreadId));
+            return;
+        }
+
+        final Recycled events = recycled.get();
+        final RecycledThreadExitEvent event = events.exit;
+        if (event.inUse) {
+            EventBus.publish(new ThreadExitEvent(ORIGIN, parentThreadId, childThreadId));
+            return;
+        }
+
+        event.inUse = true;
+        try {
+            event.reset(parentThreadId, childThreadId);
+            EventBus.publish(event);
+        } finally {
+            event.inUse = false;
+        }
+    }
+
+    /**
+     * The per-thread pair of reusable Events
+     */
+    static class Recycled {
+        final RecycledThreadEnterEvent enter = new RecycledThreadEnterEvent();
+        final RecycledThreadExitEvent exit = new RecycledThreadExitEvent();
+    }
+
+    /**
+     * ThreadLocal supplying each thread with its own Recycled events. A subclass is used rather than
+     * ThreadLocal.withInitial() since this class may be loaded while concurrency classes are still being instrumented.
+     */
+    private static class RecycledThreadLocal extends ThreadLocal<Recycled> {
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected Recycled initialValue() {
+            return new Recycled();
+        }
+    }
+
+    /**
+     * A ThreadEnterEvent whose thread ids may be replaced between publications
+     */
+    static class RecycledThreadEnterEvent extends ThreadEnterEvent {
+        boolean inUse;
+
+        /**
+         * Construct a new RecycledThreadEnterEvent, with placeholder thread ids
+         */
+        RecycledThreadEnterEvent() {
+            super(ORIGIN, -1L, -1L);
+        }
+
+        /**
+         * Prepare this Event for its next publication
+         * @param parentThreadId the threadId of the parent thread
+         * @param childThreadId the threadId of the worker thread
+         */
+        void reset(long parentThreadId, long childThreadId) {
+            setThreadIds(parentThreadId, childThreadId);
+        }
+    }
+
+    /**
+     * A ThreadExitEvent whose thread ids may be replaced between publications
+     */
+    static class RecycledThreadExitEvent extends ThreadExitEvent {
+        boolean inUse;
+
+        /**
+         * Construct a new RecycledThreadExitEvent, with placeholder thread ids
+         */
+        RecycledThreadExitEvent() {
+            super(ORIGIN, -1L, -1L);
+        }
+
+        /**
+         * Prepare this Event for its next publication
+         * @param parentThreadId the threadId of the parent thread
+         * @param childThreadId the threadId of the worker thread
+         */
+        void reset(long parentThreadId, long childThreadId) {
+            setThreadIds(parentThreadId, childThreadId);
+        }
+    }
+}
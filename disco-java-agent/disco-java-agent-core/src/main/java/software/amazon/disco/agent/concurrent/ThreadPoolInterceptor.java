@@ -175,7 +175,7 @@ public class ThreadPoolInterceptor implements Installable {
             if (thiz instanceof ScheduledThreadPoolExecutor) {
                 return r;
             } else {
-                return DecoratedRunnable.maybeCreate(r);
+                return DecoratedRunnable.maybeDecorate(r);
             }
         }
     }
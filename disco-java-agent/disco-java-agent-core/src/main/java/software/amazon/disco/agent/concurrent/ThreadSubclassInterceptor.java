@@ -26,6 +26,8 @@ import software.amazon.disco.agent.logging.LogManager;
 import software.amazon.disco.agent.logging.Logger;
 
 import java.lang.reflect.Modifier;
+import java.util.Collections;
+import java.util.List;
 
 import static net.bytebuddy.matcher.ElementMatchers.*;
 
@@ -53,6 +55,14 @@ class ThreadSubclassInterceptor implements Installable {
                 );
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<String> getCandidateSuperTypeNames() {
+        return Collections.singletonList("java.lang.Thread");
+    }
+
     /**
      * ByteBuddy Advice class to instrument the start() method of a Thread subclass
      */
@@ -135,12 +145,14 @@ class ThreadSubclassInterceptor implements Installable {
 
     /**
      * Create a type matcher which will match against any subclass of Thread, but not Thread itself as well as subclasses
-     * under java.lang.ref since they are used by the jvm for garbage collection related tasks.
+     * under java.lang.ref since they are used by the jvm for garbage collection related tasks. JDK virtual threads are
+     * also excluded, since they never call run() and are handled by the VirtualThreadInterceptor instead.
      * @return a type matcher per the above
      */
     static ElementMatcher.Junction<? super TypeDescription> createThreadSubclassTypeMatcher() {
         return hasSuperType(named("java.lang.Thread"))
-            .and(not(named("java.lang.Thread").or(nameStartsWith("java.lang.ref"))));
+            .and(not(named("java.lang.Thread").or(nameStartsWith("java.lang.ref"))))
+            .and(not(named(VirtualThreadInterceptor.VIRTUAL_THREAD_CLASS).or(named("java.lang.BaseVirtualThread"))));
     }
 
     /**
@@ -22,13 +22,13 @@ import software.amazon.disco.agent.event.TransactionEndEvent;
 import software.amazon.disco.agent.logging.LogManager;
 import software.amazon.disco.agent.logging.Logger;
 import software.amazon.disco.agent.util.FastIdGenerator;
+import software.amazon.disco.agent.util.TransactionId;
 
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
 import java.util.function.Supplier;
-import java.util.stream.Collectors;
 
 /**
  * A thread local map of arbitrary data.
@@ -36,6 +36,10 @@ import java.util.stream.Collectors;
  * make up the complete 'closure' of a given request to the service-under-test.
  *
  * Optionally, this structure can also be populated with metadata by clients.
+ *
+ * The data for each thread is held in a {@link TransactionContextData}, which stores the well-known values in fields and
+ * presents itself as a map only when {@link #getPrivateMetadata()} is called. That data is kept in a ThreadLocal by
+ * default, or optionally bound through a ScopedValue for the extent of propagated work - see {@link TransactionContextStorage}.
  */
 public class TransactionContext {
     private static Logger log = LogManager.getLogger(TransactionContext.class);
@@ -43,9 +47,12 @@ public class TransactionContext {
     static final String TRANSACTION_ID_KEY = "$amazon.discoTransactionId";
     public static final String TRANSACTION_OWNING_THREAD_KEY = "$amazon.discoTransactionOwningThreadId";
     public static final String UNINITIALIZED_TRANSACTION_CONTEXT_VALUE = "disco_null_id";
-    private static final String REFERENCE_COUNTER_KEY = "$amazon.discoRefCounterKey";
+    static final String REFERENCE_COUNTER_KEY = "$amazon.discoRefCounterKey";
     private static final TransactionContextFactory TRANSACTION_CONTEXT_FACTORY = new TransactionContextFactory();
-    private static final ThreadLocal<ConcurrentMap<String, MetadataItem>> transactionContext = ThreadLocal.withInitial(TRANSACTION_CONTEXT_FACTORY);
+    private static final ThreadLocal<TransactionContextData> transactionContext = ThreadLocal.withInitial(TRANSACTION_CONTEXT_FACTORY);
+    private static final ThreadLocal<ConcurrentMap<String, MetadataItem>> privateMetadataThreadLocal = new PrivateMetadataThreadLocal();
+    private static volatile TransactionContextStorage storage = new TransactionContextStorage.ForThreadLocal(transactionContext);
+    private static volatile boolean binaryTransactionIds = false;
 
     /**
      * This class was created to solve a null pointer exception when deploying a service using a statically instrumented JDK. The TransactionContext
@@ -56,18 +63,37 @@ public class TransactionContext {
      * To remedy this shortcoming, a class that explicitly extends {@link Supplier} has been implemented and initialized and used to populate {@link #transactionContext}
      * instead of using an inline lambda expression.
      */
-    static class TransactionContextFactory implements Supplier<ConcurrentMap<String, MetadataItem>> {
+    static class TransactionContextFactory implements Supplier<TransactionContextData> {
         /**
-         * returns a ConcurrentMap with a default {@link #UNINITIALIZED_TRANSACTION_CONTEXT_VALUE value} for the key {@link #TRANSACTION_ID_KEY}
+         * returns a TransactionContextData with a default {@link #UNINITIALIZED_TRANSACTION_CONTEXT_VALUE value} for the Transaction ID
          *
-         * @return ThreadLocal variable which is a {@link ConcurrentMap}
+         * @return ThreadLocal variable which is a {@link TransactionContextData}
          */
         @Override
+        public TransactionContextData get() {
+            return new TransactionContextData();
+        }
+    }
+
+    /**
+     * The ThreadLocal handed out by {@link #getPrivateMetadataThreadLocal()}, for callers such as Kotlin coroutine support
+     * which save and restore the context via a ThreadLocal of the legacy map type. It holds nothing itself, instead
+     * translating to and from the real storage of TransactionContextData.
+     */
+    static class PrivateMetadataThreadLocal extends ThreadLocal<ConcurrentMap<String, MetadataItem>> {
+        @Override
         public ConcurrentMap<String, MetadataItem> get() {
-            ConcurrentMap<String, MetadataItem> map = new ConcurrentHashMap<>();
-            map.put(TRANSACTION_ID_KEY, new MetadataItem(TransactionContext.UNINITIALIZED_TRANSACTION_CONTEXT_VALUE));
-            map.put(TRANSACTION_OWNING_THREAD_KEY, new MetadataItem(Long.valueOf(-1)));
-            return map;
+            return getPrivateMetadata();
+        }
+
+        @Override
+        public void set(ConcurrentMap<String, MetadataItem> value) {
+            setPrivateMetadata(value);
+        }
+
+        @Override
+        public void remove() {
+            TransactionContext.remove();
         }
     }
 
@@ -76,11 +102,7 @@ public class TransactionContext {
      * @return The internal reference counter
      */
     static AtomicInteger getReferenceCounter() {
-        MetadataItem referenceCounter = transactionContext.get().get(REFERENCE_COUNTER_KEY);
-        if (referenceCounter == null) {
-            return null;
-        }
-        return AtomicInteger.class.cast(referenceCounter.get());
+        return storage.get().getReferenceCounter();
     }
 
     /**
@@ -92,14 +114,17 @@ public class TransactionContext {
     public static int create() {
         // Prevent destructive actions by incrementing a reference counter to detect when to truly
         // create a new Transaction Context.
-        if (getReferenceCounter() == null || getReferenceCounter().get() <= 0) {
-            clear();
-            set(FastIdGenerator.generate());
-            putMetadata(TRANSACTION_OWNING_THREAD_KEY, Long.valueOf(Thread.currentThread().getId()));
-            transactionContext.get().put(REFERENCE_COUNTER_KEY, new MetadataItem(new AtomicInteger(0)));
-            EventBus.publish(new TransactionBeginEvent("Core"));
+        AtomicInteger referenceCounter = getReferenceCounter();
+        if (referenceCounter == null || referenceCounter.get() <= 0) {
+            referenceCounter = new AtomicInteger(0);
+            storage.set(binaryTransactionIds
+                    ? new TransactionContextData(TransactionId.generate(), Thread.currentThread().getId(), referenceCounter)
+                    : new TransactionContextData(FastIdGenerator.generate(), Thread.currentThread().getId(), referenceCounter));
+            if (EventBus.isAnyListenerInterested(TransactionBeginEvent.class)) {
+                EventBus.publish(new TransactionBeginEvent("Core"));
+            }
         }
-        return getReferenceCounter().getAndIncrement();
+        return referenceCounter.getAndIncrement();
     }
 
     /**
@@ -109,13 +134,16 @@ public class TransactionContext {
      * this will do nothing.
      */
     public static void destroy() {
-        if (getReferenceCounter() == null) {
+        final AtomicInteger referenceCounter = getReferenceCounter();
+        if (referenceCounter == null) {
             clear();
             return;
         }
         // When the counter <= 0, we know that the transaction is fully finished.
-        if (getReferenceCounter().decrementAndGet() <= 0) {
-            EventBus.publish(new TransactionEndEvent("Core"));
+        if (referenceCounter.decrementAndGet() <= 0) {
+            if (EventBus.isAnyListenerInterested(TransactionEndEvent.class)) {
+                EventBus.publish(new TransactionEndEvent("Core"));
+            }
             clear();
         }
     }
@@ -125,7 +153,18 @@ public class TransactionContext {
      * @return - the current TransactionContext value
      */
     public static String get() {
-        return String.class.cast(transactionContext.get().get(TRANSACTION_ID_KEY).get());
+        return storage.get().getTransactionId();
+    }
+
+    /**
+     * Get the current Transaction ID for the thread in its binary form, which may be compared and hashed without
+     * rendering it as a String
+     * @return the current Transaction ID, or null if there is no created TransactionContext, binary transaction ids are
+     * not enabled, or its ID was given as a String via set()
+     * @see #useBinaryTransactionIds(boolean)
+     */
+    public static TransactionId getId() {
+        return storage.get().getBinaryTransactionId();
     }
 
     /**
@@ -133,11 +172,12 @@ public class TransactionContext {
      * @param value - the new TransactionContext value
      */
     public static void set(String value) {
-        transactionContext.get().put(TRANSACTION_ID_KEY, new MetadataItem(value));
+        storage.get().setTransactionId(value);
     }
 
     /**
-     * Place an arbitrary value into the map
+     * Place an arbitrary value into the map. If the key is already present its value is updated in place, and any tags on
+     * it are retained.
      * @param key a String to identify the data.  May not be "discoTransactionId" which is reserved internally.
      * @param value the metadata value
      */
@@ -146,7 +186,7 @@ public class TransactionContext {
             throw new IllegalArgumentException(TRANSACTION_ID_KEY + " may not be used as a metadata key");
         }
 
-        transactionContext.get().put(key,  new MetadataItem(value));
+        storage.get().putValue(key, value);
     }
 
     /**
@@ -158,7 +198,7 @@ public class TransactionContext {
         if (TRANSACTION_ID_KEY.equals(key)) {
             throw new IllegalArgumentException(TRANSACTION_ID_KEY + " may not be used as a metadata key");
         }
-        transactionContext.get().remove(key);
+        storage.get().removeItem(key);
     }
 
     /**
@@ -171,7 +211,7 @@ public class TransactionContext {
             throw new IllegalArgumentException(TRANSACTION_ID_KEY + " may not be used as a metadata key");
         }
 
-        MetadataItem metadataItem = transactionContext.get().get(key);
+        MetadataItem metadataItem = storage.get().getItem(key);
         if (metadataItem == null) {
             return null;
         }
@@ -179,16 +219,113 @@ public class TransactionContext {
         return metadataItem.get();
     }
 
+    /**
+     * Obtain a handle for an item of metadata, to be resolved once (typically into a static final field) and then used
+     * with the handle-based accessors such as {@link #getMetadata(MetadataKey)}. These avoid hashing the String key on each
+     * access, and for Integer and Long handles the int/long accessors also avoid boxing.
+     *
+     * Metadata stored via a handle remains visible via the String-keyed methods under the handle's name, and vice versa.
+     * @param name a String to identify the data. May not be any of the keys reserved internally.
+     * @param type the type of the metadata value
+     * @param <T> the type of the metadata value
+     * @return the handle
+     */
+    public static <T> MetadataKey<T> key(String name, Class<T> type) {
+        if (TRANSACTION_ID_KEY.equals(name) || TRANSACTION_OWNING_THREAD_KEY.equals(name) || REFERENCE_COUNTER_KEY.equals(name)) {
+            throw new IllegalArgumentException(name + " may not be used as a metadata key");
+        }
+        return MetadataKey.intern(name, type);
+    }
+
+    /**
+     * Place a value into the metadata map via a handle. Any tags on existing metadata for the key are retained.
+     * @param key the handle identifying the data
+     * @param value the metadata value
+     * @param <T> the type of the metadata value
+     */
+    public static <T> void putMetadata(MetadataKey<T> key, T value) {
+        storage.get().putValue(key, value);
+    }
+
+    /**
+     * Get data from the metadata map via a handle
+     * @param key the handle identifying the data
+     * @param <T> the type of the metadata value
+     * @return the metadata value, or null if absent or not of the handle's type
+     */
+    public static <T> T getMetadata(MetadataKey<T> key) {
+        MetadataItem metadataItem = storage.get().getItem(key);
+        if (metadataItem == null) {
+            return null;
+        }
+
+        return key.cast(metadataItem.get());
+    }
+
+    /**
+     * Remove a value from the metadata map via a handle
+     * @param key the handle identifying the data
+     */
+    public static void removeMetadata(MetadataKey<?> key) {
+        storage.get().removeItem(key);
+    }
+
+    /**
+     * Place an int value into the metadata map, without boxing once the key has been populated
+     * @param key the handle identifying the data
+     * @param value the metadata value
+     */
+    public static void putIntMetadata(MetadataKey<Integer> key, int value) {
+        storage.get().putLong(key, value);
+    }
+
+    /**
+     * Get an int value from the metadata map, without boxing
+     * @param key the handle identifying the data
+     * @param defaultValue the value to return if the metadata is absent or not numeric
+     * @return the metadata value
+     */
+    public static int getIntMetadata(MetadataKey<Integer> key, int defaultValue) {
+        return (int) storage.get().getLong(key, defaultValue);
+    }
+
+    /**
+     * Place a long value into the metadata map, without boxing once the key has been populated
+     * @param key the handle identifying the data
+     * @param value the metadata value
+     */
+    public static void putLongMetadata(MetadataKey<Long> key, long value) {
+        storage.get().putLong(key, value);
+    }
+
+    /**
+     * Get a long value from the metadata map, without boxing
+     * @param key the handle identifying the data
+     * @param defaultValue the value to return if the metadata is absent or not numeric
+     * @return the metadata value
+     */
+    public static long getLongMetadata(MetadataKey<Long> key, long defaultValue) {
+        return storage.get().getLong(key, defaultValue);
+    }
+
     /**
      * Get data from the metadata map which contains the specified tag
      * @param tag a String to identify the metadata objects to be returned.
      * @return a map of metadata objects that contained the tag
      */
     public static Map<String, Object> getMetadataWithTag(String tag) {
-        Map<String, Object> result = transactionContext
-                                    .get().entrySet().stream().filter(map -> map.getValue().hasTag(tag))
-                                    .collect(Collectors.toMap(map -> map.getKey(), map -> map.getValue().get()));
-        return result;
+        return storage.get().getMetadataWithTag(tag);
+    }
+
+    /**
+     * Visit the data from the metadata map which contains the specified tag, without building an intermediate map. The
+     * metadata to visit is found via an index maintained by {@link #setMetadataTag(String, String)} and
+     * {@link #clearMetadataTag(String, String)}, rather than by inspecting every item.
+     * @param tag a String to identify the metadata objects to be visited.
+     * @param consumer a consumer to receive the key and value of each metadata object that contains the tag
+     */
+    public static void forEachMetadataWithTag(String tag, BiConsumer<String, Object> consumer) {
+        storage.get().forEachMetadataWithTag(tag, consumer);
     }
 
     /**
@@ -197,11 +334,8 @@ public class TransactionContext {
      * @param tag a String that will be added to label/tag the data.
      */
     public static void setMetadataTag(String key, String tag) {
-        MetadataItem metadataItem = transactionContext.get().get(key);
-        if (metadataItem == null) {
+        if (!storage.get().setTag(key, tag)) {
             throw new IllegalArgumentException(key + " no metadata object exists for this key");
-        } else {
-            metadataItem.setTag(tag);
         }
     }
 
@@ -211,11 +345,8 @@ public class TransactionContext {
      * @param tag a String representing the label/tag that will be cleared.
      */
     public static void clearMetadataTag(String key, String tag) {
-        MetadataItem metadataItem = transactionContext.get().get(key);
-        if (metadataItem == null) {
+        if (!storage.get().clearTag(key, tag)) {
             throw new IllegalArgumentException(key + " no metadata object exists for this key");
-        } else {
-            metadataItem.clearTag(tag);
         }
     }
 
@@ -228,7 +359,7 @@ public class TransactionContext {
      * @throws IllegalArgumentException if no such metadata exists
      */
     public static boolean hasMetadataTag(String key, String tag) {
-        MetadataItem metadataItem = transactionContext.get().get(key);
+        MetadataItem metadataItem = storage.get().getItem(key);
         if (metadataItem == null) {
             throw new IllegalArgumentException(key + " no metadata object exists for this key");
         } else {
@@ -240,15 +371,15 @@ public class TransactionContext {
      * Clears the value of the TransactionContext for this thread, and restores it to an empty state
      */
     public static void clear() {
-        transactionContext.set(TRANSACTION_CONTEXT_FACTORY.get());
+        storage.set(TRANSACTION_CONTEXT_FACTORY.get());
     }
 
     /**
      * Actually remove the TransactionContext for this thread, causing the ThreadLocal variable to be expunged by the
-     * JVM which can be expensive.
+     * JVM which can be expensive. Within a context bound by ScopedValue storage, the binding is instead reset.
      */
     public static void remove() {
-        transactionContext.remove();
+        storage.remove();
     }
 
     /**
@@ -286,16 +417,16 @@ public class TransactionContext {
      * @return the Map of metadata
      */
     public static ConcurrentMap<String, MetadataItem> getPrivateMetadata() {
-        return transactionContext.get();
+        return storage.get().asMap();
     }
     /**
-     * For internal use. Get the ThreadLocal that holds the private metadata.
+     * For internal use. Get a ThreadLocal through which the private metadata may be read and replaced in its map form.
      * Needs to be public for accessibility from Advice methods.
      *
      * @return the threadlocal object.
      */
     public static ThreadLocal<ConcurrentMap<String, MetadataItem>> getPrivateMetadataThreadLocal() {
-        return transactionContext;
+        return privateMetadataThreadLocal;
     }
 
     /**
@@ -304,6 +435,100 @@ public class TransactionContext {
      * @param metadata a map of new metadata to create in the current Thread Local storage
      */
     public static void setPrivateMetadata(ConcurrentMap<String, MetadataItem> metadata) {
-        transactionContext.set(metadata);
+        if (metadata == null) {
+            storage.remove();
+            return;
+        }
+        storage.set(TransactionContextData.of(metadata));
+    }
+
+    /**
+     * For internal use. Get the underlying context data, so that it may be propagated to another thread without the
+     * cost of the map view. Needs to be public for accessibility from Advice methods.
+     * @return the context data of the current thread
+     */
+    public static TransactionContextData getPrivateContext() {
+        return storage.get();
+    }
+
+    /**
+     * For internal use, replace the underlying context data, typically with that of a parent thread.
+     * Needs to be public for accessibility from Advice methods.
+     * @param context the context data to install in the current Thread Local storage
+     */
+    public static void setPrivateContext(TransactionContextData context) {
+        if (context == null) {
+            storage.remove();
+            return;
+        }
+        storage.set(context);
+    }
+
+    /**
+     * Select where TransactionContexts are stored. Intended to be called once, during agent startup, before any
+     * TransactionContext is created. If the requested storage is unavailable on this JDK, ThreadLocal storage is kept.
+     * @param type the kind of storage to use
+     * @return true if the requested storage is now in use
+     */
+    public static boolean useStorage(TransactionContextStorage.Type type) {
+        if (type == TransactionContextStorage.Type.SCOPED_VALUE) {
+            if (!TransactionContextStorage.ForScopedValue.isAvailable()) {
+                log.warn("DiSCo(Core) ScopedValue storage for TransactionContext is unavailable on this JDK, using ThreadLocal storage",
+                        TransactionContextStorage.ForScopedValue.getUnavailableCause());
+                return false;
+            }
+            storage = new TransactionContextStorage.ForScopedValue(transactionContext);
+        } else {
+            storage = new TransactionContextStorage.ForThreadLocal(transactionContext);
+        }
+        return true;
+    }
+
+    /**
+     * Select whether created TransactionContexts have a 128-bit binary TransactionId, rendered as 32 hex characters by
+     * get(), rather than the default 24 character String id. Intended to be called once, during agent startup.
+     * @param enabled true to create binary transaction ids
+     */
+    public static void useBinaryTransactionIds(boolean enabled) {
+        binaryTransactionIds = enabled;
+    }
+
+    /**
+     * Replace the storage of TransactionContexts outright. Package-private for tests.
+     * @param replacement the new storage
+     * @return the storage which was replaced
+     */
+    static TransactionContextStorage setStorage(TransactionContextStorage replacement) {
+        final TransactionContextStorage previous = storage;
+        storage = replacement;
+        return previous;
+    }
+
+    /**
+     * Get the kind of storage presently holding TransactionContexts
+     * @return the storage type
+     */
+    public static TransactionContextStorage.Type getStorageType() {
+        return storage.getType();
+    }
+
+    /**
+     * For internal use. Test if the current storage can bind a context for the extent of a task, via
+     * {@link #runWithContext(TransactionContextData, Runnable)}, in preference to installing it with
+     * {@link #setPrivateContext(TransactionContextData)}. Needs to be public for accessibility from Advice methods.
+     * @return true if binding is supported
+     */
+    public static boolean isContextBindingSupported() {
+        return storage.isBindingSupported();
+    }
+
+    /**
+     * For internal use. Run a task with the given context data bound as the current thread's TransactionContext,
+     * restoring the previous context afterwards. Needs to be public for accessibility from Advice methods.
+     * @param context the context data to bind
+     * @param task the task to run
+     */
+    public static void runWithContext(TransactionContextData context, Runnable task) {
+        storage.runBound(context, task);
     }
 }
@@ -0,0 +1,1203 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License").
+ *   You may not use this file except in compliance with the License.
+ *   A copy of the License is located at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file. This file is distributed
+ *   on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *   express or implied. See the License for the specific language governing
+ *   permissions and limitations under the License.
+ */
+
+package software.amazon.disco.agent.concurrent;
+
+import software.amazon.disco.agent.util.TransactionId;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.BiConsumer;
+
+/**
+ * The storage behind a TransactionContext. One instance is held per thread, and is shared by reference with any threads
+ * to which the context is propagated.
+ *
+ * The Transaction ID, the id of the owning thread and the reference counter are read and written on every transaction, so
+ * they are held in dedicated fields rather than under String keys. Metadata whose name has been interned as a
+ * {@link MetadataKey} lives in an array indexed by the key's slot. Any other metadata lives in a small open-addressed hash
+ * table, which is replaced wholesale whenever a key is added or removed so that readers never need to lock. The
+ * ConcurrentMap form of the context, as returned by {@link TransactionContext#getPrivateMetadata()}, is a view which is
+ * only created if asked for. Names are interned lazily, for example from the static initializers of injected classes,
+ * so metadata already stored in the table under a name which then gains a slot is moved into the slot when next used.
+ *
+ * Tags applied through {@link #setTag(String, String)} are also recorded in a reverse index from tag to keys, so that
+ * finding the metadata with a given tag does not need to visit every item. Each stored MetadataItem knows the context and
+ * key it is stored under, so that tags applied to the item directly are recorded in the index too. An item stored in
+ * more than one place reports its tags to the first only, so once a context stores such an item, it finds tagged
+ * metadata by visiting every item instead. The index may hold keys whose item has since lost the tag or been removed,
+ * so each key is checked against its current item when the index is read.
+ *
+ * This class is used from the TransactionContext while the JVM may still be bootstrapping, so must not use lambda expressions.
+ */
+public class TransactionContextData {
+    private static final Table EMPTY_TABLE = new Table(new String[0], new MetadataItem[0], 0);
+    private static final int TRANSACTION_ID_INDEX = 0;
+    private static final int OWNING_THREAD_ID_INDEX = 1;
+    private static final int REFERENCE_COUNTER_INDEX = 2;
+    private static final String[] WELL_KNOWN_KEYS = new String[] {TransactionContext.TRANSACTION_ID_KEY,
+            TransactionContext.TRANSACTION_OWNING_THREAD_KEY, TransactionContext.REFERENCE_COUNTER_KEY};
+
+    //either the String form of the Transaction ID, or a TransactionId whose String form is rendered when asked for
+    private volatile Object transactionId;
+    private volatile long owningThreadId;
+    private volatile AtomicInteger referenceCounter;
+    private volatile Table table = EMPTY_TABLE;
+    private volatile AtomicReferenceArray<MetadataItem> slots;
+    private volatile Map<String, String[]> tagIndex = Collections.emptyMap();
+    //whether an item stored here may have tags applied directly to it which are missing from the tag index
+    private volatile boolean untrackedTags;
+    //MetadataItems presenting the well-known values under their String keys, created only if asked for
+    private volatile MetadataItem[] wellKnownItems;
+    private ConcurrentMap<String, MetadataItem> mapView;
+
+    /**
+     * Construct a new TransactionContextData in the uninitialized state, with the 'disco_null_id' Transaction ID and no
+     * owning thread
+     */
+    TransactionContextData() {
+        this(TransactionContext.UNINITIALIZED_TRANSACTION_CONTEXT_VALUE, -1L, null);
+    }
+
+    /**
+     * Construct a new TransactionContextData with the given well-known values and no other metadata
+     * @param transactionId the Transaction ID
+     * @param owningThreadId the id of the thread which created the transaction
+     * @param referenceCounter the counter of nested create() calls, or null if the context was not created via create()
+     */
+    TransactionContextData(String transactionId, long owningThreadId, AtomicInteger referenceCounter) {
+        this.transactionId = transactionId;
+        this.owningThreadId = owningThreadId;
+        this.referenceCounter = referenceCounter;
+    }
+
+    /**
+     * Construct a new TransactionContextData with a binary Transaction ID and no other metadata
+     * @param transactionId the Transaction ID
+     * @param owningThreadId the id of the thread which created the transaction
+     * @param referenceCounter the counter of nested create() calls, or null if the context was not created via create()
+     */
+    TransactionContextData(TransactionId transactionId, long owningThreadId, AtomicInteger referenceCounter) {
+        this.transactionId = transactionId;
+        this.owningThreadId = owningThreadId;
+        this.referenceCounter = referenceCounter;
+    }
+
+    /**
+     * Obtain the TransactionContextData behind a ConcurrentMap of metadata. If the map is a view previously returned by
+     * {@link #asMap()}, the underlying context is returned, otherwise a context which stores everything in the given map.
+     * @param metadata the map of metadata
+     * @return a TransactionContextData sharing its state with the map
+     */
+    static TransactionContextData of(ConcurrentMap<String, MetadataItem> metadata) {
+        if (metadata instanceof MapView) {
+            return ((MapView) metadata).data;
+        }
+        return new MapBacked(metadata);
+    }
+
+    /**
+     * Get the Transaction ID
+     * @return the Transaction ID
+     */
+    String getTransactionId() {
+        final Object id = transactionId;
+        return id instanceof TransactionId ? id.toString() : (String) id;
+    }
+
+    /**
+     * Get the Transaction ID in its binary form
+     * @return the Transaction ID, or null if it was given as a String
+     */
+    TransactionId getBinaryTransactionId() {
+        final Object id = transactionId;
+        return id instanceof TransactionId ? (TransactionId) id : null;
+    }
+
+    /**
+     * Set the Transaction ID
+     * @param transactionId the new Transaction ID
+     */
+    void setTransactionId(String transactionId) {
+        this.transactionId = transactionId;
+    }
+
+    /**
+     * Set the Transaction ID in its binary form
+     * @param transactionId the new Transaction ID
+     */
+    void setTransactionId(TransactionId transactionId) {
+        this.transactionId = transactionId;
+    }
+
+    /**
+     * Get the id of the thread which created the transaction
+     * @return the owning thread id, or -1 if none
+     */
+    long getOwningThreadId() {
+        return owningThreadId;
+    }
+
+    /**
+     * Set the id of the thread which created the transaction
+     * @param owningThreadId the owning thread id
+     */
+    void setOwningThreadId(long owningThreadId) {
+        this.owningThreadId = owningThreadId;
+    }
+
+    /**
+     * Get the counter of nested create() calls
+     * @return the reference counter, or null if the context was not created via create()
+     */
+    AtomicInteger getReferenceCounter() {
+        return referenceCounter;
+    }
+
+    /**
+     * Set the counter of nested create() calls
+     * @param referenceCounter the reference counter
+     */
+    void setReferenceCounter(AtomicInteger referenceCounter) {
+        this.referenceCounter = referenceCounter;
+    }
+
+    /**
+     * Get the metadata stored under a key. The well-known keys are supported for compatibility, through a MetadataItem per
+     * key which is kept in step with the dedicated field, so that tags applied to it are retained.
+     * @param key the metadata key
+     * @return the MetadataItem, or null if none
+     */
+    MetadataItem getItem(String key) {
+        final int wellKnownIndex = wellKnownIndex(key);
+        if (wellKnownIndex >= 0) {
+            return getWellKnownItem(wellKnownIndex);
+        }
+
+        final MetadataKey<?> handle = MetadataKey.lookup(key);
+        return handle != null ? getItem(handle) : table.get(key);
+    }
+
+    /**
+     * Store metadata under a key, replacing any existing metadata for that key
+     * @param key the metadata key
+     * @param item the MetadataItem to store
+     * @return the previous MetadataItem, or null if none
+     */
+    MetadataItem putItem(String key, MetadataItem item) {
+        final int wellKnownIndex = wellKnownIndex(key);
+        if (wellKnownIndex >= 0) {
+            return putWellKnownItem(wellKnownIndex, item);
+        }
+
+        final MetadataKey<?> handle = MetadataKey.lookup(key);
+        return handle != null ? putItem(handle, item) : putTableItem(key, item);
+    }
+
+    /**
+     * Store a value under a key. If the key already has a MetadataItem able to hold the value, it is updated in place,
+     * retaining its tags, so that repeated writes do not allocate.
+     * @param key the metadata key
+     * @param value the value to store
+     */
+    void putValue(String key, Object value) {
+        final int wellKnownIndex = wellKnownIndex(key);
+        if (wellKnownIndex >= 0) {
+            setWellKnownValue(wellKnownIndex, value);
+            return;
+        }
+
+        final MetadataKey<?> handle = MetadataKey.lookup(key);
+        if (handle != null) {
+            putValue(handle, value);
+            return;
+        }
+
+        final MetadataItem item = table.get(key);
+        if (!updateInPlace(item, value) || table.get(key) != item) {
+            putTableItem(key, new MetadataItem(value));
+        }
+    }
+
+    /**
+     * Remove the metadata stored under a key. Removing one of the well-known keys returns it to its uninitialized value.
+     * @param key the metadata key
+     * @return the removed MetadataItem, or null if none
+     */
+    MetadataItem removeItem(String key) {
+        final int wellKnownIndex = wellKnownIndex(key);
+        if (wellKnownIndex >= 0) {
+            return putWellKnownItem(wellKnownIndex, null);
+        }
+
+        final MetadataKey<?> handle = MetadataKey.lookup(key);
+        if (handle != null) {
+            return removeItem(handle);
+        }
+
+        synchronized (this) {
+            //the key may have been interned since it was looked up
+            final MetadataKey<?> interned = MetadataKey.lookup(key);
+            if (interned != null) {
+                return removeItem(interned);
+            }
+            final Table current = table;
+            final MetadataItem previous = current.get(key);
+            if (previous != null) {
+                table = current.without(key);
+                stored(key, previous, null);
+            }
+            return previous;
+        }
+    }
+
+    /**
+     * Get the metadata stored under an interned key
+     * @param key the metadata key
+     * @return the MetadataItem, or null if none
+     */
+    MetadataItem getItem(MetadataKey<?> key) {
+        final MetadataItem item = getSlot(key.index);
+        return item != null ? item : migrate(key);
+    }
+
+    /**
+     * Store metadata under an interned key, replacing any existing MetadataItem for that key
+     * @param key the metadata key
+     * @param item the MetadataItem to store
+     * @return the previous MetadataItem, or null if none
+     */
+    MetadataItem putItem(MetadataKey<?> key, MetadataItem item) {
+        getItem(key);
+        return setSlot(key.index, item);
+    }
+
+    /**
+     * Remove the metadata stored under an interned key
+     * @param key the metadata key
+     * @return the removed MetadataItem, or null if none
+     */
+    MetadataItem removeItem(MetadataKey<?> key) {
+        getItem(key);
+        return setSlot(key.index, null);
+    }
+
+    /**
+     * Store a value under an interned key. If the key already has a MetadataItem able to hold the value, it is updated in
+     * place, retaining its tags, so that repeated writes do not allocate.
+     * @param key the metadata key
+     * @param value the value to store
+     */
+    void putValue(MetadataKey<?> key, Object value) {
+        final MetadataItem item = getItem(key);
+        if (!updateInPlace(item, value) || getItem(key) != item) {
+            putItem(key, key.newItem(value));
+        }
+    }
+
+    /**
+     * Store an integral value under an interned key, without boxing if the key's existing MetadataItem holds it unboxed
+     * @param key the metadata key
+     * @param value the value to store
+     */
+    void putLong(MetadataKey<?> key, long value) {
+        final boolean isLong = key.getType() == Long.class;
+        final MetadataItem item = getItem(key);
+        if (item instanceof PrimitiveMetadataItem && ((PrimitiveMetadataItem) item).isLong() == isLong) {
+            ((PrimitiveMetadataItem) item).setLong(value);
+            if (getItem(key) == item) {
+                return;
+            }
+        }
+        putValue(key, isLong ? (Object) Long.valueOf(value) : (Object) Integer.valueOf((int) value));
+    }
+
+    /**
+     * Get an integral value stored under an interned key, without boxing if it is held unboxed
+     * @param key the metadata key
+     * @param defaultValue the value to return if there is no numeric value for the key
+     * @return the value
+     */
+    long getLong(MetadataKey<?> key, long defaultValue) {
+        final MetadataItem item = getItem(key);
+        if (item instanceof PrimitiveMetadataItem) {
+            return ((PrimitiveMetadataItem) item).getLong();
+        }
+        final Object value = item == null ? null : item.get();
+        return value instanceof Number ? ((Number) value).longValue() : defaultValue;
+    }
+
+    /**
+     * Update an existing MetadataItem in place. The caller should then confirm that the item is still the one stored, since
+     * a concurrent remove or replace would otherwise swallow the update.
+     * @param item the existing MetadataItem, or null if none
+     * @param value the value to store
+     * @return true if the item was updated, false if there was no item or it is unable to hold the value unchanged
+     */
+    private static boolean updateInPlace(MetadataItem item, Object value) {
+        if (item == null || (item instanceof PrimitiveMetadataItem && !((PrimitiveMetadataItem) item).canHold(value))) {
+            return false;
+        }
+        item.set(value);
+        return true;
+    }
+
+    /**
+     * Apply a tag to the metadata stored under a key, and record it in the tag index
+     * @param key the metadata key
+     * @param tag the tag
+     * @return true if the tag was applied, false if there is no metadata for the key
+     */
+    boolean setTag(String key, String tag) {
+        final MetadataItem item = getItem(key);
+        if (item == null) {
+            return false;
+        }
+        item.addTag(tag);
+        indexTag(key, tag);
+        return true;
+    }
+
+    /**
+     * Remove a tag from the metadata stored under a key, and from the tag index
+     * @param key the metadata key
+     * @param tag the tag
+     * @return true if there was metadata for the key, false otherwise
+     */
+    boolean clearTag(String key, String tag) {
+        final MetadataItem item = getItem(key);
+        if (item == null) {
+            return false;
+        }
+        item.clearTag(tag);
+        unindexTag(key, tag);
+        return true;
+    }
+
+    /**
+     * Visit the metadata which carries a given tag, without collecting it into a new map
+     * @param tag the tag to search for
+     * @param consumer a consumer to receive the key and value of each item of metadata having the tag
+     */
+    void forEachMetadataWithTag(String tag, BiConsumer<String, Object> consumer) {
+        if (untrackedTags) {
+            for (Map.Entry<String, MetadataItem> entry : entries()) {
+                if (entry.getValue().hasTag(tag)) {
+                    consumer.accept(entry.getKey(), entry.getValue().get());
+                }
+            }
+            return;
+        }
+        final String[] keys = tagIndex.get(tag);
+        if (keys == null) {
+            return;
+        }
+        for (String key : keys) {
+            final MetadataItem item = getItem(key);
+            if (item != null && item.hasTag(tag)) {
+                consumer.accept(key, item.get());
+            }
+        }
+    }
+
+    /**
+     * Collect the metadata which carries a given tag
+     * @param tag the tag to search for
+     * @return a new map of keys to metadata values, for metadata having the tag
+     */
+    Map<String, Object> getMetadataWithTag(String tag) {
+        final Map<String, Object> result = new HashMap<>();
+        if (untrackedTags) {
+            for (Map.Entry<String, MetadataItem> entry : entries()) {
+                if (entry.getValue().hasTag(tag)) {
+                    result.put(entry.getKey(), entry.getValue().get());
+                }
+            }
+            return result;
+        }
+        final String[] keys = tagIndex.get(tag);
+        if (keys == null) {
+            return result;
+        }
+        for (String key : keys) {
+            final MetadataItem item = getItem(key);
+            if (item != null && item.hasTag(tag)) {
+                result.put(key, item.get());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get a ConcurrentMap view of this context, including the well-known keys, for callers which need the legacy form.
+     * Writes to the view are written through to this context.
+     * @return the view, created on first use
+     */
+    ConcurrentMap<String, MetadataItem> asMap() {
+        ConcurrentMap<String, MetadataItem> view = mapView;
+        if (view == null) {
+            //a benign race, since any two views of the same context are equivalent
+            mapView = view = new MapView(this);
+        }
+        return view;
+    }
+
+    /**
+     * Store metadata under a key which has no slot, replacing any existing metadata for that key
+     * @param key the metadata key
+     * @param item the MetadataItem to store
+     * @return the previous MetadataItem, or null if none
+     */
+    private synchronized MetadataItem putTableItem(String key, MetadataItem item) {
+        //the key may have been interned since it was looked up
+        final MetadataKey<?> interned = MetadataKey.lookup(key);
+        if (interned != null) {
+            return putItem(interned, item);
+        }
+        final Table current = table;
+        final MetadataItem previous = current.get(key);
+        table = current.with(key, item);
+        stored(key, previous, item);
+        return previous;
+    }
+
+    /**
+     * Find which of the well-known values a key names
+     * @param key the metadata key
+     * @return the index of the well-known value, or -1 if the key is not one of the well-known keys
+     */
+    private static int wellKnownIndex(String key) {
+        for (int i = 0; i < WELL_KNOWN_KEYS.length; i++) {
+            if (WELL_KNOWN_KEYS[i].equals(key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Get the MetadataItem presenting one of the well-known values, brought up to date with the value's field
+     * @param index the index of the well-known value
+     * @return the MetadataItem, or null if the value is the reference counter and there is none
+     */
+    private MetadataItem getWellKnownItem(int index) {
+        final Object value;
+        if (index == TRANSACTION_ID_INDEX) {
+            value = getTransactionId();
+        } else if (index == OWNING_THREAD_ID_INDEX) {
+            value = Long.valueOf(getOwningThreadId());
+        } else {
+            value = getReferenceCounter();
+            if (value == null) {
+                return null;
+            }
+        }
+
+        final MetadataItem[] items = wellKnownItems;
+        final MetadataItem item = items == null ? null : items[index];
+        if (item == null) {
+            return storeWellKnownItem(index, new MetadataItem(value), false);
+        }
+        if (!Objects.equals(item.get(), value)) {
+            item.set(value);
+        }
+        return item;
+    }
+
+    /**
+     * Set one of the well-known values from a MetadataItem, as if it were stored in a map. The item is retained, along with
+     * its tags, to present the value from then on.
+     * @param index the index of the well-known value
+     * @param item the item holding the new value, or null to return the value to its uninitialized state
+     * @return the previous value, wrapped in a MetadataItem
+     */
+    private MetadataItem putWellKnownItem(int index, MetadataItem item) {
+        final MetadataItem previous = getWellKnownItem(index);
+        if (item == null) {
+            setWellKnownValue(index, index == TRANSACTION_ID_INDEX ? TransactionContext.UNINITIALIZED_TRANSACTION_CONTEXT_VALUE : null);
+        } else {
+            setWellKnownValue(index, item.get());
+        }
+        storeWellKnownItem(index, item, true);
+        stored(WELL_KNOWN_KEYS[index], previous, item);
+        return previous;
+    }
+
+    /**
+     * Set one of the well-known values. Its MetadataItem, if any, is retained along with its tags.
+     * @param index the index of the well-known value
+     * @param value the new value
+     */
+    private void setWellKnownValue(int index, Object value) {
+        if (index == TRANSACTION_ID_INDEX) {
+            setTransactionId((String) value);
+        } else if (index == OWNING_THREAD_ID_INDEX) {
+            setOwningThreadId(value instanceof Number ? ((Number) value).longValue() : -1L);
+        } else {
+            setReferenceCounter(value instanceof AtomicInteger ? (AtomicInteger) value : null);
+        }
+    }
+
+    /**
+     * Store the MetadataItem presenting one of the well-known values
+     * @param index the index of the well-known value
+     * @param item the MetadataItem, or null to forget the existing one
+     * @param replace true to replace any existing MetadataItem, false to keep it
+     * @return the MetadataItem now stored
+     */
+    private synchronized MetadataItem storeWellKnownItem(int index, MetadataItem item, boolean replace) {
+        MetadataItem[] items = wellKnownItems;
+        if (items == null) {
+            if (item == null) {
+                return null;
+            }
+            items = new MetadataItem[3];
+        } else if (!replace && items[index] != null) {
+            return items[index];
+        } else {
+            items = items.clone();
+        }
+        items[index] = item;
+        wellKnownItems = items;
+        if (!replace) {
+            //a replacing caller brings the index up to date itself, knowing the item replaced
+            stored(WELL_KNOWN_KEYS[index], null, item);
+        }
+        return item;
+    }
+
+    /**
+     * Get the MetadataItem in a slot
+     * @param index the slot index
+     * @return the MetadataItem, or null if the slot is empty
+     */
+    private MetadataItem getSlot(int index) {
+        final AtomicReferenceArray<MetadataItem> current = slots;
+        return current == null || index >= current.length() ? null : current.get(index);
+    }
+
+    /**
+     * Move the metadata stored in the table under the name of a key, from before the name was interned, into the key's
+     * slot, which is empty
+     * @param key the metadata key
+     * @return the MetadataItem now in the slot, or null if none
+     */
+    private MetadataItem migrate(MetadataKey<?> key) {
+        if (table.get(key.getName()) == null) {
+            return null;
+        }
+        synchronized (this) {
+            final Table current = table;
+            final MetadataItem item = current.get(key.getName());
+            if (item == null) {
+                //moved by another thread in the meantime
+                return getSlot(key.index);
+            }
+            table = current.without(key.getName());
+            setSlot(key.index, item);
+            return item;
+        }
+    }
+
+    /**
+     * Replace the MetadataItem in a slot, growing the slot array if needed
+     * @param index the slot index
+     * @param item the new MetadataItem, or null to empty the slot
+     * @return the previous MetadataItem in the slot
+     */
+    private synchronized MetadataItem setSlot(int index, MetadataItem item) {
+        AtomicReferenceArray<MetadataItem> current = slots;
+        if (current == null || index >= current.length()) {
+            if (item == null) {
+                return null;
+            }
+
+            final AtomicReferenceArray<MetadataItem> grown = new AtomicReferenceArray<>(Math.max(index + 1, current == null ? 4 : current.length() * 2));
+            for (int i = 0; current != null && i < current.length(); i++) {
+                grown.set(i, current.get(i));
+            }
+            slots = current = grown;
+        }
+        final MetadataItem previous = current.getAndSet(index, item);
+        stored(MetadataKey.nameOf(index), previous, item);
+        return previous;
+    }
+
+    /**
+     * Bring the tag index, and the items' record of where they are stored, up to date after an item is stored under a key
+     * @param key the metadata key
+     * @param previous the item which was stored under the key, or null if none
+     * @param item the item now stored under the key, or null if none
+     */
+    private synchronized void stored(String key, MetadataItem previous, MetadataItem item) {
+        if (previous == item) {
+            return;
+        }
+        if (previous != null) {
+            previous.detach(this, key);
+        }
+        //attached before its tags are indexed, so that a tag applied directly meanwhile is either indexed or reported
+        if (item != null && !item.attach(this, key)) {
+            untrackedTags = true;
+        }
+        unindexTags(key, previous);
+        indexTags(key, item);
+    }
+
+    /**
+     * Record a tag against a key in the tag index
+     * @param key the metadata key
+     * @param tag the tag
+     */
+    synchronized void indexTag(String key, String tag) {
+        final Map<String, String[]> current = tagIndex;
+        final String[] keys = current.get(tag);
+        if (keys != null) {
+            for (String existing : keys) {
+                if (existing.equals(key)) {
+                    return;
+                }
+            }
+        }
+
+        final String[] updatedKeys = keys == null ? new String[1] : new String[keys.length + 1];
+        if (keys != null) {
+            System.arraycopy(keys, 0, updatedKeys, 0, keys.length);
+        }
+        updatedKeys[updatedKeys.length - 1] = key;
+        final Map<String, String[]> updated = new HashMap<>(current);
+        updated.put(tag, updatedKeys);
+        tagIndex = updated;
+    }
+
+    /**
+     * Remove a key from the tag index for a tag
+     * @param key the metadata key
+     * @param tag the tag
+     */
+    private synchronized void unindexTag(String key, String tag) {
+        final Map<String, String[]> current = tagIndex;
+        final String[] keys = current.get(tag);
+        if (keys == null) {
+            return;
+        }
+
+        int position = -1;
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i].equals(key)) {
+                position = i;
+                break;
+            }
+        }
+        if (position < 0) {
+            return;
+        }
+
+        final Map<String, String[]> updated = new HashMap<>(current);
+        if (keys.length == 1) {
+            updated.remove(tag);
+        } else {
+            final String[] updatedKeys = new String[keys.length - 1];
+            System.arraycopy(keys, 0, updatedKeys, 0, position);
+            System.arraycopy(keys, position + 1, updatedKeys, position, keys.length - position - 1);
+            updated.put(tag, updatedKeys);
+        }
+        tagIndex = updated;
+    }
+
+    /**
+     * Record a key in the tag index for every tag of an item which was tagged before being stored under it
+     * @param key the metadata key
+     * @param item the item now stored, or null if none
+     */
+    private synchronized void indexTags(String key, MetadataItem item) {
+        if (item == null) {
+            return;
+        }
+        for (String tag : item.getTags()) {
+            indexTag(key, tag);
+        }
+    }
+
+    /**
+     * Remove a key from the tag index for every tag of an item which is no longer stored under it
+     * @param key the metadata key
+     * @param previous the item which was stored, or null if none
+     */
+    private synchronized void unindexTags(String key, MetadataItem previous) {
+        if (previous == null) {
+            return;
+        }
+        for (String tag : previous.getTags()) {
+            unindexTag(key, tag);
+        }
+    }
+
+    /**
+     * Get the number of entries which the map view of this context contains
+     * @return the number of well-known values present, plus the number of other metadata entries
+     */
+    private int size() {
+        int count = (getReferenceCounter() == null ? 2 : 3) + table.size;
+        final AtomicReferenceArray<MetadataItem> currentSlots = slots;
+        for (int i = 0; currentSlots != null && i < currentSlots.length(); i++) {
+            if (currentSlots.get(i) != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Take a snapshot of the entries of this context, in the form presented by the map view
+     * @return the entries, including those for the well-known keys
+     */
+    private List<Map.Entry<String, MetadataItem>> entries() {
+        final Table snapshot = table;
+        final List<Map.Entry<String, MetadataItem>> entries = new ArrayList<>(snapshot.size + 3);
+        entries.add(new AbstractMap.SimpleEntry<>(TransactionContext.TRANSACTION_ID_KEY, getItem(TransactionContext.TRANSACTION_ID_KEY)));
+        entries.add(new AbstractMap.SimpleEntry<>(TransactionContext.TRANSACTION_OWNING_THREAD_KEY, getItem(TransactionContext.TRANSACTION_OWNING_THREAD_KEY)));
+        final MetadataItem counter = getItem(TransactionContext.REFERENCE_COUNTER_KEY);
+        if (counter != null) {
+            entries.add(new AbstractMap.SimpleEntry<>(TransactionContext.REFERENCE_COUNTER_KEY, counter));
+        }
+        for (int i = 0; i < snapshot.keys.length; i++) {
+            if (snapshot.keys[i] != null) {
+                entries.add(new AbstractMap.SimpleEntry<>(snapshot.keys[i], snapshot.items[i]));
+            }
+        }
+        final AtomicReferenceArray<MetadataItem> currentSlots = slots;
+        for (int i = 0; currentSlots != null && i < currentSlots.length(); i++) {
+            final MetadataItem item = currentSlots.get(i);
+            if (item != null) {
+                entries.add(new AbstractMap.SimpleEntry<>(MetadataKey.nameOf(i), item));
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * An immutable open-addressed hash table of metadata, using linear probing. Tables are never modified once built,
+     * so may be read without synchronization once obtained from a volatile field.
+     */
+    static final class Table {
+        private static final int INITIAL_CAPACITY = 8;
+
+        final String[] keys;
+        final MetadataItem[] items;
+        final int size;
+
+        /**
+         * Construct a new Table
+         * @param keys the keys, at their hashed positions, with null for empty slots
+         * @param items the items, at the same positions as their keys
+         * @param size the number of keys present
+         */
+        Table(String[] keys, MetadataItem[] items, int size) {
+            this.keys = keys;
+            this.items = items;
+            this.size = size;
+        }
+
+        /**
+         * Find the item for a key
+         * @param key the key to find
+         * @return the item, or null if absent
+         */
+        MetadataItem get(String key) {
+            if (size == 0 || key == null) {
+                return null;
+            }
+
+            final int mask = keys.length - 1;
+            for (int i = hash(key) & mask; ; i = (i + 1) & mask) {
+                final String k = keys[i];
+                if (k == null) {
+                    return null;
+                }
+                if (k == key || k.equals(key)) {
+                    return items[i];
+                }
+            }
+        }
+
+        /**
+         * Build a new table with a key added or replaced
+         * @param key the key
+         * @param item the item to store for the key
+         * @return the new table
+         */
+        Table with(String key, MetadataItem item) {
+            final boolean replacing = get(key) != null;
+            final int newSize = replacing ? size : size + 1;
+            int capacity = Math.max(keys.length, INITIAL_CAPACITY);
+            //keep the load factor at or below 3/4, so that probing always finds an empty slot quickly
+            while (newSize * 4 > capacity * 3) {
+                capacity <<= 1;
+            }
+
+            final Table result = new Table(new String[capacity], new MetadataItem[capacity], newSize);
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != null && !keys[i].equals(key)) {
+                    result.insert(keys[i], items[i]);
+                }
+            }
+            result.insert(key, item);
+            return result;
+        }
+
+        /**
+         * Build a new table with a key removed
+         * @param key the key to remove
+         * @return the new table
+         */
+        Table without(String key) {
+            if (size == 1) {
+                return EMPTY_TABLE;
+            }
+
+            final Table result = new Table(new String[keys.length], new MetadataItem[keys.length], size - 1);
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != null && !keys[i].equals(key)) {
+                    result.insert(keys[i], items[i]);
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Place a key in the first free slot of its probe sequence. Only used while building a new table.
+         * @param key the key, which must not already be present
+         * @param item the item for the key
+         */
+        private void insert(String key, MetadataItem item) {
+            final int mask = keys.length - 1;
+            int i = hash(key) & mask;
+            while (keys[i] != null) {
+                i = (i + 1) & mask;
+            }
+            keys[i] = key;
+            items[i] = item;
+        }
+
+        /**
+         * Spread the bits of a key's hash code, since only the low bits select a slot
+         * @param key the key
+         * @return the spread hash
+         */
+        private static int hash(String key) {
+            final int h = key.hashCode();
+            return h ^ (h >>> 16);
+        }
+    }
+
+    /**
+     * A context whose entire state is held in an externally supplied ConcurrentMap, under the legacy String keys. This
+     * supports callers which pass their own map to {@link TransactionContext#setPrivateMetadata(ConcurrentMap)}, while
+     * preserving the sharing of that map between threads.
+     */
+    static final class MapBacked extends TransactionContextData {
+        private final ConcurrentMap<String, MetadataItem> map;
+
+        /**
+         * Construct a new MapBacked context
+         * @param map the map holding the context's state
+         */
+        MapBacked(ConcurrentMap<String, MetadataItem> map) {
+            super((String) null, -1L, null);
+            this.map = map;
+        }
+
+        @Override
+        String getTransactionId() {
+            final MetadataItem item = map.get(TransactionContext.TRANSACTION_ID_KEY);
+            return item == null ? null : (String) item.get();
+        }
+
+        @Override
+        void setTransactionId(String transactionId) {
+            map.put(TransactionContext.TRANSACTION_ID_KEY, new MetadataItem(transactionId));
+        }
+
+        @Override
+        TransactionId getBinaryTransactionId() {
+            return null;
+        }
+
+        @Override
+        void setTransactionId(TransactionId transactionId) {
+            setTransactionId(transactionId.toString());
+        }
+
+        @Override
+        long getOwningThreadId() {
+            final MetadataItem item = map.get(TransactionContext.TRANSACTION_OWNING_THREAD_KEY);
+            return item != null && item.get() instanceof Number ? ((Number) item.get()).longValue() : -1L;
+        }
+
+        @Override
+        void setOwningThreadId(long owningThreadId) {
+            map.put(TransactionContext.TRANSACTION_OWNING_THREAD_KEY, new MetadataItem(Long.valueOf(owningThreadId)));
+        }
+
+        @Override
+        AtomicInteger getReferenceCounter() {
+            final MetadataItem item = map.get(TransactionContext.REFERENCE_COUNTER_KEY);
+            return item != null && item.get() instanceof AtomicInteger ? (AtomicInteger) item.get() : null;
+        }
+
+        @Override
+        void setReferenceCounter(AtomicInteger referenceCounter) {
+            if (referenceCounter == null) {
+                map.remove(TransactionContext.REFERENCE_COUNTER_KEY);
+            } else {
+                map.put(TransactionContext.REFERENCE_COUNTER_KEY, new MetadataItem(referenceCounter));
+            }
+        }
+
+        @Override
+        MetadataItem getItem(String key) {
+            return map.get(key);
+        }
+
+        @Override
+        MetadataItem putItem(String key, MetadataItem item) {
+            return map.put(key, item);
+        }
+
+        @Override
+        MetadataItem removeItem(String key) {
+            return map.remove(key);
+        }
+
+        @Override
+        void putValue(String key, Object value) {
+            final MetadataItem item = map.get(key);
+            if (!updateInPlace(item, value) || map.get(key) != item) {
+                map.put(key, new MetadataItem(value));
+            }
+        }
+
+        @Override
+        MetadataItem getItem(MetadataKey<?> key) {
+            return map.get(key.getName());
+        }
+
+        @Override
+        MetadataItem putItem(MetadataKey<?> key, MetadataItem item) {
+            return map.put(key.getName(), item);
+        }
+
+        @Override
+        MetadataItem removeItem(MetadataKey<?> key) {
+            return map.remove(key.getName());
+        }
+
+        @Override
+        void forEachMetadataWithTag(String tag, BiConsumer<String, Object> consumer) {
+            //the foreign map may have been tagged directly, so is always searched in full
+            for (Map.Entry<String, MetadataItem> entry : map.entrySet()) {
+                if (entry.getValue().hasTag(tag)) {
+                    consumer.accept(entry.getKey(), entry.getValue().get());
+                }
+            }
+        }
+
+        @Override
+        Map<String, Object> getMetadataWithTag(String tag) {
+            final Map<String, Object> result = new HashMap<>();
+            for (Map.Entry<String, MetadataItem> entry : map.entrySet()) {
+                if (entry.getValue().hasTag(tag)) {
+                    result.put(entry.getKey(), entry.getValue().get());
+                }
+            }
+            return result;
+        }
+
+        @Override
+        ConcurrentMap<String, MetadataItem> asMap() {
+            return map;
+        }
+    }
+
+    /**
+     * A ConcurrentMap view over a TransactionContextData. Reads and writes go straight to the context. Iteration works
+     * over a snapshot of the entries taken when the iterator is created.
+     */
+    static final class MapView extends AbstractMap<String, MetadataItem> implements ConcurrentMap<String, MetadataItem> {
+        final TransactionContextData data;
+
+        /**
+         * Construct a new MapView
+         * @param data the context to view
+         */
+        MapView(TransactionContextData data) {
+            this.data = data;
+        }
+
+        @Override
+        public MetadataItem get(Object key) {
+            return key instanceof String ? data.getItem((String) key) : null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return get(key) != null;
+        }
+
+        @Override
+        public MetadataItem put(String key, MetadataItem value) {
+            if (key == null || value == null) {
+                throw new NullPointerException();
+            }
+            return data.putItem(key, value);
+        }
+
+        @Override
+        public MetadataItem remove(Object key) {
+            return key instanceof String ? data.removeItem((String) key) : null;
+        }
+
+        @Override
+        public int size() {
+            return data.size();
+        }
+
+        @Override
+        public MetadataItem putIfAbsent(String key, MetadataItem value) {
+            synchronized (data) {
+                final MetadataItem current = get(key);
+                if (current == null) {
+                    put(key, value);
+                }
+                return current;
+            }
+        }
+
+        @Override
+        public boolean remove(Object key, Object value) {
+            synchronized (data) {
+                final MetadataItem current = get(key);
+                if (current != null && current.equals(value)) {
+                    remove(key);
+                    return true;
+                }
+                return false;
+            }
+        }
+
+        @Override
+        public boolean replace(String key, MetadataItem oldValue, MetadataItem newValue) {
+            synchronized (data) {
+                final MetadataItem current = get(key);
+                if (current != null && current.equals(oldValue)) {
+                    put(key, newValue);
+                    return true;
+                }
+                return false;
+            }
+        }
+
+        @Override
+        public MetadataItem replace(String key, MetadataItem value) {
+            synchronized (data) {
+                final MetadataItem current = get(key);
+                if (current != null) {
+                    put(key, value);
+                }
+                return current;
+            }
+        }
+
+        @Override
+        public Set<Map.Entry<String, MetadataItem>> entrySet() {
+            return new EntrySet(this);
+        }
+    }
+
+    /**
+     * The entry set of a MapView, iterating over a snapshot of the context
+     */
+    static final class EntrySet extends AbstractSet<Map.Entry<String, MetadataItem>> {
+        private final MapView view;
+
+        /**
+         * Construct a new EntrySet
+         * @param view the map view whose entries are presented
+         */
+        EntrySet(MapView view) {
+            this.view = view;
+        }
+
+        @Override
+        public Iterator<Map.Entry<String, MetadataItem>> iterator() {
+            return new EntryIterator(view, view.data.entries().iterator());
+        }
+
+        @Override
+        public int size() {
+            return view.size();
+        }
+    }
+
+    /**
+     * An iterator over a snapshot of a context's entries, whose remove() writes through to the context
+     */
+    static final class EntryIterator implements Iterator<Map.Entry<String, MetadataItem>> {
+        private final MapView view;
+        private final Iterator<Map.Entry<String, MetadataItem>> snapshot;
+        private Map.Entry<String, MetadataItem> last;
+
+        /**
+         * Construct a new EntryIterator
+         * @param view the map view being iterated
+         * @param snapshot an iterator over the entries captured from the context
+         */
+        EntryIterator(MapView view, Iterator<Map.Entry<String, MetadataItem>> snapshot) {
+            this.view = view;
+            this.snapshot = snapshot;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return snapshot.hasNext();
+        }
+
+        @Override
+        public Map.Entry<String, MetadataItem> next() {
+            return last = snapshot.next();
+        }
+
+        @Override
+        public void remove() {
+            if (last == null) {
+                throw new IllegalStateException();
+            }
+            view.remove(last.getKey());
+            last = null;
+        }
+    }
+}
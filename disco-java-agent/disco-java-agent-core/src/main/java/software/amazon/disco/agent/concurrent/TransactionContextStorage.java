@@ -0,0 +1,309 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License").
+ *   You may not use this file except in compliance with the License.
+ *   A copy of the License is located at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file. This file is distributed
+ *   on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *   express or implied. See the License for the specific language governing
+ *   permissions and limitations under the License.
+ */
+
+package software.amazon.disco.agent.concurrent;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * Where the TransactionContext of the current thread is kept. By default this is a ThreadLocal, but on JDKs which provide
+ * java.lang.ScopedValue, the agent may be configured at startup to bind the context of propagated work through a
+ * ScopedValue instead, so that the very large numbers of short-lived virtual threads a service may create do not each need
+ * a ThreadLocal map. Code running outside of any such binding, e.g. the thread which creates a TransactionContext in the
+ * first place, always falls back to the ThreadLocal.
+ *
+ * Like TransactionContext, this class may be loaded while the JVM is bootstrapping, so avoids lambda expressions.
+ */
+public abstract class TransactionContextStorage {
+    /**
+     * The available kinds of storage
+     */
+    public enum Type {
+        /**
+         * Keep the TransactionContext in a ThreadLocal, the default
+         */
+        THREAD_LOCAL,
+
+        /**
+         * Bind the TransactionContext of propagated work through a ScopedValue, where the JDK supports it. JDKs 21 to 24
+         * provide ScopedValue as a preview API, so may additionally require the --enable-preview JVM argument.
+         */
+        SCOPED_VALUE
+    }
+
+    /**
+     * Package-private constructor, since the set of storage types is fixed.
+     */
+    TransactionContextStorage() {
+    }
+
+    /**
+     * Get the kind of this storage
+     * @return the storage type
+     */
+    abstract Type getType();
+
+    /**
+     * Get the context of the current thread, creating an uninitialized one if there is none
+     * @return the current context data
+     */
+    abstract TransactionContextData get();
+
+    /**
+     * Replace the context of the current thread
+     * @param context the new context data, never null
+     */
+    abstract void set(TransactionContextData context);
+
+    /**
+     * Discard the context of the current thread, so that a subsequent get() finds an uninitialized one
+     */
+    abstract void remove();
+
+    /**
+     * Test if this storage can bind a context for the extent of a task via {@link #runBound(TransactionContextData, Runnable)}
+     * @return true if binding is supported
+     */
+    abstract boolean isBindingSupported();
+
+    /**
+     * Run a task with the given context bound as the current context, restoring the previous context afterwards. Only
+     * meaningful if {@link #isBindingSupported()}, otherwise the task is simply run.
+     * @param context the context data to bind
+     * @param task the task to run
+     */
+    abstract void runBound(TransactionContextData context, Runnable task);
+
+    /**
+     * Storage in a ThreadLocal, available on all JDKs
+     */
+    static class ForThreadLocal extends TransactionContextStorage {
+        private final ThreadLocal<TransactionContextData> threadLocal;
+
+        /**
+         * Construct a new ThreadLocal storage
+         * @param threadLocal the ThreadLocal, which supplies an uninitialized context as its initial value
+         */
+        ForThreadLocal(ThreadLocal<TransactionContextData> threadLocal) {
+            this.threadLocal = threadLocal;
+        }
+
+        @Override
+        Type getType() {
+            return Type.THREAD_LOCAL;
+        }
+
+        @Override
+        TransactionContextData get() {
+            return threadLocal.get();
+        }
+
+        @Override
+        void set(TransactionContextData context) {
+            threadLocal.set(context);
+        }
+
+        @Override
+        void remove() {
+            threadLocal.remove();
+        }
+
+        @Override
+        boolean isBindingSupported() {
+            return false;
+        }
+
+        @Override
+        void runBound(TransactionContextData context, Runnable task) {
+            task.run();
+        }
+    }
+
+    /**
+     * Storage in a java.lang.ScopedValue, falling back to a ThreadLocal outside of any binding. The ScopedValue API is
+     * reached through MethodHandles, since the agent is compiled for Java 8.
+     *
+     * The ScopedValue binds an immutable handle, a {@link Binding}, which holds the context for its owning thread. The
+     * handle is mutable only by its owner, so that TransactionContext.create() and friends work as usual within a binding.
+     * Threads which inherit the binding, such as the forks of a StructuredTaskScope, do not own it and so fall back to
+     * their own storage, to which the concurrency support will have propagated the context in the usual way.
+     */
+    static class ForScopedValue extends TransactionContextStorage {
+        private static final MethodHandle OR_ELSE;
+        private static final MethodHandle WHERE;
+        private static final MethodHandle RUN;
+        private static final Throwable UNAVAILABLE_CAUSE;
+
+        static {
+            MethodHandle orElse = null;
+            MethodHandle where = null;
+            MethodHandle run = null;
+            Throwable cause = null;
+            try {
+                Class<?> scopedValueClass = Class.forName("java.lang.ScopedValue");
+                Class<?> carrierClass = Class.forName("java.lang.ScopedValue$Carrier");
+                MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+                Object scopedValue = lookup.findStatic(scopedValueClass, "newInstance", MethodType.methodType(scopedValueClass)).invoke();
+
+                orElse = lookup.findVirtual(scopedValueClass, "orElse", MethodType.methodType(Object.class, Object.class))
+                        .bindTo(scopedValue)
+                        .asType(MethodType.methodType(Object.class, Object.class));
+                where = MethodHandles.insertArguments(
+                        lookup.findStatic(scopedValueClass, "where", MethodType.methodType(carrierClass, scopedValueClass, Object.class)),
+                        0, scopedValue)
+                        .asType(MethodType.methodType(Object.class, Object.class));
+                run = lookup.findVirtual(carrierClass, "run", MethodType.methodType(void.class, Runnable.class))
+                        .asType(MethodType.methodType(void.class, Object.class, Runnable.class));
+
+                //a preview API may be present yet refuse to work, so try it out once
+                run.invokeExact(where.invokeExact((Object) new Binding(null)), (Runnable) new NoOp());
+            } catch (Throwable t) {
+                cause = t;
+            }
+
+            OR_ELSE = cause == null ? orElse : null;
+            WHERE = cause == null ? where : null;
+            RUN = cause == null ? run : null;
+            UNAVAILABLE_CAUSE = cause;
+        }
+
+        private final ThreadLocal<TransactionContextData> fallback;
+
+        /**
+         * Construct a new ScopedValue storage. Check {@link #isAvailable()} first.
+         * @param fallback the ThreadLocal to use outside of any binding
+         */
+        ForScopedValue(ThreadLocal<TransactionContextData> fallback) {
+            this.fallback = fallback;
+        }
+
+        /**
+         * Test if the running JDK provides a usable ScopedValue
+         * @return true if this storage may be used
+         */
+        static boolean isAvailable() {
+            return UNAVAILABLE_CAUSE == null;
+        }
+
+        /**
+         * Get the reason ScopedValue storage is unavailable, for logging
+         * @return the failure encountered when looking up ScopedValue, or null if it is available
+         */
+        static Throwable getUnavailableCause() {
+            return UNAVAILABLE_CAUSE;
+        }
+
+        @Override
+        Type getType() {
+            return Type.SCOPED_VALUE;
+        }
+
+        @Override
+        TransactionContextData get() {
+            final Binding binding = currentBinding();
+            return binding != null ? binding.context : fallback.get();
+        }
+
+        @Override
+        void set(TransactionContextData context) {
+            final Binding binding = currentBinding();
+            if (binding != null) {
+                binding.context = context;
+            } else {
+                fallback.set(context);
+            }
+        }
+
+        @Override
+        void remove() {
+            final Binding binding = currentBinding();
+            if (binding != null) {
+                binding.context = new TransactionContextData();
+            } else {
+                fallback.remove();
+            }
+        }
+
+        @Override
+        boolean isBindingSupported() {
+            return true;
+        }
+
+        @Override
+        void runBound(TransactionContextData context, Runnable task) {
+            try {
+                RUN.invokeExact(WHERE.invokeExact((Object) new Binding(context)), task);
+            } catch (Throwable t) {
+                ForScopedValue.<RuntimeException>rethrow(t);
+            }
+        }
+
+        /**
+         * Get the binding of the current thread, if it is the owner of the innermost bound handle
+         * @return the binding, or null if the current thread should use the fallback ThreadLocal
+         */
+        private static Binding currentBinding() {
+            final Object bound;
+            try {
+                bound = OR_ELSE.invokeExact((Object) null);
+            } catch (Throwable t) {
+                return ForScopedValue.<RuntimeException>rethrow(t);
+            }
+
+            final Binding binding = (Binding) bound;
+            return binding != null && binding.owner == Thread.currentThread() ? binding : null;
+        }
+
+        /**
+         * Rethrow a Throwable, which can only be unchecked or else thrown sneakily by a Runnable, without wrapping it
+         * @param t the Throwable to rethrow
+         * @param <T> the inferred exception type
+         * @return never returns
+         * @throws T always
+         */
+        @SuppressWarnings("unchecked")
+        private static <T extends Throwable> Binding rethrow(Throwable t) throws T {
+            throw (T) t;
+        }
+    }
+
+    /**
+     * The handle bound through the ScopedValue. Only its owning thread may read or replace the context it holds.
+     */
+    static final class Binding {
+        final Thread owner;
+        TransactionContextData context;
+
+        /**
+         * Construct a new Binding owned by the current thread
+         * @param context the initial context data
+         */
+        Binding(TransactionContextData context) {
+            this.owner = Thread.currentThread();
+            this.context = context;
+        }
+    }
+
+    /**
+     * A Runnable which does nothing, used to try out the ScopedValue API
+     */
+    private static class NoOp implements Runnable {
+        @Override
+        public void run() {
+        }
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License").
+ *   You may not use this file except in compliance with the License.
+ *   A copy of the License is located at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file. This file is distributed
+ *   on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *   express or implied. See the License for the specific language governing
+ *   permissions and limitations under the License.
+ */
+
+package software.amazon.disco.agent.concurrent;
+
+import net.bytebuddy.agent.builder.AgentBuilder;
+import net.bytebuddy.asm.Advice;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.method.ParameterDescription;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.implementation.bytecode.assign.Assigner;
+import net.bytebuddy.matcher.ElementMatcher;
+import software.amazon.disco.agent.concurrent.decorate.DecoratedRunnable;
+import software.amazon.disco.agent.interception.Installable;
+import software.amazon.disco.agent.logging.LogManager;
+import software.amazon.disco.agent.logging.Logger;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import static net.bytebuddy.matcher.ElementMatchers.hasParameters;
+import static net.bytebuddy.matcher.ElementMatchers.hasType;
+import static net.bytebuddy.matcher.ElementMatchers.is;
+import static net.bytebuddy.matcher.ElementMatchers.isConstructor;
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static net.bytebuddy.matcher.ElementMatchers.whereAny;
+
+/**
+ * Virtual threads, available from JDK 21 via Thread.ofVirtual() or Executors.newVirtualThreadPerTaskExecutor(), do not
+ * dispatch through Thread#start() and Thread#run() as platform threads do. Instead, java.lang.VirtualThread wraps its task
+ * in a Continuation at construction time, and that Continuation is mounted on a carrier thread of a ForkJoinPool each
+ * time the virtual thread is scheduled.
+ *
+ * We therefore decorate the task as the VirtualThread is constructed. The decoration holds a reference to the parent's
+ * TransactionContext rather than a copy of it. In the default storage mode, the decoration then sets the TransactionContext
+ * ThreadLocal once per virtual thread as its task begins, and does not remove it afterwards. That ThreadLocal belongs to
+ * the virtual thread rather than to its carrier, so nothing is left behind on the carrier threads, and the entry is released
+ * along with the virtual thread when it terminates. The re-submission of a virtual thread's Continuation to its scheduler, which
+ * happens whenever it unparks or yields, is deliberately not decorated - see {@link #isVirtualThreadContinuation(Runnable)}.
+ *
+ * On JDKs without virtual threads the type matcher simply never matches.
+ */
+class VirtualThreadInterceptor implements Installable {
+    static final String VIRTUAL_THREAD_CLASS = "java.lang.VirtualThread";
+    private static final String VIRTUAL_THREAD_INNER_CLASS_PREFIX = VIRTUAL_THREAD_CLASS + "$";
+    private static Logger log = LogManager.getLogger(VirtualThreadInterceptor.class);
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public AgentBuilder install(AgentBuilder agentBuilder) {
+        //redefinition is configured in case the VirtualThread class has already been loaded, e.g. by the JDK itself
+        return InterceptorUtils.configureRedefinition(agentBuilder)
+                .type(createTypeMatcher())
+                .transform((builder, typeDescription, classLoader, module) -> {
+                    if (typeDescription.getDeclaredMethods().filter(createConstructorMatcher()).isEmpty()) {
+                        log.warn("DiSCo(Concurrency) found no VirtualThread constructor taking a Runnable task, TransactionContext will not be propagated into virtual threads");
+                    }
+                    return builder
+                        .visit(Advice.withCustomMapping()
+                            .bind(Task.class, new TaskArgument())
+                            .to(ConstructorAdvice.class)
+                            .on(createConstructorMatcher()));
+                });
+    }
+
+    /**
+     * Create a type matcher matching - exactly - the JDK VirtualThread class, by name since it is absent before JDK 21
+     * @return a type matcher as per above
+     */
+    static ElementMatcher.Junction<? super TypeDescription> createTypeMatcher() {
+        return named(VIRTUAL_THREAD_CLASS);
+    }
+
+    /**
+     * Create a method matcher for the VirtualThread constructor. In JDK 21 this takes the scheduler, name, characteristics
+     * and the Runnable task to execute, but since the class is internal to the JDK we match any constructor with a
+     * Runnable parameter, wherever it appears
+     * @return a method matcher as per above
+     */
+    static ElementMatcher.Junction<? super MethodDescription> createConstructorMatcher() {
+        return isConstructor()
+                .and(hasParameters(whereAny(hasType(is(Runnable.class)))));
+    }
+
+    /**
+     * Find the Runnable task among the parameters of a VirtualThread constructor
+     * @param constructor the constructor, as matched by {@link #createConstructorMatcher()}
+     * @return the last parameter of type Runnable, or null if there is none
+     */
+    static ParameterDescription findTaskParameter(MethodDescription constructor) {
+        ParameterDescription task = null;
+        for (ParameterDescription parameter : constructor.getParameters()) {
+            if (parameter.getType().asErasure().represents(Runnable.class)) {
+                task = parameter;
+            }
+        }
+        return task;
+    }
+
+    /**
+     * Test if a Runnable being submitted to an Executor is the Continuation of a virtual thread, being rescheduled onto
+     * a carrier thread. Such Runnables must not be decorated, since the virtual thread already carries its own
+     * TransactionContext, and decorating it would instead pollute the carrier thread with the context of whichever thread
+     * happened to unpark it.
+     *
+     * @param task the Runnable being submitted
+     * @return true if the Runnable is one of the JDK VirtualThread's own inner classes
+     */
+    static boolean isVirtualThreadContinuation(Runnable task) {
+        return task != null && task.getClass().getName().startsWith(VIRTUAL_THREAD_INNER_CLASS_PREFIX);
+    }
+
+    /**
+     * Marks the Advice parameter which is bound to the Runnable task of the VirtualThread constructor, whatever its position
+     */
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.PARAMETER)
+    @interface Task {
+    }
+
+    /**
+     * Binds the {@link Task} annotation to the Runnable parameter of the constructor being advised
+     */
+    static class TaskArgument extends Advice.OffsetMapping.ForArgument {
+        /**
+         * Construct a writable binding, so that the Advice may replace the task with its decoration
+         */
+        TaskArgument() {
+            super(TypeDescription.Generic.OfNonGenericType.ForLoadedType.of(Runnable.class), false, Assigner.Typing.STATIC);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected ParameterDescription resolve(MethodDescription instrumentedMethod) {
+            ParameterDescription task = findTaskParameter(instrumentedMethod);
+            if (task == null) {
+                throw new IllegalStateException("No Runnable parameter in " + instrumentedMethod);
+            }
+            return task;
+        }
+    }
+
+    /**
+     * A ByteBuddy Advice class to decorate the task of a VirtualThread as it is constructed
+     */
+    public static class ConstructorAdvice {
+        /**
+         * Advice OnMethodEnter to decorate the supplied task
+         * @param task the Runnable which the virtual thread will execute
+         */
+        @Advice.OnMethodEnter
+        public static void onConstructorEnter(@Task Runnable task) {
+            try {
+                task = methodEnter(task);
+            } catch (Throwable t) {
+                captureThrowableForDebugging(t);
+            }
+        }
+
+        /**
+         * A trampoline method to make debugging possible from within an Advice
+         * @param task the Runnable as passed to the Advice OnMethodEnter method
+         * @return the decorated Runnable, or the same Runnable if there is no TransactionContext to propagate
+         */
+        public static Runnable methodEnter(Runnable task) {
+            return DecoratedRunnable.maybeDecorate(task);
+        }
+
+        /**
+         * Under normal circumstances should not be called, but for debugging, we call out to a 'real' method
+         * @param t the throwable which was thrown by the advice
+         */
+        public static void captureThrowableForDebugging(Throwable t) {
+            log.error("DiSCo(Concurrency) failed to decorate task for VirtualThread", t);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License").
+ *   You may not use this file except in compliance with the License.
+ *   A copy of the License is located at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file. This file is distributed
+ *   on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *   express or implied. See the License for the specific language governing
+ *   permissions and limitations under the License.
+ */
+
+package software.amazon.disco.agent.concurrent.decorate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.RunnableFuture;
+
+/**
+ * The invokeAll() and invokeAny() methods of an ExecutorService hand off a whole collection of Callables at once, from the
+ * same thread and in the same TransactionContext. Rather than capture that context once per task, the collection is
+ * decorated in a single pass, with every DecoratedCallable sharing one captured snapshot.
+ *
+ * An AbstractExecutorService then wraps each Callable in a FutureTask, and passes it to its own execute() method from the
+ * submitting thread. Since the Callable within already carries the context, the FutureTask needs no decoration of its
+ * own, and Executor interceptors consult {@link #isBatchMember(Runnable)} to skip it.
+ */
+public class CallableBatch {
+    private static final SubmittingFlag submitting = new SubmittingFlag();
+
+    /**
+     * Private constructor, use static methods directly.
+     */
+    private CallableBatch() {
+    }
+
+    /**
+     * Decorate every Callable in the given collection which is not already decorated, sharing one captured context
+     * between them all.
+     * @param tasks the Callables being handed off
+     * @return a new collection of DecoratedCallables in the same order, or the input collection itself if the current thread
+     * has no TransactionContext to propagate, or there was nothing to decorate
+     */
+    public static Collection<? extends Callable<?>> decorate(Collection<? extends Callable<?>> tasks) {
+        if (tasks == null || tasks.isEmpty() || !Decorated.isPropagationRequired()) {
+            return tasks;
+        }
+
+        List<Callable<?>> decorated = new ArrayList<>(tasks.size());
+        DecoratedCallable<?> snapshot = null;
+        boolean changed = false;
+        for (Callable<?> task : tasks) {
+            if (task == null || task instanceof DecoratedCallable) {
+                decorated.add(task);
+                continue;
+            }
+
+            DecoratedCallable<?> decoratedTask = snapshot == null ? new DecoratedCallable<>(task, true) : new DecoratedCallable<>(task, snapshot);
+            if (snapshot == null) {
+                snapshot = decoratedTask;
+            }
+            decorated.add(decoratedTask);
+            changed = true;
+        }
+        return changed ? decorated : tasks;
+    }
+
+    /**
+     * Signal that the current thread is about to submit the members of a decorated batch to an Executor.
+     * @return whether the current thread was already submitting a batch, to be passed to {@link #endSubmission(boolean)}
+     */
+    public static boolean beginSubmission() {
+        boolean previous = submitting.get();
+        if (!previous) {
+            submitting.set(Boolean.TRUE);
+        }
+        return previous;
+    }
+
+    /**
+     * Signal that the current thread has finished submitting a batch.
+     * @param previous the value returned by the matching call to {@link #beginSubmission()}
+     */
+    public static void endSubmission(boolean previous) {
+        if (!previous) {
+            submitting.set(Boolean.FALSE);
+        }
+    }
+
+    /**
+     * Test whether a Runnable being passed to an Executor is the FutureTask, or other RunnableFuture, wrapping a member
+     * of the decorated batch which the current thread is submitting, and therefore needs no decoration of its own.
+     * @param task the Runnable being passed to the Executor
+     * @return true if the Runnable is a member of a batch being submitted
+     */
+    public static boolean isBatchMember(Runnable task) {
+        return task instanceof RunnableFuture && submitting.get();
+    }
+
+    /**
+     * Suspend the submission of a batch by the current thread, while it runs one of the batch's members itself.
+     * @return true if a batch was being submitted, and so must be resumed afterwards by {@link #resumeSubmission()}
+     */
+    static boolean suspendSubmission() {
+        if (!submitting.get()) {
+            return false;
+        }
+        submitting.set(Boolean.FALSE);
+        return true;
+    }
+
+    /**
+     * Resume the submission of a batch suspended by {@link #suspendSubmission()}.
+     */
+    static void resumeSubmission() {
+        submitting.set(Boolean.TRUE);
+    }
+
+    /**
+     * Whether the current thread is submitting a batch. An explicit subclass rather than a lambda initializer, since this
+     * class may be loaded while the JVM is still bootstrapping.
+     */
+    static class SubmittingFlag extends ThreadLocal<Boolean> {
+        @Override
+        protected Boolean initialValue() {
+            return Boolean.FALSE;
+        }
+    }
+}
@@ -16,29 +16,73 @@
 package software.amazon.disco.agent.concurrent.decorate;
 
 import software.amazon.disco.agent.concurrent.ConcurrentUtils;
-import software.amazon.disco.agent.concurrent.MetadataItem;
 import software.amazon.disco.agent.concurrent.TransactionContext;
-
-import java.util.concurrent.ConcurrentMap;
+import software.amazon.disco.agent.concurrent.TransactionContextData;
 
 /**
  * To propagate context, we decorate or otherwise adorn classes such as Runnable, Callable and ForkJoinTask
  * with extra metadata regarding thread provenance. This metadata is encapsulated in this abstraction.
+ *
+ * Work handed off from a thread which is not within a created TransactionContext, such as background workers, has no
+ * context to propagate. Factory methods use {@link #isPropagationRequired()} to skip decoration of such work, or to
+ * share a single decoration which carries no context.
  */
 public abstract class Decorated {
     private boolean removeTransactionContext;
     protected long parentThreadId;
-    ConcurrentMap<String, MetadataItem> parentTransactionContext;
+    TransactionContextData parentTransactionContext;
 
     /**
      * Construct a new object to hold thread provenance information.
      */
     protected Decorated() {
         this.removeTransactionContext = false;
-        this.parentTransactionContext = TransactionContext.getPrivateMetadata();
+        this.parentTransactionContext = TransactionContext.getPrivateContext();
         this.parentThreadId = Thread.currentThread().getId();
     }
 
+    /**
+     * Construct a new object carrying no thread provenance information, whose before() and after() treatments do nothing.
+     * Such an object holds no per-thread state, so one instance may be shared between any number of tasks.
+     *
+     * @param parentThreadId the threadId to record as the parent
+     */
+    protected Decorated(long parentThreadId) {
+        this.removeTransactionContext = false;
+        this.parentTransactionContext = null;
+        this.parentThreadId = parentThreadId;
+    }
+
+    /**
+     * Construct a new object sharing the thread provenance information already captured by another, for work handed off
+     * in a batch from the same thread.
+     *
+     * @param snapshot the object whose parent threadId and TransactionContext are to be shared
+     */
+    protected Decorated(Decorated snapshot) {
+        this.removeTransactionContext = false;
+        this.parentTransactionContext = snapshot.parentTransactionContext;
+        this.parentThreadId = snapshot.parentThreadId;
+    }
+
+    /**
+     * Test whether work being handed off from the current thread needs its TransactionContext propagated, i.e. whether
+     * the current thread is within a created TransactionContext.
+     * @return true if the current context should be captured, false if it is the uninitialized context
+     */
+    public static boolean isPropagationRequired() {
+        return TransactionContext.isWithinCreatedContext();
+    }
+
+    /**
+     * Test whether before() would install a context other than the one already current on this thread. Work dispatched
+     * on the thread it was handed off from, or within the very context it captured, needs no treatment.
+     * @return true if this decoration carries a parent context which is not the current thread's context
+     */
+    public boolean isContextSwitchRequired() {
+        return parentTransactionContext != null && parentTransactionContext != TransactionContext.getPrivateContext();
+    }
+
     /**
      * Set whether or not to fully remove the TransactionContext at the end of the after() treatment. Defaults false.
      * @param removeTransactionContext true/false to remove() or not.
@@ -47,17 +91,39 @@ public abstract class Decorated {
         this.removeTransactionContext = removeTransactionContext;
     }
 
+    /**
+     * Test whether the dispatched object method should run within a binding of the parent's context, as provided by
+     * ScopedValue storage of the TransactionContext, rather than merely between before() and after().
+     * @return true if runBound() should be used
+     */
+    protected boolean isBindingRequired() {
+        return parentTransactionContext != null && TransactionContext.isContextBindingSupported();
+    }
+
+    /**
+     * Run the given body, which is expected to call before() and after() itself, with the parent's context bound as the
+     * current context for its extent.
+     * @param body the treatment of the dispatched object method
+     */
+    protected void runBound(Runnable body) {
+        TransactionContext.runWithContext(parentTransactionContext, body);
+    }
+
     /**
      * Convenience method to call before the execution of the dispatched object method eg. run() or call()
      */
     public void before() {
-        ConcurrentUtils.enter(parentThreadId, parentTransactionContext);
+        if (parentTransactionContext != null) {
+            ConcurrentUtils.enterContext(parentThreadId, parentTransactionContext);
+        }
     }
 
     /**
      * Convenience method to call after the execution of the dispatched object method eg. run() or call()
      */
     public void after() {
-        ConcurrentUtils.exit(parentThreadId, parentTransactionContext, removeTransactionContext);
+        if (parentTransactionContext != null) {
+            ConcurrentUtils.exitContext(parentThreadId, parentTransactionContext, removeTransactionContext);
+        }
     }
 }
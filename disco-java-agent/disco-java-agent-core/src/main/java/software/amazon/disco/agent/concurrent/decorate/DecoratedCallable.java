@@ -21,16 +21,38 @@ import java.util.concurrent.Callable;
  * Given a Callable object used for thread hand-off, decorate it with thread-info metadata, to allow propagation
  * of DiSCo TransactionContext.
  */
-public class DecoratedCallable extends Decorated implements Callable {
-    Callable target;
+public class DecoratedCallable<T> extends Decorated implements Callable<T> {
+    Callable<T> target;
+    private final boolean batched;
 
     /**
      * Construct a DecoratedCallable from the given target
      * @param target the Callable to decorate
      */
-    DecoratedCallable(Callable target) {
+    DecoratedCallable(Callable<T> target) {
+        this(target, false);
+    }
+
+    /**
+     * Construct a DecoratedCallable from the given target, capturing the current context
+     * @param target the Callable to decorate
+     * @param batched true if the Callable is the first of a batch, whose context is to be shared with the rest
+     */
+    DecoratedCallable(Callable<T> target, boolean batched) {
         super();
         this.target = target;
+        this.batched = batched;
+    }
+
+    /**
+     * Construct a DecoratedCallable from the given target, as one of a batch sharing the context captured by another
+     * @param target the Callable to decorate
+     * @param snapshot a member of the same batch, whose captured context is shared
+     */
+    DecoratedCallable(Callable<T> target, DecoratedCallable<?> snapshot) {
+        super(snapshot);
+        this.target = target;
+        this.batched = true;
     }
 
     /**
@@ -38,7 +60,7 @@ public class DecoratedCallable extends Decorated implements Callable {
      * @param target the Runnable to consider for decoration
      * @return a DecoratedRunnable representing the input Runnable
      */
-    public static Callable maybeCreate(Callable target) {
+    public static <T> Callable<T> maybeCreate(Callable<T> target) {
         if (target == null) {
             return null;
         }
@@ -47,7 +69,22 @@ public class DecoratedCallable extends Decorated implements Callable {
             return target;
         }
 
-        return new DecoratedCallable(target);
+        return new DecoratedCallable<>(target);
+    }
+
+    /**
+     * Factory method to decorate a Callable only if it is not already a DecoratedCallable, and only if the current thread
+     * has a TransactionContext to propagate. Work handed off outside of any transaction is returned undecorated, so that
+     * it incurs no allocation, nor any treatment before and after it runs.
+     * @param target the Callable to consider for decoration
+     * @return a DecoratedCallable representing the input Callable, or the input Callable itself
+     */
+    public static <T> Callable<T> maybeDecorate(Callable<T> target) {
+        if (target == null || target instanceof DecoratedCallable || !isPropagationRequired()) {
+            return target;
+        }
+
+        return new DecoratedCallable<>(target);
     }
 
     /**
@@ -55,7 +92,24 @@ public class DecoratedCallable extends Decorated implements Callable {
      * {@inheritDoc}
      */
     @Override
-    public Object call() throws Exception {
+    public T call() throws Exception {
+        if (isBindingRequired()) {
+            BoundCall body = new BoundCall();
+            runBound(body);
+            return body.getResult();
+        }
+        return callDecorated();
+    }
+
+    /**
+     * Call the target between the before() and after() treatments
+     * @return the result of the target
+     * @throws Exception if the target throws
+     */
+    private T callDecorated() throws Exception {
+        //a batch member may be run by the submitting thread itself, e.g. under CallerRunsPolicy, in which case any work
+        //it submits in turn is not part of the batch, and must be decorated as usual
+        boolean submitting = batched && CallableBatch.suspendSubmission();
         before();
         try {
             return target.call();
@@ -63,6 +117,39 @@ public class DecoratedCallable extends Decorated implements Callable {
             throw t;
         }finally {
             after();
+            if (submitting) {
+                CallableBatch.resumeSubmission();
+            }
+        }
+    }
+
+    /**
+     * The body of call(), when it is to be executed within a binding of the parent's context. Since the binding can only
+     * run a Runnable, the outcome of the call is captured for call() to return or throw afterwards.
+     */
+    private class BoundCall implements Runnable {
+        private T result;
+        private Exception thrown;
+
+        @Override
+        public void run() {
+            try {
+                result = callDecorated();
+            } catch (Exception e) {
+                thrown = e;
+            }
+        }
+
+        /**
+         * Get the outcome of the call
+         * @return the result of the target
+         * @throws Exception if the target threw
+         */
+        T getResult() throws Exception {
+            if (thrown != null) {
+                throw thrown;
+            }
+            return result;
         }
     }
 }
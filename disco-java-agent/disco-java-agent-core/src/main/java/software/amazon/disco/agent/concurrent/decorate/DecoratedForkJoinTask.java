@@ -23,6 +23,7 @@ package software.amazon.disco.agent.concurrent.decorate;
  */
 public class DecoratedForkJoinTask extends Decorated {
     public static final String DISCO_DECORATION_FIELD_NAME = "$discoDecoration";
+    private static final DecoratedForkJoinTask UNINITIALIZED = new DecoratedForkJoinTask(-1L);
 
     /**
      * Private constructor, use factory method for creation.
@@ -30,12 +31,21 @@ public class DecoratedForkJoinTask extends Decorated {
     private DecoratedForkJoinTask() {
     }
 
+    /**
+     * Private constructor for the shared decoration carrying no context.
+     * @param parentThreadId the threadId to record as the parent
+     */
+    private DecoratedForkJoinTask(long parentThreadId) {
+        super(parentThreadId);
+    }
+
     /**
      * Create DiSCo propagation metadata for a ForkJoinTask
-     * @return a new instance of the DecoratedForkJoinTask object.
+     * @return a new instance of the DecoratedForkJoinTask object, or a shared instance which does nothing if the
+     * current thread has no TransactionContext to propagate.
      */
     public static DecoratedForkJoinTask create() {
-        return new DecoratedForkJoinTask();
+        return isPropagationRequired() ? new DecoratedForkJoinTask() : UNINITIALIZED;
     }
 
     /**
@@ -54,6 +54,22 @@ public class DecoratedRunnable extends Decorated implements Runnable {
         return new DecoratedRunnable(target);
     }
 
+    /**
+     * Factory method to decorate a Runnable only if it is not already a DecoratedRunnable, and only if the current thread
+     * has a TransactionContext to propagate. Work handed off outside of any transaction is returned undecorated, so that
+     * it incurs no allocation, nor any treatment before and after it runs.
+     *
+     * @param target the Runnable to consider for decoration
+     * @return a DecoratedRunnable representing the input Runnable, or the input Runnable itself
+     */
+    public static Runnable maybeDecorate(Runnable target) {
+        if (target == null || target instanceof DecoratedRunnable || !isPropagationRequired()) {
+            return target;
+        }
+
+        return new DecoratedRunnable(target);
+    }
+
     /**
      * Factory method to decorate a Runnable only if it is not already a DecoratedRunnable
      *
@@ -107,6 +123,17 @@ public class DecoratedRunnable extends Decorated implements Runnable {
      */
     @Override
     public void run() {
+        if (isBindingRequired()) {
+            runBound(new BoundRun());
+            return;
+        }
+        runDecorated();
+    }
+
+    /**
+     * Run the target between the before() and after() treatments
+     */
+    private void runDecorated() {
         before();
         try {
             target.run();
@@ -117,14 +144,25 @@ public class DecoratedRunnable extends Decorated implements Runnable {
         }
     }
 
+    /**
+     * The body of run(), when it is to be executed within a binding of the parent's context
+     */
+    private class BoundRun implements Runnable {
+        @Override
+        public void run() {
+            runDecorated();
+        }
+    }
+
     /**
      * A function to be passed to {@link DiscoRunnableDecorator} in order to be applied to decorate Runnables. This
-     * function simply invokes the static {@link DecoratedRunnable#maybeCreate(Runnable)}.
+     * function invokes the static {@link DecoratedRunnable#maybeCreate(Runnable, boolean)} when the TransactionContext
+     * is to be removed afterwards, and {@link DecoratedRunnable#maybeDecorate(Runnable)} otherwise.
      */
     public static class RunnableDecorateFunction implements BiFunction<Runnable, Boolean, Runnable> {
         @Override
         public Runnable apply(Runnable target, Boolean removeTX) {
-            return maybeCreate(target, removeTX);
+            return removeTX ? maybeCreate(target, true) : maybeDecorate(target);
         }
     }
 }
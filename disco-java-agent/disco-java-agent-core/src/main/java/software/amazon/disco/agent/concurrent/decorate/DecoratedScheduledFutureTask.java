@@ -24,6 +24,7 @@ package software.amazon.disco.agent.concurrent.decorate;
  */
 public class DecoratedScheduledFutureTask extends Decorated {
     public static final String DISCO_DECORATION_FIELD_NAME = "$discoDecoration";
+    private static final DecoratedScheduledFutureTask UNINITIALIZED = new DecoratedScheduledFutureTask(-1L);
 
     /**
      * Private constructor, use factory method for creation.
@@ -31,12 +32,21 @@ public class DecoratedScheduledFutureTask extends Decorated {
     private DecoratedScheduledFutureTask() {
     }
 
+    /**
+     * Private constructor for the shared decoration carrying no context.
+     * @param parentThreadId the threadId to record as the parent
+     */
+    private DecoratedScheduledFutureTask(long parentThreadId) {
+        super(parentThreadId);
+    }
+
     /**
      * Create DiSCo propagation metadata for a ScheduledFutureTask
-     * @return a new instance of DecoratedScheduledFutureTask.
+     * @return a new instance of DecoratedScheduledFutureTask, or a shared instance which does nothing if the current
+     * thread has no TransactionContext to propagate.
      */
     public static DecoratedScheduledFutureTask create() {
-        return new DecoratedScheduledFutureTask();
+        return isPropagationRequired() ? new DecoratedScheduledFutureTask() : UNINITIALIZED;
     }
 
     /**
@@ -16,6 +16,8 @@
 package software.amazon.disco.agent.config;
 
 import net.bytebuddy.agent.builder.AgentBuilder;
+import software.amazon.disco.agent.concurrent.TransactionContextStorage;
+import software.amazon.disco.agent.event.AsyncEventDispatcher;
 import software.amazon.disco.agent.interception.Installable;
 
 import java.util.List;
@@ -33,6 +35,12 @@ public class AgentConfig {
     private boolean verbose = false;
     private boolean extraverbose = false;
     private String loggerFactoryClass;
+    private boolean asyncEvents = false;
+    private int asyncEventsCapacity = AsyncEventDispatcher.DEFAULT_CAPACITY;
+    private AsyncEventDispatcher.OverflowPolicy asyncEventsOverflowPolicy = AsyncEventDispatcher.OverflowPolicy.DROP_NEWEST;
+    private TransactionContextStorage.Type contextStorage = TransactionContextStorage.Type.THREAD_LOCAL;
+    private boolean consolidatedInstall = false;
+    private boolean binaryTransactionIds = false;
 
     /**
      * Construct a new AgentConfig
@@ -181,4 +189,100 @@ public class AgentConfig {
     public void setLoggerFactoryClass(String loggerFactoryClass) {
         this.loggerFactoryClass = loggerFactoryClass;
     }
+
+    /**
+     * Get whether the EventBus should deliver Events to AsyncSafeListeners from a background thread.
+     * @return true if asynchronous event dispatch is enabled
+     */
+    public boolean isAsyncEvents() {
+        return asyncEvents;
+    }
+
+    /**
+     * Set whether the EventBus should deliver Events to AsyncSafeListeners from a background thread.
+     * @param asyncEvents true to enable asynchronous event dispatch
+     */
+    protected void setAsyncEvents(boolean asyncEvents) {
+        this.asyncEvents = asyncEvents;
+    }
+
+    /**
+     * Get the maximum number of Events which may be queued for asynchronous dispatch.
+     * @return the queue capacity
+     */
+    public int getAsyncEventsCapacity() {
+        return asyncEventsCapacity;
+    }
+
+    /**
+     * Set the maximum number of Events which may be queued for asynchronous dispatch.
+     * @param asyncEventsCapacity the queue capacity, which will be rounded up to a power of two
+     */
+    protected void setAsyncEventsCapacity(int asyncEventsCapacity) {
+        this.asyncEventsCapacity = asyncEventsCapacity;
+    }
+
+    /**
+     * Get the policy applied to Events published while the asynchronous dispatch queue is full.
+     * @return the overflow policy
+     */
+    public AsyncEventDispatcher.OverflowPolicy getAsyncEventsOverflowPolicy() {
+        return asyncEventsOverflowPolicy;
+    }
+
+    /**
+     * Set the policy applied to Events published while the asynchronous dispatch queue is full.
+     * @param asyncEventsOverflowPolicy the overflow policy
+     */
+    protected void setAsyncEventsOverflowPolicy(AsyncEventDispatcher.OverflowPolicy asyncEventsOverflowPolicy) {
+        this.asyncEventsOverflowPolicy = asyncEventsOverflowPolicy;
+    }
+
+    /**
+     * Get where TransactionContexts should be stored.
+     * @return the requested storage type
+     */
+    public TransactionContextStorage.Type getContextStorage() {
+        return contextStorage;
+    }
+
+    /**
+     * Set where TransactionContexts should be stored.
+     * @param contextStorage the requested storage type
+     */
+    protected void setContextStorage(TransactionContextStorage.Type contextStorage) {
+        this.contextStorage = contextStorage;
+    }
+
+    /**
+     * Get whether Installables should share a single ClassFileTransformer, rather than each registering its own.
+     * @return true if consolidated installation is enabled
+     */
+    public boolean isConsolidatedInstall() {
+        return consolidatedInstall;
+    }
+
+    /**
+     * Set whether Installables should share a single ClassFileTransformer, rather than each registering its own.
+     * @param consolidatedInstall true to enable consolidated installation
+     */
+    protected void setConsolidatedInstall(boolean consolidatedInstall) {
+        this.consolidatedInstall = consolidatedInstall;
+    }
+
+    /**
+     * Get whether created TransactionContexts should have a 128-bit binary TransactionId, rather than a 24 character String.
+     * @return true if binary transaction ids are enabled
+     */
+    public boolean isBinaryTransactionIds() {
+        return binaryTransactionIds;
+    }
+
+    /**
+     * Set whether created TransactionContexts should have a 128-bit binary TransactionId, rather than a 24 character String.
+     * @param binaryTransactionIds true to enable binary transaction ids
+     */
+    protected void setBinaryTransactionIds(boolean binaryTransactionIds) {
+        this.binaryTransactionIds = binaryTransactionIds;
+    }
 }
@@ -15,6 +15,8 @@
 
 package software.amazon.disco.agent.config;
 
+import software.amazon.disco.agent.concurrent.TransactionContextStorage;
+import software.amazon.disco.agent.event.AsyncEventDispatcher;
 
 import java.io.File;
 import java.io.IOException;
@@ -125,6 +127,51 @@ public class AgentConfigParser {
             case "loggerfactory":
                 config.setLoggerFactoryClass(argValue);
                 break;
+            case "asyncevents":
+                if (argValue.isEmpty() || argValue.equalsIgnoreCase("true")) {
+                    config.setAsyncEvents(true);
+                } else if (argValue.equalsIgnoreCase("false")) {
+                    config.setAsyncEvents(false);
+                }
+                break;
+            case "asynceventscapacity":
+                try {
+                    final int capacity = Integer.parseInt(argValue);
+                    if (capacity > 0) {
+                        config.setAsyncEventsCapacity(capacity);
+                    }
+                } catch (NumberFormatException e) {
+                    System.err.println("Disco(Agent) invalid value for 'asyncEventsCapacity': " + argValue + ". Value supplied will be ignored.");
+                }
+                break;
+            case "asynceventsoverflow":
+                try {
+                    config.setAsyncEventsOverflowPolicy(AsyncEventDispatcher.OverflowPolicy.valueOf(argValue.toUpperCase(Locale.ROOT)));
+                } catch (IllegalArgumentException e) {
+                    System.err.println("Disco(Agent) invalid value for 'asyncEventsOverflow': " + argValue + ". Value supplied will be ignored.");
+                }
+                break;
+            case "contextstorage":
+                try {
+                    config.setContextStorage(TransactionContextStorage.Type.valueOf(argValue.toUpperCase(Locale.ROOT)));
+                } catch (IllegalArgumentException e) {
+                    System.err.println("Disco(Agent) invalid value for 'contextStorage': " + argValue + ". Value supplied will be ignored.");
+                }
+                break;
+            case "consolidatedinstall":
+                if (argValue.isEmpty() || argValue.equalsIgnoreCase("true")) {
+                    config.setConsolidatedInstall(true);
+                } else if (argValue.equalsIgnoreCase("false")) {
+                    config.setConsolidatedInstall(false);
+                }
+                break;
+            case "binarytransactionids":
+                if (argValue.isEmpty() || argValue.equalsIgnoreCase("true")) {
+                    config.setBinaryTransactionIds(true);
+                } else if (argValue.equalsIgnoreCase("false")) {
+                    config.setBinaryTransactionIds(false);
+                }
+                break;
             default:
                 //not an error, do nothing. individual interceptors might receive this arg instead
                 break;
@@ -0,0 +1,298 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License").
+ *   You may not use this file except in compliance with the License.
+ *   A copy of the License is located at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file. This file is distributed
+ *   on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *   express or implied. See the License for the specific language governing
+ *   permissions and limitations under the License.
+ */
+
+package software.amazon.disco.agent.event;
+
+import software.amazon.disco.agent.logging.LogManager;
+import software.amazon.disco.agent.logging.Logger;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Delivers Events to AsyncSafeListeners from a single daemon thread, decoupling slow Listeners from the threads which publish.
+ *
+ * Published Events are placed on a bounded, lock-free, multi-producer ring buffer, after the design of Dmitry Vyukov's
+ * bounded MPMC queue. Each slot carries a sequence number which tells producers and consumers whether the slot is free to
+ * write or ready to read, so neither side ever takes a lock. The dispatcher thread is the only regular consumer, but producers
+ * may also remove the oldest Event when the DROP_OLDEST overflow policy is in force, so removal is also CAS-based.
+ */
+public class AsyncEventDispatcher {
+    private static final Logger log = LogManager.getLogger(AsyncEventDispatcher.class);
+
+    /**
+     * The default number of Events which may be queued awaiting dispatch.
+     */
+    public static final int DEFAULT_CAPACITY = 8192;
+
+    static final String THREAD_NAME = "disco-eventbus-dispatcher";
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long BLOCKED_PRODUCER_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 1000;
+
+    /**
+     * What to do with an Event when the queue is full.
+     */
+    public enum OverflowPolicy {
+        /**
+         * Discard the Event being published, leaving the queue untouched. The publisher is never delayed.
+         */
+        DROP_NEWEST,
+
+        /**
+         * Discard the Event which has waited longest in the queue, to make room for the Event being published.
+         */
+        DROP_OLDEST,
+
+        /**
+         * Make the publisher wait until the dispatcher thread has made room. Events published from within an
+         * AsyncSafeListener, on the dispatcher thread itself, are dropped instead since waiting would deadlock.
+         */
+        BLOCK
+    }
+
+    private final int mask;
+    private final AtomicLongArray sequences;
+    private final AtomicReferenceArray<Event> events;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final OverflowPolicy overflowPolicy;
+    private final Thread thread;
+    private volatile boolean waiting = false;
+    private volatile boolean running = true;
+
+    /**
+     * Construct a new AsyncEventDispatcher, and start its dispatcher thread
+     * @param capacity the maximum number of queued Events, which is rounded up to the next power of two
+     * @param overflowPolicy what to do with Events published while the queue is full
+     */
+    AsyncEventDispatcher(int capacity, OverflowPolicy overflowPolicy) {
+        final int size = roundUpToPowerOfTwo(capacity);
+        this.mask = size - 1;
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+        this.events = new AtomicReferenceArray<>(size);
+        this.overflowPolicy = overflowPolicy == null ? OverflowPolicy.DROP_NEWEST : overflowPolicy;
+
+        this.thread = new Thread(new DispatchLoop(), THREAD_NAME);
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Enqueue an Event for later delivery to AsyncSafeListeners, applying the overflow policy if the queue is full.
+     * @param e the Event to enqueue
+     */
+    void dispatch(Event e) {
+        if (!offer(e)) {
+            switch (overflowPolicy) {
+                case DROP_OLDEST:
+                    do {
+                        if (poll() != null) {
+                            dropped.incrementAndGet();
+                        }
+                    } while (!offer(e));
+                    break;
+                case BLOCK:
+                    if (Thread.currentThread() == thread) {
+                        dropped.incrementAndGet();
+                        return;
+                    }
+                    do {
+                        LockSupport.unpark(thread);
+                        LockSupport.parkNanos(this, BLOCKED_PRODUCER_PARK_NANOS);
+                        if (!running) {
+                            dropped.incrementAndGet();
+                            return;
+                        }
+                    } while (!offer(e));
+                    break;
+                case DROP_NEWEST:
+                default:
+                    dropped.incrementAndGet();
+                    return;
+            }
+        }
+
+        if (waiting) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    /**
+     * Get the number of Events which have been discarded due to overflow since this dispatcher was created
+     * @return the count of dropped Events
+     */
+    public long getDroppedEventCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Get the approximate number of Events currently awaiting dispatch
+     * @return the queue depth, which may be stale by the time it is returned
+     */
+    public int getQueuedEventCount() {
+        return (int) Math.max(0, tail.get() - head.get());
+    }
+
+    /**
+     * Get the capacity of the queue, after rounding up to a power of two
+     * @return the maximum number of Events which may be queued
+     */
+    public int getCapacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Get the policy applied when the queue is full
+     * @return the overflow policy
+     */
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    /**
+     * Stop the dispatcher thread, after it has delivered any Events already queued. Events dispatched after this call
+     * are not delivered.
+     */
+    void shutdown() {
+        running = false;
+        LockSupport.unpark(thread);
+        if (Thread.currentThread() == thread) {
+            return;
+        }
+
+        try {
+            thread.join(SHUTDOWN_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Try to add an Event to the tail of the queue
+     * @param e the Event to add
+     * @return true if the Event was queued, false if the queue was full
+     */
+    boolean offer(Event e) {
+        for (;;) {
+            final long pos = tail.get();
+            final int index = (int) (pos & mask);
+            final long diff = sequences.get(index) - pos;
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    events.set(index, e);
+                    //a full volatile write, so that it is ordered before the read of 'waiting' in dispatch()
+                    sequences.set(index, pos + 1);
+                    return true;
+                }
+            } else if (diff < 0) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Try to remove the Event at the head of the queue
+     * @return the removed Event, or null if the queue was empty
+     */
+    Event poll() {
+        for (;;) {
+            final long pos = head.get();
+            final int index = (int) (pos & mask);
+            final long diff = sequences.get(index) - (pos + 1);
+            if (diff == 0) {
+                if (head.compareAndSet(pos, pos + 1)) {
+                    final Event e = events.get(index);
+                    events.lazySet(index, null);
+                    sequences.lazySet(index, pos + mask + 1);
+                    return e;
+                }
+            } else if (diff < 0) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Round a requested capacity up to the next power of two, so that slot indices may be computed with a mask
+     * @param capacity the requested capacity
+     * @return the nearest power of two greater than or equal to the capacity, and at least 2
+     */
+    static int roundUpToPowerOfTwo(int capacity) {
+        if (capacity <= 2) {
+            return 2;
+        }
+        if (capacity > (1 << 30)) {
+            return 1 << 30;
+        }
+        return Integer.highestOneBit(capacity - 1) << 1;
+    }
+
+    /**
+     * The body of the dispatcher thread. Drains the queue, handing each Event to the EventBus for delivery to whichever
+     * AsyncSafeListeners are registered at that moment, and parks when there is nothing to do.
+     */
+    private class DispatchLoop implements Runnable {
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void run() {
+            while (true) {
+                Event e = poll();
+                if (e != null) {
+                    deliver(e);
+                    continue;
+                }
+
+                if (!running) {
+                    return;
+                }
+
+                //announce that we are about to sleep, then check once more to avoid missing an Event offered in between
+                waiting = true;
+                e = poll();
+                if (e != null) {
+                    waiting = false;
+                    deliver(e);
+                    continue;
+                }
+                if (running) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+                waiting = false;
+            }
+        }
+
+        /**
+         * Deliver a dequeued Event, ensuring that nothing thrown can terminate the dispatcher thread
+         * @param e the Event to deliver
+         */
+        private void deliver(Event e) {
+            try {
+                EventBus.deliverAsync(e);
+            } catch (Throwable t) {
+                log.error("DiSCo(Core) failed to deliver event asynchronously", t);
+            }
+        }
+    }
+}
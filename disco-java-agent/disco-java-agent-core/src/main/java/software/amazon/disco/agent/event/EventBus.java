@@ -19,19 +19,33 @@ package software.amazon.disco.agent.event;
 import software.amazon.disco.agent.logging.LogManager;
 import software.amazon.disco.agent.logging.Logger;
 
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashSet;
-import java.util.Map;
-import java.util.Set;
-import java.util.TreeMap;
 
 /**
  * DiSCo provides an event bus for various events such as Activities being called, threads being entered, and downstream
  * services being called.
+ *
+ * Listeners are held in an immutable array, sorted by priority, which is replaced wholesale whenever a Listener is added
+ * or removed. Publication therefore walks a stable snapshot without allocating or locking, and may safely run
+ * concurrently with registration changes. Registration is expected to be rare compared to publication.
+ *
+ * Listeners which implement {@link FilteredListener} only receive the Event types they subscribe to. For each concrete
+ * Event class published, the subset of interested Listeners is computed once and cached until the next registration change.
+ *
+ * Optionally, the EventBus may dispatch asynchronously to Listeners which implement {@link AsyncSafeListener}, via an
+ * {@link AsyncEventDispatcher}. Other Listeners are always called synchronously, on the publishing thread.
+ *
+ * Where every Listener interested in an Event class implements {@link NonRetainingListener}, and all are called
+ * synchronously, producers may recycle a single Event instance rather than allocating one per publication.
  */
 public class EventBus {
     private static Logger log = LogManager.getLogger(EventBus.class);
-    static Map<Integer, Set<Listener>> listeners;
+    private static final Listener[] NO_LISTENERS = new Listener[0];
+    private static final Class<?>[][] NO_SUBSCRIPTIONS = new Class<?>[0][];
+    private static final Object lock = new Object();
+    static volatile Registry registry;
+    private static AsyncEventDispatcher asyncDispatcher;
 
     /**
      * static initializer, returning the EventBus listeners to their initial state
@@ -44,8 +58,7 @@ public class EventBus {
      * Initialize the EventBus listeners to a default state
      */
     static private void init() {
-        //sorted by priority
-        listeners = new TreeMap<>();
+        registry = new Registry(NO_LISTENERS, NO_SUBSCRIPTIONS, asyncDispatcher);
     }
 
     /**
@@ -61,17 +74,134 @@ public class EventBus {
             log.debug("DiSCo(Core) publishing event " + e + " from origin " + e.getOrigin());
         }
 
-        for (Set<Listener> listenerSet : listeners.values()) {
-            for (Listener l : listenerSet) {
-                try {
-                    l.listen(e);
-                } catch (Exception ex) {
-                    log.error("Disco(Core) Listener " + l.getClass().getName() + " threw exception during event publication", ex);
-                }
+        final Registry snapshot = registry;
+        final Targets targets = snapshot.dispatchTable.get(e.getClass());
+        listen(targets.sync, e);
+        if (targets.async.length > 0) {
+            snapshot.asyncDispatcher.dispatch(e);
+        }
+    }
+
+    /**
+     * Deliver an Event which was queued by the AsyncEventDispatcher to the AsyncSafeListeners presently registered.
+     * Called only from the dispatcher thread.
+     * @param e the Event to deliver
+     */
+    static void deliverAsync(Event e) {
+        final Registry snapshot = registry;
+        final Targets targets = snapshot.dispatchTable.get(e.getClass());
+        if (snapshot.asyncDispatcher != null) {
+            listen(targets.async, e);
+            return;
+        }
+
+        //asynchronous dispatch was disabled while this Event was queued, so pick out the listeners it was bound for
+        for (int i = 0; i < targets.sync.length; i++) {
+            if (targets.sync[i] instanceof AsyncSafeListener) {
+                listen(targets.sync[i], e);
             }
         }
     }
 
+    /**
+     * Pass an Event to each of the given listeners in turn
+     * @param targets the listeners to call
+     * @param e the Event to pass
+     */
+    private static void listen(Listener[] targets, Event e) {
+        for (int i = 0; i < targets.length; i++) {
+            listen(targets[i], e);
+        }
+    }
+
+    /**
+     * Pass an Event to a listener, isolating the caller from any failure
+     * @param l the listener to call
+     * @param e the Event to pass
+     */
+    private static void listen(Listener l, Event e) {
+        try {
+            l.listen(e);
+        } catch (Exception ex) {
+            log.error("Disco(Core) Listener " + l.getClass().getName() + " threw exception during event publication", ex);
+        }
+    }
+
+    /**
+     * Test if any registered listener would receive an Event of the given type, were one to be published now. This is
+     * cheap enough to call before building an Event, so that producers can skip the construction cost entirely when
+     * nobody is listening. The answer may be stale by the time the Event is published, if listeners are concurrently
+     * added or removed, in which case at worst one Event is missed or built needlessly.
+     *
+     * @param eventClass the concrete class of the Event which would be published
+     * @return true if at least one listener is interested in Events of this class
+     */
+    static public boolean isAnyListenerInterested(Class<? extends Event> eventClass) {
+        final Registry snapshot = registry;
+        if (snapshot.listeners.length == 0) {
+            return false;
+        }
+        return eventClass != null && !snapshot.dispatchTable.get(eventClass).isEmpty();
+    }
+
+    /**
+     * Test if an Event of the given type may be recycled by its producer once publish() has returned. This holds when
+     * every interested listener is a {@link NonRetainingListener} called synchronously, so that no reference to the Event
+     * outlives its publication. As with {@link #isAnyListenerInterested(Class)}, the answer may be stale if listeners are
+     * concurrently added, in which case a newly added listener may observe one recycled Event.
+     *
+     * @param eventClass the concrete class of the Event which would be published
+     * @return true if the Event instance may be reused after publication
+     */
+    static public boolean canRecycleEvent(Class<? extends Event> eventClass) {
+        return eventClass != null && registry.dispatchTable.get(eventClass).recyclable;
+    }
+
+    /**
+     * Switch the EventBus into asynchronous dispatch mode, in which Events bound for AsyncSafeListeners are queued and
+     * delivered from a background thread. If already in asynchronous mode, the existing dispatcher is shut down, after
+     * delivering what it has queued, and replaced.
+     * @param capacity the maximum number of Events which may be queued, rounded up to a power of two
+     * @param overflowPolicy what to do with Events published while the queue is full
+     */
+    static public void enableAsyncDispatch(int capacity, AsyncEventDispatcher.OverflowPolicy overflowPolicy) {
+        setAsyncDispatcher(new AsyncEventDispatcher(capacity, overflowPolicy));
+    }
+
+    /**
+     * Return the EventBus to synchronous dispatch, in which every Listener is called on the publishing thread. Any Events
+     * already queued for asynchronous delivery are delivered before this method returns, subject to a timeout.
+     */
+    static public void disableAsyncDispatch() {
+        setAsyncDispatcher(null);
+    }
+
+    /**
+     * Get the active asynchronous dispatcher, for example to inspect its count of dropped Events
+     * @return the active AsyncEventDispatcher, or null if the EventBus is dispatching synchronously
+     */
+    static public AsyncEventDispatcher getAsyncDispatcher() {
+        return registry.asyncDispatcher;
+    }
+
+    /**
+     * Install a new asynchronous dispatcher, or none, rebuilding the registry so that dispatch targets are recomputed
+     * @param dispatcher the new dispatcher, or null for synchronous dispatch
+     */
+    private static void setAsyncDispatcher(AsyncEventDispatcher dispatcher) {
+        final AsyncEventDispatcher previous;
+        synchronized (lock) {
+            previous = asyncDispatcher;
+            asyncDispatcher = dispatcher;
+            final Registry current = registry;
+            registry = new Registry(current.listeners, current.subscriptions, dispatcher);
+        }
+
+        if (previous != null) {
+            previous.shutdown();
+        }
+    }
+
     /**
      * Add a listener to the EventBus
      * @param l the listener to add
@@ -82,10 +212,35 @@ public class EventBus {
         }
 
         //todo have private 'system' level priorities which only internal bus listeners can use
-        if (!listeners.containsKey(l.getPriority())) {
-            listeners.put(l.getPriority(), new HashSet<>());
+        synchronized (lock) {
+            final Registry current = registry;
+            if (indexOf(current.listeners, l) >= 0) {
+                return;
+            }
+
+            //insert after any existing listeners of equal or lower priority, keeping the array sorted
+            final int priority = l.getPriority();
+            final int size = current.listeners.length;
+            int insertAt = size;
+            for (int i = 0; i < size; i++) {
+                if (current.listeners[i].getPriority() > priority) {
+                    insertAt = i;
+                    break;
+                }
+            }
+
+            Listener[] listeners = new Listener[size + 1];
+            System.arraycopy(current.listeners, 0, listeners, 0, insertAt);
+            listeners[insertAt] = l;
+            System.arraycopy(current.listeners, insertAt, listeners, insertAt + 1, size - insertAt);
+
+            Class<?>[][] subscriptions = new Class<?>[size + 1][];
+            System.arraycopy(current.subscriptions, 0, subscriptions, 0, insertAt);
+            subscriptions[insertAt] = getSubscriptions(l);
+            System.arraycopy(current.subscriptions, insertAt, subscriptions, insertAt + 1, size - insertAt);
+
+            registry = new Registry(listeners, subscriptions, current.asyncDispatcher);
         }
-        listeners.get(l.getPriority()).add(l);
     }
 
     /**
@@ -97,8 +252,28 @@ public class EventBus {
             return;
         }
 
-        if (listeners.containsKey(l.getPriority())) {
-            listeners.get(l.getPriority()).remove(l);
+        synchronized (lock) {
+            final Registry current = registry;
+            final int index = indexOf(current.listeners, l);
+            if (index < 0) {
+                return;
+            }
+
+            final int size = current.listeners.length;
+            if (size == 1) {
+                init();
+                return;
+            }
+
+            Listener[] listeners = new Listener[size - 1];
+            System.arraycopy(current.listeners, 0, listeners, 0, index);
+            System.arraycopy(current.listeners, index + 1, listeners, index, size - index - 1);
+
+            Class<?>[][] subscriptions = new Class<?>[size - 1][];
+            System.arraycopy(current.subscriptions, 0, subscriptions, 0, index);
+            System.arraycopy(current.subscriptions, index + 1, subscriptions, index, size - index - 1);
+
+            registry = new Registry(listeners, subscriptions, current.asyncDispatcher);
         }
     }
 
@@ -106,7 +281,9 @@ public class EventBus {
      * Remove all listeners from the EventBus, returning it to its initial state
      */
     static public void removeAllListeners() {
-        init();
+        synchronized (lock) {
+            init();
+        }
     }
 
     /**
@@ -115,13 +292,217 @@ public class EventBus {
      * @return true if the listener is presently registered to receive events
      */
     static public boolean isListenerPresent(Listener listener) {
-        Collection<Listener> listenersByPriority = listeners.get(listener.getPriority());
-        if (listenersByPriority != null ){
-            if (listenersByPriority.contains(listener)) {
+        return indexOf(registry.listeners, listener) >= 0;
+    }
+
+    /**
+     * Get a copy of the currently registered listeners, in the order in which events are dispatched to them.
+     * Package-private for tests.
+     * @return the registered listeners, sorted by priority
+     */
+    static Listener[] getListeners() {
+        final Listener[] snapshot = registry.listeners;
+        return Arrays.copyOf(snapshot, snapshot.length);
+    }
+
+    /**
+     * Find the position of a listener within the given snapshot. Listeners are compared using equals().
+     * @param snapshot the listener array to search
+     * @param listener the listener to find
+     * @return the index of the listener, or -1 if absent
+     */
+    private static int indexOf(Listener[] snapshot, Listener listener) {
+        if (listener == null) {
+            return -1;
+        }
+
+        for (int i = 0; i < snapshot.length; i++) {
+            if (snapshot[i] == listener || snapshot[i].equals(listener)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Retrieve the Event types a listener subscribes to, if it is a FilteredListener.
+     * @param l the listener to inspect
+     * @return the subscribed types, or null if the listener should receive every Event
+     */
+    private static Class<?>[] getSubscriptions(Listener l) {
+        if (!(l instanceof FilteredListener)) {
+            return null;
+        }
+
+        try {
+            Collection<Class<? extends Event>> types = ((FilteredListener) l).getSubscribedEventTypes();
+            return types == null ? null : types.toArray(new Class<?>[0]);
+        } catch (Exception ex) {
+            log.error("Disco(Core) Listener " + l.getClass().getName() + " threw exception when queried for its subscriptions, it will receive all events", ex);
+            return null;
+        }
+    }
+
+    /**
+     * An immutable snapshot of the registered listeners, together with a lazily populated table of which listeners
+     * are interested in each concrete Event class. A new Registry is created on every registration change, and whenever
+     * the dispatch mode changes, which implicitly discards the cached dispatch table of its predecessor.
+     */
+    static class Registry {
+        private static final byte SYNC = 1;
+        private static final byte ASYNC = 2;
+
+        final Listener[] listeners;
+        final Class<?>[][] subscriptions;
+        final AsyncEventDispatcher asyncDispatcher;
+        final ClassValue<Targets> dispatchTable;
+
+        /**
+         * Construct a new Registry
+         * @param listeners the listeners, sorted by priority
+         * @param subscriptions for each listener at the same index, the Event types it subscribes to, or null for all types
+         * @param asyncDispatcher the dispatcher for AsyncSafeListeners, or null if all listeners are called synchronously
+         */
+        Registry(Listener[] listeners, Class<?>[][] subscriptions, AsyncEventDispatcher asyncDispatcher) {
+            this.listeners = listeners;
+            this.subscriptions = subscriptions;
+            this.asyncDispatcher = asyncDispatcher;
+            this.dispatchTable = new DispatchTable(this);
+        }
+
+        /**
+         * Compute the listeners, in priority order, which should receive Events of the given class, split according to
+         * whether they are to be called synchronously or asynchronously.
+         * @param eventClass the concrete class of a published Event
+         * @return the interested listeners, where the synchronous ones may be the full listener array if none of them filter
+         */
+        Targets computeTargets(Class<?> eventClass) {
+            int syncCount = 0;
+            int asyncCount = 0;
+            byte[] interest = new byte[listeners.length];
+            for (int i = 0; i < listeners.length; i++) {
+                if (isSubscribed(subscriptions[i], eventClass)) {
+                    if (asyncDispatcher != null && listeners[i] instanceof AsyncSafeListener) {
+                        interest[i] = ASYNC;
+                        asyncCount++;
+                    } else {
+                        interest[i] = SYNC;
+                        syncCount++;
+                    }
+                }
+            }
+
+            final Listener[] sync = syncCount == listeners.length ? listeners : select(interest, SYNC, syncCount);
+            final Listener[] async = select(interest, ASYNC, asyncCount);
+            return new Targets(sync, async, asyncCount == 0 && isNonRetaining(sync));
+        }
+
+        /**
+         * Gather the listeners with a given kind of interest, preserving priority order
+         * @param interest for each listener, the kind of interest it has in the Event class
+         * @param kind the kind of interest to select
+         * @param count how many listeners have that kind of interest
+         * @return the selected listeners
+         */
+        private Listener[] select(byte[] interest, byte kind, int count) {
+            if (count == 0) {
+                return NO_LISTENERS;
+            }
+
+            Listener[] selected = new Listener[count];
+            int j = 0;
+            for (int i = 0; i < listeners.length; i++) {
+                if (interest[i] == kind) {
+                    selected[j++] = listeners[i];
+                }
+            }
+            return selected;
+        }
+
+        /**
+         * Test if all of the given listeners have declared that they do not retain Events
+         * @param targets the listeners to inspect
+         * @return true if every listener is a NonRetainingListener
+         */
+        private static boolean isNonRetaining(Listener[] targets) {
+            for (int i = 0; i < targets.length; i++) {
+                if (!(targets[i] instanceof NonRetainingListener)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Test if a set of subscriptions covers a given Event class
+         * @param subscription the subscribed types, or null meaning all types
+         * @param eventClass the concrete class of a published Event
+         * @return true if an Event of this class should be dispatched
+         */
+        private static boolean isSubscribed(Class<?>[] subscription, Class<?> eventClass) {
+            if (subscription == null) {
                 return true;
             }
+
+            for (Class<?> type : subscription) {
+                if (type != null && type.isAssignableFrom(eventClass)) {
+                    return true;
+                }
+            }
+            return false;
         }
+    }
+
+    /**
+     * The listeners interested in a particular Event class, in priority order.
+     */
+    static class Targets {
+        final Listener[] sync;
+        final Listener[] async;
+        final boolean recyclable;
 
-        return false;
+        /**
+         * Construct a new Targets
+         * @param sync the listeners to call on the publishing thread
+         * @param async the listeners to call from the AsyncEventDispatcher
+         * @param recyclable true if no listener retains the Event after publication
+         */
+        Targets(Listener[] sync, Listener[] async, boolean recyclable) {
+            this.sync = sync;
+            this.async = async;
+            this.recyclable = recyclable;
+        }
+
+        /**
+         * Test if no listener at all is interested
+         * @return true if there are neither synchronous nor asynchronous targets
+         */
+        boolean isEmpty() {
+            return sync.length == 0 && async.length == 0;
+        }
+    }
+
+    /**
+     * Per-Event-class cache of interested listeners. A ClassValue is used rather than a Map so that Event classes
+     * defined by application or plugin classloaders are not kept alive by the EventBus.
+     */
+    private static class DispatchTable extends ClassValue<Targets> {
+        private final Registry registry;
+
+        /**
+         * Construct a dispatch table for the given Registry
+         * @param registry the Registry whose listeners will be filtered
+         */
+        DispatchTable(Registry registry) {
+            this.registry = registry;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected Targets computeValue(Class<?> type) {
+            return registry.computeTargets(type);
+        }
     }
 }
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License").
+ *   You may not use this file except in compliance with the License.
+ *   A copy of the License is located at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file. This file is distributed
+ *   on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *   express or implied. See the License for the specific language governing
+ *   permissions and limitations under the License.
+ */
+
+package software.amazon.disco.agent.interception;
+
+import net.bytebuddy.agent.builder.AgentBuilder;
+import net.bytebuddy.pool.TypePool;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * A PoolStrategy whose TypePools share, per ClassLoader, a cache of the TypeDescriptions they resolve. By default, each
+ * transformation resolves the supertypes of the class being loaded afresh, and each Installable's transformer repeats
+ * the work of the others. With this strategy given to every Installable's AgentBuilder, a supertype such as
+ * java.lang.Object or java.io.Serializable is resolved once per ClassLoader. Each ClassLoader's cache holds at most a
+ * fixed number of TypeDescriptions, evicting the least recently used, so that memory stays bounded however many
+ * classes are loaded.
+ *
+ * A cached TypeDescription refers to the TypePool which resolved it, and so to that TypePool's ClassFileLocator. An
+ * AgentBuilder given this strategy must therefore use a LocationStrategy whose ClassFileLocators reference the
+ * ClassLoader weakly, such as LocationStrategy.ForClassLoader.WEAK, since otherwise each ClassLoader's cache would keep
+ * the ClassLoader itself from being collected.
+ */
+class BoundedTypePoolCache extends AgentBuilder.PoolStrategy.WithTypePoolCache {
+    static final int DEFAULT_CAPACITY = 1024;
+
+    private final int capacity;
+    private final TypePool.CacheProvider bootstrapCache;
+    private final Map<ClassLoader, TypePool.CacheProvider> caches = new WeakHashMap<>();
+
+    /**
+     * Create a new BoundedTypePoolCache
+     * @param capacity the maximum number of TypeDescriptions cached per ClassLoader
+     */
+    BoundedTypePoolCache(int capacity) {
+        super(TypePool.Default.ReaderMode.FAST);
+        this.capacity = capacity;
+        this.bootstrapCache = new LeastRecentlyUsed(capacity);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected TypePool.CacheProvider locate(ClassLoader classLoader) {
+        if (classLoader == null) {
+            return bootstrapCache;
+        }
+        synchronized (caches) {
+            TypePool.CacheProvider cache = caches.get(classLoader);
+            if (cache == null) {
+                cache = new LeastRecentlyUsed(capacity);
+                caches.put(classLoader, cache);
+            }
+            return cache;
+        }
+    }
+
+    /**
+     * Instances are only equal to themselves, since each has its own caches.
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(Object other) {
+        return this == other;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        return System.identityHashCode(this);
+    }
+
+    /**
+     * A CacheProvider holding a bounded number of Resolutions, evicting the least recently used.
+     */
+    static class LeastRecentlyUsed implements TypePool.CacheProvider {
+        private final Map<String, TypePool.Resolution> resolutions;
+
+        LeastRecentlyUsed(final int capacity) {
+            this.resolutions = new LinkedHashMap<String, TypePool.Resolution>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, TypePool.Resolution> eldest) {
+                    return size() > capacity;
+                }
+            };
+        }
+
+        @Override
+        public synchronized TypePool.Resolution find(String name) {
+            return resolutions.get(name);
+        }
+
+        @Override
+        public synchronized TypePool.Resolution register(String name, TypePool.Resolution resolution) {
+            final TypePool.Resolution previous = resolutions.get(name);
+            if (previous != null) {
+                return previous;
+            }
+            resolutions.put(name, resolution);
+            return resolution;
+        }
+
+        @Override
+        public synchronized void clear() {
+            resolutions.clear();
+        }
+
+        synchronized int size() {
+            return resolutions.size();
+        }
+    }
+}
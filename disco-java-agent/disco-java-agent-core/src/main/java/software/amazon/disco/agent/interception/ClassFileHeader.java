@@ -0,0 +1,164 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License").
+ *   You may not use this file except in compliance with the License.
+ *   A copy of the License is located at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file. This file is distributed
+ *   on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *   express or implied. See the License for the specific language governing
+ *   permissions and limitations under the License.
+ */
+
+package software.amazon.disco.agent.interception;
+
+/**
+ * The names of a class and of its direct supertypes, read from the header of its class file without building a
+ * TypeDescription. Only the constant pool is walked, and only the Utf8 entries named by the this_class, super_class
+ * and interfaces items are decoded. All names are in the internal form, e.g. java/lang/Object.
+ */
+class ClassFileHeader {
+    private static final int MAGIC = 0xCAFEBABE;
+    private static final String[] NO_NAMES = new String[0];
+
+    private final String name;
+    private final String[] superTypeNames;
+
+    private ClassFileHeader(String name, String[] superTypeNames) {
+        this.name = name;
+        this.superTypeNames = superTypeNames;
+    }
+
+    /**
+     * Get the name of the class.
+     * @return the class's internal name
+     */
+    String getName() {
+        return name;
+    }
+
+    /**
+     * Get the names of the class's superclass, if it has one, followed by those of the interfaces it directly
+     * implements.
+     * @return the internal names of the direct supertypes, empty for java/lang/Object and module-info
+     */
+    String[] getSuperTypeNames() {
+        return superTypeNames;
+    }
+
+    /**
+     * Read the header of a class file.
+     * @param classFile the class file
+     * @return the header, or null if the bytes are not a well-formed class file
+     */
+    static ClassFileHeader parse(byte[] classFile) {
+        if (classFile == null) {
+            return null;
+        }
+        try {
+            if (readInt(classFile, 0) != MAGIC) {
+                return null;
+            }
+            final int count = readUnsignedShort(classFile, 8);
+            //for each constant pool entry, the offset of the byte after its tag
+            final int[] offsets = new int[count];
+            int offset = 10;
+            for (int i = 1; i < count; i++) {
+                final int tag = classFile[offset++];
+                offsets[i] = offset;
+                switch (tag) {
+                    case 1: //Utf8
+                        offset += 2 + readUnsignedShort(classFile, offset);
+                        break;
+                    case 7: //Class
+                    case 8: //String
+                    case 16: //MethodType
+                    case 19: //Module
+                    case 20: //Package
+                        offset += 2;
+                        break;
+                    case 15: //MethodHandle
+                        offset += 3;
+                        break;
+                    case 3: //Integer
+                    case 4: //Float
+                    case 9: //Fieldref
+                    case 10: //Methodref
+                    case 11: //InterfaceMethodref
+                    case 12: //NameAndType
+                    case 17: //Dynamic
+                    case 18: //InvokeDynamic
+                        offset += 4;
+                        break;
+                    case 5: //Long
+                    case 6: //Double
+                        offset += 8;
+                        i++;
+                        break;
+                    default:
+                        return null;
+                }
+            }
+
+            //skip access_flags
+            offset += 2;
+            final String name = className(classFile, offsets, readUnsignedShort(classFile, offset));
+            final int superClass = readUnsignedShort(classFile, offset + 2);
+            final int interfaceCount = readUnsignedShort(classFile, offset + 4);
+            offset += 6;
+
+            final int superTypeCount = (superClass == 0 ? 0 : 1) + interfaceCount;
+            final String[] superTypeNames = superTypeCount == 0 ? NO_NAMES : new String[superTypeCount];
+            int index = 0;
+            if (superClass != 0) {
+                superTypeNames[index++] = className(classFile, offsets, superClass);
+            }
+            for (int i = 0; i < interfaceCount; i++) {
+                superTypeNames[index++] = className(classFile, offsets, readUnsignedShort(classFile, offset + 2 * i));
+            }
+            return new ClassFileHeader(name, superTypeNames);
+        } catch (IndexOutOfBoundsException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Decode the name referred to by a CONSTANT_Class entry.
+     */
+    private static String className(byte[] classFile, int[] offsets, int classIndex) {
+        final int utf8Offset = offsets[readUnsignedShort(classFile, offsets[classIndex])];
+        return readUtf8(classFile, utf8Offset + 2, readUnsignedShort(classFile, utf8Offset));
+    }
+
+    /**
+     * Decode the 'modified UTF-8' used in class files. Class names are nearly always ASCII, which is decoded without
+     * any intermediate buffer.
+     */
+    private static String readUtf8(byte[] classFile, int offset, int length) {
+        final char[] chars = new char[length];
+        int count = 0;
+        final int end = offset + length;
+        while (offset < end) {
+            final int b = classFile[offset++] & 0xFF;
+            if (b < 0x80) {
+                chars[count++] = (char) b;
+            } else if ((b & 0xE0) == 0xC0) {
+                chars[count++] = (char) (((b & 0x1F) << 6) | (classFile[offset++] & 0x3F));
+            } else {
+                chars[count++] = (char) (((b & 0x0F) << 12) | ((classFile[offset++] & 0x3F) << 6) | (classFile[offset++] & 0x3F));
+            }
+        }
+        return new String(chars, 0, count);
+    }
+
+    private static int readUnsignedShort(byte[] bytes, int offset) {
+        return ((bytes[offset] & 0xFF) << 8) | (bytes[offset + 1] & 0xFF);
+    }
+
+    private static int readInt(byte[] bytes, int offset) {
+        return (readUnsignedShort(bytes, offset) << 16) | readUnsignedShort(bytes, offset + 2);
+    }
+}
@@ -0,0 +1,324 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License").
+ *   You may not use this file except in compliance with the License.
+ *   A copy of the License is located at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file. This file is distributed
+ *   on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *   express or implied. See the License for the specific language governing
+ *   permissions and limitations under the License.
+ */
+
+package software.amazon.disco.agent.interception;
+
+import software.amazon.disco.agent.logging.LogManager;
+import software.amazon.disco.agent.logging.Logger;
+import software.amazon.disco.agent.matchers.TrieNameMatcher;
+
+import java.lang.instrument.ClassFileTransformer;
+import java.lang.instrument.IllegalClassFormatException;
+import java.lang.instrument.Instrumentation;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.security.ProtectionDomain;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A single ClassFileTransformer standing in for the transformers of many Installables, used when the agent is started
+ * with the 'consolidatedinstall' argument. Without it, each Installable registers its own transformer, and the JVM
+ * calls every one of them for every class it loads, each deciding for itself whether to ignore the class. With it,
+ * the JVM calls this transformer alone, which tests the class's name against one trie of ignored prefixes before
+ * passing the class to its members in turn, so that an ignored class costs one trie lookup however many Installables
+ * there are.
+ *
+ * Members which are SuperTypePreFilters are indexed by their candidate supertypes. For each class, the supertypes
+ * known to the shared SuperTypeIndex are walked once, and only the members with a candidate among them are given the
+ * class, straight to the Installable's transformer behind the pre-filter. Members without candidates are given every
+ * class which is not ignored, as are all members when one of the class's supertypes is unknown.
+ *
+ * Members are added through the Instrumentation returned by {@link #consolidate(Instrumentation)}, which is passed to
+ * AgentBuilder#installOn in place of the real one, so that each Installable is installed exactly as before, including
+ * the redefinition of already-loaded classes, and only its registration with the JVM differs.
+ *
+ * Members are called through the Java 8 form of ClassFileTransformer#transform, so ByteBuddy sees no JavaModule for
+ * the class being transformed. Installables which need the module, for example to add read edges, should not be
+ * consolidated.
+ */
+class ConsolidatedTransformer implements ClassFileTransformer {
+    private static final Logger log = LogManager.getLogger(ConsolidatedTransformer.class);
+    private final TrieNameMatcher<?> ignoreMatcher;
+    private final TrieNameMatcher<?> notIgnoredMatcher;
+    private final Set<String> notIgnoredNames;
+    private final SuperTypeIndex superTypeIndex;
+    private volatile Members members = new Members(new ClassFileTransformer[0]);
+
+    /**
+     * Create a ConsolidatedTransformer, with no members.
+     * @param ignorePrefixes prefixes of the binary names of classes which no member will transform
+     * @param notIgnoredPrefixes prefixes of the binary names of classes which are not ignored, even though they begin
+     *                           with one of the ignorePrefixes
+     * @param notIgnoredNames binary names of individual classes which are not ignored, even though they begin with one
+     *                        of the ignorePrefixes
+     * @param superTypeIndex the index of known supertypes, shared with the members' pre-filters
+     */
+    ConsolidatedTransformer(String[] ignorePrefixes, String[] notIgnoredPrefixes, String[] notIgnoredNames,
+                            SuperTypeIndex superTypeIndex) {
+        this.ignoreMatcher = new TrieNameMatcher<>(toInternalNames(ignorePrefixes));
+        this.notIgnoredMatcher = new TrieNameMatcher<>(toInternalNames(notIgnoredPrefixes));
+        this.notIgnoredNames = new HashSet<>(Arrays.asList(toInternalNames(notIgnoredNames)));
+        this.superTypeIndex = superTypeIndex;
+    }
+
+    /**
+     * Create a view of the given Instrumentation through which ClassFileTransformers are added to, and removed from,
+     * this ConsolidatedTransformer instead. Transformers which ask to be called for retransformations are passed
+     * through to the real Instrumentation, since this transformer is not registered for them. All other methods
+     * are passed through unchanged.
+     * @param instrumentation the real Instrumentation
+     * @return an Instrumentation with which this transformer's members are registered
+     */
+    Instrumentation consolidate(Instrumentation instrumentation) {
+        return (Instrumentation) Proxy.newProxyInstance(Instrumentation.class.getClassLoader(),
+                new Class<?>[] {Instrumentation.class},
+                new ConsolidatingHandler(instrumentation));
+    }
+
+    /**
+     * Add a member, to be called after those already added.
+     * @param transformer the member to add
+     */
+    synchronized void add(ClassFileTransformer transformer) {
+        ClassFileTransformer[] current = members.registered;
+        ClassFileTransformer[] updated = Arrays.copyOf(current, current.length + 1);
+        updated[current.length] = transformer;
+        members = new Members(updated);
+    }
+
+    /**
+     * Remove a member.
+     * @param transformer the member to remove
+     * @return true if it was a member
+     */
+    synchronized boolean remove(ClassFileTransformer transformer) {
+        ClassFileTransformer[] current = members.registered;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] == transformer) {
+                ClassFileTransformer[] updated = new ClassFileTransformer[current.length - 1];
+                System.arraycopy(current, 0, updated, 0, i);
+                System.arraycopy(current, i + 1, updated, i, current.length - i - 1);
+                members = new Members(updated);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Get the number of members.
+     * @return the number of members
+     */
+    int size() {
+        return members.registered.length;
+    }
+
+    /**
+     * Test whether a class would be ignored by every member, from its name alone.
+     * @param internalName the class's name, in the internal form given to ClassFileTransformers, e.g. java/lang/String
+     * @return true if the class is ignored
+     */
+    boolean isIgnored(String internalName) {
+        return internalName != null
+                && ignoreMatcher.matchesName(internalName)
+                && !notIgnoredMatcher.matchesName(internalName)
+                && !notIgnoredNames.contains(internalName);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Each member is given the class file as transformed by the members before it, as the JVM would have done had
+     * they been registered separately, and likewise a member which fails does not prevent the others from running.
+     */
+    @Override
+    public byte[] transform(ClassLoader loader, String className, Class<?> classBeingRedefined,
+                            ProtectionDomain protectionDomain, byte[] classfileBuffer) {
+        if (isIgnored(className)) {
+            return null;
+        }
+
+        final Members current = members;
+        final boolean[] routed = route(current, loader, classfileBuffer);
+        byte[] buffer = classfileBuffer;
+        boolean transformed = false;
+        for (int i = 0; i < current.targets.length; i++) {
+            if (routed != null && !routed[i]) {
+                continue;
+            }
+            try {
+                byte[] result = current.targets[i].transform(loader, className, classBeingRedefined, protectionDomain, buffer);
+                if (result != null) {
+                    buffer = result;
+                    transformed = true;
+                }
+            } catch (IllegalClassFormatException | RuntimeException e) {
+                log.warn("DiSCo(Core) consolidated transformer member failed to transform " + className, e);
+            }
+        }
+        return transformed ? buffer : null;
+    }
+
+    /**
+     * Decide which members are to be given a class.
+     * @param current the members
+     * @param loader the ClassLoader loading the class
+     * @param classfileBuffer the class file
+     * @return for each member, whether it is to be given the class, or null if every member is
+     */
+    private boolean[] route(Members current, ClassLoader loader, byte[] classfileBuffer) {
+        if (current.filteredCount == 0) {
+            return null;
+        }
+        final ClassFileHeader header = superTypeIndex.parse(loader, classfileBuffer);
+        if (header == null) {
+            return null;
+        }
+        final Router router = new Router(current);
+        //the walk ends early if a supertype is unknown, or once every member has been selected, in either case of
+        //which every member is given the class
+        return superTypeIndex.walk(loader, header, router) ? router.selected : null;
+    }
+
+    /**
+     * An immutable snapshot of the members, replaced whenever one is added or removed.
+     */
+    private static class Members {
+        //the transformers as added, by which they are removed
+        final ClassFileTransformer[] registered;
+        //the transformers to call, which for a SuperTypePreFilter is the transformer behind it
+        final ClassFileTransformer[] targets;
+        //whether each member is a SuperTypePreFilter, to be given only the classes with one of its candidates
+        final boolean[] filtered;
+        final int filteredCount;
+        //the indexes of the members having each candidate supertype, by its internal name
+        final Map<String, int[]> membersByCandidate = new HashMap<>();
+
+        Members(ClassFileTransformer[] registered) {
+            this.registered = registered;
+            this.targets = new ClassFileTransformer[registered.length];
+            this.filtered = new boolean[registered.length];
+            int count = 0;
+            for (int i = 0; i < registered.length; i++) {
+                if (registered[i] instanceof SuperTypePreFilter) {
+                    SuperTypePreFilter preFilter = (SuperTypePreFilter) registered[i];
+                    targets[i] = preFilter.getDelegate();
+                    filtered[i] = true;
+                    count++;
+                    for (String candidate: preFilter.getCandidates()) {
+                        int[] indexes = membersByCandidate.get(candidate);
+                        indexes = indexes == null ? new int[1] : Arrays.copyOf(indexes, indexes.length + 1);
+                        indexes[indexes.length - 1] = i;
+                        membersByCandidate.put(candidate, indexes);
+                    }
+                } else {
+                    targets[i] = registered[i];
+                }
+            }
+            this.filteredCount = count;
+        }
+    }
+
+    /**
+     * Selects the members with a candidate among the supertypes visited, in addition to those without candidates.
+     */
+    private static class Router implements SuperTypeIndex.TypeVisitor {
+        private final Members members;
+        private final boolean[] selected;
+        private int remaining;
+
+        Router(Members members) {
+            this.members = members;
+            this.selected = new boolean[members.filtered.length];
+            for (int i = 0; i < selected.length; i++) {
+                selected[i] = !members.filtered[i];
+            }
+            this.remaining = members.filteredCount;
+        }
+
+        @Override
+        public boolean visit(String internalName) {
+            final int[] indexes = members.membersByCandidate.get(internalName);
+            if (indexes != null) {
+                for (int i: indexes) {
+                    if (!selected[i]) {
+                        selected[i] = true;
+                        remaining--;
+                    }
+                }
+            }
+            return remaining == 0;
+        }
+    }
+
+    /**
+     * Convert binary name prefixes such as "java.lang." to the internal form "java/lang/".
+     * @param prefixes the binary name prefixes
+     * @return the same prefixes in internal form
+     */
+    private static String[] toInternalNames(String[] names) {
+        String[] internalNames = new String[names.length];
+        for (int i = 0; i < names.length; i++) {
+            internalNames[i] = names[i].replace('.', '/');
+        }
+        return internalNames;
+    }
+
+    /**
+     * The InvocationHandler behind the Instrumentation returned by {@link #consolidate(Instrumentation)}.
+     */
+    private class ConsolidatingHandler implements InvocationHandler {
+        private final Instrumentation instrumentation;
+
+        ConsolidatingHandler(Instrumentation instrumentation) {
+            this.instrumentation = instrumentation;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            final String name = method.getName();
+            if (name.equals("addTransformer")) {
+                boolean canRetransform = args.length > 1 && (Boolean) args[1];
+                if (!canRetransform) {
+                    add((ClassFileTransformer) args[0]);
+                    return null;
+                }
+            } else if (name.equals("removeTransformer")) {
+                if (remove((ClassFileTransformer) args[0])) {
+                    return Boolean.TRUE;
+                }
+            } else if (method.getDeclaringClass() == Object.class) {
+                if (name.equals("equals")) {
+                    return proxy == args[0];
+                } else if (name.equals("hashCode")) {
+                    return System.identityHashCode(proxy);
+                }
+                return "ConsolidatedTransformer view of " + instrumentation;
+            }
+
+            try {
+                return method.invoke(instrumentation, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
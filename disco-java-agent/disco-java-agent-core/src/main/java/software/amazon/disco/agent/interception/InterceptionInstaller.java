@@ -44,7 +44,23 @@ public class InterceptionInstaller {
      */
     private static final String[] IGNORE_PREFIXES = new String[] {"sun.", "com.sun.", "java.lang.ClassLoader$", "jdk.", "org.jacoco.", "org.junit.",
             "org.aspectj.", "software.amazon.disco.agent."};
+    /**
+     * The namespaces within the IGNORE_PREFIXES which are nevertheless not ignored: the integtest namespace, so that
+     * the interceptors may be tested.
+     */
+    private static final String[] NOT_IGNORED_PREFIXES = new String[] {"software.amazon.disco.agent.integtest."};
+    /**
+     * The individual classes within the IGNORE_PREFIXES which are nevertheless not ignored: the implementation of the
+     * JDK's java.net.http.HttpClient, which the web plugin intercepts. Its nested classes remain ignored.
+     */
+    private static final String[] NOT_IGNORED_NAMES = new String[] {"jdk.internal.net.http.HttpClientImpl"};
     private static final ElementMatcher.Junction<? super TypeDescription> TRIE_BASED_IGNORE_MATCHER_INSTANCE = new TrieNameMatcher<>(IGNORE_PREFIXES);
+    private static final ElementMatcher.Junction<? super TypeDescription> TRIE_BASED_NOT_IGNORED_MATCHER_INSTANCE = new TrieNameMatcher<>(NOT_IGNORED_PREFIXES);
+    /**
+     * The TypeDescription cache shared by the AgentBuilders of all Installables.
+     */
+    private static final AgentBuilder.PoolStrategy TYPE_POOL_CACHE = new BoundedTypePoolCache(BoundedTypePoolCache.DEFAULT_CAPACITY);
+    private final SuperTypeIndex superTypeIndex = new SuperTypeIndex(SuperTypeIndex.DEFAULT_CAPACITY);
 
     /**
      * Non-public constructor for singleton semantics. Package-private for tests
@@ -72,6 +88,21 @@ public class InterceptionInstaller {
                         ElementMatcher.Junction<? super TypeDescription> customIgnoreMatcher) {
         final ElementMatcher<? super TypeDescription> ignoreMatcher = createIgnoreMatcher(customIgnoreMatcher);
 
+        //In consolidated mode, every Installable except the one-shot ones is installed onto a view of the
+        //Instrumentation which adds its transformer to a single ConsolidatedTransformer, instead of registering it
+        //with the JVM.
+        ConsolidatedTransformer consolidatedTransformer = null;
+        Instrumentation consolidatedInstrumentation = null;
+        if (config.isConsolidatedInstall()) {
+            consolidatedTransformer = new ConsolidatedTransformer(IGNORE_PREFIXES, NOT_IGNORED_PREFIXES, NOT_IGNORED_NAMES, superTypeIndex);
+            consolidatedInstrumentation = consolidatedTransformer.consolidate(instrumentation);
+            instrumentation.addTransformer(consolidatedTransformer);
+        }
+
+        if (instrumentation != null && anyCandidateSuperTypeNames(installables)) {
+            superTypeIndex.recordLoadedClasses(instrumentation);
+        }
+
         List<ClassFileTransformer> oneShotTransformers = new ArrayList<>();
         List<OneShotInstallable> oneShotInstallables = new ArrayList<>();
         for (Installable installable: installables) {
@@ -90,14 +121,25 @@ public class InterceptionInstaller {
             agentBuilder = installable.install(agentBuilder);
 
             if (agentBuilder != null) {
-                ClassFileTransformer transformer = agentBuilder.installOn(instrumentation);
+                List<String> candidateSuperTypeNames = installable.getCandidateSuperTypeNames();
+                if (candidateSuperTypeNames != null && !candidateSuperTypeNames.isEmpty()) {
+                    agentBuilder = agentBuilder.with(SuperTypePreFilter.decorator(candidateSuperTypeNames, superTypeIndex));
+                }
+
                 if (installable instanceof OneShotInstallable) {
+                    ClassFileTransformer transformer = agentBuilder.installOn(instrumentation);
                     oneShotInstallables.add((OneShotInstallable) installable);
                     oneShotTransformers.add(transformer);
+                } else {
+                    agentBuilder.installOn(consolidatedInstrumentation != null ? consolidatedInstrumentation : instrumentation);
                 }
             }
         }
 
+        if (consolidatedTransformer != null) {
+            log.info("DiSCo(Core) consolidated " + consolidatedTransformer.size() + " class file transformers into one");
+        }
+
         // Give all one-shot installers heads up before we remove their class transformers. To avoid potential
         // non-obvious interactions between different one-shot installables' beforeDisposal(), we start removing
         // class transformers only after all beforeDisposal() have been called.
@@ -109,6 +151,16 @@ public class InterceptionInstaller {
         }
     }
 
+    private static boolean anyCandidateSuperTypeNames(Set<Installable> installables) {
+        for (Installable installable: installables) {
+            List<String> candidateSuperTypeNames = installable.getCandidateSuperTypeNames();
+            if (candidateSuperTypeNames != null && !candidateSuperTypeNames.isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Create a matcher to ignore low-level and otherwise problematic namespaces.
      *
@@ -117,25 +169,29 @@ public class InterceptionInstaller {
      */
     public static ElementMatcher.Junction<? super TypeDescription> createIgnoreMatcher(ElementMatcher.Junction<? super TypeDescription> customIgnoreMatcher) {
         //TrieNameMatcher - Ignore low-level pieces of the JDK and runtime, 3rd party libraries
-        //disco itself and its internals - not to ignore "software.amazon.disco.agent.integtest" to test the interceptors.
-        //Required to be added in non-test code, as test code does not have an opportunity to inject or
-        //modify these entries as they happen at class loading.
+        //disco itself and its internals - not to ignore "software.amazon.disco.agent.integtest" to test the interceptors,
+        //nor the JDK's HttpClient implementation. Required to be added in non-test code, as test code does not have an
+        //opportunity to inject or modify these entries as they happen at class loading.
         return (TRIE_BASED_IGNORE_MATCHER_INSTANCE
-                    .and(not(nameStartsWith("software.amazon.disco.agent.integtest."))))
+                    .and(not(TRIE_BASED_NOT_IGNORED_MATCHER_INSTANCE.or(namedOneOf(NOT_IGNORED_NAMES)))))
                 .or(customIgnoreMatcher);
     }
 
     /**
-     * A default Factory for creation of AgentBuilder instances
+     * A default Factory for creation of AgentBuilder instances. Package-private for tests
      */
-    private static class DefaultAgentBuilderFactory implements Supplier<AgentBuilder> {
+    static class DefaultAgentBuilderFactory implements Supplier<AgentBuilder> {
         /**
-         * Factory method to produce a real AgentBuilder
+         * Factory method to produce a real AgentBuilder, sharing its TypeDescription cache with all the others. The
+         * cached TypeDescriptions keep hold of the ClassFileLocator they were resolved with, so ClassLoaders are only
+         * weakly referenced by it, or else the static cache would keep every ClassLoader from being collected.
          * @return an AgentBuilder in the default case
          */
         @Override
         public AgentBuilder get() {
-            return new AgentBuilder.Default();
+            return new AgentBuilder.Default()
+                    .with(TYPE_POOL_CACHE)
+                    .with(AgentBuilder.LocationStrategy.ForClassLoader.WEAK);
         }
     }
 }
@@ -0,0 +1,232 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License").
+ *   You may not use this file except in compliance with the License.
+ *   A copy of the License is located at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file. This file is distributed
+ *   on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *   express or implied. See the License for the specific language governing
+ *   permissions and limitations under the License.
+ */
+
+package software.amazon.disco.agent.interception;
+
+import java.lang.instrument.Instrumentation;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A record of the direct supertypes of classes, by the ClassLoader which defined them, from which a SuperTypePreFilter
+ * can prove that a class has none of a set of supertypes without resolving its hierarchy. It is filled from the
+ * headers of the class files passed to the pre-filters, and from the classes already loaded when the agent is
+ * installed.
+ *
+ * A supertype named in a class file is looked up only among the classes defined by the ClassLoader loading that class
+ * file. Had the supertype been defined by another ClassLoader, such as a parent, a record found there could be a
+ * different class of the same name, for example under a child-first ClassLoader which defines its own copy, so such a
+ * supertype is unknown. The one exception is the java package, whose classes only the bootstrap and platform
+ * ClassLoaders may define, and whose records are therefore found from any ClassLoader. A class which is unknown may
+ * have any supertype, and the pre-filter passes it on.
+ *
+ * The number of classes recorded per ClassLoader is bounded. Classes beyond the bound are not recorded, and so are
+ * unknown.
+ */
+class SuperTypeIndex {
+    static final int DEFAULT_CAPACITY = 65536;
+    //the most supertypes visited for one class, beyond which the walk gives up as though a supertype were unknown
+    static final int MAX_VISITS = 256;
+    private static final String OBJECT = "java/lang/Object";
+    private static final String JAVA_PACKAGE_PREFIX = "java/";
+
+    private final int capacity;
+    private final Map<String, String[]> bootstrapTypes = new ConcurrentHashMap<>();
+    private final Map<ClassLoader, Map<String, String[]>> types = new WeakHashMap<>();
+    private final ThreadLocal<LastParsed> lastParsed = new LastParsedThreadLocal();
+
+    /**
+     * Create a new SuperTypeIndex
+     * @param capacity the maximum number of classes recorded per ClassLoader
+     */
+    SuperTypeIndex(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Record the direct supertypes of a class.
+     * @param classLoader the ClassLoader which defines the class, null for the bootstrap ClassLoader
+     * @param internalName the class's internal name
+     * @param superTypeNames the internal names of the class's direct supertypes
+     */
+    void record(ClassLoader classLoader, String internalName, String[] superTypeNames) {
+        final Map<String, String[]> recorded = typesOf(classLoader, true);
+        if (recorded.size() < capacity) {
+            recorded.put(internalName, superTypeNames);
+        }
+    }
+
+    /**
+     * Parse the header of a class file being loaded, and record the class's direct supertypes. The JVM passes the same
+     * buffer to each transformer in turn, unless one of them transforms the class, so the header most recently parsed
+     * on each thread is kept, and returned without parsing again to the next pre-filter asking about the same buffer.
+     * @param classLoader the ClassLoader which defines the class, null for the bootstrap ClassLoader
+     * @param classfileBuffer the class file
+     * @return the class file's header, or null if it could not be parsed
+     */
+    ClassFileHeader parse(ClassLoader classLoader, byte[] classfileBuffer) {
+        final LastParsed last = lastParsed.get();
+        if (last.classfileBuffer == classfileBuffer && last.classfileBuffer != null) {
+            return last.header;
+        }
+        final ClassFileHeader header = ClassFileHeader.parse(classfileBuffer);
+        if (header != null) {
+            record(classLoader, header.getName(), header.getSuperTypeNames());
+        }
+        last.classfileBuffer = classfileBuffer;
+        last.header = header;
+        return header;
+    }
+
+    /**
+     * Record the direct supertypes of every class already loaded.
+     * @param instrumentation the Instrumentation from which to obtain the loaded classes
+     */
+    void recordLoadedClasses(Instrumentation instrumentation) {
+        for (Class<?> clazz: instrumentation.getAllLoadedClasses()) {
+            if (clazz.isArray() || clazz.isPrimitive()) {
+                continue;
+            }
+            final Class<?> superclass = clazz.getSuperclass();
+            final Class<?>[] interfaces = clazz.getInterfaces();
+            final String[] superTypeNames = new String[(superclass == null ? 0 : 1) + interfaces.length];
+            int index = 0;
+            if (superclass != null) {
+                superTypeNames[index++] = internalName(superclass);
+            }
+            for (Class<?> iface: interfaces) {
+                superTypeNames[index++] = internalName(iface);
+            }
+            record(clazz.getClassLoader(), internalName(clazz), superTypeNames);
+        }
+    }
+
+    /**
+     * Find the direct supertypes of a class, as seen from a ClassLoader.
+     * @param classLoader the ClassLoader from which the class would be loaded, null for the bootstrap ClassLoader
+     * @param internalName the class's internal name
+     * @return the internal names of the class's direct supertypes, or null if the class is unknown, including when it
+     * was only recorded for a ClassLoader other than the one given
+     */
+    String[] find(ClassLoader classLoader, String internalName) {
+        final Map<String, String[]> recorded = typesOf(classLoader, false);
+        final String[] superTypeNames = recorded == null ? null : recorded.get(internalName);
+        if (superTypeNames != null || classLoader == null || !internalName.startsWith(JAVA_PACKAGE_PREFIX)) {
+            return superTypeNames;
+        }
+
+        //java classes are defined by the bootstrap ClassLoader, or the platform ClassLoader among its ancestors
+        ClassLoader current = classLoader.getParent();
+        while (current != null) {
+            final Map<String, String[]> ancestorRecorded = typesOf(current, false);
+            final String[] ancestorSuperTypeNames = ancestorRecorded == null ? null : ancestorRecorded.get(internalName);
+            if (ancestorSuperTypeNames != null) {
+                return ancestorSuperTypeNames;
+            }
+            current = current.getParent();
+        }
+        return bootstrapTypes.get(internalName);
+    }
+
+    /**
+     * Visit a class, then each of its supertypes as far as they are known, stopping early if the visitor asks to.
+     * @param classLoader the ClassLoader loading the class, null for the bootstrap ClassLoader
+     * @param header the class's header
+     * @param visitor the visitor, given the internal name of the class and of each supertype. A supertype reached by
+     *                more than one path may be visited more than once.
+     * @return true if every supertype was visited, or false if the walk ended early, because the visitor asked it to,
+     * a supertype is unknown, or more than MAX_VISITS supertypes were visited
+     */
+    boolean walk(ClassLoader classLoader, ClassFileHeader header, TypeVisitor visitor) {
+        if (visitor.visit(header.getName())) {
+            return false;
+        }
+        final int[] visits = new int[1];
+        for (String superTypeName: header.getSuperTypeNames()) {
+            if (!walk(classLoader, superTypeName, visitor, visits)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean walk(ClassLoader classLoader, String typeName, TypeVisitor visitor, int[] visits) {
+        if (visitor.visit(typeName)) {
+            return false;
+        }
+        if (typeName.equals(OBJECT)) {
+            return true;
+        }
+        final String[] superTypeNames = find(classLoader, typeName);
+        if (superTypeNames == null || ++visits[0] > MAX_VISITS) {
+            return false;
+        }
+        for (String superTypeName: superTypeNames) {
+            if (!walk(classLoader, superTypeName, visitor, visits)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Map<String, String[]> typesOf(ClassLoader classLoader, boolean create) {
+        if (classLoader == null) {
+            return bootstrapTypes;
+        }
+        synchronized (types) {
+            Map<String, String[]> recorded = types.get(classLoader);
+            if (recorded == null && create) {
+                recorded = new ConcurrentHashMap<>();
+                types.put(classLoader, recorded);
+            }
+            return recorded;
+        }
+    }
+
+    private static String internalName(Class<?> clazz) {
+        return clazz.getName().replace('.', '/');
+    }
+
+    /**
+     * A visitor of the class and supertypes reached by {@link #walk(ClassLoader, ClassFileHeader, TypeVisitor)}.
+     */
+    interface TypeVisitor {
+        /**
+         * Visit a class or supertype.
+         * @param internalName its internal name
+         * @return true to stop the walk
+         */
+        boolean visit(String internalName);
+    }
+
+    /**
+     * The class file most recently parsed on a thread, and its header.
+     */
+    private static class LastParsed {
+        byte[] classfileBuffer;
+        ClassFileHeader header;
+    }
+
+    /**
+     * Holds the LastParsed of each thread.
+     */
+    private static class LastParsedThreadLocal extends ThreadLocal<LastParsed> {
+        @Override
+        protected LastParsed initialValue() {
+            return new LastParsed();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License").
+ *   You may not use this file except in compliance with the License.
+ *   A copy of the License is located at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file. This file is distributed
+ *   on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *   express or implied. See the License for the specific language governing
+ *   permissions and limitations under the License.
+ */
+
+package software.amazon.disco.agent.interception;
+
+import net.bytebuddy.agent.builder.AgentBuilder;
+import net.bytebuddy.agent.builder.ResettableClassFileTransformer;
+
+import java.lang.instrument.ClassFileTransformer;
+import java.lang.instrument.IllegalClassFormatException;
+import java.security.ProtectionDomain;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * A ClassFileTransformer which stands in front of that of an Installable whose every transformed type is named, or has
+ * a supertype named, one of the Installable's candidate supertypes. Matchers such as hasSuperType(named(...)) make
+ * ByteBuddy resolve the hierarchy of nearly every class loaded, parsing the class files of each of its supertypes in
+ * turn. This pre-filter instead reads the names of the class's direct supertypes from its class file header, and looks
+ * up theirs in a SuperTypeIndex. Only if that proves that the class has none of the candidate supertypes is the class
+ * rejected, without the Installable's transformer, and so without any TypeDescription being built. In every other case,
+ * including those of supertypes which are not yet known, the class is passed on unchanged.
+ */
+class SuperTypePreFilter extends ResettableClassFileTransformer.WithDelegation implements SuperTypeIndex.TypeVisitor {
+    private final Set<String> candidates;
+    private final SuperTypeIndex index;
+
+    /**
+     * Create a new SuperTypePreFilter
+     * @param classFileTransformer the Installable's transformer
+     * @param candidates the internal names of the candidate supertypes
+     * @param index the index of known supertypes, shared between all pre-filters
+     */
+    SuperTypePreFilter(ResettableClassFileTransformer classFileTransformer, Set<String> candidates, SuperTypeIndex index) {
+        super(classFileTransformer);
+        this.candidates = candidates;
+        this.index = index;
+    }
+
+    /**
+     * Get the internal names of the candidate supertypes.
+     * @return the candidates
+     */
+    Set<String> getCandidates() {
+        return candidates;
+    }
+
+    /**
+     * Get the Installable's transformer, to which classes which may match are passed.
+     * @return the transformer behind this pre-filter
+     */
+    ClassFileTransformer getDelegate() {
+        return classFileTransformer;
+    }
+
+    /**
+     * Create a TransformerDecorator which places a SuperTypePreFilter in front of an AgentBuilder's transformer.
+     * @param candidateSuperTypeNames the binary names of the candidate supertypes e.g. java.sql.Statement
+     * @param index the index of known supertypes
+     * @return a TransformerDecorator to pass to AgentBuilder#with
+     */
+    static AgentBuilder.TransformerDecorator decorator(Collection<String> candidateSuperTypeNames, SuperTypeIndex index) {
+        final Set<String> candidates = new HashSet<>();
+        for (String name: candidateSuperTypeNames) {
+            candidates.add(name.replace('.', '/'));
+        }
+        return new Decorator(candidates, index);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public byte[] transform(ClassLoader loader, String className, Class<?> classBeingRedefined,
+                            ProtectionDomain protectionDomain, byte[] classfileBuffer) throws IllegalClassFormatException {
+        final ClassFileHeader header = index.parse(loader, classfileBuffer);
+        if (header != null && !mayMatch(loader, header)) {
+            return null;
+        }
+        return classFileTransformer.transform(loader, className, classBeingRedefined, protectionDomain, classfileBuffer);
+    }
+
+    /**
+     * Test whether a class might have one of the candidate supertypes.
+     * @param loader the ClassLoader loading the class
+     * @param header the class's header
+     * @return false only if the class certainly has none of the candidate supertypes
+     */
+    boolean mayMatch(ClassLoader loader, ClassFileHeader header) {
+        //the walk only completes if no candidate was visited, and every supertype was known
+        return !index.walk(loader, header, this);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean visit(String internalName) {
+        return candidates.contains(internalName);
+    }
+
+    /**
+     * The TransformerDecorator returned by {@link #decorator(Collection, SuperTypeIndex)}.
+     */
+    private static class Decorator implements AgentBuilder.TransformerDecorator {
+        private final Set<String> candidates;
+        private final SuperTypeIndex index;
+
+        Decorator(Set<String> candidates, SuperTypeIndex index) {
+            this.candidates = candidates;
+            this.index = index;
+        }
+
+        @Override
+        public ResettableClassFileTransformer decorate(ResettableClassFileTransformer classFileTransformer) {
+            return new SuperTypePreFilter(classFileTransformer, candidates, index);
+        }
+    }
+}
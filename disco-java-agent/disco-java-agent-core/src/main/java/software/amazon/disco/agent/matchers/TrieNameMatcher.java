@@ -17,23 +17,49 @@ package software.amazon.disco.agent.matchers;
 
 import net.bytebuddy.description.NamedElement;
 import net.bytebuddy.matcher.ElementMatcher;
-import java.util.HashMap;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 /**
- * An element matcher to match if given string starts with certain prefixes based on Trie {https://en.wikipedia.org/wiki/Trie}
+ * An element matcher to match if given string starts with certain prefixes based on Trie {https://en.wikipedia.org/wiki/Trie}.
+ * It may instead be configured to match names which equal, or end with, any of the given strings.
  *
  * {@link TrieNameMatcher.Trie}.
  */
 public class TrieNameMatcher<T extends NamedElement> extends ElementMatcher.Junction.AbstractBase<T> {
 
+    /**
+     * Enum to specify type of matches on the Trie.
+     */
+    public enum MatchType {
+        PREFIX, // match if one of the words in the Trie is a prefix of the target word
+        EXACT, // match if the target word is one of the words in the Trie
+        SUFFIX // match if one of the words in the Trie is a suffix of the target word
+    }
+
     final Trie nameMatcher = new Trie();
+    private final MatchType matchType;
 
     /**
      * Initialize the TrieMatcher by inserting the set of prefixes to be matched against using this matcher.
      * @param prefixes set of prefixes to be inserted
      */
     public TrieNameMatcher(String[] prefixes) {
-        for (String item : prefixes) {
+        this(prefixes, MatchType.PREFIX);
+    }
+
+    /**
+     * Initialize the TrieMatcher by inserting the set of words to be matched against using this matcher.
+     * @param words set of words to be inserted
+     * @param matchType how the name of a target is matched against the words
+     */
+    public TrieNameMatcher(String[] words, MatchType matchType) {
+        this.matchType = matchType;
+        for (String item : words) {
             nameMatcher.insert(item);
         }
     }
@@ -43,12 +69,28 @@ public class TrieNameMatcher<T extends NamedElement> extends ElementMatcher.Junc
      */
     @Override
     public boolean matches(T target) {
-        return nameMatcher.prefixMatch(target.getActualName());
+        return matchesName(target.getActualName());
     }
 
     /**
-     * Defines the Trie structure where each node of Trie is
-     * {@link TrieNameMatcher.Trie.TrieNode}
+     * Match a name directly, for callers which have a name but no {@link NamedElement}, such as a ClassFileTransformer.
+     * @param name the name to match
+     * @return true if the name matches according to this matcher's {@link MatchType}
+     */
+    public boolean matchesName(String name) {
+        if (matchType == MatchType.PREFIX) {
+            return nameMatcher.prefixMatch(name);
+        } else if (matchType == MatchType.EXACT) {
+            return nameMatcher.exactMatch(name);
+        }
+        return nameMatcher.suffixMatch(name);
+    }
+
+    /**
+     * Defines the Trie structure. Each word inserted is held twice, in a {@link TrieNameMatcher.Trie.Nodes} built from
+     * the words as given, for prefix and exact matches, and in one built from the words reversed, for suffix matches.
+     * Both are rebuilt on each insertion, which is expected only while the Trie is being populated, and published
+     * atomically, so that matching never needs to lock.
      *                                      root
      *                                     / \ \
      *                                    c  j  a
@@ -56,98 +98,20 @@ public class TrieNameMatcher<T extends NamedElement> extends ElementMatcher.Junc
      *                                 o  a d b c
      */
     static class Trie {
-
-        private final TrieNode root;
-
-        /**
-         * Defines each element(node) of the Trie in {@link TrieNameMatcher.Trie}
-         *                          TrieNode of root looks like - { (c, TrieNode()), (j, TrieNode()), (a, TrieNode()) }
-         *                          TrieNode of j looks like - { (a, TrieNode()), (d, TrieNode()) }
-         *                          TrieNode of a looks like - {}
-         */
-        static class TrieNode {
-            /**
-             * Each node has list of children which denotes the next possible characters from the current node.
-             */
-            private HashMap<Character, TrieNode> children;
-
-            /**
-             * Initialize a node with empty set of children (leaf node).
-             */
-            TrieNode() {
-                children = new HashMap<Character, TrieNode>();
-            }
-
-            /**
-             * Checks if given character ch is child of the current node.
-             *
-             * @param ch character to be checked.
-             * @return true if find ch in the set of children of the node otherwise false.
-             */
-            boolean containsKey(char ch) {
-                return children.containsKey(ch);
-            }
-
-            /**
-             * Returns the child node of the node corresponding to the given character.
-             *
-             * @param ch character for which the child node is needed.
-             * @return child node corresponding to the character ch.
-             */
-            TrieNode get(char ch) {
-                return children.get(ch);
-            }
-
-            /**
-             * Insert a new child node in the set of children for the given character.
-             *
-             * @param ch   character for which the child node needs to be inserted
-             * @param node the node value for the character ch
-             */
-            void put(char ch, TrieNode node) {
-                children.put(ch, node);
-            }
-
-            /**
-             * Checks if the node is leaf node i.e. have empty set of children.
-             *
-             * @return true if the node is leaf node otherwise false.
-             */
-            boolean isLeaf() {
-                return children.isEmpty();
-            }
-        }
-
-        /**
-         * Enum to specify type of matches on the Trie.
-         */
-        enum MatchType {
-            PREFIX, // match the target word's prefixes in the Trie
-            EXACT // match the target word in Trie
-        }
-
-        /**
-         * Creates a new Trie.
-         */
-        Trie() {
-            root = new TrieNode();
-        }
+        private final List<String> words = new ArrayList<>();
+        private volatile Nodes forward = Nodes.EMPTY;
+        private volatile Nodes reverse = Nodes.EMPTY;
 
         /**
          * Insert a given word in the Trie.
          *
          * @param word word to be inserted.
          */
-        void insert(String word) {
+        synchronized void insert(String word) {
             if (word == null || word.isEmpty()) return;
-            TrieNode node = root;
-            char[] chars = word.toCharArray();
-            for (char aChar : chars) {
-                if (!node.containsKey(aChar)) {
-                    node.put(aChar, new TrieNode());
-                }
-                node = node.get(aChar);
-            }
+            words.add(word);
+            forward = Nodes.build(words, false);
+            reverse = Nodes.build(words, true);
         }
 
         /**
@@ -157,7 +121,7 @@ public class TrieNameMatcher<T extends NamedElement> extends ElementMatcher.Junc
          * @return boolean true if found the matching prefix in the Trie, otherwise false.
          */
         boolean prefixMatch(String word) {
-            return match(word, MatchType.PREFIX);
+            return word != null && forward.match(word, false, true);
         }
 
         /**
@@ -167,32 +131,132 @@ public class TrieNameMatcher<T extends NamedElement> extends ElementMatcher.Junc
          * @return boolean true if found the exact word in the Trie, otherwise false.
          */
         boolean exactMatch(String word) {
-            return match(word, MatchType.EXACT);
+            return word != null && forward.match(word, false, false);
         }
 
         /**
-         * Matches the given word in the Trie given the type of match.
+         * Matches the given word in the Trie as if the word's suffixes matches with any of the words in the Trie.
          *
-         * @param word          the given word to be checked for a match in the Trie.
-         * @param matchType     specifies the type of match either PREFIX (to match if the given word's prefixes match in the Trie) or
-         *                      EXACT (to match if given word present in trie).
-         * @return boolean true if found the matching given the match type in the Trie, otherwise false.
+         * @param word the given word to checked for matching suffix in the Trie.
+         * @return boolean true if found the matching suffix in the Trie, otherwise false.
          */
-        private boolean match(String word, MatchType matchType) {
-            if (word == null || word.isEmpty()) return false;
-            TrieNode node = root;
-            char[] chars = word.toCharArray();
-            for (char aChar : chars) {
-                if (matchType.equals(MatchType.PREFIX) && node.isLeaf()) {
-                    return true;
-                } else if (node.containsKey(aChar)) {
-                    node = node.get(aChar);
-                } else {
-                    return false;
+        boolean suffixMatch(String word) {
+            return word != null && reverse.match(word, true, true);
+        }
+
+        /**
+         * The nodes of a Trie in a compact, immutable array form. Nodes are numbered in breadth-first order, with the
+         * root as node 0 and the children of each node in ascending order of their character. The edges to the children
+         * of node n are then numbered firstEdge[n] to firstEdge[n + 1] - 1, and since edges are numbered in the same order
+         * as the nodes they lead to, edge e always leads to node e + 1. So only the character of each edge, and whether
+         * each node ends a word, need be stored.
+         *
+         *                     node:  0  1  2  3  4  5  6  7  8        words: "co", "ja", "jd", "ab", "ac"
+         *                firstEdge:  0  3  5  6  8  8  8  8  8  8
+         *                   labels:  a  c  j  b  c  o  a  d
+         *                 terminal:  F  F  F  F  T  T  T  T  T
+         */
+        static class Nodes {
+            static final Nodes EMPTY = new Nodes(new int[] {0, 0}, new char[0], new boolean[1]);
+
+            private final int[] firstEdge;
+            private final char[] labels;
+            private final boolean[] terminal;
+
+            /**
+             * Construct a new Nodes from its arrays
+             * @param firstEdge the index of the first edge of each node, and finally the total number of edges
+             * @param labels the character of each edge
+             * @param terminal whether each node ends a word
+             */
+            private Nodes(int[] firstEdge, char[] labels, boolean[] terminal) {
+                this.firstEdge = firstEdge;
+                this.labels = labels;
+                this.terminal = terminal;
+            }
+
+            /**
+             * Build the nodes of a Trie holding the given words
+             * @param words the words, none of which may be null or empty
+             * @param reversed true to insert each word from its last character to its first
+             * @return the built nodes
+             */
+            static Nodes build(List<String> words, boolean reversed) {
+                final BuildNode root = new BuildNode();
+                int count = 1;
+                for (String word : words) {
+                    BuildNode node = root;
+                    final int length = word.length();
+                    for (int i = 0; i < length; i++) {
+                        final Character c = word.charAt(reversed ? length - 1 - i : i);
+                        BuildNode child = node.children.get(c);
+                        if (child == null) {
+                            child = new BuildNode();
+                            node.children.put(c, child);
+                            count++;
+                        }
+                        node = child;
+                    }
+                    node.terminal = true;
                 }
+
+                final int[] firstEdge = new int[count + 1];
+                final char[] labels = new char[count - 1];
+                final boolean[] terminal = new boolean[count];
+                final ArrayDeque<BuildNode> queue = new ArrayDeque<>();
+                queue.add(root);
+                int node = 0;
+                int edge = 0;
+                while (!queue.isEmpty()) {
+                    final BuildNode current = queue.poll();
+                    firstEdge[node] = edge;
+                    terminal[node] = current.terminal;
+                    for (Map.Entry<Character, BuildNode> child : current.children.entrySet()) {
+                        labels[edge++] = child.getKey();
+                        queue.add(child.getValue());
+                    }
+                    node++;
+                }
+                firstEdge[count] = edge;
+                return new Nodes(firstEdge, labels, terminal);
+            }
+
+            /**
+             * Walk the given word through the nodes, without allocation
+             * @param word the word to match, which may be empty but not null
+             * @param reversed true to walk the word from its last character to its first
+             * @param acceptPrefix true to match if any word in the Trie is a prefix of the walk, false to match only if
+             *                     the whole walk is a word in the Trie
+             * @return true if the word matched
+             */
+            boolean match(String word, boolean reversed, boolean acceptPrefix) {
+                final int length = word.length();
+                int node = 0;
+                for (int i = 0; i < length; i++) {
+                    if (acceptPrefix && terminal[node]) {
+                        return true;
+                    }
+                    final char c = word.charAt(reversed ? length - 1 - i : i);
+                    final int end = firstEdge[node + 1];
+                    int edge = firstEdge[node];
+                    while (edge < end && labels[edge] < c) {
+                        edge++;
+                    }
+                    if (edge == end || labels[edge] != c) {
+                        return false;
+                    }
+                    node = edge + 1;
+                }
+                return terminal[node];
             }
-            return node.isLeaf();
+        }
+
+        /**
+         * A node of the pointer-based Trie from which the array form is built
+         */
+        private static class BuildNode {
+            final TreeMap<Character, BuildNode> children = new TreeMap<>();
+            boolean terminal;
         }
     }
 }
-
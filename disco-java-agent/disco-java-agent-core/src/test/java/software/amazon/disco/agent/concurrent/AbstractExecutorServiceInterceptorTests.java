@@ -0,0 +1,121 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License").
+ *   You may not use this file except in compliance with the License.
+ *   A copy of the License is located at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file. This file is distributed
+ *   on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *   express or implied. See the License for the specific language governing
+ *   permissions and limitations under the License.
+ */
+
+package software.amazon.disco.agent.concurrent;
+
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.type.TypeDescription;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+import software.amazon.disco.agent.concurrent.decorate.CallableBatch;
+import software.amazon.disco.agent.concurrent.decorate.DecoratedCallable;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+public class AbstractExecutorServiceInterceptorTests {
+    private final ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS, new LinkedBlockingQueue<>());
+    private final ScheduledThreadPoolExecutor scheduledThreadPoolExecutor = new ScheduledThreadPoolExecutor(1);
+
+    @After
+    public void after() {
+        TransactionContext.clear();
+        CallableBatch.endSubmission(false);
+        threadPoolExecutor.shutdown();
+        scheduledThreadPoolExecutor.shutdown();
+    }
+
+    @Test
+    public void testTypeMatcherMatches() {
+        Assert.assertTrue(AbstractExecutorServiceInterceptor.createTypeMatcher().matches(new TypeDescription.ForLoadedType(AbstractExecutorService.class)));
+        Assert.assertTrue(AbstractExecutorServiceInterceptor.createTypeMatcher().matches(new TypeDescription.ForLoadedType(ThreadPoolExecutor.class)));
+    }
+
+    @Test
+    public void testTypeMatcherNotMatchesForkJoinPool() {
+        Assert.assertFalse(AbstractExecutorServiceInterceptor.createTypeMatcher().matches(new TypeDescription.ForLoadedType(ForkJoinPool.class)));
+    }
+
+    @Test
+    public void testMethodMatcherMatchesAllOverloads() throws Exception {
+        Assert.assertTrue(methodMatches("invokeAll", Collection.class));
+        Assert.assertTrue(methodMatches("invokeAll", Collection.class, long.class, TimeUnit.class));
+        Assert.assertTrue(methodMatches("invokeAny", Collection.class));
+        Assert.assertTrue(methodMatches("invokeAny", Collection.class, long.class, TimeUnit.class));
+    }
+
+    @Test
+    public void testMethodMatcherNotMatchesSubmit() throws Exception {
+        Assert.assertFalse(methodMatches("submit", Callable.class));
+    }
+
+    @Test
+    public void testInstall() {
+        TestUtils.testInstallableCanBeInstalled(new AbstractExecutorServiceInterceptor());
+    }
+
+    @Test
+    public void testAdviceDecoratesAndMarksSubmission() {
+        TransactionContext.create();
+        List<Callable<?>> tasks = Arrays.asList(Mockito.mock(Callable.class), Mockito.mock(Callable.class));
+        Collection<? extends Callable<?>> decorated = AbstractExecutorServiceInterceptor.InvokeAdvice.methodEnter(threadPoolExecutor, tasks);
+        for (Callable c : decorated) {
+            Assert.assertTrue(c instanceof DecoratedCallable);
+        }
+
+        Boolean previous = AbstractExecutorServiceInterceptor.InvokeAdvice.onMethodEnter(threadPoolExecutor, tasks);
+        Assert.assertEquals(Boolean.FALSE, previous);
+        Assert.assertTrue(CallableBatch.isBatchMember(new FutureTask<>(Mockito.mock(Callable.class))));
+
+        AbstractExecutorServiceInterceptor.InvokeAdvice.onMethodExit(previous);
+        Assert.assertFalse(CallableBatch.isBatchMember(new FutureTask<>(Mockito.mock(Callable.class))));
+    }
+
+    @Test
+    public void testAdviceOutsideTransaction() {
+        List<Callable<?>> tasks = Arrays.asList(Mockito.mock(Callable.class));
+        Assert.assertNull(AbstractExecutorServiceInterceptor.InvokeAdvice.onMethodEnter(threadPoolExecutor, tasks));
+        Assert.assertFalse(CallableBatch.isBatchMember(new FutureTask<>(Mockito.mock(Callable.class))));
+        AbstractExecutorServiceInterceptor.InvokeAdvice.onMethodExit(null);
+    }
+
+    @Test
+    public void testAdviceIgnoresScheduledThreadPoolExecutor() {
+        TransactionContext.create();
+        List<Callable<?>> tasks = Arrays.asList(Mockito.mock(Callable.class));
+        Assert.assertSame(tasks, AbstractExecutorServiceInterceptor.InvokeAdvice.methodEnter(scheduledThreadPoolExecutor, tasks));
+    }
+
+    @Test
+    public void testCaptureThrowable() {
+        AbstractExecutorServiceInterceptor.InvokeAdvice.captureThrowableForDebugging(new RuntimeException());
+    }
+
+    private static boolean methodMatches(String name, Class<?>... parameterTypes) throws Exception {
+        return AbstractExecutorServiceInterceptor.createMethodMatcher().matches(
+                new MethodDescription.ForLoadedMethod(AbstractExecutorService.class.getDeclaredMethod(name, parameterTypes)));
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License").
+ *   You may not use this file except in compliance with the License.
+ *   A copy of the License is located at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file. This file is distributed
+ *   on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *   express or implied. See the License for the specific language governing
+ *   permissions and limitations under the License.
+ */
+
+package software.amazon.disco.agent.concurrent;
+
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.type.TypeDescription;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+import software.amazon.disco.agent.concurrent.decorate.DecoratedForkJoinTask;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountedCompleter;
+import java.util.concurrent.ForkJoinTask;
+
+public class CompletableFutureInterceptorTests {
+    @After
+    public void after() {
+        TransactionContext.clear();
+    }
+
+    @Test
+    public void testTypeMatcherMatchesStages() throws Exception {
+        Assert.assertTrue(typeMatches("CompletableFuture$UniApply"));
+        Assert.assertTrue(typeMatches("CompletableFuture$BiApply"));
+        Assert.assertTrue(typeMatches("CompletableFuture$AsyncSupply"));
+        Assert.assertTrue(typeMatches("CompletableFuture$AsyncRun"));
+    }
+
+    @Test
+    public void testTypeMatcherNotMatchesOthers() throws Exception {
+        Assert.assertFalse(CompletableFutureInterceptor.createTypeMatcher().matches(new TypeDescription.ForLoadedType(CompletableFuture.class)));
+        Assert.assertFalse(CompletableFutureInterceptor.createTypeMatcher().matches(new TypeDescription.ForLoadedType(CountedCompleter.class)));
+        Assert.assertFalse(CompletableFutureInterceptor.createTypeMatcher().matches(new TypeDescription.ForLoadedType(FakeStage.class)));
+    }
+
+    @Test
+    public void testConstructorMatcherMatchesCompletionAndAsyncTasks() throws Exception {
+        Assert.assertTrue(constructorMatches("CompletableFuture$Completion"));
+        Assert.assertTrue(constructorMatches("CompletableFuture$AsyncSupply"));
+        Assert.assertTrue(constructorMatches("CompletableFuture$AsyncRun"));
+    }
+
+    @Test
+    public void testConstructorMatcherNotMatchesCompletionSubclass() throws Exception {
+        Assert.assertFalse(constructorMatches("CompletableFuture$UniApply"));
+    }
+
+    @Test
+    public void testStageMethodMatcherMatchesTryFire() throws Exception {
+        Assert.assertTrue(CompletableFutureInterceptor.createStageMethodMatcher().matches(new MethodDescription.ForLoadedMethod(
+                Class.forName("java.util.concurrent.CompletableFuture$UniApply").getDeclaredMethod("tryFire", int.class))));
+    }
+
+    @Test
+    public void testStageMethodMatcherNotMatchesAbstractTryFire() throws Exception {
+        Assert.assertFalse(CompletableFutureInterceptor.createStageMethodMatcher().matches(new MethodDescription.ForLoadedMethod(
+                Class.forName("java.util.concurrent.CompletableFuture$Completion").getDeclaredMethod("tryFire", int.class))));
+    }
+
+    @Test
+    public void testStageMethodMatcherMatchesAsyncRun() throws Exception {
+        Assert.assertTrue(CompletableFutureInterceptor.createStageMethodMatcher().matches(new MethodDescription.ForLoadedMethod(
+                Class.forName("java.util.concurrent.CompletableFuture$AsyncSupply").getDeclaredMethod("run"))));
+        Assert.assertTrue(CompletableFutureInterceptor.createStageMethodMatcher().matches(new MethodDescription.ForLoadedMethod(
+                Class.forName("java.util.concurrent.CompletableFuture$AsyncRun").getDeclaredMethod("run"))));
+    }
+
+    @Test
+    public void testStageMethodMatcherNotMatchesCompletionRun() throws Exception {
+        Assert.assertFalse(CompletableFutureInterceptor.createStageMethodMatcher().matches(new MethodDescription.ForLoadedMethod(
+                Class.forName("java.util.concurrent.CompletableFuture$Completion").getDeclaredMethod("run"))));
+    }
+
+    @Test
+    public void testInstall() {
+        TestUtils.testInstallableCanBeInstalled(new CompletableFutureInterceptor());
+    }
+
+    @Test
+    public void testIsDecoratedStage() {
+        Assert.assertFalse(CompletableFutureInterceptor.isDecoratedStage(null));
+        Assert.assertFalse(CompletableFutureInterceptor.isDecoratedStage(Mockito.mock(Runnable.class)));
+        FakeStage stage = new FakeStage();
+        stage.setDiscoDecoration(DecoratedForkJoinTask.create());
+        Assert.assertFalse(CompletableFutureInterceptor.isDecoratedStage(stage));
+    }
+
+    @Test
+    public void testAdviceSafe() {
+        CompletableFutureInterceptor.ConstructorAdvice.onConstructorExit(new Object());
+        CompletableFutureInterceptor.ConstructorAdvice.onConstructorExit(null);
+        Assert.assertNull(CompletableFutureInterceptor.StageAdvice.onMethodEnter(new Object()));
+        Assert.assertNull(CompletableFutureInterceptor.StageAdvice.onMethodEnter(new FakeStage()));
+        CompletableFutureInterceptor.StageAdvice.onMethodExit(new FakeStage(), null);
+    }
+
+    @Test
+    public void testCaptureThrowable() {
+        CompletableFutureInterceptor.ConstructorAdvice.captureThrowableForDebugging(new RuntimeException());
+        CompletableFutureInterceptor.StageAdvice.captureThrowableForDebugging(new RuntimeException());
+    }
+
+    @Test
+    public void testStageDecorationSharedWithinContext() {
+        TransactionContext.create();
+        DecoratedForkJoinTask first = CompletableFutureInterceptor.createStageDecoration();
+        DecoratedForkJoinTask second = CompletableFutureInterceptor.createStageDecoration();
+        Assert.assertSame(first, second);
+
+        TransactionContext.clear();
+        TransactionContext.create();
+        Assert.assertNotSame(first, CompletableFutureInterceptor.createStageDecoration());
+    }
+
+    @Test
+    public void testStageDecorationOutsideTransactionCarriesNoContext() {
+        DecoratedForkJoinTask decorated = CompletableFutureInterceptor.createStageDecoration();
+        Assert.assertSame(decorated, DecoratedForkJoinTask.create());
+        Assert.assertFalse(decorated.isContextSwitchRequired());
+    }
+
+    @Test
+    public void testStageInCurrentContextUntouched() {
+        TransactionContext.create();
+        FakeStage stage = new FakeStage();
+        CompletableFutureInterceptor.ConstructorAdvice.methodExit(stage);
+        Assert.assertNotNull(stage.getDiscoDecoration());
+        Assert.assertNull(CompletableFutureInterceptor.StageAdvice.methodEnter(stage));
+    }
+
+    @Test
+    public void testStageRunsInCapturedContextAndRestoresPrevious() {
+        TransactionContext.create();
+        String stageId = TransactionContext.get();
+        FakeStage stage = new FakeStage();
+        CompletableFutureInterceptor.ConstructorAdvice.methodExit(stage);
+
+        //now behave as a thread completing the stage on behalf of another transaction
+        TransactionContext.clear();
+        TransactionContext.create();
+        String otherId = TransactionContext.get();
+        TransactionContextData otherContext = TransactionContext.getPrivateContext();
+
+        TransactionContextData previous = CompletableFutureInterceptor.StageAdvice.methodEnter(stage);
+        Assert.assertSame(otherContext, previous);
+        Assert.assertEquals(stageId, TransactionContext.get());
+
+        CompletableFutureInterceptor.StageAdvice.methodExit(stage, previous);
+        Assert.assertEquals(otherId, TransactionContext.get());
+    }
+
+    private static boolean typeMatches(String simpleName) throws Exception {
+        return CompletableFutureInterceptor.createTypeMatcher().matches(
+                new TypeDescription.ForLoadedType(Class.forName("java.util.concurrent." + simpleName)));
+    }
+
+    private static boolean constructorMatches(String simpleName) throws Exception {
+        Class<?> clazz = Class.forName("java.util.concurrent." + simpleName);
+        return CompletableFutureInterceptor.createConstructorMatcher().matches(
+                new MethodDescription.ForLoadedConstructor(clazz.getDeclaredConstructors()[0]));
+    }
+
+    /**
+     * Stands in for a CompletableFuture stage, which only carries the Accessor interface when the agent is installed
+     */
+    static class FakeStage extends ForkJoinTask<Void> implements Runnable, DecoratedForkJoinTask.Accessor {
+        private DecoratedForkJoinTask discoDecoration;
+
+        @Override
+        public DecoratedForkJoinTask getDiscoDecoration() {
+            return discoDecoration;
+        }
+
+        @Override
+        public void setDiscoDecoration(DecoratedForkJoinTask decoratedForkJoinTask) {
+            this.discoDecoration = decoratedForkJoinTask;
+        }
+
+        @Override
+        public Void getRawResult() {
+            return null;
+        }
+
+        @Override
+        protected void setRawResult(Void value) {
+        }
+
+        @Override
+        protected boolean exec() {
+            return true;
+        }
+
+        @Override
+        public void run() {
+        }
+    }
+}
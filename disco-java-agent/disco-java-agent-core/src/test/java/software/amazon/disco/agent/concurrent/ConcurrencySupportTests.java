@@ -25,7 +25,7 @@ public class ConcurrencySupportTests {
     @Test
     public void testPackageContentCorrect() {
         List<Installable> installables = (List<Installable>)new ConcurrencySupport().get();
-        Assert.assertEquals(8, installables.size());
+        Assert.assertEquals(11, installables.size());
         Assert.assertEquals(ExecutorInterceptor.class, installables.get(0).getClass());
         Assert.assertEquals(ForkJoinPoolInterceptor.class, installables.get(1).getClass());
         Assert.assertEquals(ForkJoinTaskInterceptor.class, installables.get(2).getClass());
@@ -34,5 +34,8 @@ public class ConcurrencySupportTests {
         Assert.assertEquals(ThreadSubclassInterceptor.class, installables.get(5).getClass());
         Assert.assertEquals(ScheduledFutureTaskInterceptor.class, installables.get(6).getClass());
         Assert.assertEquals(ThreadPoolInterceptor.class, installables.get(7).getClass());
+        Assert.assertEquals(VirtualThreadInterceptor.class, installables.get(8).getClass());
+        Assert.assertEquals(CompletableFutureInterceptor.class, installables.get(9).getClass());
+        Assert.assertEquals(AbstractExecutorServiceInterceptor.class, installables.get(10).getClass());
     }
 }
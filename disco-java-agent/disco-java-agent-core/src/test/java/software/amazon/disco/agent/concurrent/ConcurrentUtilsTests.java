@@ -22,11 +22,15 @@ import org.junit.Test;
 import software.amazon.disco.agent.event.Event;
 import software.amazon.disco.agent.event.EventBus;
 import software.amazon.disco.agent.event.Listener;
+import software.amazon.disco.agent.event.NonRetainingListener;
 import software.amazon.disco.agent.event.ThreadEnterEvent;
 import software.amazon.disco.agent.event.ThreadEvent;
 import software.amazon.disco.agent.event.ThreadExitEvent;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -128,6 +132,41 @@ public class ConcurrentUtilsTests {
         validateEvent(listener.received.iterator().next(), ThreadExitEvent.class, 0);
     }
 
+    @Test
+    public void testThreadEventsRecycledForNonRetainingListener() {
+        EventBus.removeListener(listener);
+        TransactionContext.create();
+        MyNonRetainingListener nonRetaining = new MyNonRetainingListener();
+        EventBus.addListener(nonRetaining);
+        try {
+            ConcurrentUtils.enterContext(7, TransactionContext.getPrivateContext());
+            ConcurrentUtils.enterContext(8, TransactionContext.getPrivateContext());
+            ConcurrentUtils.exitContext(8, TransactionContext.getPrivateContext(), false);
+            ConcurrentUtils.exitContext(9, TransactionContext.getPrivateContext(), false);
+
+            Assert.assertEquals(4, nonRetaining.parentIds.size());
+            Assert.assertSame(nonRetaining.events.get(0), nonRetaining.events.get(1));
+            Assert.assertSame(nonRetaining.events.get(2), nonRetaining.events.get(3));
+            Assert.assertTrue(nonRetaining.events.get(0) instanceof ThreadEnterEvent);
+            Assert.assertTrue(nonRetaining.events.get(2) instanceof ThreadExitEvent);
+            Assert.assertEquals(Arrays.asList(7L, 8L, 8L, 9L), nonRetaining.parentIds);
+        } finally {
+            EventBus.removeListener(nonRetaining);
+        }
+    }
+
+    @Test
+    public void testThreadEventsNotRecycledForRetainingListener() {
+        TransactionContext.create();
+        listener.received.clear();
+        ConcurrentUtils.enterContext(7, TransactionContext.getPrivateContext());
+        ConcurrentUtils.enterContext(8, TransactionContext.getPrivateContext());
+        Assert.assertEquals(2, listener.received.size());
+        for (Event event : listener.received) {
+            Assert.assertEquals(ThreadEnterEvent.class, event.getClass());
+        }
+    }
+
     private void validateEvent(Event event, Class expectedType, long parentId) {
         Assert.assertEquals(expectedType, event.getClass());
         ThreadEvent threadEvent = (ThreadEvent) event;
@@ -148,4 +187,21 @@ public class ConcurrentUtilsTests {
             received.add(event);
         }
     }
+
+    class MyNonRetainingListener implements NonRetainingListener {
+        List<Event> events = new ArrayList<>();
+        List<Long> parentIds = new ArrayList<>();
+
+        @Override
+        public int getPriority() {
+            return 0;
+        }
+
+        @Override
+        public void listen(Event event) {
+            //the Event is kept only to compare identity, its contents must be read now since it may be recycled
+            events.add(event);
+            parentIds.add(((ThreadEvent) event).getParentId());
+        }
+    }
 }
@@ -16,18 +16,22 @@
 
 package software.amazon.disco.agent.concurrent;
 
+import software.amazon.disco.agent.concurrent.decorate.CallableBatch;
 import software.amazon.disco.agent.concurrent.decorate.DecoratedRunnable;
 import net.bytebuddy.description.method.MethodDescription;
 import net.bytebuddy.description.type.TypeDescription;
 import net.bytebuddy.matcher.ElementMatcher;
+import org.junit.After;
 import org.junit.Assert;
 import org.junit.Test;
 import org.mockito.Mockito;
 
 import java.lang.reflect.Method;
 import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.FutureTask;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 
 public class ExecutorInterceptorTests {
@@ -81,11 +85,35 @@ public class ExecutorInterceptorTests {
         ExecutorInterceptor.ExecuteAdvice.captureThrowableForDebugging(new RuntimeException());
     }
 
+    @After
+    public void after() {
+        TransactionContext.clear();
+    }
+
     @Test
     public void testExecuteAdviceDecorates() {
+        TransactionContext.create();
         Runnable r = Mockito.mock(Runnable.class);
         Runnable d = ExecutorInterceptor.ExecuteAdvice.methodEnter(r);
         Assert.assertTrue(d instanceof DecoratedRunnable);
     }
-}
 
+    @Test
+    public void testExecuteAdviceDoesNotDecorateOutsideTransaction() {
+        Runnable r = Mockito.mock(Runnable.class);
+        Assert.assertSame(r, ExecutorInterceptor.ExecuteAdvice.methodEnter(r));
+    }
+
+    @Test
+    public void testExecuteAdviceDoesNotDecorateBatchMember() {
+        TransactionContext.create();
+        Runnable r = new FutureTask<>(Mockito.mock(Callable.class));
+        boolean previous = CallableBatch.beginSubmission();
+        try {
+            Assert.assertSame(r, ExecutorInterceptor.ExecuteAdvice.methodEnter(r));
+        } finally {
+            CallableBatch.endSubmission(previous);
+        }
+        Assert.assertTrue(ExecutorInterceptor.ExecuteAdvice.methodEnter(r) instanceof DecoratedRunnable);
+    }
+}
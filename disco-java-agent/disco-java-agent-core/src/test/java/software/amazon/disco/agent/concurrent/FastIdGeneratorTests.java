@@ -19,6 +19,8 @@ import org.junit.Assert;
 import org.junit.Test;
 import software.amazon.disco.agent.util.FastIdGenerator;
 
+import java.util.function.Supplier;
+
 public class FastIdGeneratorTests {
     private static final String HEX_ALPHABET = "0123456789abcdef";
 
@@ -27,13 +29,33 @@ public class FastIdGeneratorTests {
         Assert.assertEquals(24, FastIdGenerator.generate().length());
     }
 
+    @Test
+    public void testLength128() {
+        Assert.assertEquals(32, FastIdGenerator.generate128().length());
+    }
+
+    @Test
+    public void testToHex() {
+        Assert.assertEquals("000000000000000100000000000000ff", FastIdGenerator.toHex(1L, 255L));
+        Assert.assertEquals("ffffffffffffffff8000000000000000", FastIdGenerator.toHex(-1L, Long.MIN_VALUE));
+    }
+
     @Test
     public void testBitDistribution() {
+        assertBitDistribution(FastIdGenerator.LENGTH, FastIdGenerator::generate);
+    }
+
+    @Test
+    public void testBitDistribution128() {
+        assertBitDistribution(FastIdGenerator.LENGTH_128, FastIdGenerator::generate128);
+    }
+
+    private static void assertBitDistribution(int length, Supplier<String> supplier) {
         final int samples = 1_000_000;
         final double tolerance = 0.01;
-        final int[] bits = new int[4 * FastIdGenerator.LENGTH];
+        final int[] bits = new int[4 * length];
         for (int sample = 0; sample < samples; sample++) {
-            final String id = FastIdGenerator.generate();
+            final String id = supplier.get();
             for (int i = 0; i < id.length(); i++) {
                 int c = HEX_ALPHABET.indexOf(id.charAt(i));
                 for (int k = 0; k < 4; k++) {
@@ -21,6 +21,7 @@ import software.amazon.disco.agent.concurrent.decorate.DecoratedCallable;
 import software.amazon.disco.agent.concurrent.decorate.DecoratedRunnable;
 import net.bytebuddy.description.method.MethodDescription;
 import net.bytebuddy.description.type.TypeDescription;
+import org.junit.After;
 import org.junit.Assert;
 import org.junit.Test;
 import org.mockito.Mockito;
@@ -37,6 +38,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.ForkJoinTask;
 
 public class ForkJoinPoolInterceptorTests {
@@ -70,6 +72,14 @@ public class ForkJoinPoolInterceptorTests {
                 .matches(new MethodDescription.ForLoadedMethod(ForkJoinPool.class.getDeclaredMethod("invokeAll", Collection.class))));
     }
 
+    @Test
+    public void testInvokeAnyCallablesMethodMatches() throws Exception {
+        Assert.assertTrue(ForkJoinPoolInterceptor.createCallableCollectionMethodsMatcher()
+                .matches(new MethodDescription.ForLoadedMethod(ForkJoinPool.class.getMethod("invokeAny", Collection.class))));
+        Assert.assertTrue(ForkJoinPoolInterceptor.createCallableCollectionMethodsMatcher()
+                .matches(new MethodDescription.ForLoadedMethod(ForkJoinPool.class.getMethod("invokeAny", Collection.class, long.class, TimeUnit.class))));
+    }
+
     @Test
     public void testInvokeForkJoinTaskMethodMatches() throws Exception {
         Assert.assertTrue(ForkJoinPoolInterceptor.createForkJoinTaskMethodsMatcher()
@@ -93,8 +103,14 @@ public class ForkJoinPoolInterceptorTests {
         ForkJoinPoolInterceptor.RunnableMethodsAdvice.onMethodEnter(Mockito.mock(Runnable.class));
     }
 
+    @After
+    public void after() {
+        TransactionContext.clear();
+    }
+
     @Test
     public void testRunnableAdviceDecorates() {
+        TransactionContext.create();
         Runnable r = Mockito.mock(Runnable.class);
         Runnable d = ForkJoinPoolInterceptor.RunnableMethodsAdvice.methodEnter(r);
         Assert.assertTrue(d instanceof DecoratedRunnable);
@@ -105,28 +121,59 @@ public class ForkJoinPoolInterceptorTests {
         ForkJoinPoolInterceptor.CallableMethodsAdvice.onMethodEnter(Mockito.mock(Callable.class));
     }
 
+    @Test
+    public void testRunnableAdviceDoesNotDecorateOutsideTransaction() {
+        Runnable r = Mockito.mock(Runnable.class);
+        Assert.assertSame(r, ForkJoinPoolInterceptor.RunnableMethodsAdvice.methodEnter(r));
+    }
+
     @Test
     public void testCallableAdviceDecorates() {
+        TransactionContext.create();
         Callable c = Mockito.mock(Callable.class);
         Callable d = ForkJoinPoolInterceptor.CallableMethodsAdvice.methodEnter(c);
         Assert.assertTrue(d instanceof DecoratedCallable);
     }
 
+    @Test
+    public void testCallableAdviceDoesNotDecorateOutsideTransaction() {
+        Callable c = Mockito.mock(Callable.class);
+        Assert.assertSame(c, ForkJoinPoolInterceptor.CallableMethodsAdvice.methodEnter(c));
+    }
+
     @Test
     public void testCallableCollectionAdvice() {
         Callable c = Mockito.mock(Callable.class);
-        List<Callable> l = Arrays.asList(c);
+        List<Callable<?>> l = Arrays.asList(c);
         ForkJoinPoolInterceptor.CallableCollectionMethodsAdvice.onMethodEnter(l);
     }
 
     @Test
     public void testCallableCollectionAdviceDecorates() {
+        TransactionContext.create();
         Callable c = Mockito.mock(Callable.class);
-        List<Callable> l = Arrays.asList(c);
-        Collection<Callable> collection = ForkJoinPoolInterceptor.CallableCollectionMethodsAdvice.methodEnter(l);
+        List<Callable<?>> l = Arrays.asList(c);
+        Collection<? extends Callable<?>> collection = ForkJoinPoolInterceptor.CallableCollectionMethodsAdvice.methodEnter(l);
         Assert.assertTrue(collection.iterator().next() instanceof DecoratedCallable);
     }
 
+    @Test
+    public void testCallableCollectionAdviceSharesContext() {
+        TransactionContext.create();
+        List<Callable<?>> l = Arrays.asList(Mockito.mock(Callable.class), Mockito.mock(Callable.class));
+        Collection<? extends Callable<?>> collection = ForkJoinPoolInterceptor.CallableCollectionMethodsAdvice.methodEnter(l);
+        Assert.assertEquals(2, collection.size());
+        for (Callable c : collection) {
+            Assert.assertTrue(c instanceof DecoratedCallable);
+        }
+    }
+
+    @Test
+    public void testCallableCollectionAdviceOutsideTransaction() {
+        List<Callable<?>> l = Arrays.asList(Mockito.mock(Callable.class));
+        Assert.assertSame(l, ForkJoinPoolInterceptor.CallableCollectionMethodsAdvice.methodEnter(l));
+    }
+
     @Test
     public void testForkJoinTaskAdviceSafe() {
         //reflection will fail in here, when agent not present, but is handled
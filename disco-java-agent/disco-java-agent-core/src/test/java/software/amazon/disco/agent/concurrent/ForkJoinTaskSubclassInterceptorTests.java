@@ -33,6 +33,13 @@ public class ForkJoinTaskSubclassInterceptorTests {
         ));
     }
 
+    @Test
+    public void testForkJoinTaskSubclassTypeMatcherNotMatchesCompletableFutureStage() throws Exception {
+        Assert.assertFalse(ForkJoinTaskSubclassInterceptor.createForkJoinTaskSubclassTypeMatcher().matches(
+                new TypeDescription.ForLoadedType(Class.forName("java.util.concurrent.CompletableFuture$UniApply"))
+        ));
+    }
+
     @Test
     public void testExecMethodMatcherMatches() throws Exception {
         Assert.assertTrue(ForkJoinTaskSubclassInterceptor.createExecMethodMatcher().matches(
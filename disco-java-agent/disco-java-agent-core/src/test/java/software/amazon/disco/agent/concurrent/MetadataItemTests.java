@@ -49,4 +49,26 @@ public class MetadataItemTests {
         Assert.assertEquals(metadataItem.hasTag("bar2"), true);
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testUntaggedItemsShareEmptyTags() {
+        Assert.assertSame(new MetadataItem("foo").getTags(), new MetadataItem("bar").getTags());
+    }
+
+    @Test
+    public void testDuplicateAndAbsentTags() {
+        MetadataItem metadataItem = new MetadataItem("foo");
+        metadataItem.setTag("bar");
+        metadataItem.setTag("bar");
+        metadataItem.clearTag("baz");
+        Assert.assertEquals(1, metadataItem.getTags().size());
+        metadataItem.clearTag("bar");
+        Assert.assertTrue(metadataItem.getTags().isEmpty());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testTagsNotModifiable() {
+        MetadataItem metadataItem = new MetadataItem("foo");
+        metadataItem.setTag("bar");
+        metadataItem.getTags().add("baz");
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License").
+ *   You may not use this file except in compliance with the License.
+ *   A copy of the License is located at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file. This file is distributed
+ *   on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *   express or implied. See the License for the specific language governing
+ *   permissions and limitations under the License.
+ */
+
+package software.amazon.disco.agent.concurrent;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tests for MetadataKey handles and the TransactionContext methods which use them
+ */
+public class MetadataKeyTests {
+    @Before
+    public void before() {
+        TransactionContext.clear();
+    }
+
+    @After
+    public void after() {
+        TransactionContext.clear();
+    }
+
+    @Test
+    public void testSameNameSharesSlot() {
+        MetadataKey<String> first = TransactionContext.key("MetadataKeyTests.shared", String.class);
+        MetadataKey<Object> second = TransactionContext.key("MetadataKeyTests.shared", Object.class);
+        Assert.assertEquals(first.index, second.index);
+        Assert.assertEquals("MetadataKeyTests.shared", second.getName());
+        Assert.assertEquals(Object.class, second.getType());
+    }
+
+    @Test
+    public void testPrimitiveTypeIsNormalized() {
+        MetadataKey<Integer> key = TransactionContext.key("MetadataKeyTests.primitive", int.class);
+        Assert.assertEquals(Integer.class, key.getType());
+    }
+
+    @Test
+    public void testPutAndGet() {
+        MetadataKey<String> key = TransactionContext.key("MetadataKeyTests.putAndGet", String.class);
+        Assert.assertNull(TransactionContext.getMetadata(key));
+        TransactionContext.putMetadata(key, "value");
+        Assert.assertEquals("value", TransactionContext.getMetadata(key));
+        TransactionContext.removeMetadata(key);
+        Assert.assertNull(TransactionContext.getMetadata(key));
+    }
+
+    @Test
+    public void testGetWithMismatchedTypeReturnsNull() {
+        TransactionContext.putMetadata("MetadataKeyTests.mismatch", "value");
+        MetadataKey<Integer> key = TransactionContext.key("MetadataKeyTests.mismatch", Integer.class);
+        Assert.assertEquals("value", TransactionContext.getMetadata("MetadataKeyTests.mismatch"));
+        Assert.assertNull(TransactionContext.getMetadata(key));
+        Assert.assertEquals(7, TransactionContext.getIntMetadata(key, 7));
+    }
+
+    @Test
+    public void testMetadataStoredBeforeKeyIsInterned() {
+        TransactionContext.putMetadata("MetadataKeyTests.late", "value");
+        TransactionContext.setMetadataTag("MetadataKeyTests.late", "tag");
+        Assert.assertEquals(3, TransactionContext.getPrivateMetadata().size());
+
+        MetadataKey<String> key = TransactionContext.key("MetadataKeyTests.late", String.class);
+        Assert.assertEquals("value", TransactionContext.getMetadata("MetadataKeyTests.late"));
+        Assert.assertEquals("value", TransactionContext.getMetadata(key));
+        Assert.assertEquals(3, TransactionContext.getPrivateMetadata().size());
+        Assert.assertEquals("value", TransactionContext.getMetadataWithTag("tag").get("MetadataKeyTests.late"));
+
+        TransactionContext.removeMetadata(key);
+        Assert.assertNull(TransactionContext.getMetadata("MetadataKeyTests.late"));
+        Assert.assertEquals(2, TransactionContext.getPrivateMetadata().size());
+    }
+
+    @Test
+    public void testMetadataStoredBeforeKeyIsInternedReplacedByKey() {
+        TransactionContext.putMetadata("MetadataKeyTests.lateReplaced", "value");
+        MetadataKey<String> key = TransactionContext.key("MetadataKeyTests.lateReplaced", String.class);
+
+        TransactionContext.putMetadata(key, "updated");
+        Assert.assertEquals("updated", TransactionContext.getMetadata("MetadataKeyTests.lateReplaced"));
+        Assert.assertEquals(3, TransactionContext.getPrivateMetadata().size());
+    }
+
+    @Test
+    public void testVisibleViaStringKey() {
+        MetadataKey<String> key = TransactionContext.key("MetadataKeyTests.visible", String.class);
+        TransactionContext.putMetadata(key, "value");
+        Assert.assertEquals("value", TransactionContext.getMetadata("MetadataKeyTests.visible"));
+        Assert.assertEquals("value", TransactionContext.getPrivateMetadata().get("MetadataKeyTests.visible").get());
+        Assert.assertEquals(3, TransactionContext.getPrivateMetadata().size());
+
+        TransactionContext.putMetadata("MetadataKeyTests.visible", "other");
+        Assert.assertEquals("other", TransactionContext.getMetadata(key));
+
+        TransactionContext.removeMetadata("MetadataKeyTests.visible");
+        Assert.assertNull(TransactionContext.getMetadata(key));
+    }
+
+    @Test
+    public void testIntMetadataUpdatedInPlace() {
+        MetadataKey<Integer> key = TransactionContext.key("MetadataKeyTests.int", Integer.class);
+        Assert.assertEquals(-1, TransactionContext.getIntMetadata(key, -1));
+
+        TransactionContext.putIntMetadata(key, 0);
+        MetadataItem item = TransactionContext.getPrivateContext().getItem(key);
+        Assert.assertTrue(item instanceof PrimitiveMetadataItem);
+
+        TransactionContext.putIntMetadata(key, 5);
+        Assert.assertSame(item, TransactionContext.getPrivateContext().getItem(key));
+        Assert.assertEquals(5, TransactionContext.getIntMetadata(key, -1));
+        Assert.assertEquals(Integer.valueOf(5), TransactionContext.getMetadata(key));
+        Assert.assertEquals(5, TransactionContext.getMetadata("MetadataKeyTests.int"));
+    }
+
+    @Test
+    public void testLongMetadata() {
+        MetadataKey<Long> key = TransactionContext.key("MetadataKeyTests.long", Long.class);
+        TransactionContext.putLongMetadata(key, Long.MAX_VALUE);
+        Assert.assertEquals(Long.MAX_VALUE, TransactionContext.getLongMetadata(key, 0L));
+        Assert.assertEquals(Long.valueOf(Long.MAX_VALUE), TransactionContext.getMetadata(key));
+    }
+
+    @Test
+    public void testOtherNumbersUnderIntKeyNotTruncated() {
+        MetadataKey<Integer> key = TransactionContext.key("MetadataKeyTests.otherNumbers", Integer.class);
+        TransactionContext.putMetadata("MetadataKeyTests.otherNumbers", 2.5d);
+        Assert.assertEquals(2.5d, TransactionContext.getMetadata("MetadataKeyTests.otherNumbers"));
+
+        TransactionContext.putMetadata("MetadataKeyTests.otherNumbers", Long.MAX_VALUE);
+        Assert.assertEquals(Long.MAX_VALUE, TransactionContext.getMetadata("MetadataKeyTests.otherNumbers"));
+
+        TransactionContext.putIntMetadata(key, 3);
+        Assert.assertEquals(Integer.valueOf(3), TransactionContext.getMetadata("MetadataKeyTests.otherNumbers"));
+
+        TransactionContext.putMetadata("MetadataKeyTests.otherNumbers", Long.MIN_VALUE);
+        Assert.assertEquals(Long.MIN_VALUE, TransactionContext.getMetadata("MetadataKeyTests.otherNumbers"));
+    }
+
+    @Test
+    public void testTagsRetainedOnPut() {
+        MetadataKey<String> key = TransactionContext.key("MetadataKeyTests.tags", String.class);
+        TransactionContext.putMetadata(key, "value");
+        TransactionContext.setMetadataTag("MetadataKeyTests.tags", "tag");
+        TransactionContext.putMetadata(key, "updated");
+
+        Map<String, Object> tagged = TransactionContext.getMetadataWithTag("tag");
+        Assert.assertEquals(1, tagged.size());
+        Assert.assertEquals("updated", tagged.get("MetadataKeyTests.tags"));
+    }
+
+    @Test
+    public void testSharedAcrossForeignMap() {
+        MetadataKey<String> key = TransactionContext.key("MetadataKeyTests.foreign", String.class);
+        TransactionContext.setPrivateMetadata(new ConcurrentHashMap<>());
+        TransactionContext.putMetadata(key, "value");
+        Assert.assertEquals("value", TransactionContext.getPrivateMetadata().get("MetadataKeyTests.foreign").get());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testReservedTransactionIdKey() {
+        TransactionContext.key(TransactionContext.TRANSACTION_ID_KEY, String.class);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testReservedReferenceCounterKey() {
+        TransactionContext.key(TransactionContext.REFERENCE_COUNTER_KEY, Object.class);
+    }
+}
@@ -63,6 +63,13 @@ public class ThreadSubclassInterceptorTests {
         ));
     }
 
+    @Test
+    public void testVirtualThreadNotMatches() {
+        Assert.assertFalse(ThreadSubclassInterceptor.createThreadSubclassTypeMatcher().matches(
+                VirtualThreadInterceptorTests.VIRTUAL_THREAD
+        ));
+    }
+
     @Test
     public void testThreadSubclassMatches() {
         Assert.assertTrue(ThreadSubclassInterceptor.createThreadSubclassTypeMatcher().matches(
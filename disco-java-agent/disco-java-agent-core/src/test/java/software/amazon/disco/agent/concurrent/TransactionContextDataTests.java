@@ -0,0 +1,202 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License").
+ *   You may not use this file except in compliance with the License.
+ *   A copy of the License is located at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file. This file is distributed
+ *   on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *   express or implied. See the License for the specific language governing
+ *   permissions and limitations under the License.
+ */
+
+package software.amazon.disco.agent.concurrent;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests for the TransactionContextData class
+ */
+public class TransactionContextDataTests {
+    @After
+    public void after() {
+        TransactionContext.clear();
+    }
+
+    @Test
+    public void testInitialState() {
+        TransactionContextData data = new TransactionContextData();
+        Assert.assertEquals(TransactionContext.UNINITIALIZED_TRANSACTION_CONTEXT_VALUE, data.getTransactionId());
+        Assert.assertEquals(-1L, data.getOwningThreadId());
+        Assert.assertNull(data.getReferenceCounter());
+        Assert.assertNull(data.getItem("foo"));
+    }
+
+    @Test
+    public void testTableGrowsAndShrinks() {
+        TransactionContextData data = new TransactionContextData();
+        for (int i = 0; i < 100; i++) {
+            data.putItem("key" + i, new MetadataItem(i));
+        }
+        for (int i = 0; i < 100; i++) {
+            Assert.assertEquals(i, data.getItem("key" + i).get());
+        }
+        for (int i = 0; i < 100; i += 2) {
+            Assert.assertEquals(i, data.removeItem("key" + i).get());
+        }
+        for (int i = 0; i < 100; i++) {
+            if (i % 2 == 0) {
+                Assert.assertNull(data.getItem("key" + i));
+            } else {
+                Assert.assertEquals(i, data.getItem("key" + i).get());
+            }
+        }
+        Assert.assertEquals(52, data.asMap().size());
+    }
+
+    @Test
+    public void testPutReplacesExistingKey() {
+        TransactionContextData data = new TransactionContextData();
+        MetadataItem first = new MetadataItem("first");
+        Assert.assertNull(data.putItem("foo", first));
+        Assert.assertSame(first, data.putItem("foo", new MetadataItem("second")));
+        Assert.assertEquals("second", data.getItem("foo").get());
+        Assert.assertEquals(3, data.asMap().size());
+    }
+
+    @Test
+    public void testWellKnownKeysViaItems() {
+        TransactionContextData data = new TransactionContextData();
+        AtomicInteger counter = new AtomicInteger(5);
+        data.putItem(TransactionContext.TRANSACTION_OWNING_THREAD_KEY, new MetadataItem(42));
+        data.putItem(TransactionContext.REFERENCE_COUNTER_KEY, new MetadataItem(counter));
+        Assert.assertEquals(42L, data.getOwningThreadId());
+        Assert.assertSame(counter, data.getReferenceCounter());
+        Assert.assertEquals(42L, data.getItem(TransactionContext.TRANSACTION_OWNING_THREAD_KEY).get());
+
+        data.removeItem(TransactionContext.REFERENCE_COUNTER_KEY);
+        Assert.assertNull(data.getReferenceCounter());
+    }
+
+    @Test
+    public void testWellKnownKeyRetainsTag() {
+        TransactionContext.create();
+        TransactionContext.setMetadataTag(TransactionContext.TRANSACTION_ID_KEY, "propagate");
+        TransactionContext.set("changed");
+
+        Assert.assertTrue(TransactionContext.hasMetadataTag(TransactionContext.TRANSACTION_ID_KEY, "propagate"));
+        Assert.assertEquals("changed", TransactionContext.getMetadataWithTag("propagate").get(TransactionContext.TRANSACTION_ID_KEY));
+
+        TransactionContext.clearMetadataTag(TransactionContext.TRANSACTION_ID_KEY, "propagate");
+        Assert.assertFalse(TransactionContext.hasMetadataTag(TransactionContext.TRANSACTION_ID_KEY, "propagate"));
+    }
+
+    @Test
+    public void testTagAppliedDirectlyToStoredItem() {
+        TransactionContext.putMetadata("foo", "bar");
+        TransactionContext.getPrivateMetadata().get("foo").setTag("tag");
+        MetadataKey<String> key = TransactionContext.key("TransactionContextDataTests.direct", String.class);
+        TransactionContext.putMetadata(key, "value");
+        TransactionContext.getPrivateMetadata().get(key.getName()).setTag("tag");
+
+        Map<String, Object> tagged = TransactionContext.getMetadataWithTag("tag");
+        Assert.assertEquals(2, tagged.size());
+        Assert.assertEquals("bar", tagged.get("foo"));
+        Assert.assertEquals("value", tagged.get(key.getName()));
+    }
+
+    @Test
+    public void testTagAppliedDirectlyToRemovedItemNotFound() {
+        TransactionContextData data = new TransactionContextData();
+        MetadataItem item = new MetadataItem("bar");
+        data.putItem("foo", item);
+        data.removeItem("foo");
+        item.setTag("tag");
+        data.putItem("other", new MetadataItem("baz"));
+
+        Assert.assertTrue(data.getMetadataWithTag("tag").isEmpty());
+    }
+
+    @Test
+    public void testTagAppliedDirectlyToItemStoredTwice() {
+        TransactionContextData data = new TransactionContextData();
+        TransactionContextData other = new TransactionContextData();
+        MetadataItem item = new MetadataItem("bar");
+        data.putItem("foo", item);
+        data.putItem("baz", item);
+        other.putItem("foo", item);
+        item.setTag("tag");
+
+        Assert.assertEquals(2, data.getMetadataWithTag("tag").size());
+        Assert.assertEquals("bar", other.getMetadataWithTag("tag").get("foo"));
+        final Map<String, Object> visited = new HashMap<>();
+        data.forEachMetadataWithTag("tag", visited::put);
+        Assert.assertEquals(2, visited.size());
+    }
+
+    @Test
+    public void testMapViewWritesThrough() {
+        TransactionContextData data = new TransactionContextData();
+        ConcurrentMap<String, MetadataItem> view = data.asMap();
+        view.put("foo", new MetadataItem("bar"));
+        view.put(TransactionContext.TRANSACTION_ID_KEY, new MetadataItem("id"));
+        Assert.assertEquals("bar", data.getItem("foo").get());
+        Assert.assertEquals("id", data.getTransactionId());
+        Assert.assertNotNull(view.putIfAbsent("foo", new MetadataItem("baz")));
+        Assert.assertEquals("bar", data.getItem("foo").get());
+
+        Iterator<Map.Entry<String, MetadataItem>> it = view.entrySet().iterator();
+        while (it.hasNext()) {
+            if (it.next().getKey().equals("foo")) {
+                it.remove();
+            }
+        }
+        Assert.assertNull(data.getItem("foo"));
+        Assert.assertEquals(2, view.size());
+    }
+
+    @Test
+    public void testOfMapViewReturnsSameContext() {
+        TransactionContextData data = new TransactionContextData();
+        Assert.assertSame(data, TransactionContextData.of(data.asMap()));
+    }
+
+    @Test
+    public void testOfForeignMapStoresInMap() {
+        ConcurrentMap<String, MetadataItem> map = new ConcurrentHashMap<>();
+        TransactionContextData data = TransactionContextData.of(map);
+        Assert.assertNull(data.getTransactionId());
+        data.setTransactionId("id");
+        data.setReferenceCounter(new AtomicInteger());
+        data.putItem("foo", new MetadataItem("bar"));
+        Assert.assertEquals("id", map.get(TransactionContext.TRANSACTION_ID_KEY).get());
+        Assert.assertNotNull(map.get(TransactionContext.REFERENCE_COUNTER_KEY));
+        Assert.assertEquals("bar", map.get("foo").get());
+        Assert.assertSame(map, data.asMap());
+    }
+
+    @Test
+    public void testPrivateMetadataThreadLocalRoundTrip() {
+        TransactionContext.create();
+        TransactionContextData data = TransactionContext.getPrivateContext();
+        ThreadLocal<ConcurrentMap<String, MetadataItem>> threadLocal = TransactionContext.getPrivateMetadataThreadLocal();
+        ConcurrentMap<String, MetadataItem> saved = threadLocal.get();
+
+        TransactionContext.clear();
+        Assert.assertNotSame(data, TransactionContext.getPrivateContext());
+        threadLocal.set(saved);
+        Assert.assertSame(data, TransactionContext.getPrivateContext());
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License").
+ *   You may not use this file except in compliance with the License.
+ *   A copy of the License is located at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file. This file is distributed
+ *   on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *   express or implied. See the License for the specific language governing
+ *   permissions and limitations under the License.
+ */
+
+package software.amazon.disco.agent.concurrent;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import software.amazon.disco.agent.concurrent.decorate.DecoratedCallable;
+import software.amazon.disco.agent.concurrent.decorate.DecoratedRunnable;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class TransactionContextStorageTests {
+    @Before
+    public void before() {
+        TransactionContext.clear();
+    }
+
+    @After
+    public void after() {
+        TransactionContext.clear();
+        TransactionContext.useStorage(TransactionContextStorage.Type.THREAD_LOCAL);
+    }
+
+    @Test
+    public void testThreadLocalStorageByDefault() {
+        Assert.assertEquals(TransactionContextStorage.Type.THREAD_LOCAL, TransactionContext.getStorageType());
+        Assert.assertFalse(TransactionContext.isContextBindingSupported());
+    }
+
+    @Test
+    public void testThreadLocalStorageRunsTaskUnbound() {
+        TransactionContext.create();
+        final String id = TransactionContext.get();
+        final AtomicReference<String> seen = new AtomicReference<>();
+        TransactionContext.runWithContext(new TransactionContextData(), () -> seen.set(TransactionContext.get()));
+        Assert.assertEquals(id, seen.get());
+    }
+
+    @Test
+    public void testScopedValueStorageFallsBackWhenUnavailable() {
+        Assume.assumeFalse(TransactionContextStorage.ForScopedValue.isAvailable());
+        Assert.assertFalse(TransactionContext.useStorage(TransactionContextStorage.Type.SCOPED_VALUE));
+        Assert.assertEquals(TransactionContextStorage.Type.THREAD_LOCAL, TransactionContext.getStorageType());
+        Assert.assertNotNull(TransactionContextStorage.ForScopedValue.getUnavailableCause());
+    }
+
+    @Test
+    public void testScopedValueStorageBindsContext() {
+        Assume.assumeTrue(TransactionContextStorage.ForScopedValue.isAvailable());
+        Assert.assertTrue(TransactionContext.useStorage(TransactionContextStorage.Type.SCOPED_VALUE));
+        assertContextBoundForExtentOfTask();
+    }
+
+    @Test
+    public void testBindingStorageBindsContext() {
+        TransactionContext.setStorage(new BindingStorage());
+        assertContextBoundForExtentOfTask();
+    }
+
+    @Test
+    public void testDecoratedRunnableRunsWithinBinding() {
+        BindingStorage storage = new BindingStorage();
+        TransactionContext.setStorage(storage);
+        TransactionContext.create();
+        final String id = TransactionContext.get();
+        Runnable decorated = DecoratedRunnable.maybeDecorate(() -> Assert.assertEquals(id, TransactionContext.get()));
+        TransactionContext.clear();
+
+        decorated.run();
+        Assert.assertEquals(1, storage.bindings);
+        Assert.assertFalse(TransactionContext.isWithinCreatedContext());
+    }
+
+    @Test
+    public void testDecoratedCallableRunsWithinBinding() throws Exception {
+        BindingStorage storage = new BindingStorage();
+        TransactionContext.setStorage(storage);
+        TransactionContext.create();
+        Callable decorated = DecoratedCallable.maybeDecorate(() -> TransactionContext.get());
+        final String id = TransactionContext.get();
+        TransactionContext.clear();
+
+        Assert.assertEquals(id, decorated.call());
+        Assert.assertEquals(1, storage.bindings);
+        Assert.assertFalse(TransactionContext.isWithinCreatedContext());
+    }
+
+    @Test(expected = java.io.IOException.class)
+    public void testDecoratedCallableThrowsWithinBinding() throws Exception {
+        TransactionContext.setStorage(new BindingStorage());
+        TransactionContext.create();
+        Callable decorated = DecoratedCallable.maybeDecorate(() -> {
+            throw new java.io.IOException();
+        });
+        decorated.call();
+    }
+
+    private static void assertContextBoundForExtentOfTask() {
+        TransactionContext.create();
+        final String outerId = TransactionContext.get();
+        final TransactionContextData bound = new TransactionContextData();
+        final AtomicReference<String> innerId = new AtomicReference<>();
+
+        TransactionContext.runWithContext(bound, () -> {
+            Assert.assertSame(bound, TransactionContext.getPrivateContext());
+            TransactionContext.create();
+            innerId.set(TransactionContext.get());
+        });
+
+        Assert.assertNotEquals(outerId, innerId.get());
+        Assert.assertEquals(outerId, TransactionContext.get());
+    }
+
+    /**
+     * A storage which emulates binding with a ThreadLocal, so that the binding path can be tested on any JDK
+     */
+    static class BindingStorage extends TransactionContextStorage.ForThreadLocal {
+        int bindings;
+
+        BindingStorage() {
+            super(ThreadLocal.withInitial(TransactionContextData::new));
+        }
+
+        @Override
+        boolean isBindingSupported() {
+            return true;
+        }
+
+        @Override
+        void runBound(TransactionContextData context, Runnable task) {
+            bindings++;
+            final TransactionContextData previous = get();
+            set(context);
+            try {
+                task.run();
+            } finally {
+                set(previous);
+            }
+        }
+    }
+}
@@ -24,7 +24,10 @@ import software.amazon.disco.agent.event.EventBus;
 import software.amazon.disco.agent.event.Listener;
 import software.amazon.disco.agent.event.TransactionBeginEvent;
 import software.amazon.disco.agent.event.TransactionEndEvent;
+import software.amazon.disco.agent.util.FastIdGenerator;
+import software.amazon.disco.agent.util.TransactionId;
 
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -127,6 +130,46 @@ public class TransactionContextTests {
         Assert.assertEquals("foo", TransactionContext.get());
     }
 
+    @Test
+    public void testCreatedContextHasStringIdByDefault() {
+        TransactionContext.create();
+        Assert.assertNull(TransactionContext.getId());
+        Assert.assertEquals(FastIdGenerator.LENGTH, TransactionContext.get().length());
+    }
+
+    @Test
+    public void testCreatedContextHasBinaryIdWhenEnabled() {
+        TransactionContext.useBinaryTransactionIds(true);
+        try {
+            TransactionContext.create();
+            TransactionId id = TransactionContext.getId();
+            Assert.assertNotNull(id);
+            Assert.assertEquals(id.toString(), TransactionContext.get());
+            Assert.assertEquals(FastIdGenerator.LENGTH_128, TransactionContext.get().length());
+            Assert.assertSame(id, TransactionContext.getId());
+        } finally {
+            TransactionContext.useBinaryTransactionIds(false);
+        }
+    }
+
+    @Test
+    public void testSetValueRemovesBinaryId() {
+        TransactionContext.useBinaryTransactionIds(true);
+        try {
+            TransactionContext.create();
+            TransactionContext.set("foo");
+            Assert.assertNull(TransactionContext.getId());
+            Assert.assertEquals("foo", TransactionContext.get());
+        } finally {
+            TransactionContext.useBinaryTransactionIds(false);
+        }
+    }
+
+    @Test
+    public void testNoBinaryIdOutsideCreatedContext() {
+        Assert.assertNull(TransactionContext.getId());
+    }
+
     @Test
     public void testClear() {
         TransactionContext.set("bar");
@@ -176,6 +219,77 @@ public class TransactionContextTests {
         Assert.assertEquals(0, taggedMap2.size());
     }
 
+    @Test
+    public void testForEachMetadataWithTag() {
+        TransactionContext.putMetadata("foo1", "bar1");
+        TransactionContext.putMetadata("foo2", "bar2");
+        TransactionContext.putMetadata("foo3", "bar3");
+        TransactionContext.setMetadataTag("foo1", "tag1");
+        TransactionContext.setMetadataTag("foo2", "tag1");
+        TransactionContext.setMetadataTag("foo3", "tag2");
+
+        Map<String, Object> visited = new HashMap<>();
+        TransactionContext.forEachMetadataWithTag("tag1", visited::put);
+        Assert.assertEquals(2, visited.size());
+        Assert.assertEquals("bar1", visited.get("foo1"));
+        Assert.assertEquals("bar2", visited.get("foo2"));
+
+        TransactionContext.clearMetadataTag("foo1", "tag1");
+        TransactionContext.removeMetadata("foo2");
+        visited.clear();
+        TransactionContext.forEachMetadataWithTag("tag1", visited::put);
+        Assert.assertTrue(visited.isEmpty());
+    }
+
+    @Test
+    public void testTaggedMetadataAfterReplace() {
+        TransactionContext.putMetadata("foo", "bar1");
+        TransactionContext.setMetadataTag("foo", "tag");
+        TransactionContext.getPrivateMetadata().put("foo", new MetadataItem("bar2"));
+        Assert.assertTrue(TransactionContext.getMetadataWithTag("tag").isEmpty());
+
+        MetadataItem tagged = new MetadataItem("bar3");
+        tagged.setTag("tag");
+        TransactionContext.getPrivateMetadata().put("foo", tagged);
+        Assert.assertEquals("bar3", TransactionContext.getMetadataWithTag("tag").get("foo"));
+    }
+
+    @Test
+    public void testForEachMetadataWithTagInForeignMap() {
+        ConcurrentMap<String, MetadataItem> map = new ConcurrentHashMap<>();
+        MetadataItem item = new MetadataItem("bar");
+        item.setTag("tag");
+        map.put("foo", item);
+        TransactionContext.setPrivateMetadata(map);
+
+        Map<String, Object> visited = new HashMap<>();
+        TransactionContext.forEachMetadataWithTag("tag", visited::put);
+        Assert.assertEquals("bar", visited.get("foo"));
+    }
+
+    @Test
+    public void testPutMetadataUpdatesInPlace() {
+        TransactionContext.putMetadata("foo", "bar1");
+        TransactionContext.setMetadataTag("foo", "tag");
+        MetadataItem item = TransactionContext.getPrivateMetadata().get("foo");
+
+        TransactionContext.putMetadata("foo", "bar2");
+        Assert.assertSame(item, TransactionContext.getPrivateMetadata().get("foo"));
+        Assert.assertEquals("bar2", TransactionContext.getMetadata("foo"));
+        Assert.assertTrue(TransactionContext.hasMetadataTag("foo", "tag"));
+    }
+
+    @Test
+    public void testPutMetadataAfterRemove() {
+        TransactionContext.putMetadata("foo", "bar1");
+        TransactionContext.setMetadataTag("foo", "tag");
+        TransactionContext.removeMetadata("foo");
+
+        TransactionContext.putMetadata("foo", "bar2");
+        Assert.assertEquals("bar2", TransactionContext.getMetadata("foo"));
+        Assert.assertFalse(TransactionContext.hasMetadataTag("foo", "tag"));
+    }
+
     @Test
     public void testGetPrivateMetadata() {
         TransactionContext.putMetadata("foo", "bar");
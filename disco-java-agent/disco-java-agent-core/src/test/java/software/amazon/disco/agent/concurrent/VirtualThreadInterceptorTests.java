@@ -0,0 +1,127 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License").
+ *   You may not use this file except in compliance with the License.
+ *   A copy of the License is located at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file. This file is distributed
+ *   on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *   express or implied. See the License for the specific language governing
+ *   permissions and limitations under the License.
+ */
+
+package software.amazon.disco.agent.concurrent;
+
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.type.TypeDescription;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+import software.amazon.disco.agent.concurrent.decorate.DecoratedRunnable;
+
+import java.lang.reflect.Modifier;
+import java.util.concurrent.Executor;
+
+public class VirtualThreadInterceptorTests {
+    static final TypeDescription VIRTUAL_THREAD = new TypeDescription.Latent(VirtualThreadInterceptor.VIRTUAL_THREAD_CLASS,
+            Modifier.FINAL, TypeDescription.Generic.OfNonGenericType.ForLoadedType.of(Thread.class));
+
+    @After
+    public void after() {
+        TransactionContext.clear();
+    }
+
+    @Test
+    public void testTypeMatcherMatchesVirtualThread() {
+        Assert.assertTrue(VirtualThreadInterceptor.createTypeMatcher().matches(VIRTUAL_THREAD));
+    }
+
+    @Test
+    public void testTypeMatcherNotMatchesThread() {
+        Assert.assertFalse(VirtualThreadInterceptor.createTypeMatcher().matches(new TypeDescription.ForLoadedType(Thread.class)));
+    }
+
+    @Test
+    public void testConstructorMatcherMatches() throws Exception {
+        Assert.assertTrue(VirtualThreadInterceptor.createConstructorMatcher().matches(new MethodDescription.ForLoadedConstructor(
+                FakeVirtualThread.class.getDeclaredConstructor(Executor.class, String.class, int.class, Runnable.class))));
+    }
+
+    @Test
+    public void testConstructorMatcherMatchesTaskInOtherPosition() throws Exception {
+        Assert.assertTrue(VirtualThreadInterceptor.createConstructorMatcher().matches(new MethodDescription.ForLoadedConstructor(
+                FakeVirtualThread.class.getDeclaredConstructor(Runnable.class, Executor.class))));
+    }
+
+    @Test
+    public void testConstructorMatcherNotMatchesWithoutRunnable() throws Exception {
+        Assert.assertFalse(VirtualThreadInterceptor.createConstructorMatcher().matches(new MethodDescription.ForLoadedConstructor(
+                FakeVirtualThread.class.getDeclaredConstructor(String.class))));
+    }
+
+    @Test
+    public void testFindTaskParameter() throws Exception {
+        Assert.assertEquals(3, VirtualThreadInterceptor.findTaskParameter(new MethodDescription.ForLoadedConstructor(
+                FakeVirtualThread.class.getDeclaredConstructor(Executor.class, String.class, int.class, Runnable.class))).getIndex());
+        Assert.assertEquals(0, VirtualThreadInterceptor.findTaskParameter(new MethodDescription.ForLoadedConstructor(
+                FakeVirtualThread.class.getDeclaredConstructor(Runnable.class, Executor.class))).getIndex());
+        Assert.assertNull(VirtualThreadInterceptor.findTaskParameter(new MethodDescription.ForLoadedConstructor(
+                FakeVirtualThread.class.getDeclaredConstructor(String.class))));
+    }
+
+    @Test
+    public void testInstall() {
+        TestUtils.testInstallableCanBeInstalled(new VirtualThreadInterceptor());
+    }
+
+    @Test
+    public void testConstructorAdviceSafe() {
+        VirtualThreadInterceptor.ConstructorAdvice.onConstructorEnter(null);
+        VirtualThreadInterceptor.ConstructorAdvice.onConstructorEnter(Mockito.mock(Runnable.class));
+    }
+
+    @Test
+    public void testCaptureThrowable() {
+        VirtualThreadInterceptor.ConstructorAdvice.captureThrowableForDebugging(new RuntimeException());
+    }
+
+    @Test
+    public void testConstructorAdviceDecorates() {
+        TransactionContext.create();
+        Runnable r = Mockito.mock(Runnable.class);
+        Runnable d = VirtualThreadInterceptor.ConstructorAdvice.methodEnter(r);
+        Assert.assertTrue(d instanceof DecoratedRunnable);
+        Assert.assertSame(r, ((DecoratedRunnable) d).getTarget());
+    }
+
+    @Test
+    public void testConstructorAdviceDoesNotDecorateOutsideTransaction() {
+        Runnable r = Mockito.mock(Runnable.class);
+        Assert.assertSame(r, VirtualThreadInterceptor.ConstructorAdvice.methodEnter(r));
+    }
+
+    @Test
+    public void testOrdinaryRunnableNotContinuation() {
+        Assert.assertFalse(VirtualThreadInterceptor.isVirtualThreadContinuation(null));
+        Assert.assertFalse(VirtualThreadInterceptor.isVirtualThreadContinuation(Mockito.mock(Runnable.class)));
+        Assert.assertFalse(VirtualThreadInterceptor.isVirtualThreadContinuation(new Thread()));
+    }
+
+    static class FakeVirtualThread extends Thread {
+        FakeVirtualThread(Executor scheduler, String name, int characteristics, Runnable task) {
+            super(task, name);
+        }
+
+        FakeVirtualThread(Runnable task, Executor scheduler) {
+            super(task);
+        }
+
+        FakeVirtualThread(String name) {
+            super(name);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License").
+ *   You may not use this file except in compliance with the License.
+ *   A copy of the License is located at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file. This file is distributed
+ *   on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *   express or implied. See the License for the specific language governing
+ *   permissions and limitations under the License.
+ */
+
+package software.amazon.disco.agent.concurrent.decorate;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import software.amazon.disco.agent.concurrent.TransactionContext;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.FutureTask;
+
+public class CallableBatchTests {
+    @Before
+    public void before() {
+        TransactionContext.create();
+    }
+
+    @After
+    public void after() {
+        TransactionContext.clear();
+        CallableBatch.endSubmission(false);
+    }
+
+    @Test
+    public void testDecorateSharesOneSnapshot() {
+        List<Callable<?>> tasks = Arrays.asList(Mockito.mock(Callable.class), Mockito.mock(Callable.class), Mockito.mock(Callable.class));
+        Collection<? extends Callable<?>> decorated = CallableBatch.decorate(tasks);
+
+        Assert.assertEquals(3, decorated.size());
+        Iterator<? extends Callable<?>> it = decorated.iterator();
+        DecoratedCallable first = (DecoratedCallable) it.next();
+        Assert.assertSame(tasks.get(0), first.target);
+        Assert.assertSame(TransactionContext.getPrivateContext(), first.parentTransactionContext);
+        for (int i = 1; it.hasNext(); i++) {
+            DecoratedCallable next = (DecoratedCallable) it.next();
+            Assert.assertSame(tasks.get(i), next.target);
+            Assert.assertSame(first.parentTransactionContext, next.parentTransactionContext);
+            Assert.assertEquals(first.parentThreadId, next.parentThreadId);
+        }
+    }
+
+    @Test
+    public void testDecorateOutsideTransaction() {
+        TransactionContext.clear();
+        List<Callable<?>> tasks = Arrays.asList(Mockito.mock(Callable.class));
+        Assert.assertSame(tasks, CallableBatch.decorate(tasks));
+    }
+
+    @Test
+    public void testDecorateEmptyAndNull() {
+        List<Callable<?>> tasks = Collections.emptyList();
+        Assert.assertSame(tasks, CallableBatch.decorate(tasks));
+        Assert.assertNull(CallableBatch.decorate(null));
+    }
+
+    @Test
+    public void testDecorateAlreadyDecorated() {
+        Collection<? extends Callable<?>> decorated = CallableBatch.decorate(Arrays.<Callable<?>>asList(Mockito.mock(Callable.class)));
+        Assert.assertSame(decorated, CallableBatch.decorate(decorated));
+    }
+
+    @Test
+    public void testDecorateKeepsNulls() {
+        List<Callable<?>> tasks = new ArrayList<>(Arrays.<Callable<?>>asList(Mockito.mock(Callable.class), null));
+        Collection<? extends Callable<?>> decorated = CallableBatch.decorate(tasks);
+        Iterator<? extends Callable<?>> it = decorated.iterator();
+        Assert.assertTrue(it.next() instanceof DecoratedCallable);
+        Assert.assertNull(it.next());
+    }
+
+    @Test
+    public void testBatchMemberOnlyWhileSubmitting() {
+        FutureTask<Object> task = new FutureTask<>(Mockito.mock(Callable.class));
+        Assert.assertFalse(CallableBatch.isBatchMember(task));
+
+        boolean previous = CallableBatch.beginSubmission();
+        Assert.assertFalse(previous);
+        Assert.assertTrue(CallableBatch.isBatchMember(task));
+        Assert.assertFalse(CallableBatch.isBatchMember(Mockito.mock(Runnable.class)));
+
+        //nested submissions leave the outer one in place
+        Assert.assertTrue(CallableBatch.beginSubmission());
+        CallableBatch.endSubmission(true);
+        Assert.assertTrue(CallableBatch.isBatchMember(task));
+
+        CallableBatch.endSubmission(previous);
+        Assert.assertFalse(CallableBatch.isBatchMember(task));
+    }
+
+    @Test
+    public void testSubmissionSuspendedWhileMemberRunsOnSubmittingThread() throws Exception {
+        final FutureTask<Object> nested = new FutureTask<>(Mockito.mock(Callable.class));
+        final boolean[] memberWhileRunning = new boolean[1];
+        Callable task = () -> {
+            memberWhileRunning[0] = CallableBatch.isBatchMember(nested);
+            return null;
+        };
+        Callable decorated = CallableBatch.decorate(Arrays.<Callable<?>>asList(task)).iterator().next();
+
+        CallableBatch.beginSubmission();
+        decorated.call();
+        Assert.assertFalse(memberWhileRunning[0]);
+        Assert.assertTrue(CallableBatch.isBatchMember(nested));
+    }
+}
@@ -62,6 +62,13 @@ public class DecoratedCallableTests {
         Assert.assertEquals(d, dd);
     }
 
+    @Test
+    public void testMaybeDecorateOutsideTransaction() {
+        TransactionContext.clear();
+        Callable c = Mockito.mock(Callable.class);
+        Assert.assertSame(c, DecoratedCallable.maybeDecorate(c));
+    }
+
     @Test
     public void testNullDecoration() {
         Assert.assertNull(DecoratedCallable.maybeCreate(null));
@@ -15,8 +15,10 @@
 
 package software.amazon.disco.agent.concurrent.decorate;
 
+import org.junit.After;
 import org.junit.Assert;
 import org.junit.Test;
+import software.amazon.disco.agent.concurrent.TransactionContext;
 
 import java.lang.reflect.Method;
 import java.util.Arrays;
@@ -29,6 +31,22 @@ public class DecoratedForkJoinTaskTests {
         Assert.assertNotNull(decoratedForkJoinTask);
     }
 
+    @Test
+    public void testCreateSharedOutsideTransaction() {
+        Assert.assertSame(DecoratedForkJoinTask.create(), DecoratedForkJoinTask.create());
+    }
+
+    @Test
+    public void testCreateWithinTransaction() {
+        TransactionContext.create();
+        Assert.assertNotSame(DecoratedForkJoinTask.create(), DecoratedForkJoinTask.create());
+    }
+
+    @After
+    public void after() {
+        TransactionContext.clear();
+    }
+
     @Test
     public void testMethodNames() {
         Method[] methods = DecoratedForkJoinTask.Accessor.class.getDeclaredMethods();
@@ -64,6 +64,32 @@ public class DecoratedRunnableTests {
     @Test
     public void testNullDecoration() {
         Assert.assertNull(DecoratedRunnable.maybeCreate(null));
+        Assert.assertNull(DecoratedRunnable.maybeDecorate(null));
+    }
+
+    @Test
+    public void testMaybeDecorateWithinTransaction() {
+        Runnable r = Mockito.mock(Runnable.class);
+        Runnable d = DecoratedRunnable.maybeDecorate(r);
+        Assert.assertTrue(d instanceof DecoratedRunnable);
+        Assert.assertSame(d, DecoratedRunnable.maybeDecorate(d));
+    }
+
+    @Test
+    public void testMaybeDecorateOutsideTransaction() {
+        TransactionContext.clear();
+        Runnable r = Mockito.mock(Runnable.class);
+        Assert.assertSame(r, DecoratedRunnable.maybeDecorate(r));
+    }
+
+    @Test
+    public void testDecorationFunctionOutsideTransaction() {
+        TransactionContext.clear();
+        BiFunction<Runnable, Boolean, Runnable> function = new DecoratedRunnable.RunnableDecorateFunction();
+        Runnable r = Mockito.mock(Runnable.class);
+
+        Assert.assertSame(r, function.apply(r, false));
+        Assert.assertTrue(function.apply(r, true) instanceof DecoratedRunnable);
     }
 
     @Test
@@ -15,8 +15,10 @@
 
 package software.amazon.disco.agent.concurrent.decorate;
 
+import org.junit.After;
 import org.junit.Assert;
 import org.junit.Test;
+import software.amazon.disco.agent.concurrent.TransactionContext;
 
 import java.lang.reflect.Method;
 import java.util.Arrays;
@@ -28,6 +30,22 @@ public class DecoratedScheduledFutureTaskTests {
         Assert.assertNotNull(decoratedSft);
     }
 
+    @Test
+    public void testCreateSharedOutsideTransaction() {
+        Assert.assertSame(DecoratedScheduledFutureTask.create(), DecoratedScheduledFutureTask.create());
+    }
+
+    @Test
+    public void testCreateWithinTransaction() {
+        TransactionContext.create();
+        Assert.assertNotSame(DecoratedScheduledFutureTask.create(), DecoratedScheduledFutureTask.create());
+    }
+
+    @After
+    public void after() {
+        TransactionContext.clear();
+    }
+
     @Test
     public void testMethodNames() {
         Method[] methods = DecoratedScheduledFutureTask.Accessor.class.getDeclaredMethods();
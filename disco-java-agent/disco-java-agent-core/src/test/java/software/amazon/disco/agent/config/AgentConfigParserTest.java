@@ -22,6 +22,8 @@ import org.junit.ClassRule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
 import org.mockito.Mockito;
+import software.amazon.disco.agent.concurrent.TransactionContextStorage;
+import software.amazon.disco.agent.event.AsyncEventDispatcher;
 
 import java.io.File;
 import java.io.FileOutputStream;
@@ -98,6 +100,62 @@ public class AgentConfigParserTest {
         Mockito.verify(parser).applyConfigOverride(config);
     }
 
+    @Test
+    public void testAsyncEventsArgumentParsing() {
+        Mockito.doNothing().when(parser).applyConfigOverride(Mockito.any(AgentConfig.class));
+        Mockito.doCallRealMethod().when(parser).parseArgsStringToMap(Mockito.anyString());
+
+        AgentConfig config = parser.parseCommandLine("asyncevents:asynceventscapacity=1024:asynceventsoverflow=drop_oldest");
+
+        assertTrue(config.isAsyncEvents());
+        assertEquals(1024, config.getAsyncEventsCapacity());
+        assertEquals(AsyncEventDispatcher.OverflowPolicy.DROP_OLDEST, config.getAsyncEventsOverflowPolicy());
+    }
+
+    @Test
+    public void testAsyncEventsDefaults() {
+        Mockito.doNothing().when(parser).applyConfigOverride(Mockito.any(AgentConfig.class));
+        Mockito.doCallRealMethod().when(parser).parseArgsStringToMap(Mockito.anyString());
+
+        AgentConfig config = parser.parseCommandLine("asynceventscapacity=lots:asynceventsoverflow=panic");
+
+        assertFalse(config.isAsyncEvents());
+        assertEquals(AsyncEventDispatcher.DEFAULT_CAPACITY, config.getAsyncEventsCapacity());
+        assertEquals(AsyncEventDispatcher.OverflowPolicy.DROP_NEWEST, config.getAsyncEventsOverflowPolicy());
+    }
+
+    @Test
+    public void testContextStorageArgumentParsing() {
+        Mockito.doNothing().when(parser).applyConfigOverride(Mockito.any(AgentConfig.class));
+        Mockito.doCallRealMethod().when(parser).parseArgsStringToMap(Mockito.anyString());
+
+        assertEquals(TransactionContextStorage.Type.SCOPED_VALUE, parser.parseCommandLine("contextstorage=scoped_value").getContextStorage());
+        assertEquals(TransactionContextStorage.Type.THREAD_LOCAL, parser.parseCommandLine("contextstorage=sideways").getContextStorage());
+        assertEquals(TransactionContextStorage.Type.THREAD_LOCAL, parser.parseCommandLine("verbose").getContextStorage());
+    }
+
+    @Test
+    public void testConsolidatedInstallArgumentParsing() {
+        Mockito.doNothing().when(parser).applyConfigOverride(Mockito.any(AgentConfig.class));
+        Mockito.doCallRealMethod().when(parser).parseArgsStringToMap(Mockito.anyString());
+
+        assertTrue(parser.parseCommandLine("consolidatedinstall").isConsolidatedInstall());
+        assertTrue(parser.parseCommandLine("consolidatedinstall=true").isConsolidatedInstall());
+        assertFalse(parser.parseCommandLine("consolidatedinstall=false").isConsolidatedInstall());
+        assertFalse(parser.parseCommandLine("verbose").isConsolidatedInstall());
+    }
+
+    @Test
+    public void testBinaryTransactionIdsArgumentParsing() {
+        Mockito.doNothing().when(parser).applyConfigOverride(Mockito.any(AgentConfig.class));
+        Mockito.doCallRealMethod().when(parser).parseArgsStringToMap(Mockito.anyString());
+
+        assertTrue(parser.parseCommandLine("binarytransactionids").isBinaryTransactionIds());
+        assertTrue(parser.parseCommandLine("binarytransactionids=true").isBinaryTransactionIds());
+        assertFalse(parser.parseCommandLine("binarytransactionids=false").isBinaryTransactionIds());
+        assertFalse(parser.parseCommandLine("verbose").isBinaryTransactionIds());
+    }
+
     @Test
     public void testApplyConfigOverride() {
         config.setRuntimeOnly(false);
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License").
+ *   You may not use this file except in compliance with the License.
+ *   A copy of the License is located at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file. This file is distributed
+ *   on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *   express or implied. See the License for the specific language governing
+ *   permissions and limitations under the License.
+ */
+
+package software.amazon.disco.agent.event;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class AsyncEventDispatcherTests {
+    private BlockingAsyncListener listener;
+
+    @Before
+    public void before() {
+        EventBus.removeAllListeners();
+        listener = new BlockingAsyncListener();
+        EventBus.addListener(listener);
+    }
+
+    @After
+    public void after() {
+        listener.release.countDown();
+        EventBus.disableAsyncDispatch();
+        EventBus.removeAllListeners();
+    }
+
+    @Test
+    public void testCapacityRoundedUpToPowerOfTwo() {
+        Assert.assertEquals(2, AsyncEventDispatcher.roundUpToPowerOfTwo(0));
+        Assert.assertEquals(2, AsyncEventDispatcher.roundUpToPowerOfTwo(2));
+        Assert.assertEquals(4, AsyncEventDispatcher.roundUpToPowerOfTwo(3));
+        Assert.assertEquals(1024, AsyncEventDispatcher.roundUpToPowerOfTwo(1000));
+        Assert.assertEquals(1024, AsyncEventDispatcher.roundUpToPowerOfTwo(1024));
+    }
+
+    @Test
+    public void testEventsDeliveredInOrder() throws Exception {
+        EventBus.enableAsyncDispatch(16, AsyncEventDispatcher.OverflowPolicy.DROP_NEWEST);
+        listener.release.countDown();
+        List<Event> events = publish(10);
+
+        listener.awaitReceived(10);
+        Assert.assertEquals(events, listener.received);
+        Assert.assertEquals(0, EventBus.getAsyncDispatcher().getDroppedEventCount());
+    }
+
+    @Test
+    public void testDropNewest() throws Exception {
+        EventBus.enableAsyncDispatch(2, AsyncEventDispatcher.OverflowPolicy.DROP_NEWEST);
+        List<Event> events = fillQueueAndOverflow();
+        Assert.assertEquals(1, EventBus.getAsyncDispatcher().getDroppedEventCount());
+
+        listener.release.countDown();
+        listener.awaitReceived(3);
+        Assert.assertEquals(events.subList(0, 3), listener.received);
+    }
+
+    @Test
+    public void testDropOldest() throws Exception {
+        EventBus.enableAsyncDispatch(2, AsyncEventDispatcher.OverflowPolicy.DROP_OLDEST);
+        List<Event> events = fillQueueAndOverflow();
+        Assert.assertEquals(1, EventBus.getAsyncDispatcher().getDroppedEventCount());
+
+        listener.release.countDown();
+        listener.awaitReceived(3);
+        Assert.assertEquals(Arrays.asList(events.get(0), events.get(2), events.get(3)), listener.received);
+    }
+
+    @Test
+    public void testBlock() throws Exception {
+        EventBus.enableAsyncDispatch(2, AsyncEventDispatcher.OverflowPolicy.BLOCK);
+        final List<Event> events = publish(3);
+        listener.entered.await(5, TimeUnit.SECONDS);
+
+        final Event last = new ThreadExitEvent("test", 3L, 3L);
+        Thread publisher = new Thread(() -> EventBus.publish(last));
+        publisher.start();
+        publisher.join(100);
+        Assert.assertTrue(publisher.isAlive());
+
+        listener.release.countDown();
+        publisher.join(5000);
+        Assert.assertFalse(publisher.isAlive());
+        listener.awaitReceived(4);
+        Assert.assertEquals(Arrays.asList(events.get(0), events.get(1), events.get(2), last), listener.received);
+        Assert.assertEquals(0, EventBus.getAsyncDispatcher().getDroppedEventCount());
+    }
+
+    @Test
+    public void testQueuedEventsDeliveredWhenDisabled() throws Exception {
+        EventBus.enableAsyncDispatch(16, AsyncEventDispatcher.OverflowPolicy.DROP_NEWEST);
+        List<Event> events = publish(3);
+        listener.entered.await(5, TimeUnit.SECONDS);
+
+        listener.release.countDown();
+        EventBus.disableAsyncDispatch();
+        Assert.assertEquals(events, listener.received);
+        Assert.assertNull(EventBus.getAsyncDispatcher());
+    }
+
+    /**
+     * Publish one Event which the dispatcher thread will be stuck delivering, then enough to fill the capacity-2 queue,
+     * then one more which overflows
+     */
+    private List<Event> fillQueueAndOverflow() throws Exception {
+        List<Event> events = publish(1);
+        Assert.assertTrue(listener.entered.await(5, TimeUnit.SECONDS));
+        events.addAll(publish(3));
+        return events;
+    }
+
+    private List<Event> publish(int count) {
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Event e = new ThreadEnterEvent("test", (long) i, (long) i);
+            events.add(e);
+            EventBus.publish(e);
+        }
+        return events;
+    }
+
+    static class BlockingAsyncListener implements AsyncSafeListener {
+        final List<Event> received = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public int getPriority() {
+            return 0;
+        }
+
+        @Override
+        public void listen(Event e) {
+            entered.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            received.add(e);
+        }
+
+        void awaitReceived(int count) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + 5000;
+            while (received.size() < count && System.currentTimeMillis() < deadline) {
+                Thread.sleep(5);
+            }
+        }
+    }
+}
@@ -21,7 +21,12 @@ import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mockito;
 
-import java.util.SortedMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 public class EventBusTests {
     private Listener listener;
@@ -35,32 +40,47 @@ public class EventBusTests {
 
     @After
     public void after() {
+        EventBus.disableAsyncDispatch();
         EventBus.removeAllListeners();
     }
 
     @Test
-    public void testSortedMap() {
-        Assert.assertTrue(SortedMap.class.isAssignableFrom(EventBus.listeners.getClass()));
+    public void testListenersSortedByPriority() {
+        Listener high = Mockito.mock(Listener.class);
+        Mockito.when(high.getPriority()).thenReturn(10);
+        Listener low = Mockito.mock(Listener.class);
+        Mockito.when(low.getPriority()).thenReturn(-10);
+        EventBus.addListener(high);
+        EventBus.addListener(listener);
+        EventBus.addListener(low);
+        Assert.assertArrayEquals(new Listener[]{low, listener, high}, EventBus.getListeners());
     }
 
     @Test
     public void testAddListener() {
         EventBus.addListener(listener);
-        Assert.assertEquals(listener, EventBus.listeners.get(0).iterator().next());
+        Assert.assertEquals(listener, EventBus.getListeners()[0]);
+    }
+
+    @Test
+    public void testAddListenerTwice() {
+        EventBus.addListener(listener);
+        EventBus.addListener(listener);
+        Assert.assertEquals(1, EventBus.getListeners().length);
     }
 
     @Test
     public void testRemovePresentListener() {
         EventBus.addListener(listener);
         EventBus.removeListener(listener);
-        Assert.assertTrue(EventBus.listeners.get(0).isEmpty());
+        Assert.assertEquals(0, EventBus.getListeners().length);
     }
 
     @Test
     public void testRemoveAbsentListener() {
-        Assert.assertEquals(null, EventBus.listeners.get(0));
+        Assert.assertEquals(0, EventBus.getListeners().length);
         EventBus.removeListener(listener);
-        Assert.assertEquals(null, EventBus.listeners.get(0));
+        Assert.assertEquals(0, EventBus.getListeners().length);
     }
 
     @Test
@@ -69,9 +89,39 @@ public class EventBusTests {
         Mockito.when(listener2.getPriority()).thenReturn(0);
         EventBus.addListener(listener);
         EventBus.addListener(listener2);
-        Assert.assertEquals(2, EventBus.listeners.get(0).size());
+        Assert.assertEquals(2, EventBus.getListeners().length);
         EventBus.removeAllListeners();
-        Assert.assertEquals(null, EventBus.listeners.get(0));
+        Assert.assertEquals(0, EventBus.getListeners().length);
+    }
+
+    @Test
+    public void testPublishInPriorityOrder() {
+        List<Integer> order = new ArrayList<>();
+        EventBus.addListener(new OrderRecordingListener(5, order));
+        EventBus.addListener(new OrderRecordingListener(-5, order));
+        EventBus.addListener(new OrderRecordingListener(0, order));
+        EventBus.publish(Mockito.mock(Event.class));
+        Assert.assertEquals(3, order.size());
+        Assert.assertEquals(Integer.valueOf(-5), order.get(0));
+        Assert.assertEquals(Integer.valueOf(0), order.get(1));
+        Assert.assertEquals(Integer.valueOf(5), order.get(2));
+    }
+
+    @Test
+    public void testListenerRemovingItselfDuringPublish() {
+        MyListener listener2 = new MyListener();
+        Listener selfRemoving = new MyListener() {
+            @Override
+            public void listen(Event event) {
+                EventBus.removeListener(this);
+            }
+        };
+        EventBus.addListener(selfRemoving);
+        EventBus.addListener(listener2);
+        Event event = Mockito.mock(Event.class);
+        EventBus.publish(event);
+        Assert.assertEquals(event, listener2.received);
+        Assert.assertFalse(EventBus.isListenerPresent(selfRemoving));
     }
 
     @Test
@@ -147,6 +197,208 @@ public class EventBusTests {
         }
     }
 
+    @Test
+    public void testFilteredListenerReceivesSubscribedEvent() {
+        MyFilteredListener filtered = new MyFilteredListener(Arrays.asList(ThreadEnterEvent.class));
+        EventBus.addListener(filtered);
+        Event event = new ThreadEnterEvent("test", 1L, 2L);
+        EventBus.publish(event);
+        Assert.assertEquals(event, filtered.received);
+    }
+
+    @Test
+    public void testFilteredListenerReceivesSubtypeOfSubscribedInterface() {
+        MyFilteredListener filtered = new MyFilteredListener(Arrays.asList(ThreadEvent.class));
+        EventBus.addListener(filtered);
+        Event event = new ThreadExitEvent("test", 1L, 2L);
+        EventBus.publish(event);
+        Assert.assertEquals(event, filtered.received);
+    }
+
+    @Test
+    public void testFilteredListenerSkipsUnsubscribedEvent() {
+        MyFilteredListener filtered = new MyFilteredListener(Arrays.asList(TransactionBeginEvent.class));
+        MyListener unfiltered = new MyListener();
+        EventBus.addListener(filtered);
+        EventBus.addListener(unfiltered);
+        Event event = new ThreadEnterEvent("test", 1L, 2L);
+        EventBus.publish(event);
+        Assert.assertNull(filtered.received);
+        Assert.assertEquals(event, unfiltered.received);
+    }
+
+    @Test
+    public void testFilteredListenerWithNullSubscriptionsReceivesAllEvents() {
+        MyFilteredListener filtered = new MyFilteredListener(null);
+        EventBus.addListener(filtered);
+        Event event = Mockito.mock(Event.class);
+        EventBus.publish(event);
+        Assert.assertEquals(event, filtered.received);
+    }
+
+    @Test
+    public void testDispatchTableRefreshedAfterRegistrationChange() {
+        Event event = new ThreadEnterEvent("test", 1L, 2L);
+        MyFilteredListener first = new MyFilteredListener(Arrays.asList(ThreadEnterEvent.class));
+        EventBus.addListener(first);
+        EventBus.publish(event);
+
+        MyFilteredListener second = new MyFilteredListener(Arrays.asList(ThreadEnterEvent.class));
+        EventBus.addListener(second);
+        EventBus.publish(event);
+        Assert.assertEquals(event, second.received);
+
+        EventBus.removeListener(first);
+        first.received = null;
+        EventBus.publish(event);
+        Assert.assertNull(first.received);
+    }
+
+    @Test
+    public void testNoListenerInterestedWhenEmpty() {
+        Assert.assertFalse(EventBus.isAnyListenerInterested(ThreadEnterEvent.class));
+    }
+
+    @Test
+    public void testUnfilteredListenerInterestedInEverything() {
+        EventBus.addListener(new MyListener());
+        Assert.assertTrue(EventBus.isAnyListenerInterested(ThreadEnterEvent.class));
+        Assert.assertTrue(EventBus.isAnyListenerInterested(TransactionBeginEvent.class));
+    }
+
+    @Test
+    public void testFilteredListenerInterestedOnlyInSubscriptions() {
+        EventBus.addListener(new MyFilteredListener(Arrays.asList(ThreadEvent.class)));
+        Assert.assertTrue(EventBus.isAnyListenerInterested(ThreadEnterEvent.class));
+        Assert.assertTrue(EventBus.isAnyListenerInterested(ThreadExitEvent.class));
+        Assert.assertFalse(EventBus.isAnyListenerInterested(TransactionBeginEvent.class));
+    }
+
+    @Test
+    public void testInterestWithdrawnWhenListenerRemoved() {
+        MyListener listener = new MyListener();
+        EventBus.addListener(listener);
+        Assert.assertTrue(EventBus.isAnyListenerInterested(ThreadEnterEvent.class));
+        EventBus.removeListener(listener);
+        Assert.assertFalse(EventBus.isAnyListenerInterested(ThreadEnterEvent.class));
+    }
+
+    @Test
+    public void testAsyncSafeListenerCalledOnDispatcherThread() throws Exception {
+        EventBus.enableAsyncDispatch(16, AsyncEventDispatcher.OverflowPolicy.DROP_NEWEST);
+        MyAsyncSafeListener async = new MyAsyncSafeListener();
+        MyListener sync = new MyListener();
+        EventBus.addListener(async);
+        EventBus.addListener(sync);
+
+        Event event = new ThreadEnterEvent("test", 1L, 2L);
+        EventBus.publish(event);
+        Assert.assertEquals(event, sync.received);
+        Assert.assertTrue(async.latch.await(5, TimeUnit.SECONDS));
+        Assert.assertEquals(event, async.received);
+        Assert.assertEquals(AsyncEventDispatcher.THREAD_NAME, async.thread.getName());
+    }
+
+    @Test
+    public void testAsyncSafeListenerCalledSynchronouslyByDefault() {
+        MyAsyncSafeListener async = new MyAsyncSafeListener();
+        EventBus.addListener(async);
+
+        Event event = new ThreadEnterEvent("test", 1L, 2L);
+        EventBus.publish(event);
+        Assert.assertEquals(event, async.received);
+        Assert.assertEquals(Thread.currentThread(), async.thread);
+        Assert.assertNull(EventBus.getAsyncDispatcher());
+    }
+
+    @Test
+    public void testAsyncSafeListenerInterested() {
+        EventBus.enableAsyncDispatch(16, AsyncEventDispatcher.OverflowPolicy.DROP_NEWEST);
+        EventBus.addListener(new MyAsyncSafeListener());
+        Assert.assertTrue(EventBus.isAnyListenerInterested(ThreadEnterEvent.class));
+    }
+
+    @Test
+    public void testEventRecyclableWhenAllListenersNonRetaining() {
+        EventBus.addListener(new MyNonRetainingListener());
+        Assert.assertTrue(EventBus.canRecycleEvent(ThreadEnterEvent.class));
+    }
+
+    @Test
+    public void testEventNotRecyclableWithRetainingListener() {
+        EventBus.addListener(new MyNonRetainingListener());
+        EventBus.addListener(new MyListener());
+        Assert.assertFalse(EventBus.canRecycleEvent(ThreadEnterEvent.class));
+    }
+
+    @Test
+    public void testEventRecyclableWhenRetainingListenerNotSubscribed() {
+        EventBus.addListener(new MyNonRetainingListener());
+        EventBus.addListener(new MyFilteredListener(Arrays.asList(TransactionBeginEvent.class)));
+        Assert.assertTrue(EventBus.canRecycleEvent(ThreadEnterEvent.class));
+        Assert.assertFalse(EventBus.canRecycleEvent(TransactionBeginEvent.class));
+    }
+
+    @Test
+    public void testEventNotRecyclableWhenDispatchedAsynchronously() {
+        EventBus.enableAsyncDispatch(16, AsyncEventDispatcher.OverflowPolicy.DROP_NEWEST);
+        EventBus.addListener(new MyAsyncSafeNonRetainingListener());
+        Assert.assertFalse(EventBus.canRecycleEvent(ThreadEnterEvent.class));
+        EventBus.disableAsyncDispatch();
+        Assert.assertTrue(EventBus.canRecycleEvent(ThreadEnterEvent.class));
+    }
+
+    class MyNonRetainingListener extends MyListener implements NonRetainingListener {
+    }
+
+    class MyAsyncSafeNonRetainingListener extends MyListener implements AsyncSafeListener, NonRetainingListener {
+    }
+
+    class MyAsyncSafeListener extends MyListener implements AsyncSafeListener {
+        final CountDownLatch latch = new CountDownLatch(1);
+        volatile Thread thread;
+
+        @Override
+        public void listen(Event e) {
+            thread = Thread.currentThread();
+            super.listen(e);
+            latch.countDown();
+        }
+    }
+
+    class MyFilteredListener extends MyListener implements FilteredListener {
+        final Collection<Class<? extends Event>> subscriptions;
+
+        MyFilteredListener(Collection<Class<? extends Event>> subscriptions) {
+            this.subscriptions = subscriptions;
+        }
+
+        @Override
+        public Collection<Class<? extends Event>> getSubscribedEventTypes() {
+            return subscriptions;
+        }
+    }
+
+    class OrderRecordingListener implements Listener {
+        final int priority;
+        final List<Integer> order;
+
+        OrderRecordingListener(int priority, List<Integer> order) {
+            this.priority = priority;
+            this.order = order;
+        }
+
+        @Override
+        public int getPriority() {
+            return priority;
+        }
+
+        @Override
+        public void listen(Event event) {
+            order.add(priority);
+        }
+    }
+
     class ThrowingListener implements Listener {
         @Override
         public int getPriority() {
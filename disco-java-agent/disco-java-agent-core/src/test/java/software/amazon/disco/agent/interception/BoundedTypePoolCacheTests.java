@@ -0,0 +1,80 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License").
+ *   You may not use this file except in compliance with the License.
+ *   A copy of the License is located at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file. This file is distributed
+ *   on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *   express or implied. See the License for the specific language governing
+ *   permissions and limitations under the License.
+ */
+
+package software.amazon.disco.agent.interception;
+
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.pool.TypePool;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+
+public class BoundedTypePoolCacheTests {
+    @Test
+    public void testCachesAreSharedPerClassLoader() {
+        BoundedTypePoolCache cache = new BoundedTypePoolCache(BoundedTypePoolCache.DEFAULT_CAPACITY);
+        ClassLoader classLoader = new URLClassLoader(new URL[0], null);
+
+        Assert.assertSame(cache.locate(null), cache.locate(null));
+        Assert.assertSame(cache.locate(classLoader), cache.locate(classLoader));
+        Assert.assertNotSame(cache.locate(null), cache.locate(classLoader));
+    }
+
+    @Test
+    public void testRegisterKeepsFirstResolution() {
+        TypePool.CacheProvider cache = new BoundedTypePoolCache.LeastRecentlyUsed(2);
+        TypePool.Resolution first = new TypePool.Resolution.Simple(TypeDescription.STRING);
+        TypePool.Resolution second = new TypePool.Resolution.Simple(TypeDescription.STRING);
+
+        Assert.assertSame(first, cache.register("java.lang.String", first));
+        Assert.assertSame(first, cache.register("java.lang.String", second));
+        Assert.assertSame(first, cache.find("java.lang.String"));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedIsEvicted() {
+        BoundedTypePoolCache.LeastRecentlyUsed cache = new BoundedTypePoolCache.LeastRecentlyUsed(2);
+        cache.register("a", new TypePool.Resolution.Simple(TypeDescription.OBJECT));
+        cache.register("b", new TypePool.Resolution.Simple(TypeDescription.OBJECT));
+        cache.find("a");
+        cache.register("c", new TypePool.Resolution.Simple(TypeDescription.OBJECT));
+
+        Assert.assertEquals(2, cache.size());
+        Assert.assertNotNull(cache.find("a"));
+        Assert.assertNull(cache.find("b"));
+        Assert.assertNotNull(cache.find("c"));
+    }
+
+    @Test
+    public void testClear() {
+        BoundedTypePoolCache.LeastRecentlyUsed cache = new BoundedTypePoolCache.LeastRecentlyUsed(2);
+        cache.register("a", new TypePool.Resolution.Simple(TypeDescription.OBJECT));
+        cache.clear();
+        Assert.assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testTypePoolResolvesThroughCache() {
+        BoundedTypePoolCache cache = new BoundedTypePoolCache(BoundedTypePoolCache.DEFAULT_CAPACITY);
+        ClassLoader classLoader = BoundedTypePoolCacheTests.class.getClassLoader();
+        TypePool typePool = cache.typePool(net.bytebuddy.dynamic.ClassFileLocator.ForClassLoader.of(classLoader), classLoader);
+
+        TypeDescription typeDescription = typePool.describe(BoundedTypePoolCacheTests.class.getName()).resolve();
+        Assert.assertEquals(Object.class.getName(), typeDescription.getSuperClass().asErasure().getName());
+        Assert.assertNotNull(cache.locate(classLoader).find(BoundedTypePoolCacheTests.class.getName()));
+    }
+}
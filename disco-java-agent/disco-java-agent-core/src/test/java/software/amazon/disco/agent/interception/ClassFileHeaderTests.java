@@ -0,0 +1,115 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License").
+ *   You may not use this file except in compliance with the License.
+ *   A copy of the License is located at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file. This file is distributed
+ *   on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *   express or implied. See the License for the specific language governing
+ *   permissions and limitations under the License.
+ */
+
+package software.amazon.disco.agent.interception;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.util.concurrent.Callable;
+
+public class ClassFileHeaderTests {
+    @Test
+    public void testParseClassWithSuperclassAndInterfaces() throws Exception {
+        ClassFileHeader header = ClassFileHeader.parse(classFile(WithConstants.class));
+        Assert.assertEquals("software/amazon/disco/agent/interception/ClassFileHeaderTests$WithConstants", header.getName());
+        Assert.assertArrayEquals(new String[] {"java/lang/Thread", "java/io/Serializable", "java/util/concurrent/Callable"},
+                header.getSuperTypeNames());
+    }
+
+    @Test
+    public void testParseInterface() throws Exception {
+        ClassFileHeader header = ClassFileHeader.parse(classFile(Runnable.class));
+        Assert.assertEquals("java/lang/Runnable", header.getName());
+        Assert.assertArrayEquals(new String[] {"java/lang/Object"}, header.getSuperTypeNames());
+    }
+
+    @Test
+    public void testParseObject() throws Exception {
+        ClassFileHeader header = ClassFileHeader.parse(classFile(Object.class));
+        Assert.assertEquals("java/lang/Object", header.getName());
+        Assert.assertEquals(0, header.getSuperTypeNames().length);
+    }
+
+    @Test
+    public void testParseNonAsciiName() throws Exception {
+        //a minimal class file, with a name in each of the one, two and three byte encodings
+        String name = "com/example/\u00DCnicode\u20AC";
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(0xCAFEBABE);
+        out.writeShort(0);
+        out.writeShort(52);
+        out.writeShort(5);
+        out.writeByte(1);
+        out.writeUTF(name);
+        out.writeByte(7);
+        out.writeShort(1);
+        out.writeByte(1);
+        out.writeUTF("java/lang/Object");
+        out.writeByte(7);
+        out.writeShort(3);
+        out.writeShort(0x21);
+        out.writeShort(2);
+        out.writeShort(4);
+        out.writeShort(0);
+
+        ClassFileHeader header = ClassFileHeader.parse(bytes.toByteArray());
+        Assert.assertEquals(name, header.getName());
+        Assert.assertArrayEquals(new String[] {"java/lang/Object"}, header.getSuperTypeNames());
+    }
+
+    @Test
+    public void testParseMalformedReturnsNull() throws Exception {
+        Assert.assertNull(ClassFileHeader.parse(null));
+        Assert.assertNull(ClassFileHeader.parse(new byte[0]));
+        Assert.assertNull(ClassFileHeader.parse(new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10}));
+
+        byte[] classFile = classFile(WithConstants.class);
+        byte[] truncated = new byte[classFile.length / 2];
+        System.arraycopy(classFile, 0, truncated, 0, truncated.length);
+        Assert.assertNull(ClassFileHeader.parse(truncated));
+    }
+
+    static byte[] classFile(Class<?> clazz) throws IOException {
+        String resource = clazz.getName().replace('.', '/') + ".class";
+        ClassLoader classLoader = clazz.getClassLoader() == null ? ClassLoader.getSystemClassLoader() : clazz.getClassLoader();
+        try (InputStream in = classLoader.getResourceAsStream(resource)) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        }
+    }
+
+    //long and double constants take two constant pool slots each
+    static class WithConstants extends Thread implements Serializable, Callable<String> {
+        long aLong = 1234567890123L;
+        double aDouble = 3.14159;
+
+        @Override
+        public String call() {
+            return "constant" + aLong + aDouble;
+        }
+    }
+}
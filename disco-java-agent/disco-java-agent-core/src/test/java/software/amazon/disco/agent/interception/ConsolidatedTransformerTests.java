@@ -0,0 +1,224 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License").
+ *   You may not use this file except in compliance with the License.
+ *   A copy of the License is located at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file. This file is distributed
+ *   on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *   express or implied. See the License for the specific language governing
+ *   permissions and limitations under the License.
+ */
+
+package software.amazon.disco.agent.interception;
+
+import net.bytebuddy.agent.builder.AgentBuilder;
+import net.bytebuddy.agent.builder.ResettableClassFileTransformer;
+import net.bytebuddy.matcher.ElementMatchers;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.lang.instrument.ClassFileTransformer;
+import java.lang.instrument.IllegalClassFormatException;
+import java.lang.instrument.Instrumentation;
+import java.util.Collections;
+
+public class ConsolidatedTransformerTests {
+    private static final byte[] ORIGINAL = new byte[] {1};
+    private static final byte[] FIRST = new byte[] {2};
+    private static final byte[] SECOND = new byte[] {3};
+
+    private SuperTypeIndex superTypeIndex;
+    private ConsolidatedTransformer consolidatedTransformer;
+
+    @Before
+    public void before() {
+        superTypeIndex = new SuperTypeIndex(SuperTypeIndex.DEFAULT_CAPACITY);
+        superTypeIndex.record(null, "java/lang/Thread", new String[] {"java/lang/Object", "java/lang/Runnable"});
+        superTypeIndex.record(null, "java/lang/Runnable", new String[] {"java/lang/Object"});
+        superTypeIndex.record(null, "java/io/Serializable", new String[] {"java/lang/Object"});
+        consolidatedTransformer = new ConsolidatedTransformer(
+                new String[] {"sun.", "java.lang.ClassLoader$", "jdk.", "software.amazon.disco.agent."},
+                new String[] {"software.amazon.disco.agent.integtest."},
+                new String[] {"jdk.internal.net.http.HttpClientImpl"},
+                superTypeIndex);
+    }
+
+    @Test
+    public void testIsIgnoredMatchesInternalNames() {
+        Assert.assertTrue(consolidatedTransformer.isIgnored("sun/misc/Unsafe"));
+        Assert.assertTrue(consolidatedTransformer.isIgnored("java/lang/ClassLoader$ParallelLoaders"));
+        Assert.assertTrue(consolidatedTransformer.isIgnored("software/amazon/disco/agent/event/EventBus"));
+        Assert.assertFalse(consolidatedTransformer.isIgnored("java/lang/ClassLoader"));
+        Assert.assertFalse(consolidatedTransformer.isIgnored("sun.misc.Unsafe"));
+        Assert.assertFalse(consolidatedTransformer.isIgnored("software/amazon/disco/agent/integtest/SomeTest"));
+        Assert.assertFalse(consolidatedTransformer.isIgnored(null));
+    }
+
+    @Test
+    public void testIsIgnoredExemptsExactNamesOnly() {
+        Assert.assertFalse(consolidatedTransformer.isIgnored("jdk/internal/net/http/HttpClientImpl"));
+        Assert.assertTrue(consolidatedTransformer.isIgnored("jdk/internal/net/http/HttpClientImpl$SelectorManager"));
+        Assert.assertTrue(consolidatedTransformer.isIgnored("jdk/internal/net/http/HttpClientImplSubclass"));
+    }
+
+    @Test
+    public void testIgnoredClassNotPassedToMembers() throws Exception {
+        ClassFileTransformer member = Mockito.mock(ClassFileTransformer.class);
+        consolidatedTransformer.add(member);
+
+        Assert.assertNull(consolidatedTransformer.transform(null, "sun/misc/Unsafe", null, null, ORIGINAL));
+        Mockito.verifyNoInteractions(member);
+    }
+
+    @Test
+    public void testMembersAreChainedInOrder() throws Exception {
+        ClassFileTransformer first = Mockito.mock(ClassFileTransformer.class);
+        ClassFileTransformer second = Mockito.mock(ClassFileTransformer.class);
+        Mockito.when(first.transform(null, "com/example/Foo", null, null, ORIGINAL)).thenReturn(FIRST);
+        Mockito.when(second.transform(null, "com/example/Foo", null, null, FIRST)).thenReturn(SECOND);
+        consolidatedTransformer.add(first);
+        consolidatedTransformer.add(second);
+
+        Assert.assertSame(SECOND, consolidatedTransformer.transform(null, "com/example/Foo", null, null, ORIGINAL));
+    }
+
+    @Test
+    public void testUntransformedClassReturnsNull() throws Exception {
+        consolidatedTransformer.add(Mockito.mock(ClassFileTransformer.class));
+        consolidatedTransformer.add(Mockito.mock(ClassFileTransformer.class));
+
+        Assert.assertNull(consolidatedTransformer.transform(null, "com/example/Foo", null, null, ORIGINAL));
+    }
+
+    @Test
+    public void testFailingMemberDoesNotPreventOthers() throws Exception {
+        ClassFileTransformer failing = Mockito.mock(ClassFileTransformer.class);
+        ClassFileTransformer second = Mockito.mock(ClassFileTransformer.class);
+        Mockito.when(failing.transform(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any()))
+                .thenThrow(new IllegalClassFormatException());
+        Mockito.when(second.transform(null, "com/example/Foo", null, null, ORIGINAL)).thenReturn(SECOND);
+        consolidatedTransformer.add(failing);
+        consolidatedTransformer.add(second);
+
+        Assert.assertSame(SECOND, consolidatedTransformer.transform(null, "com/example/Foo", null, null, ORIGINAL));
+    }
+
+    @Test
+    public void testRemove() throws Exception {
+        ClassFileTransformer first = Mockito.mock(ClassFileTransformer.class);
+        ClassFileTransformer second = Mockito.mock(ClassFileTransformer.class);
+        consolidatedTransformer.add(first);
+        consolidatedTransformer.add(second);
+
+        Assert.assertTrue(consolidatedTransformer.remove(first));
+        Assert.assertFalse(consolidatedTransformer.remove(first));
+        Assert.assertEquals(1, consolidatedTransformer.size());
+        consolidatedTransformer.transform(null, "com/example/Foo", null, null, ORIGINAL);
+        Mockito.verifyNoInteractions(first);
+        Mockito.verify(second).transform(null, "com/example/Foo", null, null, ORIGINAL);
+    }
+
+    @Test
+    public void testClassRoutedOnlyToPreFilteredMembersWithCandidateSuperType() throws Exception {
+        ResettableClassFileTransformer runnable = Mockito.mock(ResettableClassFileTransformer.class);
+        ResettableClassFileTransformer statement = Mockito.mock(ResettableClassFileTransformer.class);
+        ClassFileTransformer unfiltered = Mockito.mock(ClassFileTransformer.class);
+        byte[] classFile = ClassFileHeaderTests.classFile(SuperTypePreFilterTests.SerializableThread.class);
+        Mockito.when(runnable.transform(null, "com/example/Foo", null, null, classFile)).thenReturn(FIRST);
+        consolidatedTransformer.add(new SuperTypePreFilter(runnable, Collections.singleton("java/lang/Runnable"), superTypeIndex));
+        consolidatedTransformer.add(new SuperTypePreFilter(statement, Collections.singleton("java/sql/Statement"), superTypeIndex));
+        consolidatedTransformer.add(unfiltered);
+
+        Assert.assertSame(FIRST, consolidatedTransformer.transform(null, "com/example/Foo", null, null, classFile));
+        Mockito.verifyNoInteractions(statement);
+        Mockito.verify(unfiltered).transform(null, "com/example/Foo", null, null, FIRST);
+    }
+
+    @Test
+    public void testClassWithUnknownSuperTypeRoutedToAllMembers() throws Exception {
+        ResettableClassFileTransformer runnable = Mockito.mock(ResettableClassFileTransformer.class);
+        ResettableClassFileTransformer statement = Mockito.mock(ResettableClassFileTransformer.class);
+        byte[] classFile = ClassFileHeaderTests.classFile(SuperTypePreFilterTests.UnknownSubclass.class);
+        consolidatedTransformer.add(new SuperTypePreFilter(runnable, Collections.singleton("java/lang/Runnable"), superTypeIndex));
+        consolidatedTransformer.add(new SuperTypePreFilter(statement, Collections.singleton("java/sql/Statement"), superTypeIndex));
+
+        consolidatedTransformer.transform(null, "com/example/Foo", null, null, classFile);
+        Mockito.verify(runnable).transform(null, "com/example/Foo", null, null, classFile);
+        Mockito.verify(statement).transform(null, "com/example/Foo", null, null, classFile);
+    }
+
+    @Test
+    public void testRemovePreFilteredMember() throws Exception {
+        ResettableClassFileTransformer runnable = Mockito.mock(ResettableClassFileTransformer.class);
+        SuperTypePreFilter preFilter = new SuperTypePreFilter(runnable, Collections.singleton("java/lang/Runnable"), superTypeIndex);
+        consolidatedTransformer.add(preFilter);
+
+        Assert.assertTrue(consolidatedTransformer.remove(preFilter));
+        consolidatedTransformer.transform(null, "com/example/Foo", null, null,
+                ClassFileHeaderTests.classFile(SuperTypePreFilterTests.SerializableThread.class));
+        Mockito.verifyNoInteractions(runnable);
+    }
+
+    @Test
+    public void testConsolidatedInstrumentationAddsMembers() {
+        Instrumentation instrumentation = Mockito.mock(Instrumentation.class);
+        Instrumentation consolidated = consolidatedTransformer.consolidate(instrumentation);
+        ClassFileTransformer first = Mockito.mock(ClassFileTransformer.class);
+        ClassFileTransformer second = Mockito.mock(ClassFileTransformer.class);
+
+        consolidated.addTransformer(first);
+        consolidated.addTransformer(second, false);
+
+        Assert.assertEquals(2, consolidatedTransformer.size());
+        Assert.assertTrue(consolidated.removeTransformer(first));
+        Assert.assertEquals(1, consolidatedTransformer.size());
+        Mockito.verifyNoInteractions(instrumentation);
+    }
+
+    @Test
+    public void testConsolidatedInstrumentationPassesThroughRetransformingTransformers() {
+        Instrumentation instrumentation = Mockito.mock(Instrumentation.class);
+        Instrumentation consolidated = consolidatedTransformer.consolidate(instrumentation);
+        ClassFileTransformer transformer = Mockito.mock(ClassFileTransformer.class);
+        Mockito.when(instrumentation.removeTransformer(transformer)).thenReturn(true);
+
+        consolidated.addTransformer(transformer, true);
+        Assert.assertTrue(consolidated.removeTransformer(transformer));
+
+        Assert.assertEquals(0, consolidatedTransformer.size());
+        Mockito.verify(instrumentation).addTransformer(transformer, true);
+        Mockito.verify(instrumentation).removeTransformer(transformer);
+    }
+
+    @Test
+    public void testConsolidatedInstrumentationDelegatesOtherMethods() {
+        Instrumentation instrumentation = Mockito.mock(Instrumentation.class);
+        Mockito.when(instrumentation.isRedefineClassesSupported()).thenReturn(true);
+        Instrumentation consolidated = consolidatedTransformer.consolidate(instrumentation);
+
+        Assert.assertTrue(consolidated.isRedefineClassesSupported());
+        Assert.assertEquals(consolidated, consolidated);
+        Assert.assertNotEquals(consolidated, instrumentation);
+    }
+
+    @Test
+    public void testAgentBuilderInstallsOntoConsolidatedInstrumentation() {
+        Instrumentation instrumentation = Mockito.mock(Instrumentation.class);
+        Instrumentation consolidated = consolidatedTransformer.consolidate(instrumentation);
+
+        new AgentBuilder.Default()
+                .type(ElementMatchers.named("com.example.Foo"))
+                .transform((builder, typeDescription, classLoader, module) -> builder)
+                .installOn(consolidated);
+
+        Assert.assertEquals(1, consolidatedTransformer.size());
+        Mockito.verify(instrumentation, Mockito.never()).addTransformer(Mockito.any(ClassFileTransformer.class), Mockito.anyBoolean());
+        Mockito.verify(instrumentation, Mockito.never()).addTransformer(Mockito.any(ClassFileTransformer.class));
+    }
+}
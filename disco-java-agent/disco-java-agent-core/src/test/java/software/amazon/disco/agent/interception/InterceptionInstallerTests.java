@@ -25,9 +25,15 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import software.amazon.disco.agent.config.AgentConfig;
 import software.amazon.disco.agent.config.AgentConfigParser;
+import java.lang.instrument.ClassFileTransformer;
 import java.lang.instrument.Instrumentation;
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.net.URLClassLoader;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.function.BiFunction;
 import java.util.function.Supplier;
@@ -42,6 +48,13 @@ public class InterceptionInstallerTests {
         Assert.assertTrue(classMatches(Class.forName("jdk.internal.misc.TerminatingThreadLocal")));
     }
 
+    @Test
+    public void testIgnoreMatcherNotMatchesJavaHttpClientImpl() throws Exception {
+        Assert.assertFalse(classMatches(Class.forName("jdk.internal.net.http.HttpClientImpl")));
+        Assert.assertTrue(classMatches(Class.forName("jdk.internal.net.http.HttpClientImpl$SelectorManager")));
+        Assert.assertTrue(classMatches(Class.forName("jdk.internal.net.http.HttpClientFacade")));
+    }
+
     @Test
     public void testIgnoreMatcherMatches3rdParty() {
         //just something random from junit
@@ -241,6 +254,86 @@ public class InterceptionInstallerTests {
         Assert.assertNotEquals(originalBuilder, differentBuilder);
     }
 
+    @Test
+    public void testInstallableWithCandidateSuperTypesIsPreFiltered() {
+        Instrumentation instrumentation = Mockito.mock(Instrumentation.class);
+        Mockito.when(instrumentation.getAllLoadedClasses()).thenReturn(new Class[] {Thread.class});
+        InterceptionInstaller interceptionInstaller = new InterceptionInstaller(()->new AgentBuilder.Default());
+        Installable installable = new Installable() {
+            @Override
+            public AgentBuilder install(AgentBuilder agentBuilder) {
+                return agentBuilder.type(ElementMatchers.isSubTypeOf(Thread.class)).transform((builder, type, classLoader, module) -> builder);
+            }
+
+            @Override
+            public List<String> getCandidateSuperTypeNames() {
+                return Collections.singletonList("java.lang.Thread");
+            }
+        };
+
+        interceptionInstaller.install(instrumentation, new HashSet<>(Arrays.asList(installable)), new AgentConfig(null), ElementMatchers.none());
+
+        ArgumentCaptor<ClassFileTransformer> transformerCaptor = ArgumentCaptor.forClass(ClassFileTransformer.class);
+        Mockito.verify(instrumentation).addTransformer(transformerCaptor.capture());
+        Assert.assertTrue(transformerCaptor.getValue() instanceof SuperTypePreFilter);
+    }
+
+    @Test
+    public void testConsolidatedInstallRegistersOneTransformer() {
+        Instrumentation instrumentation = Mockito.mock(Instrumentation.class);
+        AgentConfig agentConfig = new AgentConfigParser().parseCommandLine("consolidatedinstall");
+        InterceptionInstaller interceptionInstaller = new InterceptionInstaller(()->new AgentBuilder.Default());
+        Installable installable_a = (agentBuilder) -> agentBuilder.type(ElementMatchers.named("com.example.A")).transform((builder, type, classLoader, module) -> builder);
+        Installable installable_b = (agentBuilder) -> agentBuilder.type(ElementMatchers.named("com.example.B")).transform((builder, type, classLoader, module) -> builder);
+
+        interceptionInstaller.install(instrumentation, new HashSet<>(Arrays.asList(installable_a, installable_b)), agentConfig, ElementMatchers.none());
+
+        ArgumentCaptor<ClassFileTransformer> transformerCaptor = ArgumentCaptor.forClass(ClassFileTransformer.class);
+        Mockito.verify(instrumentation).addTransformer(transformerCaptor.capture());
+        Mockito.verify(instrumentation, Mockito.never()).addTransformer(Mockito.any(ClassFileTransformer.class), Mockito.anyBoolean());
+        Assert.assertEquals(2, ((ConsolidatedTransformer) transformerCaptor.getValue()).size());
+    }
+
+    @Test
+    public void testConsolidatedInstallLeavesOneShotInstallablesSeparate() {
+        Instrumentation instrumentation = Mockito.mock(Instrumentation.class);
+        AgentConfig agentConfig = new AgentConfigParser().parseCommandLine("consolidatedinstall");
+        MockAgentBuilderFactory factory = new MockAgentBuilderFactory();
+        InterceptionInstaller interceptionInstaller = new InterceptionInstaller(factory);
+        OneShotInstallable oneShotInstallable = Mockito.mock(OneShotInstallable.class);
+        Mockito.when(oneShotInstallable.install(Mockito.any())).thenReturn(factory.agentBuilder);
+
+        interceptionInstaller.install(instrumentation, new HashSet<>(Arrays.asList(oneShotInstallable)), agentConfig, ElementMatchers.none());
+
+        Mockito.verify(factory.agentBuilder).installOn(instrumentation);
+        Mockito.verify(oneShotInstallable).beforeDisposal();
+    }
+
+    @Test
+    public void testClassLoaderIsCollectableAfterTransformation() throws Exception {
+        Instrumentation instrumentation = Mockito.mock(Instrumentation.class);
+        InterceptionInstaller interceptionInstaller = new InterceptionInstaller(new InterceptionInstaller.DefaultAgentBuilderFactory());
+        Installable installable = (agentBuilder) -> agentBuilder.type(ElementMatchers.named("org.hamcrest.BaseMatcher")).transform((builder, type, classLoader, module) -> builder);
+
+        interceptionInstaller.install(instrumentation, new HashSet<>(Arrays.asList(installable)), new AgentConfig(null), ElementMatchers.none());
+
+        ArgumentCaptor<ClassFileTransformer> transformerCaptor = ArgumentCaptor.forClass(ClassFileTransformer.class);
+        Mockito.verify(instrumentation).addTransformer(transformerCaptor.capture());
+        WeakReference<ClassLoader> classLoader = transformInNewClassLoader(transformerCaptor.getValue(), org.hamcrest.BaseMatcher.class);
+        for (int i = 0; i < 100 && classLoader.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        Assert.assertNull(classLoader.get());
+    }
+
+    private static WeakReference<ClassLoader> transformInNewClassLoader(ClassFileTransformer transformer, Class<?> clazz) throws Exception {
+        ClassLoader classLoader = new URLClassLoader(new URL[0], InterceptionInstallerTests.class.getClassLoader());
+        byte[] classFile = ClassFileHeaderTests.classFile(clazz);
+        Assert.assertNotNull(transformer.transform(classLoader, clazz.getName().replace('.', '/'), null, null, classFile));
+        return new WeakReference<>(classLoader);
+    }
+
     private boolean classMatches(Class clazz) {
         return InterceptionInstaller.createIgnoreMatcher(ElementMatchers.none()).matches(new TypeDescription.ForLoadedType(clazz));
     }
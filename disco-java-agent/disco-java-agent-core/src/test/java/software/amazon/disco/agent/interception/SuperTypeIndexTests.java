@@ -0,0 +1,136 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License").
+ *   You may not use this file except in compliance with the License.
+ *   A copy of the License is located at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file. This file is distributed
+ *   on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *   express or implied. See the License for the specific language governing
+ *   permissions and limitations under the License.
+ */
+
+package software.amazon.disco.agent.interception;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.io.Serializable;
+import java.lang.instrument.Instrumentation;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class SuperTypeIndexTests {
+    private final SuperTypeIndex index = new SuperTypeIndex(SuperTypeIndex.DEFAULT_CAPACITY);
+
+    @Test
+    public void testUnknownTypeIsNull() {
+        Assert.assertNull(index.find(null, "com/example/Unknown"));
+        Assert.assertNull(index.find(ClassLoader.getSystemClassLoader(), "com/example/Unknown"));
+    }
+
+    @Test
+    public void testBootstrapTypesFoundFromAnyClassLoader() {
+        String[] superTypeNames = new String[] {"java/lang/Object"};
+        index.record(null, "java/lang/Runnable", superTypeNames);
+        Assert.assertSame(superTypeNames, index.find(null, "java/lang/Runnable"));
+        Assert.assertSame(superTypeNames, index.find(ClassLoader.getSystemClassLoader(), "java/lang/Runnable"));
+    }
+
+    @Test
+    public void testTypesFoundFromDefiningClassLoaderOnly() {
+        ClassLoader parent = new URLClassLoader(new URL[0], null);
+        ClassLoader child = new URLClassLoader(new URL[0], parent);
+        String[] superTypeNames = new String[] {"java/lang/Object"};
+        index.record(parent, "com/example/Parent", superTypeNames);
+
+        Assert.assertSame(superTypeNames, index.find(parent, "com/example/Parent"));
+        Assert.assertNull(index.find(child, "com/example/Parent"));
+        Assert.assertNull(index.find(null, "com/example/Parent"));
+        Assert.assertNull(index.find(ClassLoader.getSystemClassLoader(), "com/example/Parent"));
+    }
+
+    @Test
+    public void testJavaTypesFoundFromAncestorClassLoader() {
+        ClassLoader parent = new URLClassLoader(new URL[0], null);
+        ClassLoader child = new URLClassLoader(new URL[0], parent);
+        String[] superTypeNames = new String[] {"java/lang/Object"};
+        index.record(parent, "java/sql/Statement", superTypeNames);
+
+        Assert.assertSame(superTypeNames, index.find(child, "java/sql/Statement"));
+        Assert.assertNull(index.find(ClassLoader.getSystemClassLoader(), "java/sql/Statement"));
+    }
+
+    @Test
+    public void testParseRecordsOncePerBuffer() throws Exception {
+        SuperTypeIndex index = new SuperTypeIndex(1);
+        byte[] classFile = ClassFileHeaderTests.classFile(SerializableThread.class);
+        ClassFileHeader header = index.parse(null, classFile);
+        Assert.assertArrayEquals(new String[] {"java/lang/Thread", "java/io/Serializable"}, header.getSuperTypeNames());
+        Assert.assertSame(header, index.parse(null, classFile));
+
+        byte[] copy = classFile.clone();
+        Assert.assertNotSame(header, index.parse(null, copy));
+        Assert.assertNull(index.parse(null, new byte[] {1, 2, 3}));
+    }
+
+    @Test
+    public void testWalk() throws Exception {
+        index.record(null, "java/lang/Thread", new String[] {"java/lang/Object", "java/lang/Runnable"});
+        index.record(null, "java/lang/Runnable", new String[] {"java/lang/Object"});
+        index.record(null, "java/io/Serializable", new String[] {"java/lang/Object"});
+        ClassFileHeader header = ClassFileHeader.parse(ClassFileHeaderTests.classFile(SerializableThread.class));
+
+        List<String> visited = new ArrayList<>();
+        Assert.assertTrue(index.walk(ClassLoader.getSystemClassLoader(), header, name -> !visited.add(name)));
+        Assert.assertEquals(Arrays.asList(header.getName(), "java/lang/Thread", "java/lang/Object", "java/lang/Runnable",
+                "java/lang/Object", "java/io/Serializable", "java/lang/Object"), visited);
+
+        Assert.assertFalse(index.walk(ClassLoader.getSystemClassLoader(), header, name -> name.equals("java/lang/Runnable")));
+    }
+
+    @Test
+    public void testWalkEndsAtUnknownSuperType() throws Exception {
+        ClassFileHeader header = ClassFileHeader.parse(ClassFileHeaderTests.classFile(SerializableThreadSubclass.class));
+        Assert.assertFalse(index.walk(ClassLoader.getSystemClassLoader(), header, name -> false));
+    }
+
+    @Test
+    public void testCapacityIsPerClassLoader() {
+        SuperTypeIndex index = new SuperTypeIndex(1);
+        index.record(null, "com/example/A", new String[0]);
+        index.record(null, "com/example/B", new String[0]);
+        index.record(ClassLoader.getSystemClassLoader(), "com/example/C", new String[0]);
+
+        Assert.assertNotNull(index.find(null, "com/example/A"));
+        Assert.assertNull(index.find(null, "com/example/B"));
+        Assert.assertNotNull(index.find(ClassLoader.getSystemClassLoader(), "com/example/C"));
+    }
+
+    @Test
+    public void testRecordLoadedClasses() {
+        Instrumentation instrumentation = Mockito.mock(Instrumentation.class);
+        Mockito.when(instrumentation.getAllLoadedClasses()).thenReturn(new Class[] {String.class, int.class, Object[].class, SerializableThread.class});
+
+        index.recordLoadedClasses(instrumentation);
+
+        Assert.assertArrayEquals(new String[] {"java/lang/Object", "java/io/Serializable", "java/lang/Comparable", "java/lang/CharSequence"},
+                Arrays.copyOf(index.find(null, "java/lang/String"), 4));
+        Assert.assertArrayEquals(new String[] {"java/lang/Thread", "java/io/Serializable"},
+                index.find(SerializableThread.class.getClassLoader(), "software/amazon/disco/agent/interception/SuperTypeIndexTests$SerializableThread"));
+        Assert.assertNull(index.find(null, "int"));
+    }
+
+    static class SerializableThread extends Thread implements Serializable {
+    }
+
+    static class SerializableThreadSubclass extends SerializableThread {
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License").
+ *   You may not use this file except in compliance with the License.
+ *   A copy of the License is located at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file. This file is distributed
+ *   on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ *   express or implied. See the License for the specific language governing
+ *   permissions and limitations under the License.
+ */
+
+package software.amazon.disco.agent.interception;
+
+import net.bytebuddy.agent.builder.ResettableClassFileTransformer;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collections;
+
+public class SuperTypePreFilterTests {
+    private static final byte[] TRANSFORMED = new byte[] {1};
+
+    private SuperTypeIndex index;
+    private ResettableClassFileTransformer delegate;
+
+    @Before
+    public void before() throws Exception {
+        index = new SuperTypeIndex(SuperTypeIndex.DEFAULT_CAPACITY);
+        delegate = Mockito.mock(ResettableClassFileTransformer.class);
+        Mockito.when(delegate.transform(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(TRANSFORMED);
+        index.record(null, "java/lang/Thread", new String[] {"java/lang/Object", "java/lang/Runnable"});
+        index.record(null, "java/lang/Runnable", new String[] {"java/lang/Object"});
+        index.record(null, "java/io/Serializable", new String[] {"java/lang/Object"});
+    }
+
+    @Test
+    public void testClassWithCandidateSuperTypeIsPassedOn() throws Exception {
+        Assert.assertSame(TRANSFORMED, transform(SerializableThread.class, "java.lang.Runnable"));
+    }
+
+    @Test
+    public void testClassWithoutCandidateSuperTypeIsRejected() throws Exception {
+        Assert.assertNull(transform(SerializableThread.class, "java.sql.Statement"));
+        Mockito.verify(delegate, Mockito.never()).transform(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    public void testClassNamedAsCandidateIsPassedOn() throws Exception {
+        Assert.assertSame(TRANSFORMED, transform(SerializableThread.class, SerializableThread.class.getName()));
+    }
+
+    @Test
+    public void testClassWithUnknownSuperTypeIsPassedOn() throws Exception {
+        Assert.assertSame(TRANSFORMED, transform(UnknownSubclass.class, "java.sql.Statement"));
+    }
+
+    @Test
+    public void testSubclassOfRecordedClassIsDecided() throws Exception {
+        transform(SerializableThread.class, "java.lang.Runnable");
+
+        Assert.assertNull(transform(UnknownSubclass.class, "java.sql.Statement"));
+        Assert.assertSame(TRANSFORMED, transform(UnknownSubclass.class, "java.lang.Runnable"));
+    }
+
+    @Test
+    public void testMalformedClassFileIsPassedOn() throws Exception {
+        SuperTypePreFilter preFilter = new SuperTypePreFilter(delegate, Collections.singleton("java/sql/Statement"), index);
+        Assert.assertSame(TRANSFORMED, preFilter.transform(null, "com/example/Foo", null, null, new byte[] {1, 2, 3}));
+        Assert.assertSame(TRANSFORMED, preFilter.transform(null, "com/example/Foo", null, null, null));
+    }
+
+    @Test
+    public void testDecoratorConvertsNames() throws Exception {
+        ResettableClassFileTransformer decorated = SuperTypePreFilter.decorator(Arrays.asList("java.lang.Runnable"), index).decorate(delegate);
+        byte[] classFile = ClassFileHeaderTests.classFile(SerializableThread.class);
+        Assert.assertSame(TRANSFORMED, decorated.transform(null, "n/a", null, null, classFile));
+    }
+
+    private byte[] transform(Class<?> clazz, String candidate) throws Exception {
+        SuperTypePreFilter preFilter = new SuperTypePreFilter(delegate, Collections.singleton(candidate.replace('.', '/')), index);
+        return preFilter.transform(null, clazz.getName().replace('.', '/'), null, null, ClassFileHeaderTests.classFile(clazz));
+    }
+
+    static class SerializableThread extends Thread implements Serializable {
+    }
+
+    static class UnknownSubclass extends SerializableThread {
+    }
+}
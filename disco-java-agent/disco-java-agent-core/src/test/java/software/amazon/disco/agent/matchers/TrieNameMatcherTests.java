@@ -191,4 +191,58 @@ public class TrieNameMatcherTests {
         }
         Assert.assertFalse(testTrie.exactMatch("java.util.List"));
     }
+
+    /**
+     * Test that a word which is a prefix of another still matches as a prefix, and exactly.
+     */
+    @Test
+    public void testNestedPrefixes() {
+        testTrie.insert("java.");
+        Assert.assertTrue(testTrie.prefixMatch("java.util.List"));
+        Assert.assertTrue(testTrie.prefixMatch("java.io.File"));
+        Assert.assertTrue(testTrie.exactMatch("java."));
+        Assert.assertFalse(testTrie.exactMatch("java.io"));
+        Assert.assertFalse(testTrie.prefixMatch("jav"));
+    }
+
+    /**
+     * Test suffix matches.
+     */
+    @Test
+    public void testSuffixMatch() {
+        Assert.assertTrue(testTrie.suffixMatch("org.example.java.io."));
+        Assert.assertTrue(testTrie.suffixMatch("java.text."));
+        Assert.assertFalse(testTrie.suffixMatch("java.text"));
+        Assert.assertFalse(testTrie.suffixMatch("java.io.File"));
+        Assert.assertFalse(testTrie.suffixMatch(null));
+        Assert.assertFalse(testTrie.suffixMatch(EMPTY));
+    }
+
+    /**
+     * Test that an empty Trie matches nothing.
+     */
+    @Test
+    public void testEmptyTrie() {
+        TrieNameMatcher.Trie empty = new TrieNameMatcher.Trie();
+        Assert.assertFalse(empty.prefixMatch("java.io.File"));
+        Assert.assertFalse(empty.exactMatch("java.io.File"));
+        Assert.assertFalse(empty.suffixMatch("java.io.File"));
+    }
+
+    /**
+     * Test the matcher in its exact and suffix modes.
+     */
+    @Test
+    public void testMatchTypes() {
+        ElementMatcher exact = new TrieNameMatcher(new String[] {"com.example.Foo", "com.example.Bar"}, TrieNameMatcher.MatchType.EXACT);
+        ElementMatcher suffix = new TrieNameMatcher(new String[] {"Impl", "$Proxy"}, TrieNameMatcher.MatchType.SUFFIX);
+
+        Mockito.when(namedElement.getActualName()).thenReturn("com.example.Foo");
+        Assert.assertTrue(exact.matches(namedElement));
+        Assert.assertFalse(suffix.matches(namedElement));
+
+        Mockito.when(namedElement.getActualName()).thenReturn("com.example.FooImpl");
+        Assert.assertFalse(exact.matches(namedElement));
+        Assert.assertTrue(suffix.matches(namedElement));
+    }
 }
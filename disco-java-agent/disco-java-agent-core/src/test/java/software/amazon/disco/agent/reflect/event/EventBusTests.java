@@ -72,6 +72,13 @@ public class EventBusTests {
 
     }
 
+    @Test
+    public void testIsAnyListenerInterestedWhenDiscoLoaded() {
+        Assert.assertFalse(EventBus.isAnyListenerInterested(Event.class));
+        EventBus.addListener(new MyListener());
+        Assert.assertTrue(EventBus.isAnyListenerInterested(Event.class));
+    }
+
     class MyListener implements Listener {
         Event received;
         @Override
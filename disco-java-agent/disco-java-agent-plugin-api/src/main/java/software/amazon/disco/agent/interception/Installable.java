@@ -51,4 +51,15 @@ public interface Installable {
      * @return A list of installation errors that describes all the problems found.
      */
     default List<InstallationError> verifyEffect() { return Collections.emptyList(); }
+
+    /**
+     * The names of the types which every type transformed by this Installable either is, or has as a supertype, e.g.
+     * "java.sql.Statement" for an Installable matching hasSuperType(named("java.sql.Statement")). When given, each class
+     * loaded is first checked against them, using only the names in the class files of it and its supertypes, and
+     * classes which certainly have none of them are not passed to this Installable's matchers at all.
+     *
+     * @return the fully qualified names of the candidate supertypes, or an empty list if this Installable may
+     * transform types unrelated to any one type.
+     */
+    default List<String> getCandidateSuperTypeNames() { return Collections.emptyList(); }
 }
@@ -27,8 +27,10 @@ import software.amazon.disco.agent.interception.Installable;
 import software.amazon.disco.agent.interception.annotations.DataAccessPath;
 
 import java.lang.reflect.Method;
+import java.util.Collections;
 import java.util.Deque;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.StringTokenizer;
 
 /**
@@ -42,6 +44,7 @@ public class DataAccessor implements Installable {
     final ElementMatcher<TypeDescription> typeImplementingAccessor;
     final ElementMatcher<TypeDescription> typesImplementingAccessMethods;
     final Class<?> accessor;
+    final List<String> candidateSuperTypeNames;
 
     /**
      * Protected constructor for factory access
@@ -49,6 +52,17 @@ public class DataAccessor implements Installable {
      * @param accessor Accessor interface declaring the methods to use for access
      */
     protected DataAccessor(ElementMatcher<TypeDescription> typeImplementingAccessor, ElementMatcher<TypeDescription> typesImplementingAccessMethods, Class<?> accessor) {
+        this(typeImplementingAccessor, typesImplementingAccessMethods, accessor, Collections.<String>emptyList());
+    }
+
+    /**
+     * Protected constructor for factory access
+     * @param typeImplementingAccessor ElementMatcher describing the class to implement the accessor, usually some lowest-common denominator base or interface
+     * @param accessor Accessor interface declaring the methods to use for access
+     * @param candidateSuperTypeNames the names of the types which every type matched by either matcher is, or has as a supertype, see {@link Installable#getCandidateSuperTypeNames()}
+     */
+    protected DataAccessor(ElementMatcher<TypeDescription> typeImplementingAccessor, ElementMatcher<TypeDescription> typesImplementingAccessMethods, Class<?> accessor,
+                           List<String> candidateSuperTypeNames) {
         if (!accessor.isInterface()) {
             throw new IllegalArgumentException();
         }
@@ -56,6 +70,7 @@ public class DataAccessor implements Installable {
         this.typeImplementingAccessor = typeImplementingAccessor;
         this.typesImplementingAccessMethods = typesImplementingAccessMethods;
         this.accessor = accessor;
+        this.candidateSuperTypeNames = candidateSuperTypeNames;
     }
 
     /**
@@ -66,7 +81,7 @@ public class DataAccessor implements Installable {
      */
     public static DataAccessor forClassNamed(String className, Class<?> accessor) {
         ElementMatcher<TypeDescription> typeMatcher = ElementMatchers.named(className);
-        return new DataAccessor(typeMatcher, typeMatcher, accessor);
+        return new DataAccessor(typeMatcher, typeMatcher, accessor, Collections.singletonList(className));
     }
 
     /**
@@ -80,7 +95,8 @@ public class DataAccessor implements Installable {
         return new DataAccessor(
                 typeMatcher,
                 ElementMatchers.hasSuperType(typeMatcher).and(ElementMatchers.not(ElementMatchers.isAbstract())),
-                accessor
+                accessor,
+                Collections.singletonList(interfaceName)
         );
     }
 
@@ -104,6 +120,14 @@ public class DataAccessor implements Installable {
         return agentBuilder;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<String> getCandidateSuperTypeNames() {
+        return candidateSuperTypeNames;
+    }
+
     /**
      * Instrument the target type(s) as necessary to acquire the data access semantics of the access method
      * @param builder the current DynamicType Builder instance for building interception rules
@@ -41,4 +41,6 @@ include("disco-java-agent-instrumentation-preprocess-test")
 include("disco-java-agent-instrumentation-preprocess-test:disco-java-agent-instrumentation-preprocess-test-plugin")
 include("disco-java-agent-instrumentation-preprocess-test:disco-java-agent-instrumentation-preprocess-test-target")
 
+include("disco-java-agent-benchmarks")
+
 include("disco-toolkit-bom")